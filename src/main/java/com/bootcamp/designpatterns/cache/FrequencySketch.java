@@ -0,0 +1,110 @@
+package com.bootcamp.designpatterns.cache;
+
+/**
+ * Sketch Count-Min com contadores de 4 bits usado pelo TinyLFU
+ * 
+ * Estima quantas vezes uma chave foi acessada recentemente usando memoria
+ * fixa: 16 contadores por long, 4 contadores por chave. Apos um numero de
+ * incrementos proporcional a capacidade todos os contadores sao divididos
+ * por dois, entao chaves que deixaram de ser populares perdem peso.
+ * 
+ * Nao e thread-safe; o cache o usa sob sua trava de evicao.
+ */
+final class FrequencySketch {
+    
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    
+    // Divide cada contador de 4 bits por dois apos o deslocamento
+    private static final long RESET_MASK = 0x7777777777777777L;
+    
+    private static final int MAX_FREQUENCY = 15;
+    
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+    
+    FrequencySketch(int maximumSize) {
+        int capacity = Math.min(Math.max(maximumSize, 8), 1 << 30);
+        int length = Integer.highestOneBit(capacity - 1) << 1;
+        this.table = new long[length];
+        this.tableMask = length - 1;
+        this.sampleSize = capacity > Integer.MAX_VALUE / 10 ? Integer.MAX_VALUE : capacity * 10;
+    }
+    
+    /**
+     * Estima a frequencia de acesso de uma chave
+     * 
+     * @param hashCode hash da chave
+     * @return frequencia estimada (0 a 15)
+     */
+    int frequency(int hashCode) {
+        int hash = spread(hashCode);
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long indexHash = indexHash(hash, i);
+            int offset = counterOffset(indexHash);
+            int count = (int) ((table[index(indexHash)] >>> offset) & 0xFL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+    
+    /**
+     * Registra um acesso da chave
+     * 
+     * @param hashCode hash da chave
+     */
+    void increment(int hashCode) {
+        int hash = spread(hashCode);
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long indexHash = indexHash(hash, i);
+            added |= incrementAt(index(indexHash), counterOffset(indexHash));
+        }
+        
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+    
+    private boolean incrementAt(int index, int offset) {
+        long mask = 0xFL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Envelhecimento: divide todos os contadores por dois
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size >>>= 1;
+    }
+    
+    private static long indexHash(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        return h ^ (h >>> 32);
+    }
+    
+    private int index(long indexHash) {
+        return (int) indexHash & tableMask;
+    }
+    
+    private static int counterOffset(long indexHash) {
+        // Um dos 16 contadores do long, escolhido pelos bits altos
+        return (int) ((indexHash >>> 48) & 0xFL) << 2;
+    }
+    
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
@@ -0,0 +1,379 @@
+package com.bootcamp.designpatterns.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Cache limitado com politica W-TinyLFU
+ * 
+ * As entradas novas passam por uma pequena janela LRU (1% da capacidade).
+ * Ao sair da janela, a candidata disputa a vaga com a vitima da area
+ * principal: entra apenas se o sketch de frequencia indicar que ela e mais
+ * acessada. A area principal e um LRU segmentado (probation e protected),
+ * entao uma varredura de chaves unicas nao expulsa as chaves populares.
+ * 
+ * Leituras nao bloqueiam: o valor vem de um ConcurrentHashMap e o registro
+ * do acesso e feito apenas se a trava estiver livre (tryLock). Sob disputa
+ * alguns acessos deixam de ser contados, o que afeta so a precisao da
+ * politica, nunca o valor retornado.
+ * 
+ * @param <K> tipo da chave (deve implementar equals/hashCode)
+ * @param <V> tipo do valor
+ */
+public class TinyLfuCache<K, V> {
+    
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int REMOVED = -1;
+    
+    private final int maximumSize;
+    private final int windowMaximum;
+    private final int protectedMaximum;
+    
+    private final ConcurrentHashMap<K, Node<K, V>> data;
+    private final FrequencySketch sketch;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    
+    // Filas de acesso (cabeca = menos recente), protegidas por evictionLock
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+    private final AccessQueue<K, V> protectedQueue = new AccessQueue<>();
+    
+    // Metricas
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    /**
+     * Cria um cache com capacidade fixa
+     * 
+     * @param maximumSize numero maximo de entradas
+     */
+    public TinyLfuCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Capacidade deve ser maior que zero");
+        }
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (maximumSize - windowMaximum) * 80 / 100;
+        this.data = new ConcurrentHashMap<>(Math.min(maximumSize, 1 << 16));
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+    
+    /**
+     * Busca um valor sem calcula-lo
+     * 
+     * @param key chave
+     * @return valor ou null se ausente
+     */
+    public V getIfPresent(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        
+        hits.increment();
+        if (evictionLock.tryLock()) {
+            try {
+                sketch.increment(node.hash);
+                onAccess(node);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        return node.value;
+    }
+    
+    /**
+     * Busca um valor, calculando-o na ausencia
+     * 
+     * O calculo acontece fora da trava; duas threads podem calcular a mesma
+     * chave ao mesmo tempo, entao a funcao deve ser pura.
+     * 
+     * @param key chave
+     * @param loader funcao que calcula o valor
+     * @return valor em cache ou recem-calculado
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        
+        value = loader.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+    
+    /**
+     * Insere ou substitui um valor
+     * 
+     * @param key chave
+     * @param value valor (nao nulo)
+     */
+    public void put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Chave e valor nao podem ser nulos");
+        }
+        
+        evictionLock.lock();
+        try {
+            Node<K, V> existing = data.get(key);
+            int hash = existing != null ? existing.hash : key.hashCode();
+            sketch.increment(hash);
+            
+            if (existing != null) {
+                existing.value = value;
+                onAccess(existing);
+                return;
+            }
+            
+            Node<K, V> node = new Node<>(key, value, hash);
+            data.put(key, node);
+            node.queue = WINDOW;
+            window.addLast(node);
+            evict();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+    
+    /**
+     * Remove uma entrada
+     * 
+     * @param key chave
+     */
+    public void invalidate(K key) {
+        evictionLock.lock();
+        try {
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+    
+    /**
+     * Remove todas as entradas (as metricas sao mantidas)
+     */
+    public void invalidateAll() {
+        evictionLock.lock();
+        try {
+            for (Node<K, V> node : data.values()) {
+                node.queue = REMOVED;
+            }
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedQueue.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+    
+    /**
+     * Atualiza a posicao de uma entrada acessada (sob a trava)
+     */
+    private void onAccess(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToLast(node);
+                break;
+            case PROBATION:
+                // Segundo acesso na area principal: promove para protected
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedQueue.addLast(node);
+                while (protectedQueue.size > protectedMaximum) {
+                    Node<K, V> demoted = protectedQueue.pollFirst();
+                    demoted.queue = PROBATION;
+                    probation.addLast(demoted);
+                }
+                break;
+            case PROTECTED:
+                protectedQueue.moveToLast(node);
+                break;
+            default:
+                // Entrada removida enquanto era lida
+                break;
+        }
+    }
+    
+    /**
+     * Aplica a politica de admissao e evicao (sob a trava)
+     */
+    private void evict() {
+        // Entradas que saem da janela viram candidatas na probation
+        while (window.size > windowMaximum) {
+            Node<K, V> candidate = window.pollFirst();
+            candidate.queue = PROBATION;
+            probation.addLast(candidate);
+        }
+        
+        while (window.size + probation.size + protectedQueue.size > maximumSize) {
+            Node<K, V> victim = probation.peekFirst();
+            Node<K, V> candidate = probation.peekLast();
+            
+            if (victim == null) {
+                Node<K, V> demoted = protectedQueue.pollFirst();
+                demoted.queue = PROBATION;
+                probation.addLast(demoted);
+                continue;
+            }
+            
+            if (victim == candidate || sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)) {
+                evictNode(victim);
+            } else {
+                evictNode(candidate);
+            }
+        }
+    }
+    
+    private void evictNode(Node<K, V> node) {
+        unlink(node);
+        data.remove(node.key, node);
+        evictions.increment();
+    }
+    
+    private void unlink(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.remove(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                break;
+            case PROTECTED:
+                protectedQueue.remove(node);
+                break;
+            default:
+                break;
+        }
+        node.queue = REMOVED;
+    }
+    
+    /**
+     * Quantidade atual de entradas
+     * 
+     * @return numero de entradas
+     */
+    public int size() {
+        return data.size();
+    }
+    
+    /**
+     * Taxa de acertos desde a criacao do cache
+     * 
+     * @return acertos / consultas (0.0 quando nao houve consultas)
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+    
+    public int getMaximumSize() { return maximumSize; }
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+    
+    @Override
+    public String toString() {
+        return String.format("TinyLfuCache{size=%d, maximumSize=%d, hits=%d, misses=%d, hitRatio=%.3f, evictions=%d}",
+                           size(), maximumSize, getHitCount(), getMissCount(), getHitRatio(), getEvictionCount());
+    }
+    
+    /**
+     * Entrada do cache, encadeada na fila de acesso a que pertence
+     */
+    private static final class Node<K, V> {
+        final K key;
+        final int hash;
+        volatile V value;
+        
+        // Campos abaixo protegidos por evictionLock
+        int queue;
+        Node<K, V> prev;
+        Node<K, V> next;
+        
+        Node(K key, V value, int hash) {
+            this.key = key;
+            this.value = value;
+            this.hash = hash;
+        }
+    }
+    
+    /**
+     * Lista duplamente encadeada em ordem de acesso
+     */
+    private static final class AccessQueue<K, V> {
+        Node<K, V> head;
+        Node<K, V> tail;
+        int size;
+        
+        void addLast(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+        
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+        
+        void moveToLast(Node<K, V> node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+        
+        Node<K, V> peekFirst() {
+            return head;
+        }
+        
+        Node<K, V> peekLast() {
+            return tail;
+        }
+        
+        Node<K, V> pollFirst() {
+            Node<K, V> node = head;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+        
+        void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+}
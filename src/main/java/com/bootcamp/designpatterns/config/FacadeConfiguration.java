@@ -0,0 +1,106 @@
+package com.bootcamp.designpatterns.config;
+
+import com.bootcamp.designpatterns.facade.DeliveryService;
+import com.bootcamp.designpatterns.facade.EcommerceFacade;
+import com.bootcamp.designpatterns.facade.IdempotencyStore;
+import com.bootcamp.designpatterns.facade.InventoryService;
+import com.bootcamp.designpatterns.facade.PaymentService;
+import com.bootcamp.designpatterns.facade.StageExecutors;
+import com.bootcamp.designpatterns.facade.StockLedger;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Configuracao Spring do Facade de e-commerce
+ * 
+ * A aplicacao tem um unico estoque e um unico Facade, compartilhados pelo
+ * controller e pelo ProductService: uma reserva feita por um deles e vista
+ * por todos.
+ * 
+ * No modo de threads virtuais (spring.threads.virtual.enabled) o Tomcat
+ * atende as requisicoes em threads virtuais e as etapas do Facade tambem
+ * rodam em threads virtuais. Sem a propriedade, o Facade usa o executor
+ * padrao com threads de plataforma.
+ */
+@Configuration
+@EnableConfigurationProperties(FacadeProperties.class)
+public class FacadeConfiguration {
+    
+    /**
+     * Estoque compartilhado por todos os usos do Facade
+     * 
+     * @param properties propriedades do Facade
+     * @return servico de estoque com a carga de facade.inventory
+     */
+    @Bean
+    public InventoryService inventoryService(FacadeProperties properties) {
+        FacadeProperties.Inventory inventory = properties.getInventory();
+        System.out.println("Estoque inicial: " + inventory.getInitialStock().size() + " produtos configurados, "
+                           + inventory.getDefaultStock() + " unidades para os demais");
+        return new InventoryService(StockLedger.withInitialStock(inventory.getInitialStock(),
+                                                                 inventory.getDefaultStock()));
+    }
+    
+    /**
+     * Chaves de idempotencia dos pedidos, dimensionadas pela taxa de pedidos
+     * 
+     * @param properties propriedades do Facade
+     * @return armazenamento usado apenas pelo Facade da aplicacao
+     */
+    @Bean
+    public IdempotencyStore idempotencyStore(FacadeProperties properties) {
+        FacadeProperties.Idempotency idempotency = properties.getIdempotency();
+        IdempotencyStore store = IdempotencyStore.forRate(idempotency.getOrdersPerSecond(),
+                                                          idempotency.getWindowMillis());
+        System.out.println("Idempotencia: " + store.getCapacity() + " chaves em "
+                           + store.getWindowMillis() / 1000 + " s (" + idempotency.getOrdersPerSecond() + " pedidos/s)");
+        return store;
+    }
+    
+    /**
+     * Executor das etapas do Facade no modo de threads virtuais
+     * 
+     * @return threads virtuais no Java 21+; threads de plataforma caso contrario
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public ExecutorService facadeStageExecutor() {
+        if (StageExecutors.isVirtualThreadSupported()) {
+            System.out.println("Etapas do Facade em threads virtuais");
+            return StageExecutors.newVirtualThreadExecutor();
+        }
+        System.out.println("Threads virtuais indisponiveis no Java " + Runtime.version().feature()
+                           + "; etapas do Facade em threads de plataforma");
+        return StageExecutors.newPlatformThreadExecutor("facade-stage-");
+    }
+    
+    /**
+     * Facade da aplicacao sobre o estoque compartilhado
+     * 
+     * @param inventoryService estoque compartilhado
+     * @param idempotencyStore chaves de idempotencia dos pedidos
+     * @param facadeStageExecutor executor das etapas, se configurado
+     * @return Facade usado pelos endpoints de pedidos e de consulta
+     */
+    @Bean
+    public EcommerceFacade ecommerceFacade(InventoryService inventoryService,
+                                           IdempotencyStore idempotencyStore,
+                                           @Qualifier("facadeStageExecutor")
+                                           ObjectProvider<ExecutorService> facadeStageExecutor) {
+        ExecutorService stageExecutor = facadeStageExecutor.getIfAvailable();
+        if (stageExecutor == null) {
+            return new EcommerceFacade(inventoryService, new PaymentService(), new DeliveryService(),
+                                       idempotencyStore);
+        }
+        return new EcommerceFacade(inventoryService, new PaymentService(), new DeliveryService(),
+                                   stageExecutor, EcommerceFacade.DEFAULT_STAGE_TIMEOUT_MILLIS,
+                                   idempotencyStore);
+    }
+}
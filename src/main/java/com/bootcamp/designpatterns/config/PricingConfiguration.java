@@ -0,0 +1,179 @@
+package com.bootcamp.designpatterns.config;
+
+import com.bootcamp.designpatterns.coupon.CouponStore;
+import com.bootcamp.designpatterns.pricelist.PriceListResolver;
+import com.bootcamp.designpatterns.service.ScheduledPriceChangeEngine;
+import com.bootcamp.designpatterns.service.StrategyMatrixEvaluator;
+import com.bootcamp.designpatterns.simulation.PromotionSimulator;
+import com.bootcamp.designpatterns.strategy.DiscountStrategyRegistry;
+import com.bootcamp.designpatterns.strategy.DiscountTierTable;
+import com.bootcamp.designpatterns.strategy.PromotionTable;
+import com.bootcamp.designpatterns.strategy.QuoteCache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuracao Spring das estrategias de precificacao
+ * 
+ * Carrega a tabela do desconto progressivo a partir de um arquivo ou do
+ * application.yml e a instala no registro compartilhado de estrategias.
+ * Sem configuracao, a tabela padrao de tres faixas continua valendo.
+ */
+@Configuration
+@EnableConfigurationProperties(PricingProperties.class)
+public class PricingConfiguration {
+    
+    /**
+     * Tabela de faixas do desconto progressivo
+     * 
+     * @param properties propriedades de precificacao
+     * @return tabela carregada (arquivo, YAML ou padrao, nessa ordem)
+     * @throws IOException se o arquivo configurado nao puder ser lido
+     */
+    @Bean
+    public DiscountTierTable progressiveTierTable(PricingProperties properties) throws IOException {
+        PricingProperties.Progressive progressive = properties.getProgressive();
+        DiscountTierTable table;
+        
+        if (StringUtils.hasText(progressive.getTiersFile())) {
+            table = DiscountTierTable.fromFile(Path.of(progressive.getTiersFile()));
+        } else if (!progressive.getTiers().isEmpty()) {
+            List<DiscountTierTable.Tier> tiers = new ArrayList<>();
+            for (PricingProperties.Tier tier : progressive.getTiers()) {
+                tiers.add(new DiscountTierTable.Tier(tier.getUpTo(), tier.getRate()));
+            }
+            table = DiscountTierTable.of(tiers);
+        } else {
+            table = DiscountTierTable.DEFAULT;
+        }
+        
+        DiscountStrategyRegistry.getInstance().setProgressiveTierTable(table);
+        System.out.println("Tabela de desconto progressivo carregada: " + table.getDescription());
+        
+        return table;
+    }
+    
+    /**
+     * Cache de calculos de preco, criado apenas quando habilitado
+     * 
+     * @param properties propriedades de precificacao
+     * @return cache compartilhado pelo ProductService
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "pricing.quote-cache", name = "enabled", havingValue = "true")
+    public QuoteCache quoteCache(PricingProperties properties) {
+        QuoteCache quoteCache = new QuoteCache(properties.getQuoteCache().getMaximumSize());
+        System.out.println("Cache de calculos de preco habilitado: " + quoteCache.getMaximumSize() + " entradas");
+        return quoteCache;
+    }
+    
+    /**
+     * Tabela de promocoes por categoria compartilhada pela aplicacao
+     * 
+     * @return tabela vazia, alimentada pela API de promocoes
+     */
+    @Bean
+    public PromotionTable promotionTable() {
+        return new PromotionTable();
+    }
+    
+    /**
+     * Avaliador da matriz de estrategias, com pool de threads proprio
+     * 
+     * @param properties propriedades de precificacao
+     * @return avaliador encerrado junto com o contexto
+     */
+    @Bean(destroyMethod = "shutdown")
+    public StrategyMatrixEvaluator strategyMatrixEvaluator(PricingProperties properties) {
+        PricingProperties.Matrix matrix = properties.getMatrix();
+        return new StrategyMatrixEvaluator(matrix.getParallelism(), matrix.getBlockSize());
+    }
+    
+    /**
+     * Simulador de promocoes sobre o historico de pedidos
+     * 
+     * @param properties propriedades de precificacao
+     * @param progressiveTierTable faixas usadas na distribuicao dos pedidos
+     * @return simulador usado por POST /design-patterns/promotions/simulate
+     */
+    @Bean
+    public PromotionSimulator promotionSimulator(PricingProperties properties, DiscountTierTable progressiveTierTable) {
+        int parallelism = properties.getSimulation().getParallelism();
+        return new PromotionSimulator(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                                      progressiveTierTable);
+    }
+    
+    /**
+     * Armazenamento de cupons de uso unico
+     * 
+     * Se pricing.coupons.snapshot-file apontar para um snapshot existente,
+     * os cupons, campanhas e resgates sao recarregados dele. Com o snapshot
+     * configurado, os resgates tambem sao gravados no diario
+     * (snapshot-file + ".journal") antes de confirmados, e o diario e
+     * reaplicado aqui: resgates posteriores ao ultimo snapshot nao se perdem.
+     * 
+     * @param properties propriedades de precificacao
+     * @return armazenamento restaurado ou vazio com a capacidade configurada
+     * @throws IOException se o snapshot ou o diario nao puderem ser lidos
+     */
+    @Bean(destroyMethod = "close")
+    public CouponStore couponStore(PricingProperties properties) throws IOException {
+        String snapshotFile = properties.getCoupons().getSnapshotFile();
+        if (!StringUtils.hasText(snapshotFile)) {
+            CouponStore couponStore = new CouponStore(properties.getCoupons().getCapacity());
+            System.out.println("Armazenamento de cupons criado: " + couponStore.getMaxCoupons()
+                               + " cupons (sem snapshot: resgates ficam so em memoria)");
+            return couponStore;
+        }
+        
+        CouponStore couponStore;
+        if (Files.exists(Path.of(snapshotFile))) {
+            couponStore = CouponStore.restore(Path.of(snapshotFile));
+            System.out.println("Cupons restaurados de " + snapshotFile + ": " + couponStore.getIssuedCount() + " cupons");
+        } else {
+            couponStore = new CouponStore(properties.getCoupons().getCapacity());
+            System.out.println("Armazenamento de cupons criado: " + couponStore.getMaxCoupons() + " cupons");
+        }
+        int replayed = couponStore.openJournal(Path.of(snapshotFile + ".journal"));
+        System.out.println("Diario de resgates reaplicado: " + replayed + " resgates");
+        return couponStore;
+    }
+    
+    /**
+     * Listas de precos por cliente, segmento e categoria
+     * 
+     * @param properties propriedades de precificacao
+     * @return resolvedor com cache dos precos resolvidos
+     */
+    @Bean
+    public PriceListResolver priceListResolver(PricingProperties properties) {
+        return new PriceListResolver(properties.getPriceLists().getMaximumSize());
+    }
+    
+    /**
+     * Mudancas de preco agendadas, aplicadas em lote a cada tick
+     * 
+     * @param jdbcTemplate acesso a tabela produtos
+     * @param properties propriedades de precificacao
+     * @return motor ja iniciado, encerrado junto com o contexto
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledPriceChangeEngine scheduledPriceChangeEngine(JdbcTemplate jdbcTemplate, PricingProperties properties) {
+        PricingProperties.PriceChanges priceChanges = properties.getPriceChanges();
+        ScheduledPriceChangeEngine engine = new ScheduledPriceChangeEngine(jdbcTemplate, priceChanges.getTickMillis(),
+                                                                           priceChanges.getBatchSize(), System::currentTimeMillis);
+        engine.start();
+        return engine;
+    }
+}
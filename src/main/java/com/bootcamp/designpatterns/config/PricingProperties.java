@@ -0,0 +1,202 @@
+package com.bootcamp.designpatterns.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propriedades de precificacao lidas do application.yml (prefixo "pricing")
+ * 
+ * Exemplo:
+ * <pre>
+ * pricing:
+ *   progressive:
+ *     tiers-file: /etc/promocoes/campanha.tiers   # opcional, tem prioridade
+ *     tiers:
+ *       - up-to: 100.00
+ *         rate: 0.05
+ *       - rate: 0.15                              # ultima faixa e aberta
+ *   quote-cache:
+ *     enabled: true
+ *     maximum-size: 10000
+ *   matrix:
+ *     parallelism: 4                              # 0 = numero de processadores
+ *   coupons:
+ *     capacity: 1000000
+ *     snapshot-file: /var/lib/cupons/coupons.snap
+ *   price-lists:
+ *     maximum-size: 100000
+ *   price-changes:
+ *     tick-millis: 100
+ *     batch-size: 1000
+ *   simulation:
+ *     history-file: /var/lib/pedidos/historico.csv   # .csv e convertido para .ohis
+ *     parallelism: 0                                 # 0 = numero de processadores
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "pricing")
+public class PricingProperties {
+    
+    private final Progressive progressive = new Progressive();
+    
+    private final QuoteCache quoteCache = new QuoteCache();
+    
+    private final Matrix matrix = new Matrix();
+    
+    private final Coupons coupons = new Coupons();
+    
+    private final PriceLists priceLists = new PriceLists();
+    
+    private final PriceChanges priceChanges = new PriceChanges();
+    
+    private final Simulation simulation = new Simulation();
+    
+    public Progressive getProgressive() { return progressive; }
+    public QuoteCache getQuoteCache() { return quoteCache; }
+    public Matrix getMatrix() { return matrix; }
+    public Coupons getCoupons() { return coupons; }
+    public PriceLists getPriceLists() { return priceLists; }
+    public PriceChanges getPriceChanges() { return priceChanges; }
+    public Simulation getSimulation() { return simulation; }
+    
+    /**
+     * Configuracao do desconto progressivo
+     */
+    public static class Progressive {
+        
+        // Arquivo texto com a tabela de faixas (formato de DiscountTierTable.parse)
+        private String tiersFile;
+        
+        // Faixas declaradas diretamente no YAML
+        private List<Tier> tiers = new ArrayList<>();
+        
+        public String getTiersFile() { return tiersFile; }
+        public void setTiersFile(String tiersFile) { this.tiersFile = tiersFile; }
+        
+        public List<Tier> getTiers() { return tiers; }
+        public void setTiers(List<Tier> tiers) { this.tiers = tiers; }
+    }
+    
+    /**
+     * Configuracao do cache de calculos de preco
+     */
+    public static class QuoteCache {
+        
+        // Desabilitado por padrao
+        private boolean enabled;
+        
+        // Numero maximo de calculos memorizados
+        private int maximumSize = com.bootcamp.designpatterns.strategy.QuoteCache.DEFAULT_MAXIMUM_SIZE;
+        
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        
+        public int getMaximumSize() { return maximumSize; }
+        public void setMaximumSize(int maximumSize) { this.maximumSize = maximumSize; }
+    }
+    
+    /**
+     * Configuracao da comparacao de estrategias em matriz
+     */
+    public static class Matrix {
+        
+        // Threads do pool de avaliacao (0 = numero de processadores)
+        private int parallelism;
+        
+        // Precos avaliados por tarefa
+        private int blockSize = com.bootcamp.designpatterns.service.StrategyMatrixEvaluator.DEFAULT_BLOCK_SIZE;
+        
+        public int getParallelism() { return parallelism; }
+        public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+        
+        public int getBlockSize() { return blockSize; }
+        public void setBlockSize(int blockSize) { this.blockSize = blockSize; }
+    }
+    
+    /**
+     * Configuracao do armazenamento de cupons
+     */
+    public static class Coupons {
+        
+        // Quantidade maxima de cupons emitidos (capacidade fixa)
+        private int capacity = 1000000;
+        
+        // Arquivo de snapshot (vazio = snapshot desabilitado); os resgates
+        // sao gravados em snapshot-file + ".journal" antes de confirmados
+        private String snapshotFile;
+        
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+        
+        public String getSnapshotFile() { return snapshotFile; }
+        public void setSnapshotFile(String snapshotFile) { this.snapshotFile = snapshotFile; }
+    }
+    
+    /**
+     * Configuracao das listas de precos por cliente e segmento
+     */
+    public static class PriceLists {
+        
+        // Numero maximo de precos resolvidos em cache (cliente, produto)
+        private int maximumSize = com.bootcamp.designpatterns.pricelist.PriceListResolver.DEFAULT_MAXIMUM_SIZE;
+        
+        public int getMaximumSize() { return maximumSize; }
+        public void setMaximumSize(int maximumSize) { this.maximumSize = maximumSize; }
+    }
+    
+    /**
+     * Configuracao das mudancas de preco agendadas
+     */
+    public static class PriceChanges {
+        
+        // Resolucao da roda de tempo e intervalo entre lotes
+        private long tickMillis = com.bootcamp.designpatterns.service.ScheduledPriceChangeEngine.DEFAULT_TICK_MILLIS;
+        
+        // Atualizacoes por chamada JDBC em lote
+        private int batchSize = com.bootcamp.designpatterns.service.ScheduledPriceChangeEngine.DEFAULT_BATCH_SIZE;
+        
+        public long getTickMillis() { return tickMillis; }
+        public void setTickMillis(long tickMillis) { this.tickMillis = tickMillis; }
+        
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    }
+    
+    /**
+     * Configuracao do simulador de promocoes sobre o historico de pedidos
+     */
+    public static class Simulation {
+        
+        // Historico no formato de OrderHistoryFile ou CSV (vazio = simulador desabilitado)
+        private String historyFile;
+        
+        // Segmentos processados em paralelo (0 = numero de processadores)
+        private int parallelism;
+        
+        public String getHistoryFile() { return historyFile; }
+        public void setHistoryFile(String historyFile) { this.historyFile = historyFile; }
+        
+        public int getParallelism() { return parallelism; }
+        public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+    }
+    
+    /**
+     * Uma faixa do desconto progressivo
+     */
+    public static class Tier {
+        
+        // Limite superior inclusive (vazio na ultima faixa)
+        private BigDecimal upTo;
+        
+        // Percentual da faixa (0.0 a 1.0)
+        private BigDecimal rate;
+        
+        public BigDecimal getUpTo() { return upTo; }
+        public void setUpTo(BigDecimal upTo) { this.upTo = upTo; }
+        
+        public BigDecimal getRate() { return rate; }
+        public void setRate(BigDecimal rate) { this.rate = rate; }
+    }
+}
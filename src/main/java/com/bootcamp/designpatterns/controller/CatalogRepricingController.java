@@ -0,0 +1,167 @@
+package com.bootcamp.designpatterns.controller;
+
+import com.bootcamp.designpatterns.service.CatalogRepricingJob;
+import com.bootcamp.designpatterns.service.RepricingReport;
+import com.bootcamp.designpatterns.service.ScheduledPriceChangeEngine;
+import com.bootcamp.designpatterns.strategy.DiscountStrategy;
+import com.bootcamp.designpatterns.strategy.DiscountStrategyRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.validation.annotation.Validated;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controller REST da reprecificacao em massa do catalogo
+ * 
+ * Aplica uma estrategia de desconto (Strategy) a todos os produtos ativos
+ * de um intervalo de ids e devolve o relatorio de vazao da execucao.
+ * Tambem agenda e cancela mudancas de preco futuras.
+ */
+@RestController
+@RequestMapping("/design-patterns")
+@Tag(name = "Catalog Repricing", description = "Reprecificacao em massa do catalogo")
+@Validated
+public class CatalogRepricingController {
+    
+    @Autowired
+    private CatalogRepricingJob repricingJob;
+    
+    @Autowired
+    private ScheduledPriceChangeEngine priceChangeEngine;
+    
+    private final DiscountStrategyRegistry strategyRegistry = DiscountStrategyRegistry.getInstance();
+    
+    /**
+     * Endpoint que reprecifica o catalogo
+     * Para retomar uma execucao interrompida, informe o lastProcessedId como fromId
+     */
+    @PostMapping("/catalog/reprice")
+    @Operation(summary = "Reprecifica os produtos ativos do catalogo", 
+               description = "Aplica a estrategia em paginas por id, em paralelo, gravando os precos com JDBC em lote")
+    public ResponseEntity<Map<String, Object>> repriceCatalog(
+            @Parameter(description = "Tipo de estrategia: percentage, fixed, progressive")
+            @RequestParam @NotBlank String strategyType,
+            
+            @Parameter(description = "Valor do desconto (percentual de 0-100 ou valor fixo)")
+            @RequestParam(required = false) BigDecimal discountValue,
+            
+            @Parameter(description = "Id inicial (exclusivo) do intervalo")
+            @RequestParam(defaultValue = "0") @Min(0) long fromId,
+            
+            @Parameter(description = "Id final (inclusivo) do intervalo; vazio ate o fim do catalogo")
+            @RequestParam(required = false) Long toId,
+            
+            @Parameter(description = "Produtos por pagina")
+            @RequestParam(defaultValue = "1000") @Min(1) @Max(CatalogRepricingJob.MAX_PAGE_SIZE) int pageSize) {
+        
+        if (repricingJob.isRunning()) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Ja existe uma reprecificacao em andamento");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        }
+        
+        try {
+            DiscountStrategy strategy = strategyRegistry.getStrategy(strategyType, discountValue);
+            RepricingReport report = repricingJob.reprice(strategy, fromId, toId, pageSize);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("strategy", report.getStrategy());
+            response.put("fromId", report.getFromId());
+            response.put("toId", report.getToId());
+            response.put("lastProcessedId", report.getLastProcessedId());
+            response.put("processed", report.getProcessed());
+            response.put("updated", report.getUpdated());
+            response.put("pages", report.getPages());
+            response.put("elapsedMillis", report.getElapsedMillis());
+            response.put("throughputPerSecond", Math.round(report.getThroughputPerSecond()));
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Erro ao reprecificar catalogo: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Endpoint que agenda uma mudanca de preco
+     */
+    @PostMapping("/catalog/price-changes")
+    @Operation(summary = "Agenda uma mudanca de preco", 
+               description = "O novo preco e gravado em lote no tick seguinte ao instante effectiveAt (ISO-8601)")
+    public ResponseEntity<Map<String, Object>> schedulePriceChange(
+            @Parameter(description = "Id do produto")
+            @RequestParam @Min(1) long productId,
+            
+            @Parameter(description = "Novo preco do produto")
+            @RequestParam @DecimalMin(value = "0.00", message = "Preco nao pode ser negativo")
+            @DecimalMax(value = "9999999999.99", message = "Preco maior que o permitido") BigDecimal newPrice,
+            
+            @Parameter(description = "Instante em que o preco passa a valer, ex: 2024-11-29T03:00:00Z")
+            @RequestParam Instant effectiveAt) {
+        
+        ScheduledPriceChangeEngine.PriceChange change = priceChangeEngine.schedule(productId, newPrice, effectiveAt);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("changeId", change.getId());
+        response.put("productId", change.getProductId());
+        response.put("newPrice", change.getNewPrice());
+        response.put("effectiveAt", change.getEffectiveAt());
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Endpoint que cancela uma mudanca de preco pendente
+     */
+    @DeleteMapping("/catalog/price-changes/{changeId}")
+    @Operation(summary = "Cancela uma mudanca de preco pendente")
+    public ResponseEntity<Map<String, Object>> cancelPriceChange(@PathVariable long changeId) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("changeId", changeId);
+        
+        if (!priceChangeEngine.cancel(changeId)) {
+            response.put("error", "Mudanca de preco nao encontrada ou ja aplicada");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("cancelled", true);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Endpoint com as metricas das mudancas de preco agendadas
+     */
+    @GetMapping("/catalog/price-changes")
+    @Operation(summary = "Metricas das mudancas de preco agendadas")
+    public ResponseEntity<Map<String, Object>> priceChangeMetrics() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("pending", priceChangeEngine.getPendingCount());
+        response.put("scheduled", priceChangeEngine.getScheduledCount());
+        response.put("cancelled", priceChangeEngine.getCancelledCount());
+        response.put("applied", priceChangeEngine.getAppliedCount());
+        response.put("superseded", priceChangeEngine.getSupersededCount());
+        response.put("batches", priceChangeEngine.getBatchCount());
+        response.put("failedBatches", priceChangeEngine.getFailedBatchCount());
+        response.put("deadLettered", priceChangeEngine.getDeadLetterCount());
+        response.put("lastBatchMillis", priceChangeEngine.getLastBatchMillis());
+        response.put("tickMillis", priceChangeEngine.getTickMillis());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,185 @@
+package com.bootcamp.designpatterns.controller;
+
+import com.bootcamp.designpatterns.config.PricingProperties;
+import com.bootcamp.designpatterns.coupon.CouponCampaignRequest;
+import com.bootcamp.designpatterns.coupon.CouponStore;
+import com.bootcamp.designpatterns.strategy.*;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.validation.annotation.Validated;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST dos cupons de desconto de uso unico
+ * 
+ * Cria campanhas com seus codigos, consulta o status de um codigo e
+ * resgata o cupom calculando o preco com a estrategia da campanha.
+ */
+@RestController
+@RequestMapping("/design-patterns/coupons")
+@Tag(name = "Coupons", description = "Cupons de desconto de uso unico")
+@Validated
+public class CouponController {
+    
+    @Autowired
+    private CouponStore couponStore;
+    
+    @Autowired
+    private PricingProperties pricingProperties;
+    
+    private final DiscountStrategyRegistry strategyRegistry = DiscountStrategyRegistry.getInstance();
+    
+    /**
+     * Endpoint que cria uma campanha e emite seus codigos
+     */
+    @PostMapping("/campaigns")
+    @Operation(summary = "Cria uma campanha de cupons", 
+               description = "Codigos repetidos ou ja existentes sao ignorados e retornados em 'duplicates'")
+    public ResponseEntity<Map<String, Object>> createCampaign(@Valid @RequestBody CouponCampaignRequest campaignRequest) {
+        
+        try {
+            CouponStore.StrategySpec spec = CouponStore.StrategySpec.of(campaignRequest.getStrategyType(),
+                                                                        campaignRequest.getDiscountValue(),
+                                                                        campaignRequest.getRules());
+            DiscountStrategy strategy = spec.resolve(strategyRegistry);
+            
+            // Validacao, capacidade, registro e emissao em uma unica operacao:
+            // a campanha nunca fica emitida pela metade
+            CouponStore.CreatedCampaign created = couponStore.createCampaign(
+                    campaignRequest.getName(), strategy, spec, campaignRequest.getCodes());
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("campaign", created.campaign().name());
+            response.put("strategy", strategy.getDescription());
+            response.put("strategyInfo", strategy.getDiscountInfo());
+            response.put("issued", created.issued());
+            response.put("duplicates", created.duplicates());
+            
+            // Os resgates vao para o diario, mas os codigos emitidos so ficam
+            // em disco no snapshot: sem ele a campanha sumiria em um reinicio
+            String snapshotFile = pricingProperties.getCoupons().getSnapshotFile();
+            if (StringUtils.hasText(snapshotFile)) {
+                try {
+                    couponStore.snapshot(Path.of(snapshotFile));
+                } catch (IOException e) {
+                    response.put("error", "Campanha criada, mas o snapshot falhou: " + e.getMessage());
+                    return ResponseEntity.internalServerError().body(response);
+                }
+            }
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Erro ao criar campanha: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Endpoint que consulta um codigo sem resgata-lo
+     */
+    @GetMapping("/{code}")
+    @Operation(summary = "Consulta o status de um cupom", 
+               description = "Retorna NOT_FOUND, AVAILABLE ou REDEEMED")
+    public ResponseEntity<Map<String, Object>> checkCoupon(@PathVariable String code) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("code", code);
+        response.put("status", couponStore.check(code));
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Endpoint que resgata um cupom e calcula o preco com o desconto
+     */
+    @PostMapping("/{code}/redeem")
+    @Operation(summary = "Resgata um cupom", 
+               description = "Cada codigo pode ser resgatado uma unica vez; retorna 409 se ja foi usado")
+    public ResponseEntity<?> redeemCoupon(
+            @PathVariable String code,
+            
+            @Parameter(description = "Preco original da compra")
+            @RequestParam @DecimalMin(value = "0.01", message = "Preco deve ser maior que zero") BigDecimal originalPrice) {
+        
+        CouponStore.Redemption redemption = couponStore.redeem(code);
+        if (!redemption.isSuccessful()) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("code", code);
+            error.put("status", redemption.status());
+            error.put("error", redemption.status() == CouponStore.Status.REDEEMED
+                    ? "Cupom ja utilizado" : "Cupom inexistente");
+            HttpStatus status = redemption.status() == CouponStore.Status.REDEEMED 
+                    ? HttpStatus.CONFLICT : HttpStatus.NOT_FOUND;
+            return ResponseEntity.status(status).body(error);
+        }
+        
+        return ResponseEntity.ok(PriceCalculator.quote(redemption.campaign().strategy(), originalPrice));
+    }
+    
+    /**
+     * Endpoint com as metricas do armazenamento
+     */
+    @GetMapping
+    @Operation(summary = "Metricas dos cupons", 
+               description = "Inclui consultas barradas pelo filtro de Bloom e resgates recusados")
+    public ResponseEntity<Map<String, Object>> couponMetrics() {
+        List<String> campaigns = new ArrayList<>();
+        for (CouponStore.Campaign campaign : couponStore.getCampaigns()) {
+            campaigns.add(campaign.name());
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("campaigns", campaigns);
+        response.put("issued", couponStore.getIssuedCount());
+        response.put("capacity", couponStore.getMaxCoupons());
+        response.put("checks", couponStore.getCheckCount());
+        response.put("bloomRejections", couponStore.getBloomRejectionCount());
+        response.put("redemptions", couponStore.getRedemptionCount());
+        response.put("rejectedRedemptions", couponStore.getRejectedRedemptionCount());
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Endpoint que grava o estado dos cupons no arquivo configurado
+     */
+    @PostMapping("/snapshot")
+    @Operation(summary = "Grava um snapshot dos cupons em disco", 
+               description = "Usa o arquivo de pricing.coupons.snapshot-file")
+    public ResponseEntity<Map<String, Object>> snapshotCoupons() {
+        Map<String, Object> response = new HashMap<>();
+        String snapshotFile = pricingProperties.getCoupons().getSnapshotFile();
+        if (!StringUtils.hasText(snapshotFile)) {
+            response.put("error", "Snapshot desabilitado: configure pricing.coupons.snapshot-file");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        try {
+            long start = System.nanoTime();
+            couponStore.snapshot(Path.of(snapshotFile));
+            response.put("file", snapshotFile);
+            response.put("issued", couponStore.getIssuedCount());
+            response.put("elapsedMillis", (System.nanoTime() - start) / 1_000_000);
+            return ResponseEntity.ok(response);
+        } catch (IOException e) {
+            response.put("error", "Erro ao gravar snapshot: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.bootcamp.designpatterns.controller;
 import com.bootcamp.designpatterns.service.ProductService;
 import com.bootcamp.designpatterns.strategy.*;
 import com.bootcamp.designpatterns.facade.OrderRequest;
+import com.bootcamp.designpatterns.facade.OrderResult;
 import com.bootcamp.designpatterns.facade.EcommerceFacade;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +19,8 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -41,44 +44,108 @@ public class DesignPatternsController {
     @Autowired
     private ProductService productService;
     
-    private final EcommerceFacade ecommerceFacade = new EcommerceFacade();
+    // Facade compartilhado, com o mesmo estoque do ProductService
+    @Autowired
+    private EcommerceFacade ecommerceFacade;
+    
+    private final DiscountStrategyRegistry strategyRegistry = DiscountStrategyRegistry.getInstance();
     
     /**
      * Endpoint que demonstra o padrao Strategy
      * Calcula precos com diferentes estrategias de desconto
+     * 
+     * O preco e calculado uma unica vez e o PriceBreakdown e devolvido
+     * diretamente; o texto de detalhes so e montado na serializacao.
      */
     @GetMapping("/strategy/calculate-price")
     @Operation(summary = "Calcula preco com desconto usando Strategy Pattern", 
                description = "Aplica diferentes estrategias de desconto: percentual, fixo ou progressivo")
-    public ResponseEntity<Map<String, Object>> calculatePriceWithStrategy(
+    public ResponseEntity<?> calculatePriceWithStrategy(
             @Parameter(description = "Preco original do produto")
             @RequestParam @DecimalMin(value = "0.01", message = "Preco deve ser maior que zero") BigDecimal originalPrice,
             
-            @Parameter(description = "Tipo de estrategia: percentage, fixed, progressive")
+            @Parameter(description = "Tipo de estrategia: percentage, fixed, progressive, rules")
             @RequestParam @NotBlank String strategyType,
             
             @Parameter(description = "Valor do desconto (percentual de 0-100 ou valor fixo)")
-            @RequestParam(required = false) BigDecimal discountValue) {
+            @RequestParam(required = false) BigDecimal discountValue,
+            
+            @Parameter(description = "Regras de desconto quando strategyType = rules (ex: when price >= 100 then percent 10, cap 50)")
+            @RequestParam(required = false) String rules) {
+        
+        try {
+            DiscountStrategy strategy = createStrategy(strategyType, discountValue, rules);
+            
+            PriceBreakdown breakdown = productService.quotePrice(originalPrice, strategy);
+            
+            return ResponseEntity.ok(breakdown);
+            
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Erro ao calcular preco: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Endpoint que calcula precos em lote com a mesma estrategia
+     * Evita uma requisicao HTTP por item em rotinas de reprecificacao
+     */
+    @PostMapping("/strategy/calculate-batch")
+    @Operation(summary = "Calcula precos em lote usando Strategy Pattern", 
+               description = "Aplica a mesma estrategia de desconto a ate 10000 precos em uma unica requisicao")
+    public ResponseEntity<Map<String, Object>> calculateBatchPrices(@Valid @RequestBody BatchPriceRequest batchRequest) {
         
         try {
-            DiscountStrategy strategy = createStrategy(strategyType, discountValue);
+            DiscountStrategy strategy = createStrategy(batchRequest.getStrategyType(), batchRequest.getDiscountValue(),
+                                                       batchRequest.getRules());
             
-            BigDecimal finalPrice = productService.calculateDiscountedPrice(originalPrice, strategy);
-            String details = productService.getPriceCalculationDetails(originalPrice, strategy);
+            List<BigDecimal> finalPrices = productService.calculateDiscountedPrices(batchRequest.getPrices(), strategy);
+            
+            BigDecimal totalOriginal = BigDecimal.ZERO;
+            for (BigDecimal price : batchRequest.getPrices()) {
+                totalOriginal = totalOriginal.add(price);
+            }
+            BigDecimal totalFinal = BigDecimal.ZERO;
+            for (BigDecimal price : finalPrices) {
+                totalFinal = totalFinal.add(price);
+            }
             
             Map<String, Object> response = new HashMap<>();
-            response.put("originalPrice", originalPrice);
-            response.put("finalPrice", finalPrice);
-            response.put("discount", originalPrice.subtract(finalPrice));
+            response.put("count", finalPrices.size());
+            response.put("finalPrices", finalPrices);
+            response.put("totalOriginal", totalOriginal);
+            response.put("totalFinal", totalFinal);
+            response.put("totalDiscount", totalOriginal.subtract(totalFinal));
             response.put("strategy", strategy.getDescription());
             response.put("strategyInfo", strategy.getDiscountInfo());
-            response.put("details", details);
             
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
-            error.put("error", "Erro ao calcular preco: " + e.getMessage());
+            error.put("error", "Erro ao calcular lote de precos: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Endpoint que precifica um carrinho com varias linhas
+     */
+    @PostMapping("/strategy/calculate-cart")
+    @Operation(summary = "Precifica um carrinho usando Strategy Pattern", 
+               description = "Aplica a estrategia ao total do carrinho e distribui o desconto entre as linhas")
+    public ResponseEntity<?> calculateCartPrice(@Valid @RequestBody CartPriceRequest cartRequest) {
+        
+        try {
+            DiscountStrategy strategy = createStrategy(cartRequest.getStrategyType(), cartRequest.getDiscountValue(),
+                                                       cartRequest.getRules());
+            
+            return ResponseEntity.ok(productService.quoteCart(cartRequest.getLines(), strategy));
+            
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Erro ao precificar carrinho: " + e.getMessage());
             return ResponseEntity.badRequest().body(error);
         }
     }
@@ -104,6 +171,16 @@ public class DesignPatternsController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Endpoint com as metricas do cache de calculos de preco
+     */
+    @GetMapping("/strategy/cache-stats")
+    @Operation(summary = "Metricas do cache de calculos de preco", 
+               description = "Taxa de acertos, evicoes e ocupacao do cache W-TinyLFU (quando habilitado)")
+    public ResponseEntity<Map<String, Object>> getQuoteCacheStatistics() {
+        return ResponseEntity.ok(productService.getQuoteCacheStatistics());
+    }
+    
     /**
      * Endpoint que demonstra o padrao Facade
      * Verifica disponibilidade de produto de forma simplificada
@@ -152,14 +229,22 @@ public class DesignPatternsController {
     
     /**
      * Endpoint que processa pedido completo usando Facade
+     * 
+     * Com o cabecalho Idempotency-Key, repeticoes da mesma requisicao (por
+     * exemplo, apos um timeout no cliente) devolvem o resultado original sem
+     * cobrar de novo.
      */
     @PostMapping("/facade/process-order")
     @Operation(summary = "Processa pedido completo usando Facade Pattern", 
                description = "Orquestra estoque, pagamento e entrega em uma unica operacao")
-    public ResponseEntity<Map<String, Object>> processOrder(@Valid @RequestBody OrderRequest orderRequest) {
+    public ResponseEntity<Map<String, Object>> processOrder(
+            @Valid @RequestBody OrderRequest orderRequest,
+            @Parameter(description = "Chave para repetir a requisicao sem processar o pedido duas vezes")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         
         try {
-            var result = ecommerceFacade.processOrder(orderRequest);
+            // Etapas independentes do pedido rodam em paralelo
+            var result = ecommerceFacade.processOrderAsync(orderRequest, idempotencyKey).join();
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", result.isSuccess());
@@ -179,6 +264,47 @@ public class DesignPatternsController {
         }
     }
     
+    /**
+     * Endpoint que processa um lote de pedidos usando Facade
+     * 
+     * Estoque e reservado uma vez por produto e cada cartao distinto e
+     * validado uma vez; os resultados seguem a ordem dos pedidos enviados.
+     */
+    @PostMapping("/facade/process-orders")
+    @Operation(summary = "Processa lote de pedidos usando Facade Pattern", 
+               description = "Agrupa estoque por produto, valida cartoes em lote e processa ate 5000 pedidos por chamada")
+    public ResponseEntity<Map<String, Object>> processOrders(
+            @RequestBody @NotEmpty(message = "Lista de pedidos e obrigatoria")
+            @Size(max = EcommerceFacade.MAX_BATCH_SIZE, message = "Lote deve ter no maximo 5000 pedidos")
+            List<@Valid OrderRequest> orderRequests) {
+        
+        try {
+            List<OrderResult> results = ecommerceFacade.processOrdersAsync(orderRequests).join();
+            
+            int successCount = 0;
+            for (OrderResult result : results) {
+                if (result.isSuccess()) {
+                    successCount++;
+                }
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("count", results.size());
+            response.put("successCount", successCount);
+            response.put("failureCount", results.size() - successCount);
+            response.put("results", results);
+            response.put("pattern", "Facade Pattern");
+            response.put("description", "Processa varios pedidos agrupando estoque e validacao de cartoes");
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Erro ao processar lote de pedidos: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
     /**
      * Endpoint que demonstra o padrao Singleton
      */
@@ -220,20 +346,13 @@ public class DesignPatternsController {
     }
     
     /**
-     * Metodo auxiliar para criar estrategias baseado no tipo
+     * Metodo auxiliar para obter estrategias baseado no tipo
+     * Estrategias sao compartilhadas pelo registro (Flyweight)
      */
-    private DiscountStrategy createStrategy(String type, BigDecimal value) {
-        switch (type.toLowerCase()) {
-            case "percentage":
-                BigDecimal percentage = value != null ? value.divide(new BigDecimal("100")) : new BigDecimal("0.10");
-                return new PercentageDiscountStrategy(percentage);
-            case "fixed":
-                BigDecimal fixedValue = value != null ? value : new BigDecimal("50.00");
-                return new FixedDiscountStrategy(fixedValue);
-            case "progressive":
-                return new ProgressiveDiscountStrategy();
-            default:
-                throw new IllegalArgumentException("Tipo de estrategia nao suportado: " + type);
+    private DiscountStrategy createStrategy(String type, BigDecimal value, String rules) {
+        if ("rules".equalsIgnoreCase(type)) {
+            return strategyRegistry.getRuleStrategy(rules);
         }
+        return strategyRegistry.getStrategy(type, value);
     }
 }
\ No newline at end of file
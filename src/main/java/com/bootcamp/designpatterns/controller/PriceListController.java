@@ -0,0 +1,218 @@
+package com.bootcamp.designpatterns.controller;
+
+import com.bootcamp.designpatterns.pricelist.PriceListResolver;
+import com.bootcamp.designpatterns.pricelist.ResolvedPrice;
+import com.bootcamp.designpatterns.service.ProductService;
+import com.bootcamp.designpatterns.strategy.*;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.validation.annotation.Validated;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import jakarta.validation.constraints.DecimalMin;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controller REST das listas de precos B2B
+ * 
+ * Mantem os precos por cliente, por segmento e os fatores por categoria e
+ * calcula o preco de um produto para um cliente: primeiro a lista de
+ * precos define o preco de partida, depois a estrategia de desconto e
+ * aplicada sobre ele.
+ */
+@RestController
+@RequestMapping("/design-patterns/price-lists")
+@Tag(name = "Price Lists", description = "Listas de precos por cliente e segmento")
+@Validated
+public class PriceListController {
+    
+    @Autowired
+    private PriceListResolver priceListResolver;
+    
+    @Autowired
+    private ProductService productService;
+    
+    private final DiscountStrategyRegistry strategyRegistry = DiscountStrategyRegistry.getInstance();
+    
+    /**
+     * Endpoint que associa um cliente a um segmento
+     */
+    @PutMapping("/customers/{customerId}/segment")
+    @Operation(summary = "Associa um cliente a um segmento", 
+               description = "Sem o parametro segment a associacao e removida")
+    public ResponseEntity<Map<String, Object>> assignSegment(
+            @PathVariable String customerId,
+            @RequestParam(required = false) String segment) {
+        
+        priceListResolver.assignSegment(customerId, segment);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("customerId", customerId);
+        response.put("segment", segment);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Endpoint que define o preco de um produto para um cliente
+     */
+    @PutMapping("/customers/{customerId}/prices/{productId}")
+    @Operation(summary = "Define o preco de um produto para um cliente")
+    public ResponseEntity<Map<String, Object>> setCustomerPrice(
+            @PathVariable String customerId,
+            @PathVariable Long productId,
+            @RequestParam @DecimalMin(value = "0.00", message = "Preco nao pode ser negativo") BigDecimal price) {
+        
+        priceListResolver.setCustomerPrice(customerId, productId, price);
+        return ResponseEntity.ok(describe("customerId", customerId, productId, price));
+    }
+    
+    /**
+     * Endpoint que remove o preco de um produto para um cliente
+     */
+    @DeleteMapping("/customers/{customerId}/prices/{productId}")
+    @Operation(summary = "Remove o preco de um produto para um cliente")
+    public ResponseEntity<Map<String, Object>> removeCustomerPrice(
+            @PathVariable String customerId,
+            @PathVariable Long productId) {
+        
+        priceListResolver.setCustomerPrice(customerId, productId, null);
+        return ResponseEntity.ok(describe("customerId", customerId, productId, null));
+    }
+    
+    /**
+     * Endpoint que define o preco de um produto para um segmento
+     */
+    @PutMapping("/segments/{segment}/prices/{productId}")
+    @Operation(summary = "Define o preco de um produto para um segmento")
+    public ResponseEntity<Map<String, Object>> setSegmentPrice(
+            @PathVariable String segment,
+            @PathVariable Long productId,
+            @RequestParam @DecimalMin(value = "0.00", message = "Preco nao pode ser negativo") BigDecimal price) {
+        
+        priceListResolver.setSegmentPrice(segment, productId, price);
+        return ResponseEntity.ok(describe("segment", segment, productId, price));
+    }
+    
+    /**
+     * Endpoint que remove o preco de um produto para um segmento
+     */
+    @DeleteMapping("/segments/{segment}/prices/{productId}")
+    @Operation(summary = "Remove o preco de um produto para um segmento")
+    public ResponseEntity<Map<String, Object>> removeSegmentPrice(
+            @PathVariable String segment,
+            @PathVariable Long productId) {
+        
+        priceListResolver.setSegmentPrice(segment, productId, null);
+        return ResponseEntity.ok(describe("segment", segment, productId, null));
+    }
+    
+    /**
+     * Endpoint que define o fator de preco de uma categoria
+     */
+    @PutMapping("/categories/{category}/factor")
+    @Operation(summary = "Define o fator aplicado ao preco base de uma categoria", 
+               description = "Ex: 0.95 vende a categoria a 95% do preco base; sem o parametro o fator e removido")
+    public ResponseEntity<Map<String, Object>> setCategoryFactor(
+            @PathVariable String category,
+            @RequestParam(required = false) BigDecimal factor) {
+        
+        try {
+            priceListResolver.setCategoryFactor(category, factor);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("category", category);
+            response.put("factor", factor);
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Erro ao definir fator: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Endpoint que calcula o preco de um produto para um cliente
+     */
+    @GetMapping("/quote")
+    @Operation(summary = "Calcula o preco de um produto para um cliente", 
+               description = "Resolve cliente -> segmento -> categoria -> preco base e aplica a estrategia sobre o resultado")
+    public ResponseEntity<Map<String, Object>> quoteCustomerPrice(
+            @Parameter(description = "Cliente (opcional)")
+            @RequestParam(required = false) String customerId,
+            
+            @Parameter(description = "Id do produto")
+            @RequestParam Long productId,
+            
+            @Parameter(description = "Categoria do produto")
+            @RequestParam(required = false) String category,
+            
+            @Parameter(description = "Preco base do produto")
+            @RequestParam @DecimalMin(value = "0.01", message = "Preco deve ser maior que zero") BigDecimal basePrice,
+            
+            @Parameter(description = "Tipo de estrategia: percentage, fixed, progressive (opcional)")
+            @RequestParam(required = false) String strategyType,
+            
+            @Parameter(description = "Valor do desconto (percentual de 0-100 ou valor fixo)")
+            @RequestParam(required = false) BigDecimal discountValue) {
+        
+        try {
+            DiscountStrategy strategy = strategyType != null 
+                    ? strategyRegistry.getStrategy(strategyType, discountValue) : null;
+            
+            ResolvedPrice resolved = priceListResolver.resolve(customerId, productId, category, basePrice);
+            PriceBreakdown breakdown = productService.quotePrice(resolved.getPrice(), strategy);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("customerId", customerId);
+            response.put("segment", resolved.getSegment());
+            response.put("productId", productId);
+            response.put("basePrice", resolved.getBasePrice());
+            response.put("listPrice", resolved.getPrice());
+            response.put("priceSource", resolved.getSource());
+            response.put("discount", breakdown.getDiscount());
+            response.put("finalPrice", breakdown.getFinalPrice());
+            response.put("strategy", breakdown.getStrategy());
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Erro ao calcular preco: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Endpoint com as metricas do cache de precos resolvidos
+     */
+    @GetMapping
+    @Operation(summary = "Metricas das listas de precos", 
+               description = "Acertos, faltas e entradas invalidadas por alteracao de algum nivel")
+    public ResponseEntity<Map<String, Object>> priceListMetrics() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("customers", priceListResolver.getCustomerCount());
+        response.put("segments", priceListResolver.getSegmentCount());
+        response.put("cached", priceListResolver.size());
+        response.put("maximumSize", priceListResolver.getMaximumSize());
+        response.put("hitCount", priceListResolver.getHitCount());
+        response.put("missCount", priceListResolver.getMissCount());
+        response.put("staleHitCount", priceListResolver.getStaleHitCount());
+        return ResponseEntity.ok(response);
+    }
+    
+    private static Map<String, Object> describe(String ownerField, String owner, Long productId, BigDecimal price) {
+        Map<String, Object> description = new HashMap<>();
+        description.put(ownerField, owner);
+        description.put("productId", productId);
+        description.put("price", price);
+        return description;
+    }
+}
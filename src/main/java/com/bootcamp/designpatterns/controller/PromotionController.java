@@ -0,0 +1,230 @@
+package com.bootcamp.designpatterns.controller;
+
+import com.bootcamp.designpatterns.config.PricingProperties;
+import com.bootcamp.designpatterns.service.ProductService;
+import com.bootcamp.designpatterns.simulation.OrderHistoryFile;
+import com.bootcamp.designpatterns.simulation.PromotionSimulator;
+import com.bootcamp.designpatterns.simulation.SimulationReport;
+import com.bootcamp.designpatterns.strategy.*;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.annotation.Validated;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST das promocoes por categoria (vendas relampago)
+ * 
+ * Agenda e cancela promocoes na tabela copy-on-write compartilhada,
+ * calcula precos com a promocao vigente da categoria e simula estrategias
+ * candidatas sobre o historico de pedidos.
+ */
+@RestController
+@RequestMapping("/design-patterns/promotions")
+@Tag(name = "Promotions", description = "Promocoes agendadas por categoria")
+@Validated
+public class PromotionController {
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private PromotionSimulator promotionSimulator;
+    
+    @Autowired
+    private PricingProperties pricingProperties;
+    
+    private final DiscountStrategyRegistry strategyRegistry = DiscountStrategyRegistry.getInstance();
+    
+    /**
+     * Endpoint que agenda uma promocao
+     */
+    @PostMapping
+    @Operation(summary = "Agenda uma promocao para uma categoria", 
+               description = "A promocao passa a valer no instante activeFrom e expira em activeUntil")
+    public ResponseEntity<Map<String, Object>> schedulePromotion(@Valid @RequestBody PromotionRequest promotionRequest) {
+        
+        try {
+            DiscountStrategy strategy = "rules".equalsIgnoreCase(promotionRequest.getStrategyType())
+                    ? strategyRegistry.getRuleStrategy(promotionRequest.getRules())
+                    : strategyRegistry.getStrategy(promotionRequest.getStrategyType(), promotionRequest.getDiscountValue());
+            
+            Promotion promotion = new Promotion(promotionRequest.getCategory(), strategy,
+                                                promotionRequest.getActiveFrom(), promotionRequest.getActiveUntil());
+            long version = productService.getPromotionTable().schedule(promotion);
+            
+            Map<String, Object> response = describe(promotion);
+            response.put("version", version);
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Erro ao agendar promocao: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Endpoint que cancela uma promocao
+     */
+    @DeleteMapping("/{promotionId}")
+    @Operation(summary = "Cancela uma promocao")
+    public ResponseEntity<Map<String, Object>> cancelPromotion(@PathVariable String promotionId) {
+        long version = productService.getPromotionTable().cancel(promotionId);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("promotionId", promotionId);
+        
+        if (version < 0) {
+            response.put("error", "Promocao nao encontrada");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("version", version);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Endpoint que lista as promocoes e as metricas de publicacao
+     */
+    @GetMapping
+    @Operation(summary = "Lista as promocoes agendadas", 
+               description = "Inclui a versao da tabela e o tempo ate cada troca ficar visivel")
+    public ResponseEntity<Map<String, Object>> listPromotions() {
+        PromotionTable table = productService.getPromotionTable();
+        PromotionTable.Snapshot snapshot = table.snapshot();
+        
+        List<Map<String, Object>> promotions = new ArrayList<>();
+        for (Promotion promotion : snapshot.getPromotions()) {
+            promotions.add(describe(promotion));
+        }
+        
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("swapCount", table.getSwapCount());
+        metrics.put("casRetryCount", table.getCasRetryCount());
+        metrics.put("lastVisibilityNanos", table.getLastVisibilityNanos());
+        metrics.put("averageVisibilityNanos", table.getAverageVisibilityNanos());
+        metrics.put("maxVisibilityNanos", table.getMaxVisibilityNanos());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("version", snapshot.getVersion());
+        response.put("promotions", promotions);
+        response.put("metrics", metrics);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Endpoint que calcula o preco com a promocao vigente da categoria
+     */
+    @GetMapping("/price")
+    @Operation(summary = "Calcula preco com a promocao vigente da categoria", 
+               description = "Sem promocao ativa o preco e retornado sem desconto")
+    public ResponseEntity<PriceBreakdown> calculatePromotionalPrice(
+            @Parameter(description = "Preco original do produto")
+            @RequestParam @DecimalMin(value = "0.01", message = "Preco deve ser maior que zero") BigDecimal originalPrice,
+            
+            @Parameter(description = "Categoria do produto")
+            @RequestParam @NotBlank String category) {
+        
+        return ResponseEntity.ok(productService.quotePromotionalPrice(originalPrice, category, null));
+    }
+    
+    /**
+     * Endpoint que simula estrategias sobre o historico de pedidos
+     * O historico e o arquivo de pricing.simulation.history-file; um CSV e
+     * convertido uma vez para o formato binario, ao lado do original
+     */
+    @PostMapping("/simulate")
+    @Operation(summary = "Simula estrategias sobre o historico de pedidos", 
+               description = "Cada estrategia no formato tipo[:valor], ex: percentage:10, fixed:20, progressive")
+    public ResponseEntity<Map<String, Object>> simulatePromotions(
+            @Parameter(description = "Estrategias candidatas, ex: percentage:10")
+            @RequestParam @NotEmpty List<String> strategies) {
+        
+        String historyFile = pricingProperties.getSimulation().getHistoryFile();
+        if (!StringUtils.hasText(historyFile)) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Simulador desabilitado: configure pricing.simulation.history-file");
+            return ResponseEntity.badRequest().body(error);
+        }
+        
+        try {
+            List<DiscountStrategy> candidates = new ArrayList<>();
+            for (String spec : strategies) {
+                String[] parts = spec.split(":", 2);
+                BigDecimal value = parts.length > 1 ? new BigDecimal(parts[1].strip()) : null;
+                candidates.add(strategyRegistry.getStrategy(parts[0].strip(), value));
+            }
+            
+            SimulationReport report = promotionSimulator.simulate(binaryHistory(Path.of(historyFile)), candidates);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("records", report.getRecords());
+            response.put("orders", report.getOrders());
+            response.put("invalidOrders", report.getInvalidOrders());
+            response.put("grossRevenue", report.getGrossRevenue());
+            response.put("segments", report.getSegments());
+            response.put("elapsedMillis", report.getElapsedMillis());
+            response.put("ordersPerSecond", report.getOrdersPerSecond());
+            response.put("tiers", report.getTiers());
+            response.put("strategies", report.getStrategies());
+            return ResponseEntity.ok(response);
+            
+        } catch (IOException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Erro ao ler o historico de pedidos: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(error);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Erro ao simular promocoes: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Historico no formato binario; um CSV e convertido para arquivo.ohis
+     * quando o convertido ainda nao existe ou e mais antigo que o CSV
+     */
+    private static Path binaryHistory(Path historyFile) throws IOException {
+        if (!historyFile.getFileName().toString().toLowerCase().endsWith(".csv")) {
+            return historyFile;
+        }
+        Path converted = historyFile.resolveSibling(historyFile.getFileName() + ".ohis");
+        if (!Files.exists(converted)
+                || Files.getLastModifiedTime(converted).compareTo(Files.getLastModifiedTime(historyFile)) < 0) {
+            long orders = OrderHistoryFile.convertCsv(historyFile, converted);
+            System.out.println("Historico convertido: " + orders + " pedidos em " + converted);
+        }
+        return converted;
+    }
+    
+    private static Map<String, Object> describe(Promotion promotion) {
+        Map<String, Object> description = new HashMap<>();
+        description.put("id", promotion.getId());
+        description.put("category", promotion.getCategory());
+        description.put("strategy", promotion.getStrategy().getDescription());
+        description.put("strategyInfo", promotion.getStrategy().getDiscountInfo());
+        description.put("activeFrom", promotion.getActiveFrom());
+        description.put("activeUntil", promotion.getActiveUntil());
+        return description;
+    }
+}
@@ -0,0 +1,119 @@
+package com.bootcamp.designpatterns.controller;
+
+import com.bootcamp.designpatterns.service.StrategyMatrixEvaluator;
+import com.bootcamp.designpatterns.strategy.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.validation.annotation.Validated;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import jakarta.validation.Valid;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST da comparacao de estrategias em matriz
+ * 
+ * Avalia N estrategias candidatas contra M precos em paralelo e devolve
+ * o resultado em NDJSON (um objeto JSON por linha): uma linha por preco,
+ * na ordem em que os blocos terminam, seguida do resumo com o impacto na
+ * receita de cada estrategia.
+ */
+@RestController
+@RequestMapping("/design-patterns")
+@Tag(name = "Strategy Matrix", description = "Comparacao de estrategias sobre listas de precos")
+@Validated
+public class StrategyMatrixController {
+    
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    
+    @Autowired
+    private StrategyMatrixEvaluator matrixEvaluator;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private final DiscountStrategyRegistry strategyRegistry = DiscountStrategyRegistry.getInstance();
+    
+    /**
+     * Endpoint que compara estrategias sobre uma lista de precos
+     * 
+     * Linhas: {"type":"row","index":0,"price":100.00,"finalPrices":[90.00,95.00]}
+     * Resumo: {"type":"summary","priceCount":...,"strategies":[...]}
+     */
+    @PostMapping("/strategy/compare-matrix")
+    @Operation(summary = "Compara N estrategias sobre M precos", 
+               description = "Avalia a matriz em paralelo e transmite as linhas em NDJSON a medida que ficam prontas")
+    public ResponseEntity<?> compareMatrix(@Valid @RequestBody StrategyMatrixRequest matrixRequest) {
+        
+        List<DiscountStrategy> strategies = new ArrayList<>();
+        try {
+            for (StrategyCandidate candidate : matrixRequest.getStrategies()) {
+                strategies.add("rules".equalsIgnoreCase(candidate.getStrategyType())
+                        ? strategyRegistry.getRuleStrategy(candidate.getRules())
+                        : strategyRegistry.getStrategy(candidate.getStrategyType(), candidate.getDiscountValue()));
+            }
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Erro ao comparar estrategias: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+        
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            
+            StrategyMatrixEvaluator.MatrixSummary summary = matrixEvaluator.evaluate(strategies, matrixRequest.getPrices(),
+                new StrategyMatrixEvaluator.RowListener() {
+                    @Override
+                    public void onRow(int index, long priceCents, long[] finalCents) throws IOException {
+                        writer.write("{\"type\":\"row\",\"index\":");
+                        writer.write(Integer.toString(index));
+                        writer.write(",\"price\":");
+                        writer.write(FixedPointMath.fromCents(priceCents).toPlainString());
+                        writer.write(",\"finalPrices\":[");
+                        for (int s = 0; s < finalCents.length; s++) {
+                            if (s > 0) {
+                                writer.write(',');
+                            }
+                            writer.write(FixedPointMath.fromCents(finalCents[s]).toPlainString());
+                        }
+                        writer.write("]}\n");
+                    }
+                    
+                    @Override
+                    public void onBlockComplete() throws IOException {
+                        writer.flush();
+                    }
+                });
+            
+            Map<String, Object> summaryLine = new LinkedHashMap<>();
+            summaryLine.put("type", "summary");
+            summaryLine.put("priceCount", summary.getPriceCount());
+            summaryLine.put("blockCount", summary.getBlockCount());
+            summaryLine.put("elapsedMillis", summary.getElapsedMillis());
+            summaryLine.put("strategies", summary.getStrategies());
+            writer.write(objectMapper.writeValueAsString(summaryLine));
+            writer.write('\n');
+            writer.flush();
+        };
+        
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+}
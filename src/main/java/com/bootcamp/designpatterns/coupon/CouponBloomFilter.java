@@ -0,0 +1,94 @@
+package com.bootcamp.designpatterns.coupon;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para codigos de cupom
+ * 
+ * Responde "com certeza nao existe" ou "talvez exista". Usa cerca de 10
+ * bits por cupom esperado e 7 funcoes de hash (derivadas de dois hashes
+ * por double hashing), o que da aproximadamente 1% de falsos positivos.
+ * 
+ * Os bits ficam em um AtomicLongArray: insercoes usam compareAndSet e
+ * consultas sao apenas leituras, sem travas.
+ */
+final class CouponBloomFilter {
+    
+    static final int HASH_FUNCTIONS = 7;
+    private static final int BITS_PER_ELEMENT = 10;
+    
+    private final AtomicLongArray words;
+    private final long bitMask;
+    
+    /**
+     * Cria um filtro dimensionado para a quantidade esperada de cupons
+     * 
+     * @param expectedElements quantidade esperada de cupons
+     */
+    CouponBloomFilter(long expectedElements) {
+        long bits = Long.highestOneBit(Math.max(64L, expectedElements * BITS_PER_ELEMENT - 1) << 1);
+        if (bits / 64 > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Filtro de Bloom grande demais: " + expectedElements + " cupons");
+        }
+        this.words = new AtomicLongArray((int) (bits / 64));
+        this.bitMask = bits - 1;
+    }
+    
+    /**
+     * Restaura um filtro a partir das palavras gravadas
+     */
+    CouponBloomFilter(long[] words) {
+        this.words = new AtomicLongArray(words);
+        this.bitMask = (long) words.length * 64 - 1;
+    }
+    
+    /**
+     * Registra um codigo no filtro
+     * 
+     * @param key valor do codigo
+     */
+    void add(long key) {
+        long h1 = CouponCodes.mix(key);
+        long h2 = CouponCodes.mix(h1) | 1L;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            
+            long word = words.get(index);
+            while ((word & mask) == 0L && !words.compareAndSet(index, word, word | mask)) {
+                word = words.get(index);
+            }
+        }
+    }
+    
+    /**
+     * Verifica se o codigo pode existir
+     * 
+     * @param key valor do codigo
+     * @return false se o codigo certamente nao foi registrado
+     */
+    boolean mightContain(long key) {
+        long h1 = CouponCodes.mix(key);
+        long h2 = CouponCodes.mix(h1) | 1L;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    int wordCount() {
+        return words.length();
+    }
+    
+    long word(int index) {
+        return words.get(index);
+    }
+    
+    long bitCount() {
+        return bitMask + 1;
+    }
+}
@@ -0,0 +1,65 @@
+package com.bootcamp.designpatterns.coupon;
+
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Classe que representa uma requisicao de criacao de campanha de cupons
+ * 
+ * Define o nome da campanha, a estrategia de desconto aplicada no resgate
+ * e os codigos emitidos (de uso unico).
+ */
+public class CouponCampaignRequest {
+    
+    // Limite de codigos emitidos por requisicao
+    public static final int MAX_CODES = 100000;
+    
+    @NotBlank(message = "Nome da campanha e obrigatorio")
+    private String name;
+    
+    @NotBlank(message = "Tipo de estrategia e obrigatorio")
+    private String strategyType;
+    
+    private BigDecimal discountValue;
+    
+    // Texto das regras quando strategyType = rules
+    private String rules;
+    
+    @NotEmpty(message = "Informe ao menos um codigo")
+    @Size(max = MAX_CODES, message = "Maximo de " + MAX_CODES + " codigos por requisicao")
+    private List<@NotBlank String> codes;
+    
+    // Construtor completo
+    public CouponCampaignRequest(String name, String strategyType, BigDecimal discountValue, List<String> codes) {
+        this.name = name;
+        this.strategyType = strategyType;
+        this.discountValue = discountValue;
+        this.codes = codes;
+    }
+    
+    // Construtor vazio para frameworks
+    public CouponCampaignRequest() {}
+    
+    // Getters e Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getStrategyType() { return strategyType; }
+    public void setStrategyType(String strategyType) { this.strategyType = strategyType; }
+    
+    public BigDecimal getDiscountValue() { return discountValue; }
+    public void setDiscountValue(BigDecimal discountValue) { this.discountValue = discountValue; }
+    
+    public String getRules() { return rules; }
+    public void setRules(String rules) { this.rules = rules; }
+    
+    public List<String> getCodes() { return codes; }
+    public void setCodes(List<String> codes) { this.codes = codes; }
+    
+    @Override
+    public String toString() {
+        return String.format("CouponCampaignRequest{name='%s', strategyType='%s', discountValue=%s, codes=%d}", 
+                           name, strategyType, discountValue, codes == null ? 0 : codes.size());
+    }
+}
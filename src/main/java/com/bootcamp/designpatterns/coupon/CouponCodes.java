@@ -0,0 +1,107 @@
+package com.bootcamp.designpatterns.coupon;
+
+/**
+ * Conversao entre codigos de cupom e valores long
+ * 
+ * Codigos tem de 1 a 12 caracteres alfanumericos (sem diferenciar
+ * maiusculas) e sao codificados em base 36 bijetiva: cada digito vale de
+ * 1 a 36, entao "A" e "0A" geram valores diferentes e nenhum codigo vira
+ * zero. Zero fica reservado para "posicao vazia" nas tabelas primitivas.
+ * O maior codigo possivel (12 caracteres "Z") ocupa menos de 63 bits.
+ */
+public final class CouponCodes {
+    
+    public static final int MAX_LENGTH = 12;
+    
+    private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    
+    private CouponCodes() {}
+    
+    /**
+     * Converte um codigo para sua representacao long
+     * 
+     * @param code codigo do cupom
+     * @return valor positivo que identifica o codigo
+     * @throws IllegalArgumentException se o codigo for vazio, longo demais ou tiver caracteres invalidos
+     */
+    public static long encode(String code) {
+        long value = tryEncode(code);
+        if (value == 0L) {
+            throw new IllegalArgumentException("Codigo de cupom invalido: " + code);
+        }
+        return value;
+    }
+    
+    /**
+     * Converte um codigo sem lancar excecao
+     * 
+     * @param code codigo do cupom
+     * @return valor do codigo ou 0 se o formato for invalido
+     */
+    public static long tryEncode(String code) {
+        if (code == null) {
+            return 0L;
+        }
+        int length = code.length();
+        if (length == 0 || length > MAX_LENGTH) {
+            return 0L;
+        }
+        
+        long value = 0L;
+        for (int i = 0; i < length; i++) {
+            int digit = digit(code.charAt(i));
+            if (digit < 0) {
+                return 0L;
+            }
+            value = value * 36 + digit + 1;
+        }
+        return value;
+    }
+    
+    /**
+     * Converte um valor long de volta para o codigo (em maiusculas)
+     * 
+     * @param value valor gerado por {@link #encode(String)}
+     * @return codigo do cupom
+     */
+    public static String decode(long value) {
+        if (value <= 0L) {
+            throw new IllegalArgumentException("Valor de cupom invalido: " + value);
+        }
+        
+        char[] buffer = new char[MAX_LENGTH];
+        int position = MAX_LENGTH;
+        while (value > 0L) {
+            long digit = (value - 1) % 36;
+            buffer[--position] = DIGITS[(int) digit];
+            value = (value - 1) / 36;
+        }
+        return new String(buffer, position, MAX_LENGTH - position);
+    }
+    
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 10;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+    
+    /**
+     * Espalha os bits do valor (finalizador do SplitMix64)
+     * 
+     * @param value valor a misturar
+     * @return hash de 64 bits
+     */
+    static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
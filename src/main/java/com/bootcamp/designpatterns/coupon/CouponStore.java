@@ -0,0 +1,665 @@
+package com.bootcamp.designpatterns.coupon;
+
+import com.bootcamp.designpatterns.strategy.DiscountStrategy;
+import com.bootcamp.designpatterns.strategy.DiscountStrategyRegistry;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Armazenamento em memoria de cupons de uso unico
+ * 
+ * Cada cupom pertence a uma campanha, que define a estrategia de desconto
+ * aplicada no resgate. Os codigos ficam em uma tabela de enderecamento
+ * aberto (sondagem linear) sobre um AtomicLongArray: cada posicao guarda o
+ * codigo codificado ({@link CouponCodes}) nos 63 bits baixos e o bit de
+ * "resgatado" no bit mais alto.
+ * 
+ * <ul>
+ *   <li>Consultas passam antes pelo filtro de Bloom; codigos inexistentes
+ *       sao rejeitados sem tocar a tabela na grande maioria dos casos.</li>
+ *   <li>O resgate e um compareAndSet que liga o bit de resgatado: apenas
+ *       uma thread consegue resgatar cada cupom, sem travas.</li>
+ *   <li>A emissao e serializada por uma trava (operacao administrativa,
+ *       em lote); consultas e resgates nunca esperam por ela.</li>
+ * </ul>
+ * 
+ * A capacidade e fixa, definida na criacao. O estado pode ser gravado em
+ * disco com {@link #snapshot(Path)} e recarregado com {@link #restore}.
+ * Com um diario aberto ({@link #openJournal(Path)}), cada resgate e
+ * gravado em disco antes de ser confirmado, e os resgates feitos depois
+ * do ultimo snapshot sobrevivem a um reinicio.
+ */
+public class CouponStore implements Closeable {
+    
+    // Bit de resgatado; os 63 bits restantes guardam o codigo
+    private static final long REDEEMED_BIT = Long.MIN_VALUE;
+    private static final long CODE_MASK = Long.MAX_VALUE;
+    
+    // Ocupacao maxima da tabela antes de recusar novas emissoes
+    private static final double MAX_LOAD_FACTOR = 0.5;
+    
+    private static final int SNAPSHOT_MAGIC = 0x43505354;
+    private static final int SNAPSHOT_VERSION = 2;
+    
+    // Limite do indice de campanha guardado por posicao (char)
+    static final int MAX_CAMPAIGNS = Character.MAX_VALUE;
+    
+    private final AtomicLongArray slots;
+    private final char[] campaignBySlot;
+    private final int mask;
+    private final int maxCoupons;
+    private final CouponBloomFilter bloomFilter;
+    
+    private final List<Campaign> campaigns = new CopyOnWriteArrayList<>();
+    private final ReentrantLock issueLock = new ReentrantLock();
+    private volatile int issued;
+    private volatile RedemptionJournal journal;
+    
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder bloomRejections = new LongAdder();
+    private final LongAdder redemptions = new LongAdder();
+    private final LongAdder rejectedRedemptions = new LongAdder();
+    
+    /**
+     * Status de um cupom
+     */
+    public enum Status {
+        NOT_FOUND, AVAILABLE, REDEEMED
+    }
+    
+    /**
+     * Campanha de cupons com sua estrategia de desconto
+     * 
+     * @param id indice da campanha neste armazenamento
+     * @param name nome da campanha
+     * @param strategy desconto aplicado no resgate
+     * @param spec definicao da estrategia gravada nos snapshots (opcional)
+     */
+    public record Campaign(int id, String name, DiscountStrategy strategy, StrategySpec spec) {}
+    
+    /**
+     * Definicao de uma estrategia pelo tipo e valor do registro de estrategias
+     * 
+     * E o que vai para o snapshot, para que a campanha recupere sua
+     * estrategia ao ser recarregada.
+     * 
+     * @param type tipo da estrategia (percentage, fixed, progressive ou rules)
+     * @param value valor do desconto ou texto das regras (opcional)
+     */
+    public record StrategySpec(String type, String value) {
+        
+        public StrategySpec {
+            if (type == null || type.isBlank()) {
+                throw new IllegalArgumentException("Tipo de estrategia e obrigatorio");
+            }
+        }
+        
+        /**
+         * Cria a definicao a partir dos campos de uma requisicao
+         * 
+         * @param type tipo da estrategia
+         * @param discountValue valor do desconto (ignorado para regras)
+         * @param rules texto das regras (apenas para o tipo rules)
+         * @return definicao da estrategia
+         */
+        public static StrategySpec of(String type, BigDecimal discountValue, String rules) {
+            if (isRules(type)) {
+                return new StrategySpec(type, rules);
+            }
+            return new StrategySpec(type, discountValue != null ? discountValue.toPlainString() : null);
+        }
+        
+        /**
+         * Obtem a estrategia correspondente no registro
+         * 
+         * @param registry registro de estrategias
+         * @return estrategia compartilhada
+         * @throws IllegalArgumentException se o tipo ou o valor forem invalidos
+         */
+        public DiscountStrategy resolve(DiscountStrategyRegistry registry) {
+            if (isRules(type)) {
+                return registry.getRuleStrategy(value);
+            }
+            return registry.getStrategy(type, value != null ? new BigDecimal(value) : null);
+        }
+        
+        private static boolean isRules(String type) {
+            return "rules".equalsIgnoreCase(type);
+        }
+    }
+    
+    /**
+     * Resultado da criacao de uma campanha com seus codigos
+     * 
+     * @param campaign campanha registrada
+     * @param issued quantidade de codigos emitidos
+     * @param duplicates codigos repetidos ou ja existentes, nao emitidos
+     */
+    public record CreatedCampaign(Campaign campaign, int issued, List<String> duplicates) {}
+    
+    /**
+     * Resultado de um resgate
+     * 
+     * @param code codigo informado
+     * @param status AVAILABLE quando o resgate foi feito agora
+     * @param campaign campanha do cupom (nula se nao encontrado)
+     */
+    public record Redemption(String code, Status status, Campaign campaign) {
+        
+        /**
+         * Indica se este resgate consumiu o cupom
+         */
+        public boolean isSuccessful() {
+            return status == Status.AVAILABLE;
+        }
+    }
+    
+    /**
+     * Cria um armazenamento para a quantidade esperada de cupons
+     * 
+     * @param expectedCoupons quantidade maxima de cupons emitidos
+     */
+    public CouponStore(int expectedCoupons) {
+        if (expectedCoupons <= 0) {
+            throw new IllegalArgumentException("Quantidade de cupons deve ser positiva: " + expectedCoupons);
+        }
+        long capacity = Long.highestOneBit(Math.max(16L, (long) (expectedCoupons / MAX_LOAD_FACTOR) - 1) << 1);
+        if (capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Quantidade de cupons grande demais: " + expectedCoupons);
+        }
+        this.slots = new AtomicLongArray((int) capacity);
+        this.campaignBySlot = new char[(int) capacity];
+        this.mask = (int) capacity - 1;
+        this.maxCoupons = (int) (capacity * MAX_LOAD_FACTOR);
+        this.bloomFilter = new CouponBloomFilter(expectedCoupons);
+    }
+    
+    private CouponStore(long[] slots, char[] campaignBySlot, long[] bloomWords, int issued) {
+        this.slots = new AtomicLongArray(slots);
+        this.campaignBySlot = campaignBySlot;
+        this.mask = slots.length - 1;
+        this.maxCoupons = (int) (slots.length * MAX_LOAD_FACTOR);
+        this.bloomFilter = new CouponBloomFilter(bloomWords);
+        this.issued = issued;
+    }
+    
+    /**
+     * Registra uma campanha sem definicao de estrategia
+     * 
+     * A campanha entra nos snapshots, mas a estrategia precisa ser
+     * informada de novo em {@link #restore(Path, Map)}.
+     * 
+     * @param name nome da campanha (ex: BLACKFRIDAY10)
+     * @param strategy desconto aplicado pelos cupons da campanha
+     * @return campanha registrada
+     */
+    public Campaign registerCampaign(String name, DiscountStrategy strategy) {
+        return registerCampaign(name, strategy, null);
+    }
+    
+    /**
+     * Registra uma campanha
+     * 
+     * @param name nome da campanha (ex: BLACKFRIDAY10)
+     * @param strategy desconto aplicado pelos cupons da campanha
+     * @param spec definicao da estrategia, gravada nos snapshots (opcional)
+     * @return campanha registrada
+     */
+    public Campaign registerCampaign(String name, DiscountStrategy strategy, StrategySpec spec) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Nome da campanha e obrigatorio");
+        }
+        if (strategy == null) {
+            throw new IllegalArgumentException("Estrategia da campanha e obrigatoria");
+        }
+        
+        issueLock.lock();
+        try {
+            for (Campaign campaign : campaigns) {
+                if (campaign.name().equalsIgnoreCase(name.strip())) {
+                    throw new IllegalArgumentException("Campanha ja registrada: " + name);
+                }
+            }
+            if (campaigns.size() >= MAX_CAMPAIGNS) {
+                throw new IllegalStateException("Limite de campanhas atingido");
+            }
+            Campaign campaign = new Campaign(campaigns.size(), name.strip(), strategy, spec);
+            campaigns.add(campaign);
+            return campaign;
+        } finally {
+            issueLock.unlock();
+        }
+    }
+    
+    /**
+     * Registra uma campanha e emite todos os seus codigos de uma vez
+     * 
+     * Validacao, verificacao de capacidade, registro e emissao acontecem
+     * sob a trava de emissao: ou a campanha entra com todos os codigos, ou
+     * nada muda. Duas criacoes concorrentes nao conseguem passar juntas pela
+     * verificacao de capacidade.
+     * 
+     * @param name nome da campanha
+     * @param strategy desconto aplicado pelos cupons da campanha
+     * @param spec definicao da estrategia, gravada nos snapshots (opcional)
+     * @param codes codigos da campanha
+     * @return campanha, quantidade emitida e codigos duplicados
+     * @throws IllegalArgumentException se algum codigo for invalido ou a campanha ja existir
+     * @throws IllegalStateException se nao houver capacidade para todos os codigos
+     */
+    public CreatedCampaign createCampaign(String name, DiscountStrategy strategy, StrategySpec spec,
+                                          List<String> codes) {
+        Set<Long> keys = new HashSet<>();
+        for (String code : codes) {
+            long key = CouponCodes.tryEncode(code);
+            if (key == 0L) {
+                throw new IllegalArgumentException("Codigo de cupom invalido: " + code);
+            }
+            keys.add(key);
+        }
+        
+        issueLock.lock();
+        try {
+            int remaining = maxCoupons - issued;
+            if (keys.size() > remaining) {
+                throw new IllegalStateException("Capacidade insuficiente: " + keys.size()
+                                                + " codigos, restam " + remaining);
+            }
+            Campaign campaign = registerCampaign(name, strategy, spec);
+            
+            int issuedNow = 0;
+            List<String> duplicates = new ArrayList<>();
+            for (String code : codes) {
+                if (issue(code, campaign)) {
+                    issuedNow++;
+                } else {
+                    duplicates.add(code);
+                }
+            }
+            return new CreatedCampaign(campaign, issuedNow, duplicates);
+        } finally {
+            issueLock.unlock();
+        }
+    }
+    
+    /**
+     * Emite um cupom para uma campanha
+     * 
+     * @param code codigo do cupom
+     * @param campaign campanha registrada neste armazenamento
+     * @return true se emitido, false se o codigo ja existia
+     * @throws IllegalStateException se a capacidade foi atingida
+     */
+    public boolean issue(String code, Campaign campaign) {
+        long key = CouponCodes.encode(code);
+        if (campaign == null || campaign.id() >= campaigns.size() || campaigns.get(campaign.id()) != campaign) {
+            throw new IllegalArgumentException("Campanha nao pertence a este armazenamento");
+        }
+        
+        issueLock.lock();
+        try {
+            int index = indexOf(key);
+            while (true) {
+                long slot = slots.get(index);
+                if (slot == 0L) {
+                    if (issued >= maxCoupons) {
+                        throw new IllegalStateException("Capacidade de cupons atingida: " + maxCoupons);
+                    }
+                    // A campanha e gravada antes da publicacao do codigo (escrita volatile)
+                    campaignBySlot[index] = (char) campaign.id();
+                    bloomFilter.add(key);
+                    slots.set(index, key);
+                    issued++;
+                    return true;
+                }
+                if ((slot & CODE_MASK) == key) {
+                    return false;
+                }
+                index = (index + 1) & mask;
+            }
+        } finally {
+            issueLock.unlock();
+        }
+    }
+    
+    /**
+     * Consulta o status de um cupom sem resgata-lo
+     * 
+     * @param code codigo do cupom
+     * @return status atual
+     */
+    public Status check(String code) {
+        checks.increment();
+        int index = find(CouponCodes.tryEncode(code));
+        if (index < 0) {
+            return Status.NOT_FOUND;
+        }
+        return slots.get(index) < 0L ? Status.REDEEMED : Status.AVAILABLE;
+    }
+    
+    /**
+     * Resgata um cupom uma unica vez
+     * 
+     * Entre varias threads resgatando o mesmo codigo, exatamente uma
+     * recebe status AVAILABLE; as demais recebem REDEEMED. Com diario
+     * aberto, o resgate so e confirmado depois de gravado em disco.
+     * 
+     * @param code codigo do cupom
+     * @return resultado do resgate, com a campanha do cupom
+     * @throws UncheckedIOException se o diario nao puder ser gravado; o cupom continua disponivel
+     */
+    public Redemption redeem(String code) {
+        int index = find(CouponCodes.tryEncode(code));
+        if (index < 0) {
+            rejectedRedemptions.increment();
+            return new Redemption(code, Status.NOT_FOUND, null);
+        }
+        
+        Campaign campaign = campaigns.get(campaignBySlot[index]);
+        long slot = slots.get(index);
+        while (slot >= 0L) {
+            if (slots.compareAndSet(index, slot, slot | REDEEMED_BIT)) {
+                journal(index, slot);
+                redemptions.increment();
+                return new Redemption(code, Status.AVAILABLE, campaign);
+            }
+            slot = slots.get(index);
+        }
+        
+        rejectedRedemptions.increment();
+        return new Redemption(code, Status.REDEEMED, campaign);
+    }
+    
+    // Grava o resgate no diario; se a gravacao falhar o bit e desfeito,
+    // pois um resgate que nao chegou ao disco nao pode ser confirmado
+    private void journal(int index, long slot) {
+        RedemptionJournal current = journal;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.append(slot & CODE_MASK);
+        } catch (IOException e) {
+            slots.set(index, slot);
+            throw new UncheckedIOException("Falha ao registrar resgate no diario", e);
+        }
+    }
+    
+    /**
+     * Abre o diario de resgates e reaplica o que ele ja contem
+     * 
+     * Deve ser chamado logo depois de criar ou restaurar o armazenamento,
+     * antes de atender resgates. Codigos do diario que nao existem neste
+     * armazenamento sao ignorados.
+     * 
+     * @param file arquivo do diario (criado se nao existir)
+     * @return quantidade de resgates reaplicados
+     * @throws IOException se o diario nao puder ser aberto ou lido
+     * @throws IllegalStateException se ja houver um diario aberto
+     */
+    public int openJournal(Path file) throws IOException {
+        issueLock.lock();
+        try {
+            if (journal != null) {
+                throw new IllegalStateException("Diario de resgates ja aberto");
+            }
+            RedemptionJournal opened = new RedemptionJournal(file);
+            int replayed = 0;
+            try {
+                for (long key : opened.readAll()) {
+                    int index = find(key);
+                    if (index >= 0 && slots.getAndUpdate(index, slot -> slot | REDEEMED_BIT) >= 0L) {
+                        replayed++;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                opened.close();
+                throw e;
+            }
+            journal = opened;
+            return replayed;
+        } finally {
+            issueLock.unlock();
+        }
+    }
+    
+    /**
+     * Fecha o diario de resgates, se houver
+     * 
+     * @throws IOException se o fechamento falhar
+     */
+    @Override
+    public void close() throws IOException {
+        RedemptionJournal current = journal;
+        if (current != null) {
+            current.close();
+        }
+    }
+    
+    /**
+     * Localiza a posicao de um codigo
+     * 
+     * @return indice na tabela ou -1 se o codigo nao existe
+     */
+    private int find(long key) {
+        if (key == 0L) {
+            return -1;
+        }
+        if (!bloomFilter.mightContain(key)) {
+            bloomRejections.increment();
+            return -1;
+        }
+        
+        int index = indexOf(key);
+        while (true) {
+            long slot = slots.get(index);
+            if (slot == 0L) {
+                return -1;
+            }
+            if ((slot & CODE_MASK) == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+    
+    private int indexOf(long key) {
+        return (int) CouponCodes.mix(key) & mask;
+    }
+    
+    /**
+     * Grava o estado em disco
+     * 
+     * O arquivo e escrito em um temporario, forcado para o disco e movido
+     * no final, entao um snapshot anterior nunca fica pela metade. Resgates
+     * concorrentes podem ou nao aparecer no snapshot, mas cada cupom e
+     * gravado em um estado valido. Com diario aberto, os registros gravados
+     * antes do inicio do snapshot sao descartados depois dele.
+     * 
+     * @param file arquivo de destino
+     * @throws IOException se a gravacao falhar
+     */
+    public void snapshot(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        
+        // A posicao do diario e lida antes dos slots: todo registro anterior
+        // a ela ja tem o bit de resgatado ligado quando o slot e copiado
+        RedemptionJournal current = journal;
+        long journalMark = current != null ? current.size() : 0L;
+        
+        issueLock.lock();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(slots.length());
+            out.writeInt(issued);
+            
+            out.writeInt(campaigns.size());
+            for (Campaign campaign : campaigns) {
+                out.writeUTF(campaign.name());
+                StrategySpec spec = campaign.spec();
+                out.writeBoolean(spec != null);
+                if (spec != null) {
+                    out.writeUTF(spec.type());
+                    writeText(out, spec.value());
+                }
+            }
+            
+            for (int i = 0; i < slots.length(); i++) {
+                out.writeLong(slots.get(i));
+            }
+            for (char campaign : campaignBySlot) {
+                out.writeChar(campaign);
+            }
+            
+            out.writeInt(bloomFilter.wordCount());
+            for (int i = 0; i < bloomFilter.wordCount(); i++) {
+                out.writeLong(bloomFilter.word(i));
+            }
+        } finally {
+            issueLock.unlock();
+        }
+        
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (current != null) {
+            current.discardBefore(journalMark);
+        }
+    }
+    
+    /**
+     * Recarrega um armazenamento gravado por {@link #snapshot(Path)}
+     * 
+     * Cada campanha recupera sua estrategia pela definicao gravada no
+     * arquivo. A capacidade e a do armazenamento que gerou o snapshot.
+     * 
+     * @param file arquivo gravado
+     * @return armazenamento com os mesmos cupons, campanhas e resgates
+     * @throws IOException se a leitura falhar
+     * @throws IllegalArgumentException se alguma campanha nao tiver definicao gravada
+     */
+    public static CouponStore restore(Path file) throws IOException {
+        return restore(file, Map.of());
+    }
+    
+    /**
+     * Recarrega um armazenamento gravado por {@link #snapshot(Path)}
+     * 
+     * Estrategias informadas pelo nome da campanha tem prioridade; as
+     * demais campanhas usam a definicao gravada no arquivo.
+     * 
+     * @param file arquivo gravado
+     * @param strategiesByCampaign estrategia de cada campanha, pelo nome
+     * @return armazenamento com os mesmos cupons e resgates
+     * @throws IOException se a leitura falhar
+     */
+    public static CouponStore restore(Path file, Map<String, DiscountStrategy> strategiesByCampaign) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IllegalArgumentException("Arquivo nao e um snapshot de cupons");
+            }
+            int capacity = in.readInt();
+            int issued = in.readInt();
+            if (Integer.bitCount(capacity) != 1) {
+                throw new IllegalArgumentException("Snapshot de cupons corrompido");
+            }
+            
+            int campaignCount = in.readInt();
+            List<String> names = new ArrayList<>(campaignCount);
+            List<StrategySpec> specs = new ArrayList<>(campaignCount);
+            for (int i = 0; i < campaignCount; i++) {
+                names.add(in.readUTF());
+                specs.add(in.readBoolean() ? new StrategySpec(in.readUTF(), readText(in)) : null);
+            }
+            
+            long[] slots = new long[capacity];
+            for (int i = 0; i < capacity; i++) {
+                slots[i] = in.readLong();
+            }
+            char[] campaignBySlot = new char[capacity];
+            for (int i = 0; i < capacity; i++) {
+                campaignBySlot[i] = in.readChar();
+            }
+            long[] bloomWords = new long[in.readInt()];
+            for (int i = 0; i < bloomWords.length; i++) {
+                bloomWords[i] = in.readLong();
+            }
+            
+            CouponStore store = new CouponStore(slots, campaignBySlot, bloomWords, issued);
+            for (int i = 0; i < campaignCount; i++) {
+                String name = names.get(i);
+                StrategySpec spec = specs.get(i);
+                DiscountStrategy strategy = strategiesByCampaign.get(name);
+                if (strategy == null && spec != null) {
+                    strategy = spec.resolve(DiscountStrategyRegistry.getInstance());
+                }
+                if (strategy == null) {
+                    throw new IllegalArgumentException("Estrategia nao informada para a campanha: " + name);
+                }
+                store.registerCampaign(name, strategy, spec);
+            }
+            return store;
+        }
+    }
+    
+    // Texto de tamanho livre (regras podem passar do limite de writeUTF)
+    private static void writeText(DataOutputStream out, String text) throws IOException {
+        if (text == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    private static String readText(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    // Metricas
+    public int getIssuedCount() { return issued; }
+    public int getMaxCoupons() { return maxCoupons; }
+    public long getCheckCount() { return checks.sum(); }
+    public long getBloomRejectionCount() { return bloomRejections.sum(); }
+    public long getRedemptionCount() { return redemptions.sum(); }
+    public long getRejectedRedemptionCount() { return rejectedRedemptions.sum(); }
+    public List<Campaign> getCampaigns() { return Collections.unmodifiableList(campaigns); }
+    
+    @Override
+    public String toString() {
+        return String.format("CouponStore{issued=%d, capacity=%d, campaigns=%d, redemptions=%d, bloomRejections=%d}",
+                           issued, maxCoupons, campaigns.size(), getRedemptionCount(), getBloomRejectionCount());
+    }
+}
@@ -0,0 +1,139 @@
+package com.bootcamp.designpatterns.coupon;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Diario de resgates de cupons
+ * 
+ * Cada resgate grava o codigo codificado (8 bytes) e forca a escrita em
+ * disco antes de ser confirmado ao cliente. Na inicializacao o diario e
+ * reaplicado sobre o ultimo snapshot, entao nenhum resgate confirmado
+ * volta a ficar disponivel depois de um reinicio.
+ * 
+ * Como cada cupom e resgatado uma unica vez, o diario nunca passa de
+ * 8 bytes por cupom emitido; um snapshot descarta o trecho que ja cobre.
+ */
+final class RedemptionJournal implements Closeable {
+    
+    private static final int RECORD_BYTES = Long.BYTES;
+    
+    private final Path file;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+    private FileChannel channel;
+    
+    /**
+     * Abre (ou cria) o diario
+     * 
+     * Um registro incompleto no final, deixado por uma queda no meio de
+     * uma escrita, e descartado: esse resgate nunca foi confirmado.
+     * 
+     * @param file arquivo do diario
+     * @throws IOException se o arquivo nao puder ser aberto
+     */
+    RedemptionJournal(Path file) throws IOException {
+        this.file = file;
+        this.channel = open(file);
+    }
+    
+    private static FileChannel open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                               StandardOpenOption.WRITE);
+        long complete = channel.size() - channel.size() % RECORD_BYTES;
+        channel.truncate(complete);
+        channel.position(complete);
+        return channel;
+    }
+    
+    /**
+     * Le todos os codigos registrados
+     * 
+     * @return codigos codificados, na ordem de gravacao
+     * @throws IOException se a leitura falhar
+     */
+    synchronized long[] readAll() throws IOException {
+        long size = channel.size();
+        if (size / RECORD_BYTES > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Diario de resgates grande demais: " + file);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        long[] keys = new long[buffer.remaining() / RECORD_BYTES];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = buffer.getLong();
+        }
+        return keys;
+    }
+    
+    /**
+     * Registra um resgate e so retorna depois que ele esta em disco
+     * 
+     * @param key codigo codificado
+     * @throws IOException se a escrita falhar
+     */
+    synchronized void append(long key) throws IOException {
+        record.clear();
+        record.putLong(key).flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        channel.force(false);
+    }
+    
+    /**
+     * Tamanho atual do diario em bytes
+     */
+    synchronized long size() throws IOException {
+        return channel.size();
+    }
+    
+    /**
+     * Descarta os registros anteriores a uma posicao
+     * 
+     * Chamado depois de um snapshot: tudo que foi gravado antes de o
+     * snapshot comecar ja esta nele. Registros posteriores sao mantidos.
+     * 
+     * @param position tamanho do diario quando o snapshot comecou
+     * @throws IOException se a compactacao falhar
+     */
+    synchronized void discardBefore(long position) throws IOException {
+        long size = channel.size();
+        if (position <= 0L) {
+            return;
+        }
+        if (position >= size) {
+            channel.truncate(0L);
+            channel.force(true);
+            return;
+        }
+        
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long copied = 0L;
+            while (copied < size - position) {
+                copied += channel.transferTo(position + copied, size - position - copied, out);
+            }
+            out.force(true);
+        }
+        channel.close();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = open(file);
+    }
+    
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -7,6 +7,9 @@ package com.bootcamp.designpatterns.facade;
  */
 public class DeliveryService {
     
+    // Codigos de rastreamento unicos mesmo para entregas do mesmo pedido
+    private final SnowflakeIdGenerator ids = SnowflakeIdGenerator.getDefault();
+    
     /**
      * Calcula o frete baseado no CEP de destino
      * 
@@ -44,7 +47,7 @@ public class DeliveryService {
         System.out.println("DeliveryService: Endereco: " + address + ", CEP: " + zipCode);
         
         // Simula agendamento
-        String trackingCode = "TRACK" + orderId + System.currentTimeMillis() % 10000;
+        String trackingCode = ids.nextCode("TRACK");
         
         System.out.println("DeliveryService: Entrega agendada - Codigo de rastreamento: " + trackingCode);
         
@@ -1,6 +1,23 @@
 package com.bootcamp.designpatterns.facade;
 
 import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 /**
  * Classe Facade para o sistema de e-commerce
@@ -13,21 +30,66 @@ import java.math.BigDecimal;
  * - Verificacao de estoque
  * - Processamento de pagamento  
  * - Agendamento de entrega
+ * 
+ * O pedido pode ser processado de forma sequencial ({@link #processOrder})
+ * ou assincrona ({@link #processOrderAsync}), em que as etapas
+ * independentes rodam em paralelo e cada etapa tem um tempo limite.
+ * Lotes de pedidos ({@link #processOrdersAsync}) agrupam as consultas de
+ * estoque por produto e validam cada cartao uma unica vez.
+ * 
+ * Pedidos com chave de idempotencia ({@link #processOrderAsync(OrderRequest, String)})
+ * sao executados uma unica vez por chave: repeticoes do cliente recebem o
+ * resultado do pedido original em vez de cobrar de novo.
+ * 
+ * A reserva de estoque tem prazo de validade: pedidos recusados no cartao
+ * ou no pagamento liberam a reserva na hora, e reservas abandonadas (por
+ * exemplo, de uma etapa que estourou o tempo limite) voltam sozinhas ao
+ * estoque quando vencem.
+ * 
+ * Depois da cobranca aprovada o pedido e sempre um sucesso, com o ID da
+ * transacao. Uma entrega que nao pode ser agendada (o pedido volta sem
+ * codigo de rastreio) ou uma reserva que nao pode ser confirmada nao
+ * desfazem a venda: sao registradas nos contadores
+ * {@link #getPendingDeliveryCount()} e {@link #getStockDiscrepancyCount()}
+ * para tratamento a parte.
  */
 public class EcommerceFacade {
     
+    public static final long DEFAULT_STAGE_TIMEOUT_MILLIS = 5_000;
+    
+    // Limite de pedidos por lote para proteger o servidor
+    public static final int MAX_BATCH_SIZE = 5_000;
+    
+    // Pagamentos de um mesmo lote em andamento ao mesmo tempo
+    public static final int MAX_BATCH_PAYMENTS_IN_FLIGHT = 64;
+    
+    // Chaves de idempotencia por janela quando o Facade cria o proprio armazenamento
+    public static final int LOCAL_IDEMPOTENCY_CAPACITY = 1 << 14;
+    
     // Referencias para os subsistemas
     private final InventoryService inventoryService;
     private final PaymentService paymentService;
     private final DeliveryService deliveryService;
     
+    // Execucao das etapas do processamento assincrono
+    private final Executor stageExecutor;
+    private final long stageTimeoutMillis;
+    
+    // Resultados por chave de idempotencia
+    private final IdempotencyStore idempotencyStore;
+    
+    // IDs de pedido unicos, inclusive entre pedidos do mesmo lote
+    private final SnowflakeIdGenerator orderIds = SnowflakeIdGenerator.getDefault();
+    
+    // Problemas depois da cobranca, que nao desfazem o pedido
+    private final LongAdder pendingDeliveries = new LongAdder();
+    private final LongAdder stockDiscrepancies = new LongAdder();
+    
     /**
      * Construtor que inicializa todos os subsistemas
      */
     public EcommerceFacade() {
-        this.inventoryService = new InventoryService();
-        this.paymentService = new PaymentService();
-        this.deliveryService = new DeliveryService();
+        this(new InventoryService(), new PaymentService(), new DeliveryService());
     }
     
     /**
@@ -40,9 +102,82 @@ public class EcommerceFacade {
     public EcommerceFacade(InventoryService inventoryService, 
                           PaymentService paymentService, 
                           DeliveryService deliveryService) {
+        this(inventoryService, paymentService, deliveryService,
+             StageExecutorHolder.EXECUTOR, DEFAULT_STAGE_TIMEOUT_MILLIS);
+    }
+    
+    /**
+     * Construtor que recebe o armazenamento das chaves de idempotencia,
+     * com executor e tempo limite padrao
+     * 
+     * @param inventoryService servico de estoque
+     * @param paymentService servico de pagamento
+     * @param deliveryService servico de entrega
+     * @param idempotencyStore resultados por chave de idempotencia
+     */
+    public EcommerceFacade(InventoryService inventoryService, 
+                          PaymentService paymentService, 
+                          DeliveryService deliveryService,
+                          IdempotencyStore idempotencyStore) {
+        this(inventoryService, paymentService, deliveryService,
+             StageExecutorHolder.EXECUTOR, DEFAULT_STAGE_TIMEOUT_MILLIS, idempotencyStore);
+    }
+    
+    /**
+     * Construtor que tambem define onde e por quanto tempo rodam as etapas
+     * do processamento assincrono
+     * 
+     * O armazenamento de idempotencia criado aqui e pequeno
+     * ({@link #LOCAL_IDEMPOTENCY_CAPACITY} chaves); o Facade que atende o
+     * endpoint de pedidos recebe o armazenamento completo pelo construtor.
+     * 
+     * @param inventoryService servico de estoque
+     * @param paymentService servico de pagamento
+     * @param deliveryService servico de entrega
+     * @param stageExecutor executor das etapas assincronas
+     * @param stageTimeoutMillis tempo limite de cada etapa em milissegundos
+     */
+    public EcommerceFacade(InventoryService inventoryService, 
+                          PaymentService paymentService, 
+                          DeliveryService deliveryService,
+                          Executor stageExecutor,
+                          long stageTimeoutMillis) {
+        this(inventoryService, paymentService, deliveryService, stageExecutor, stageTimeoutMillis,
+             new IdempotencyStore(IdempotencyStore.DEFAULT_WINDOW_MILLIS, LOCAL_IDEMPOTENCY_CAPACITY,
+                                  System::currentTimeMillis));
+    }
+    
+    /**
+     * Construtor completo, incluindo o armazenamento das chaves de idempotencia
+     * 
+     * @param inventoryService servico de estoque
+     * @param paymentService servico de pagamento
+     * @param deliveryService servico de entrega
+     * @param stageExecutor executor das etapas assincronas
+     * @param stageTimeoutMillis tempo limite de cada etapa em milissegundos
+     * @param idempotencyStore resultados por chave de idempotencia
+     */
+    public EcommerceFacade(InventoryService inventoryService, 
+                          PaymentService paymentService, 
+                          DeliveryService deliveryService,
+                          Executor stageExecutor,
+                          long stageTimeoutMillis,
+                          IdempotencyStore idempotencyStore) {
+        if (stageExecutor == null) {
+            throw new IllegalArgumentException("Executor das etapas nao pode ser nulo");
+        }
+        if (stageTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Tempo limite das etapas deve ser positivo");
+        }
+        if (idempotencyStore == null) {
+            throw new IllegalArgumentException("Armazenamento de idempotencia nao pode ser nulo");
+        }
         this.inventoryService = inventoryService;
         this.paymentService = paymentService;
         this.deliveryService = deliveryService;
+        this.stageExecutor = stageExecutor;
+        this.stageTimeoutMillis = stageTimeoutMillis;
+        this.idempotencyStore = idempotencyStore;
     }
     
     /**
@@ -61,10 +196,29 @@ public class EcommerceFacade {
                 return new OrderResult(false, "Estoque insuficiente", null, null, null);
             }
             
-            if (!inventoryService.reserveItems(order.getProductId(), order.getQuantity())) {
+            StockHoldManager.Hold hold = inventoryService.holdItems(order.getProductId(), order.getQuantity());
+            if (hold == null) {
                 return new OrderResult(false, "Falha na reserva do estoque", null, null, null);
             }
             
+            OrderResult result = payAndDeliver(order, hold);
+            if (!result.isSuccess()) {
+                inventoryService.releaseItems(hold);
+            }
+            return result;
+            
+        } catch (Exception e) {
+            System.err.println("Erro no processamento do pedido: " + e.getMessage());
+            return new OrderResult(false, "Erro interno no processamento", null, null, null);
+        }
+    }
+    
+    /**
+     * Etapas do {@link #processOrder} depois da reserva; em caso de excecao
+     * antes da cobranca a reserva e liberada e a excecao segue para quem chamou
+     */
+    private OrderResult payAndDeliver(OrderRequest order, StockHoldManager.Hold hold) {
+        try {
             // Etapa 2: Validar e processar pagamento
             if (!paymentService.validateCard(order.getCardNumber(), order.getCvv(), order.getExpiryDate())) {
                 return new OrderResult(false, "Dados do cartao invalidos", null, null, null);
@@ -79,22 +233,494 @@ public class EcommerceFacade {
                 return new OrderResult(false, "Pagamento rejeitado", null, null, null);
             }
             
+            // Daqui em diante a cobranca foi feita e o pedido nao falha mais
+            String orderId = orderIds.nextCode("ORD");
+            
             // Etapa 3: Agendar entrega
-            String orderId = "ORD" + System.currentTimeMillis();
-            String trackingCode = deliveryService.scheduleDelivery(orderId, order.getAddress(), order.getZipCode());
+            String trackingCode = null;
+            try {
+                trackingCode = deliveryService.scheduleDelivery(orderId, order.getAddress(), order.getZipCode());
+            } catch (RuntimeException e) {
+                recordPendingDelivery(orderId, e);
+            }
             
-            // Etapa 4: Atualizar estoque
-            inventoryService.updateStock(order.getProductId(), order.getQuantity());
+            // Etapa 4: Atualizar estoque (confirma a reserva e cancela o prazo)
+            confirmSold(orderId, hold);
             
             System.out.println("=== PEDIDO PROCESSADO COM SUCESSO ===");
             
             return new OrderResult(true, "Pedido processado com sucesso", 
                                  orderId, transactionId, trackingCode);
+        } catch (RuntimeException e) {
+            inventoryService.releaseItems(hold);
+            throw e;
+        }
+    }
+    
+    /**
+     * Processa um pedido completo executando em paralelo as etapas que nao
+     * dependem umas das outras
+     * 
+     * Fluxo das etapas:
+     * - estoque (verificacao e reserva), validacao do cartao e calculo do
+     *   frete comecam juntos
+     * - o pagamento so comeca depois que estoque e cartao foram aprovados,
+     *   pois usa o frete no valor total
+     * - agendamento da entrega e baixa do estoque rodam juntos depois do
+     *   pagamento aprovado
+     * 
+     * O resultado e o mesmo do {@link #processOrder}: as falhas seguem a
+     * mesma precedencia (estoque, depois cartao, depois pagamento) e usam as
+     * mesmas mensagens. A unica diferenca e que o cartao e o frete ja foram
+     * consultados quando o estoque falha.
+     * 
+     * As etapas anteriores a cobranca tem o tempo limite configurado; uma
+     * etapa que estoura o limite gera um resultado de falha com o nome da
+     * etapa. O limite nao interrompe a thread da etapa, apenas deixa de
+     * esperar por ela. O pagamento, a entrega e a baixa do estoque nao tem
+     * limite: a cobranca ainda pode ser aprovada depois dele, e depois de
+     * aprovada o pedido espera as etapas seguintes e termina com sucesso.
+     * 
+     * @param order dados do pedido
+     * @return future que sempre completa normalmente com o resultado
+     */
+    public CompletableFuture<OrderResult> processOrderAsync(OrderRequest order) {
+        return processOrderAsync(order, (AtomicBoolean) null);
+    }
+    
+    /**
+     * Mesmo fluxo, marcando {@code paymentStarted} (se informado) quando o
+     * pagamento e disparado
+     */
+    private CompletableFuture<OrderResult> processOrderAsync(OrderRequest order, AtomicBoolean paymentStarted) {
+        System.out.println("=== INICIANDO PROCESSAMENTO ASSINCRONO DO PEDIDO ===");
+        
+        try {
+            // Etapa 1: estoque, cartao e frete em paralelo
+            CompletableFuture<StockOutcome> stock = stage("estoque", () -> {
+                if (!inventoryService.checkStock(order.getProductId(), order.getQuantity())) {
+                    return StockOutcome.failed("Estoque insuficiente");
+                }
+                StockHoldManager.Hold hold = inventoryService.holdItems(order.getProductId(), order.getQuantity());
+                if (hold == null) {
+                    return StockOutcome.failed("Falha na reserva do estoque");
+                }
+                return new StockOutcome(null, hold);
+            });
+            CompletableFuture<Boolean> card = stage("cartao", () ->
+                    paymentService.validateCard(order.getCardNumber(), order.getCvv(), order.getExpiryDate()));
+            CompletableFuture<Double> shipping = stage("frete", () ->
+                    deliveryService.calculateShipping(order.getZipCode()));
+            
+            // Falha do estoque tem precedencia sobre qualquer resultado do cartao
+            CompletableFuture<String> rejection = stock.thenCompose(outcome -> outcome.failure() != null
+                    ? CompletableFuture.completedFuture(outcome.failure())
+                    : card.thenApply(valid -> valid ? null : "Dados do cartao invalidos"));
+            
+            return payAndDeliver(order, stock, rejection, shipping, null, true, paymentStarted)
+                    .exceptionally(this::failureResult);
             
         } catch (Exception e) {
-            System.err.println("Erro no processamento do pedido: " + e.getMessage());
-            return new OrderResult(false, "Erro interno no processamento", null, null, null);
+            return CompletableFuture.completedFuture(failureResult(e));
+        }
+    }
+    
+    /**
+     * Processa um pedido no maximo uma vez por chave de idempotencia
+     * 
+     * A primeira chamada com a chave executa {@link #processOrderAsync(OrderRequest)}.
+     * Repeticoes dentro da janela do {@link IdempotencyStore} recebem o mesmo
+     * resultado sem passar de novo pelo pagamento; uma repeticao que chega
+     * com o original ainda em andamento espera por ele. Uma falha que
+     * aconteceu antes de o pagamento ser disparado (estoque, cartao, tempo
+     * esgotado, erro interno) nao fica registrada: a repeticao executa o
+     * pedido de novo. Sem chave, o pedido e sempre executado.
+     * 
+     * @param order dados do pedido
+     * @param idempotencyKey chave enviada pelo cliente (pode ser nula)
+     * @return future que sempre completa normalmente com o resultado
+     * @throws IllegalArgumentException se a chave for vazia ou longa demais
+     */
+    public CompletableFuture<OrderResult> processOrderAsync(OrderRequest order, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return processOrderAsync(order);
+        }
+        AtomicBoolean paymentStarted = new AtomicBoolean();
+        return idempotencyStore.execute(idempotencyKey, () -> processOrderAsync(order, paymentStarted),
+                                        result -> !result.isSuccess() && !paymentStarted.get());
+    }
+    
+    /**
+     * Processa um lote de pedidos agrupando as consultas repetidas
+     * 
+     * Em vez de repetir todas as etapas para cada pedido:
+     * - o estoque e verificado e reservado uma unica vez por produto, com
+     *   as linhas atendidas na ordem do lote
+     * - os cartoes distintos sao validados juntos, uma vez cada
+     * - o frete e calculado uma vez por CEP
+     * - os pagamentos rodam em paralelo, no maximo
+     *   {@link #MAX_BATCH_PAYMENTS_IN_FLIGHT} por vez, para que um lote
+     *   grande nao abra uma thread por pedido no pool das etapas
+     * - a baixa do estoque e feita uma vez por produto no fim do lote, e as
+     *   reservas dos pedidos recusados sao liberadas assim que recusados
+     * 
+     * Cada pedido recebe o mesmo resultado que teria em
+     * {@link #processOrderAsync}, e a lista segue a ordem de entrada.
+     * 
+     * @param orders pedidos do lote (1 a {@link #MAX_BATCH_SIZE})
+     * @return future que sempre completa normalmente com um resultado por pedido
+     * @throws IllegalArgumentException se o lote for vazio ou grande demais
+     */
+    public CompletableFuture<List<OrderResult>> processOrdersAsync(List<OrderRequest> orders) {
+        if (orders == null || orders.isEmpty()) {
+            throw new IllegalArgumentException("Lote de pedidos nao pode ser vazio");
         }
+        if (orders.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Lote deve ter no maximo " + MAX_BATCH_SIZE + " pedidos");
+        }
+        int count = orders.size();
+        System.out.println("=== INICIANDO PROCESSAMENTO DE LOTE COM " + count + " PEDIDOS ===");
+        
+        // Etapa 1: uma reserva por produto, uma validacao por cartao e um frete por CEP
+        Map<String, List<Integer>> linesByProduct = new LinkedHashMap<>();
+        Map<CardKey, Integer> cardIndexes = new LinkedHashMap<>();
+        int[] cardOfLine = new int[count];
+        for (int i = 0; i < count; i++) {
+            OrderRequest order = orders.get(i);
+            linesByProduct.computeIfAbsent(order.getProductId(), productId -> new ArrayList<>()).add(i);
+            CardKey card = new CardKey(order.getCardNumber(), order.getCvv(), order.getExpiryDate());
+            cardOfLine[i] = cardIndexes.computeIfAbsent(card, key -> cardIndexes.size());
+        }
+        
+        List<CompletableFuture<StockOutcome>> stockOfLine = new ArrayList<>(Collections.nCopies(count, null));
+        for (Map.Entry<String, List<Integer>> entry : linesByProduct.entrySet()) {
+            List<Integer> lines = entry.getValue();
+            int[] quantities = new int[lines.size()];
+            for (int j = 0; j < quantities.length; j++) {
+                quantities[j] = orders.get(lines.get(j)).getQuantity();
+            }
+            CompletableFuture<StockHoldManager.Hold[]> reservation = stage("estoque", () ->
+                    inventoryService.holdBatch(entry.getKey(), quantities));
+            for (int j = 0; j < quantities.length; j++) {
+                int position = j;
+                stockOfLine.set(lines.get(j), reservation.thenApply(holds -> holds[position] != null
+                        ? new StockOutcome(null, holds[position])
+                        : StockOutcome.failed("Estoque insuficiente")));
+            }
+        }
+        
+        List<CardKey> cards = new ArrayList<>(cardIndexes.keySet());
+        CompletableFuture<boolean[]> cardValidation = stage("cartao", () -> {
+            String[] numbers = new String[cards.size()];
+            String[] cvvs = new String[cards.size()];
+            String[] expiryDates = new String[cards.size()];
+            for (int k = 0; k < numbers.length; k++) {
+                numbers[k] = cards.get(k).number();
+                cvvs[k] = cards.get(k).cvv();
+                expiryDates[k] = cards.get(k).expiryDate();
+            }
+            return paymentService.validateCards(numbers, cvvs, expiryDates);
+        });
+        
+        Map<String, CompletableFuture<Double>> shippingByZip = new HashMap<>();
+        PaymentWindow payments = new PaymentWindow(MAX_BATCH_PAYMENTS_IN_FLIGHT);
+        
+        // Etapa 2: pagamento e entrega de cada pedido em paralelo
+        List<CompletableFuture<OrderResult>> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OrderRequest order = orders.get(i);
+            int cardIndex = cardOfLine[i];
+            CompletableFuture<StockOutcome> stock = stockOfLine.get(i);
+            CompletableFuture<String> rejection = stock.thenCompose(outcome -> outcome.failure() != null
+                    ? CompletableFuture.completedFuture(outcome.failure())
+                    : cardValidation.thenApply(valid -> valid[cardIndex] ? null : "Dados do cartao invalidos"));
+            CompletableFuture<Double> shipping = shippingByZip.computeIfAbsent(order.getZipCode(), zipCode ->
+                    stage("frete", () -> deliveryService.calculateShipping(zipCode)));
+            
+            results.add(payAndDeliver(order, stock, rejection, shipping, payments, false, null)
+                    .exceptionally(this::failureResult));
+        }
+        
+        // Etapa 3: baixa do estoque vendido, uma vez por produto
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<OrderResult> batch = new ArrayList<>(count);
+            for (CompletableFuture<OrderResult> result : results) {
+                batch.add(result.join());
+            }
+            
+            for (Map.Entry<String, List<Integer>> entry : linesByProduct.entrySet()) {
+                List<Integer> soldLines = new ArrayList<>();
+                List<StockHoldManager.Hold> soldHolds = new ArrayList<>();
+                for (int line : entry.getValue()) {
+                    if (batch.get(line).isSuccess()) {
+                        soldLines.add(line);
+                        soldHolds.add(stockOfLine.get(line).join().hold());
+                    }
+                }
+                if (soldHolds.isEmpty()) {
+                    continue;
+                }
+                // Os pedidos ja foram cobrados: uma reserva nao confirmada
+                // vira divergencia de estoque, nunca um pedido com falha
+                try {
+                    boolean[] confirmed = inventoryService.updateStock(entry.getKey(), soldHolds);
+                    for (int k = 0; k < confirmed.length; k++) {
+                        if (!confirmed[k]) {
+                            recordStockDiscrepancy(batch.get(soldLines.get(k)).getOrderId(),
+                                                   new IllegalStateException("Reserva expirada: " + soldHolds.get(k)));
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    // Confirmacao em grupo falhou: tenta cada reserva separadamente
+                    System.err.println("Falha ao confirmar reservas do produto " + entry.getKey() + ": " + e.getMessage());
+                    for (int k = 0; k < soldHolds.size(); k++) {
+                        confirmSold(batch.get(soldLines.get(k)).getOrderId(), soldHolds.get(k));
+                    }
+                }
+            }
+            
+            System.out.println("=== LOTE PROCESSADO ===");
+            return batch;
+        });
+    }
+    
+    /**
+     * Etapas finais de um pedido: pagamento com o frete calculado, agendamento
+     * da entrega e, opcionalmente, baixa do estoque em paralelo com a entrega
+     * 
+     * Se o pedido nao for concluido, a reserva de estoque e liberada. Com
+     * uma janela de pagamentos, o pagamento espera uma vaga antes de rodar.
+     * {@code paymentStarted}, se informado, e marcado antes de o pagamento
+     * ser disparado.
+     */
+    private CompletableFuture<OrderResult> payAndDeliver(OrderRequest order, CompletableFuture<StockOutcome> stock,
+                                                         CompletableFuture<String> rejection,
+                                                         CompletableFuture<Double> shipping,
+                                                         PaymentWindow payments, boolean updateStock,
+                                                         AtomicBoolean paymentStarted) {
+        CompletableFuture<OrderResult> result = rejection.thenCompose(failure -> {
+            if (failure != null) {
+                return CompletableFuture.completedFuture(new OrderResult(false, failure, null, null, null));
+            }
+            
+            // Pagamento com o frete ja calculado
+            return shipping
+                    .thenCompose(shippingCost -> {
+                        BigDecimal totalAmount = order.getAmount().add(BigDecimal.valueOf(shippingCost));
+                        Supplier<CompletableFuture<String>> payment = () -> {
+                            if (paymentStarted != null) {
+                                paymentStarted.set(true);
+                            }
+                            return untimedStage(() -> paymentService.processPayment(totalAmount, order.getCardNumber()));
+                        };
+                        return payments == null ? payment.get() : payments.run(payment);
+                    })
+                    .thenCompose(transactionId -> {
+                        if (transactionId == null) {
+                            return CompletableFuture.completedFuture(
+                                    new OrderResult(false, "Pagamento rejeitado", null, null, null));
+                        }
+                        
+                        // Entrega e baixa do estoque em paralelo, sem tempo limite:
+                        // a cobranca foi feita e nenhuma das duas desfaz o pedido
+                        String orderId = orderIds.nextCode("ORD");
+                        CompletableFuture<String> delivery = untimedStage(() ->
+                                deliveryService.scheduleDelivery(orderId, order.getAddress(), order.getZipCode()))
+                                .exceptionally(error -> {
+                                    recordPendingDelivery(orderId, unwrap(error));
+                                    return null;
+                                });
+                        CompletableFuture<Void> stockUpdate = !updateStock
+                                ? CompletableFuture.completedFuture(null)
+                                : untimedStage(() -> {
+                                    confirmSold(orderId, stock.join().hold());
+                                    return (Void) null;
+                                }).exceptionally(error -> {
+                                    recordStockDiscrepancy(orderId, unwrap(error));
+                                    return null;
+                                });
+                        
+                        return delivery.thenCombine(stockUpdate, (trackingCode, ignored) -> {
+                            System.out.println("=== PEDIDO PROCESSADO COM SUCESSO ===");
+                            return new OrderResult(true, "Pedido processado com sucesso", 
+                                                 orderId, transactionId, trackingCode);
+                        });
+                    });
+        });
+        
+        // Liberar a reserva e idempotente: nao afeta reservas ja confirmadas.
+        // O estoque ja terminou quando o resultado sai, entao a liberacao
+        // acontece antes de o resultado chegar a quem chamou
+        return result.whenComplete((orderResult, error) -> {
+            if (orderResult == null || !orderResult.isSuccess()) {
+                stock.thenAccept(outcome -> {
+                    if (outcome.hold() != null) {
+                        inventoryService.releaseItems(outcome.hold());
+                    }
+                });
+            }
+        });
+    }
+    
+    /**
+     * Agenda uma etapa no executor com o tempo limite configurado
+     */
+    private <T> CompletableFuture<T> stage(String name, Supplier<T> step) {
+        return CompletableFuture.supplyAsync(step, stageExecutor)
+                .orTimeout(stageTimeoutMillis, TimeUnit.MILLISECONDS)
+                .exceptionally(error -> {
+                    if (unwrap(error) instanceof TimeoutException) {
+                        throw new StageTimeoutException(name);
+                    }
+                    throw error instanceof CompletionException
+                            ? (CompletionException) error
+                            : new CompletionException(error);
+                });
+    }
+    
+    /**
+     * Agenda uma etapa no executor sem tempo limite, para a cobranca e as
+     * etapas depois dela, que nao podem ser abandonadas no meio
+     */
+    private <T> CompletableFuture<T> untimedStage(Supplier<T> step) {
+        return CompletableFuture.supplyAsync(step, stageExecutor);
+    }
+    
+    /**
+     * Confirma a venda de um pedido ja cobrado; se a reserva nao puder ser
+     * confirmada, registra a divergencia sem desfazer o pedido
+     */
+    private void confirmSold(String orderId, StockHoldManager.Hold hold) {
+        try {
+            inventoryService.updateStock(hold);
+        } catch (RuntimeException e) {
+            recordStockDiscrepancy(orderId, e);
+        }
+    }
+    
+    private void recordStockDiscrepancy(String orderId, Throwable error) {
+        stockDiscrepancies.increment();
+        System.err.println("Divergencia de estoque no pedido " + orderId + ": " + error.getMessage());
+    }
+    
+    private void recordPendingDelivery(String orderId, Throwable error) {
+        pendingDeliveries.increment();
+        System.err.println("Entrega pendente do pedido " + orderId + ": " + error.getMessage());
+    }
+    
+    private OrderResult failureResult(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof StageTimeoutException) {
+            System.err.println("Tempo esgotado no processamento do pedido: " + cause.getMessage());
+            return new OrderResult(false, cause.getMessage(), null, null, null);
+        }
+        System.err.println("Erro no processamento do pedido: " + cause.getMessage());
+        return new OrderResult(false, "Erro interno no processamento", null, null, null);
+    }
+    
+    /**
+     * Resultado da etapa de estoque: mensagem de falha ou reserva criada
+     */
+    private record StockOutcome(String failure, StockHoldManager.Hold hold) {
+        static StockOutcome failed(String failure) {
+            return new StockOutcome(failure, null);
+        }
+    }
+    
+    /**
+     * Limita quantos pagamentos de um lote rodam ao mesmo tempo
+     * 
+     * Ao contrario de um semaforo, nao bloqueia threads: o pagamento que
+     * passa do limite fica na fila e comeca quando outro termina.
+     */
+    private static final class PaymentWindow {
+        private final Queue<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+        private int available;
+        
+        PaymentWindow(int permits) {
+            this.available = permits;
+        }
+        
+        <T> CompletableFuture<T> run(Supplier<CompletableFuture<T>> payment) {
+            return acquire().thenCompose(ignored -> payment.get())
+                    .whenComplete((value, error) -> release());
+        }
+        
+        private synchronized CompletableFuture<Void> acquire() {
+            if (available > 0) {
+                available--;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> turn = new CompletableFuture<>();
+            waiting.add(turn);
+            return turn;
+        }
+        
+        private void release() {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    available++;
+                    return;
+                }
+            }
+            // A vaga passa direto para o proximo, fora do lock
+            next.complete(null);
+        }
+    }
+    
+    /**
+     * Dados de cartao usados para validar cada cartao distinto uma vez
+     */
+    private record CardKey(String number, String cvv, String expiryDate) {}
+    
+    private static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+    
+    /**
+     * Indica que uma etapa nao terminou dentro do tempo limite
+     */
+    private static final class StageTimeoutException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        
+        StageTimeoutException(String stage) {
+            super("Tempo esgotado na etapa de " + stage);
+        }
+    }
+    
+    /**
+     * Executor compartilhado criado apenas no primeiro uso
+     * 
+     * As etapas passam a maior parte do tempo esperando os subsistemas
+     * (o pagamento dorme 500 ms), por isso o pool cresce sob demanda em vez
+     * de ficar limitado ao numero de processadores. Threads daemon nao
+     * impedem o encerramento da JVM.
+     */
+    private static final class StageExecutorHolder {
+        private static final ExecutorService EXECUTOR = StageExecutors.newPlatformThreadExecutor("facade-stage-");
+    }
+    
+    public IdempotencyStore getIdempotencyStore() {
+        return idempotencyStore;
+    }
+    
+    /**
+     * Pedidos cobrados cuja entrega nao pode ser agendada
+     */
+    public long getPendingDeliveryCount() {
+        return pendingDeliveries.sum();
+    }
+    
+    /**
+     * Pedidos cobrados cuja reserva de estoque nao pode ser confirmada
+     */
+    public long getStockDiscrepancyCount() {
+        return stockDiscrepancies.sum();
     }
     
     /**
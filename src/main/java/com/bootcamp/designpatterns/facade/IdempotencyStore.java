@@ -0,0 +1,398 @@
+package com.bootcamp.designpatterns.facade;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicacao de pedidos pela chave de idempotencia enviada pelo cliente
+ * 
+ * A primeira requisicao com uma chave executa o pedido; as repeticoes dentro
+ * da janela recebem o mesmo resultado, sem cobrar de novo. Uma repeticao que
+ * chega enquanto o original ainda esta em andamento recebe o mesmo future e
+ * espera por ele.
+ * 
+ * Estrutura:
+ * <ul>
+ *   <li>A chave vira um hash de 64 bits; apenas o hash e guardado. Com um
+ *       milhao de chaves na janela, a chance de duas chaves distintas se
+ *       confundirem fica abaixo de uma em 30 milhoes.</li>
+ *   <li>A tabela e dividida em faixas, cada uma com sua trava, entao
+ *       chaves diferentes raramente disputam a mesma trava. A trava cobre
+ *       apenas a busca e a insercao; o pedido roda fora dela.</li>
+ *   <li>Cada faixa tem duas geracoes de enderecamento aberto (sondagem
+ *       linear) sobre vetores primitivos: hash, instante de criacao e
+ *       future do resultado. Quando a geracao atual completa uma janela,
+ *       ela passa a ser a anterior e a anterior e esvaziada; nao ha remocao
+ *       individual nem objetos por entrada alem do proprio future.</li>
+ * </ul>
+ * 
+ * A capacidade e fixa e deve cobrir as chaves de uma janela inteira:
+ * {@link #forRate(long, long)} dimensiona a partir da taxa de pedidos. Se
+ * uma geracao enche antes de completar a janela, a rotacao e antecipada: a
+ * memoria continua limitada, mas a janela garantida cai para cerca de
+ * capacidade / taxa (com a capacidade padrao e 50 mil pedidos/s, uns 20 s
+ * em vez de 10 min). Rotacoes antecipadas aparecem em
+ * {@link #getEarlyRotationCount()}. Cada chave custa de 80 a 160 bytes;
+ * com a capacidade padrao as tabelas somam cerca de 80 MB, entao cada
+ * faixa so aloca as suas quando recebe a primeira chave.
+ * 
+ * Um pedido que termina com excecao, ou cujo resultado o chamador indica
+ * que pode ser repetido, nao fica registrado: a proxima requisicao com a
+ * mesma chave executa de novo.
+ */
+public class IdempotencyStore {
+    
+    public static final long DEFAULT_WINDOW_MILLIS = 10 * 60_000;
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+    public static final int MAX_CAPACITY = 1 << 28;
+    public static final int MAX_KEY_LENGTH = 255;
+    
+    private static final int STRIPES = 64;
+    
+    // Ocupacao maxima de cada geracao antes de antecipar a rotacao
+    private static final double MAX_LOAD_FACTOR = 0.5;
+    
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final long windowMillis;
+    private final int capacity;
+    private final LongSupplier clock;
+    
+    // Metricas
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder replays = new LongAdder();
+    private final LongAdder inFlightJoins = new LongAdder();
+    private final LongAdder earlyRotations = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    
+    /**
+     * Cria o armazenamento com janela e capacidade padrao
+     */
+    public IdempotencyStore() {
+        this(DEFAULT_WINDOW_MILLIS, DEFAULT_CAPACITY, System::currentTimeMillis);
+    }
+    
+    /**
+     * Cria o armazenamento dimensionado para uma taxa de pedidos
+     * 
+     * A capacidade cobre taxa x janela chaves, com folga para a variacao
+     * da quantidade de chaves entre as faixas, de modo que na taxa
+     * informada nenhuma geracao enche antes de completar a janela.
+     * 
+     * @param ordersPerSecond pedidos com chave esperados por segundo, no pico
+     * @param windowMillis tempo em que uma chave continua valendo
+     * @return armazenamento com a janela completa garantida ate essa taxa
+     * @throws IllegalArgumentException se a taxa nao for positiva ou a capacidade passar do limite
+     */
+    public static IdempotencyStore forRate(long ordersPerSecond, long windowMillis) {
+        if (ordersPerSecond <= 0 || windowMillis <= 0) {
+            throw new IllegalArgumentException("Taxa e janela de idempotencia devem ser positivas");
+        }
+        long perWindow;
+        try {
+            perWindow = Math.multiplyExact(ordersPerSecond, windowMillis) / 1000 + 1;
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Capacidade de idempotencia grande demais", e);
+        }
+        // Folga de quatro desvios padrao sobre a media de chaves por faixa
+        long perStripe = perWindow / STRIPES + 1;
+        long capacity = (perStripe + 4 * (long) Math.ceil(Math.sqrt(perStripe))) * STRIPES;
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacidade de idempotencia grande demais para " + ordersPerSecond
+                                               + " pedidos/s em " + windowMillis + " ms: " + capacity);
+        }
+        return new IdempotencyStore(windowMillis, (int) capacity, System::currentTimeMillis);
+    }
+    
+    /**
+     * Construtor completo
+     * 
+     * @param windowMillis tempo em que uma chave continua valendo
+     * @param capacity quantidade de chaves guardadas por janela
+     * @param clock relogio em milissegundos
+     */
+    public IdempotencyStore(long windowMillis, int capacity, LongSupplier clock) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("Janela de idempotencia deve ser positiva: " + windowMillis);
+        }
+        if (capacity < STRIPES || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacidade deve estar entre " + STRIPES + " e " + MAX_CAPACITY + ": " + capacity);
+        }
+        this.windowMillis = windowMillis;
+        this.capacity = capacity;
+        this.clock = clock;
+        
+        int perStripe = capacity / STRIPES;
+        int tableSize = Integer.highestOneBit(Math.max(16, (int) (perStripe / MAX_LOAD_FACTOR) - 1) << 1);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(tableSize, perStripe);
+        }
+    }
+    
+    /**
+     * Executa o pedido uma unica vez por chave dentro da janela
+     * 
+     * @param key chave de idempotencia enviada pelo cliente
+     * @param operation execucao do pedido, chamada apenas se a chave for nova
+     * @return resultado do pedido original (em andamento ou concluido)
+     * @throws IllegalArgumentException se a chave for vazia ou longa demais
+     */
+    public CompletableFuture<OrderResult> execute(String key, Supplier<CompletableFuture<OrderResult>> operation) {
+        return execute(key, operation, result -> false);
+    }
+    
+    /**
+     * Executa o pedido uma unica vez por chave, exceto quando o resultado
+     * pode ser repetido
+     * 
+     * Um resultado para o qual {@code retryable} responde true e entregue a
+     * quem esperava por ele, mas a chave e liberada antes disso: a proxima
+     * requisicao com a mesma chave executa de novo. Serve para falhas que
+     * nunca chegaram a cobrar, como um tempo esgotado antes do pagamento.
+     * 
+     * @param key chave de idempotencia enviada pelo cliente
+     * @param operation execucao do pedido, chamada apenas se a chave for nova
+     * @param retryable indica se o resultado nao deve ficar registrado
+     * @return resultado do pedido original (em andamento ou concluido)
+     * @throws IllegalArgumentException se a chave for vazia ou longa demais
+     */
+    public CompletableFuture<OrderResult> execute(String key, Supplier<CompletableFuture<OrderResult>> operation,
+                                                  Predicate<OrderResult> retryable) {
+        long hash = hash(key);
+        Stripe stripe = stripes[(int) (hash >>> 58)];
+        CompletableFuture<OrderResult> created = new CompletableFuture<>();
+        CompletableFuture<OrderResult> existing;
+        
+        stripe.lock.lock();
+        try {
+            existing = stripe.putIfAbsent(hash, created, clock.getAsLong());
+        } finally {
+            stripe.lock.unlock();
+        }
+        
+        if (existing != null) {
+            if (existing.isDone()) {
+                replays.increment();
+            } else {
+                inFlightJoins.increment();
+            }
+            return existing;
+        }
+        
+        executions.increment();
+        try {
+            operation.get().whenComplete((result, error) -> {
+                if (error != null) {
+                    created.completeExceptionally(error);
+                    return;
+                }
+                if (retryable.test(result)) {
+                    // Liberada antes de completar: quem repetir depois de ver
+                    // este resultado ja encontra a chave livre
+                    stripe.lock.lock();
+                    try {
+                        stripe.expire(hash, created, clock.getAsLong());
+                    } finally {
+                        stripe.lock.unlock();
+                    }
+                    retries.increment();
+                }
+                created.complete(result);
+            });
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+    
+    /**
+     * Hash de 64 bits da chave (FNV-1a seguido do finalizador do SplitMix64)
+     * 
+     * Zero fica reservado para "posicao vazia".
+     */
+    static long hash(String key) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Chave de idempotencia deve ter de 1 a " + MAX_KEY_LENGTH + " caracteres");
+        }
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        h ^= h >>> 31;
+        return h != 0L ? h : 1L;
+    }
+    
+    public long getWindowMillis() { return windowMillis; }
+    public int getCapacity() { return capacity; }
+    public long getExecutionCount() { return executions.sum(); }
+    public long getReplayCount() { return replays.sum(); }
+    public long getInFlightJoinCount() { return inFlightJoins.sum(); }
+    public long getEarlyRotationCount() { return earlyRotations.sum(); }
+    public long getRetryableCount() { return retries.sum(); }
+    
+    /**
+     * Quantidade de chaves guardadas (inclui as ja vencidas ainda nao descartadas)
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                if (stripe.current != null) {
+                    size += stripe.current.size + stripe.previous.size;
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("IdempotencyStore{size=%d, executions=%d, replays=%d, inFlightJoins=%d, earlyRotations=%d, retryable=%d}",
+                           size(), getExecutionCount(), getReplayCount(), getInFlightJoinCount(), getEarlyRotationCount(),
+                           getRetryableCount());
+    }
+    
+    /**
+     * Faixa da tabela; todos os metodos exigem a trava da faixa
+     */
+    private final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final int tableSize;
+        final int maxEntries;
+        
+        // Alocadas na primeira chave da faixa
+        Generation current;
+        Generation previous;
+        
+        Stripe(int tableSize, int maxEntries) {
+            this.tableSize = tableSize;
+            this.maxEntries = maxEntries;
+        }
+        
+        CompletableFuture<OrderResult> putIfAbsent(long hash, CompletableFuture<OrderResult> value, long now) {
+            if (current == null) {
+                current = new Generation(tableSize, now);
+                previous = new Generation(tableSize, now);
+            }
+            if (now - current.startedAt >= windowMillis) {
+                rotate(now);
+            }
+            
+            int index = current.find(hash);
+            if (index >= 0) {
+                CompletableFuture<OrderResult> existing = current.results[index];
+                if (now - current.createdAt[index] < windowMillis && !existing.isCompletedExceptionally()) {
+                    return existing;
+                }
+                // Chave vencida ou execucao com erro: a posicao e reaproveitada
+                current.createdAt[index] = now;
+                current.results[index] = value;
+                return null;
+            }
+            
+            int previousIndex = previous.find(hash);
+            if (previousIndex >= 0) {
+                CompletableFuture<OrderResult> existing = previous.results[previousIndex];
+                if (now - previous.createdAt[previousIndex] < windowMillis && !existing.isCompletedExceptionally()) {
+                    return existing;
+                }
+            }
+            
+            if (current.size >= maxEntries) {
+                earlyRotations.increment();
+                rotate(now);
+                index = current.find(hash);
+            }
+            current.insert(~index, hash, value, now);
+            return null;
+        }
+        
+        /**
+         * Faz a chave vencer agora, se ela ainda aponta para o future
+         * informado; a posicao e reaproveitada pela proxima requisicao
+         */
+        void expire(long hash, CompletableFuture<OrderResult> value, long now) {
+            for (Generation generation : new Generation[] {current, previous}) {
+                int index = generation.find(hash);
+                if (index >= 0 && generation.results[index] == value) {
+                    generation.createdAt[index] = now - windowMillis;
+                    return;
+                }
+            }
+        }
+        
+        private void rotate(long now) {
+            Generation recycled = previous;
+            recycled.clear(now);
+            if (now - current.startedAt >= 2 * windowMillis) {
+                // Nenhuma chave da geracao atual continua valendo
+                current.clear(now);
+            }
+            previous = current;
+            current = recycled;
+        }
+    }
+    
+    /**
+     * Tabela de enderecamento aberto de uma geracao
+     */
+    private static final class Generation {
+        final long[] hashes;
+        final long[] createdAt;
+        final CompletableFuture<OrderResult>[] results;
+        final int mask;
+        int size;
+        long startedAt;
+        
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Generation(int tableSize, long now) {
+            this.hashes = new long[tableSize];
+            this.createdAt = new long[tableSize];
+            this.results = new CompletableFuture[tableSize];
+            this.mask = tableSize - 1;
+            this.startedAt = now;
+        }
+        
+        /**
+         * @return posicao da chave, ou o complemento da posicao livre onde ela entraria
+         */
+        int find(long hash) {
+            int index = (int) hash & mask;
+            while (true) {
+                long slot = hashes[index];
+                if (slot == hash) {
+                    return index;
+                }
+                if (slot == 0L) {
+                    return ~index;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+        
+        void insert(int index, long hash, CompletableFuture<OrderResult> value, long now) {
+            hashes[index] = hash;
+            createdAt[index] = now;
+            results[index] = value;
+            size++;
+        }
+        
+        void clear(long now) {
+            if (size > 0) {
+                Arrays.fill(hashes, 0L);
+                Arrays.fill(results, null);
+                size = 0;
+            }
+            startedAt = now;
+        }
+    }
+}
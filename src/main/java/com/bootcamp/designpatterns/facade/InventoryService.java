@@ -1,12 +1,58 @@
 package com.bootcamp.designpatterns.facade;
 
+import java.util.List;
+
 /**
  * Subsistema: Servico de Estoque
  * 
  * Componente interno responsavel pelo controle de estoque de produtos.
+ * As contagens ficam em um {@link StockLedger}: reservar, confirmar e
+ * liberar sao operacoes atomicas, sem trava global, entao pedidos
+ * concorrentes nunca vendem mais do que existe.
+ * 
+ * O Facade reserva com prazo ({@link #holdItems}): a reserva que nao for
+ * confirmada por {@link #updateStock(StockHoldManager.Hold)} nem liberada
+ * volta sozinha para o estoque quando vence. As operacoes sem prazo
+ * ({@link #reserveItems} e {@link #updateStock(String, int)}) continuam
+ * disponiveis, mas nao devem ser misturadas com reservas com prazo do
+ * mesmo produto.
  */
 public class InventoryService {
     
+    private final StockLedger ledger;
+    private final StockHoldManager holds;
+    
+    /**
+     * Cria o servico com o estoque da demonstracao: produtos com ID par
+     * comecam com {@link StockLedger#DEMO_INITIAL_STOCK} unidades
+     */
+    public InventoryService() {
+        this(StockLedger.withDemoStock());
+    }
+    
+    /**
+     * Cria o servico sobre um livro de estoque existente, com reservas de
+     * validade padrao
+     * 
+     * @param ledger livro de estoque
+     */
+    public InventoryService(StockLedger ledger) {
+        this(new StockHoldManager(ledger));
+    }
+    
+    /**
+     * Cria o servico com um gerenciador de reservas configurado
+     * 
+     * @param holds gerenciador das reservas com prazo
+     */
+    public InventoryService(StockHoldManager holds) {
+        if (holds == null) {
+            throw new IllegalArgumentException("Gerenciador de reservas nao pode ser nulo");
+        }
+        this.holds = holds;
+        this.ledger = holds.getLedger();
+    }
+    
     /**
      * Verifica se ha estoque suficiente para um produto
      * 
@@ -15,11 +61,9 @@ public class InventoryService {
      * @return true se ha estoque suficiente
      */
     public boolean checkStock(String productId, int quantity) {
-        // Simula verificacao de estoque
         System.out.println("InventoryService: Verificando estoque do produto " + productId);
         
-        // Simula que produtos com ID par tem estoque suficiente
-        boolean hasStock = productId.hashCode() % 2 == 0 && quantity <= 10;
+        boolean hasStock = quantity > 0 && holds.getAvailable(productId) >= quantity;
         
         System.out.println("InventoryService: Estoque " + 
                           (hasStock ? "disponivel" : "insuficiente") + 
@@ -39,8 +83,7 @@ public class InventoryService {
         System.out.println("InventoryService: Reservando " + quantity + 
                           " unidades do produto " + productId);
         
-        // Simula reserva bem sucedida se ha estoque
-        boolean reserved = checkStock(productId, quantity);
+        boolean reserved = quantity > 0 && ledger.reserve(productId, quantity);
         
         if (reserved) {
             System.out.println("InventoryService: Itens reservados com sucesso");
@@ -52,13 +95,153 @@ public class InventoryService {
     }
     
     /**
-     * Atualiza o estoque apos venda
+     * Reserva itens com prazo de validade
+     * 
+     * @param productId ID do produto
+     * @param quantity quantidade a reservar
+     * @return reserva criada ou null se nao houver estoque
+     */
+    public StockHoldManager.Hold holdItems(String productId, int quantity) {
+        System.out.println("InventoryService: Reservando " + quantity + 
+                          " unidades do produto " + productId + " por " + holds.getTtlMillis() / 1000 + " s");
+        
+        StockHoldManager.Hold hold = quantity > 0 ? holds.hold(productId, quantity) : null;
+        
+        if (hold != null) {
+            System.out.println("InventoryService: Itens reservados com sucesso");
+        } else {
+            System.out.println("InventoryService: Falha na reserva - estoque insuficiente");
+        }
+        
+        return hold;
+    }
+    
+    /**
+     * Verifica e reserva com prazo, de uma vez, varias linhas do mesmo produto
+     * 
+     * As linhas sao atendidas na ordem recebida, com uma unica transicao no
+     * livro de estoque para todo o lote.
+     * 
+     * @param productId ID do produto
+     * @param quantities quantidade de cada linha
+     * @return reserva de cada linha, ou null nas linhas sem estoque
+     */
+    public StockHoldManager.Hold[] holdBatch(String productId, int[] quantities) {
+        System.out.println("InventoryService: Reservando lote de " + quantities.length + 
+                          " linhas do produto " + productId);
+        
+        StockHoldManager.Hold[] reserved = holds.holdAll(productId, quantities);
+        
+        int lines = 0;
+        for (StockHoldManager.Hold hold : reserved) {
+            if (hold != null) {
+                lines++;
+            }
+        }
+        System.out.println("InventoryService: " + lines + " de " + quantities.length + " linhas reservadas");
+        
+        return reserved;
+    }
+    
+    /**
+     * Atualiza o estoque apos venda, confirmando itens reservados
      * 
      * @param productId ID do produto
      * @param quantity quantidade vendida
+     * @throws IllegalStateException se a quantidade nao estiver reservada
      */
     public void updateStock(String productId, int quantity) {
         System.out.println("InventoryService: Atualizando estoque - removendo " + 
                           quantity + " unidades do produto " + productId);
+        
+        if (!ledger.confirm(productId, quantity)) {
+            throw new IllegalStateException("Nao ha " + quantity + " unidades reservadas do produto " + productId);
+        }
+    }
+    
+    /**
+     * Confirma a venda de uma reserva com prazo, cancelando a expiracao
+     * 
+     * @param hold reserva do pedido
+     * @throws IllegalStateException se a reserva foi liberada ou venceu sem estoque para repor
+     */
+    public void updateStock(StockHoldManager.Hold hold) {
+        System.out.println("InventoryService: Atualizando estoque - removendo " + 
+                          hold.getQuantity() + " unidades do produto " + hold.getProductId());
+        
+        if (!holds.confirm(hold)) {
+            throw new IllegalStateException("Reserva expirada ou liberada: " + hold);
+        }
+    }
+    
+    /**
+     * Confirma de uma vez a venda de varias reservas do mesmo produto
+     * 
+     * @param productId ID do produto
+     * @param soldHolds reservas dos pedidos aprovados
+     * @return para cada reserva, true se a venda foi confirmada
+     */
+    public boolean[] updateStock(String productId, List<StockHoldManager.Hold> soldHolds) {
+        System.out.println("InventoryService: Atualizando estoque - confirmando " + 
+                          soldHolds.size() + " reservas do produto " + productId);
+        
+        return holds.confirmAll(productId, soldHolds);
+    }
+    
+    /**
+     * Libera itens reservados de um pedido que nao foi concluido
+     * 
+     * @param productId ID do produto
+     * @param quantity quantidade a devolver ao estoque
+     * @return false se a quantidade nao estava reservada
+     */
+    public boolean releaseItems(String productId, int quantity) {
+        System.out.println("InventoryService: Liberando " + quantity + 
+                          " unidades reservadas do produto " + productId);
+        
+        return ledger.release(productId, quantity);
+    }
+    
+    /**
+     * Libera uma reserva com prazo de um pedido que nao foi concluido
+     * 
+     * @param hold reserva do pedido
+     * @return false se a reserva ja tinha sido confirmada, liberada ou vencida
+     */
+    public boolean releaseItems(StockHoldManager.Hold hold) {
+        System.out.println("InventoryService: Liberando " + hold.getQuantity() + 
+                          " unidades reservadas do produto " + hold.getProductId());
+        
+        return holds.release(hold);
+    }
+    
+    /**
+     * Repoe unidades no estoque disponivel
+     * 
+     * @param productId ID do produto
+     * @param quantity quantidade recebida
+     */
+    public void restock(String productId, int quantity) {
+        System.out.println("InventoryService: Repondo " + quantity + " unidades do produto " + productId);
+        
+        ledger.restock(productId, quantity);
+    }
+    
+    /**
+     * Retorna o gerenciador das reservas com prazo
+     * 
+     * @return gerenciador de reservas
+     */
+    public StockHoldManager getHolds() {
+        return holds;
+    }
+    
+    /**
+     * Retorna o livro de estoque usado pelo servico
+     * 
+     * @return livro de estoque
+     */
+    public StockLedger getLedger() {
+        return ledger;
     }
-}
\ No newline at end of file
+}
@@ -9,6 +9,9 @@ import java.math.BigDecimal;
  */
 public class PaymentService {
     
+    // IDs de transacao unicos mesmo com varios pagamentos no mesmo milissegundo
+    private final SnowflakeIdGenerator ids = SnowflakeIdGenerator.getDefault();
+    
     /**
      * Valida os dados do cartao de credito
      * 
@@ -31,6 +34,24 @@ public class PaymentService {
         return isValid;
     }
     
+    /**
+     * Valida varios cartoes em uma unica chamada
+     * 
+     * @param cardNumbers numeros dos cartoes
+     * @param cvvs codigos de seguranca, na mesma ordem
+     * @param expiryDates datas de expiracao, na mesma ordem
+     * @return para cada cartao, true se os dados sao validos
+     */
+    public boolean[] validateCards(String[] cardNumbers, String[] cvvs, String[] expiryDates) {
+        System.out.println("PaymentService: Validando lote de " + cardNumbers.length + " cartoes");
+        
+        boolean[] valid = new boolean[cardNumbers.length];
+        for (int i = 0; i < cardNumbers.length; i++) {
+            valid[i] = validateCard(cardNumbers[i], cvvs[i], expiryDates[i]);
+        }
+        return valid;
+    }
+    
     /**
      * Processa o pagamento
      * 
@@ -52,7 +73,7 @@ public class PaymentService {
         boolean success = amount.compareTo(new BigDecimal("1000")) < 0;
         
         if (success) {
-            String transactionId = "TXN" + System.currentTimeMillis();
+            String transactionId = ids.nextCode("TXN");
             System.out.println("PaymentService: Pagamento aprovado - ID: " + transactionId);
             return transactionId;
         } else {
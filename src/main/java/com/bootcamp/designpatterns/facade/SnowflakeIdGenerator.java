@@ -0,0 +1,179 @@
+package com.bootcamp.designpatterns.facade;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Gerador de IDs unicos de 64 bits no formato Snowflake
+ * 
+ * Layout do ID (bit de sinal sempre zero):
+ * <pre>
+ * | 41 bits: ms desde 2024-01-01 | 10 bits: no | 12 bits: sequencia |
+ * </pre>
+ * O relogio e a sequencia ficam em um unico AtomicLong, e cada ID e um
+ * compareAndSet: sem trava e sem espera. IDs de um mesmo no sao
+ * estritamente crescentes. Se a sequencia de um milissegundo se esgota
+ * (mais de 4096 IDs), o gerador passa a usar o milissegundo seguinte em vez
+ * de esperar o relogio; se o relogio volta para tras, o gerador continua a
+ * partir do ultimo ID emitido. Nos dois casos o carimbo de tempo do ID fica
+ * um pouco a frente do relogio, mas nunca se repete.
+ * 
+ * Em texto o ID vira 13 caracteres em base 36, com zeros a esquerda, entao
+ * a ordem alfabetica dos codigos e a mesma ordem dos IDs.
+ */
+public final class SnowflakeIdGenerator {
+    
+    // 2024-01-01T00:00:00Z
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    
+    public static final int ENCODED_LENGTH = 13;
+    
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long MAX_TIMESTAMP = (1L << (63 - NODE_BITS - SEQUENCE_BITS)) - 1;
+    private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    
+    private final long nodeBits;
+    private final LongSupplier clock;
+    
+    // Ultimo estado emitido: carimbo de tempo seguido dos bits de sequencia
+    private final AtomicLong state = new AtomicLong();
+    
+    /**
+     * Cria um gerador com o relogio do sistema
+     * 
+     * @param nodeId identificador desta instancia (0 a {@link #MAX_NODE_ID})
+     */
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+    
+    /**
+     * Construtor completo
+     * 
+     * @param nodeId identificador desta instancia (0 a {@link #MAX_NODE_ID})
+     * @param clock relogio em milissegundos desde 1970
+     */
+    public SnowflakeIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("ID do no deve estar entre 0 e " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+    
+    /**
+     * Gerador compartilhado pelos subsistemas do Facade
+     * 
+     * O ID do no vem da propriedade de sistema "snowflake.node-id" (padrao 0);
+     * cada instancia da aplicacao deve usar um valor diferente.
+     * 
+     * @return gerador unico da JVM
+     */
+    public static SnowflakeIdGenerator getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+    
+    /**
+     * Gera o proximo ID
+     * 
+     * @return ID positivo, maior que todos os anteriores deste gerador
+     * @throws IllegalStateException se o relogio passar do limite de 41 bits (ano 2093)
+     */
+    public long nextId() {
+        long current;
+        long next;
+        do {
+            current = state.get();
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+            // Sequencia esgotada transborda para o carimbo de tempo
+            next = now > (current >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : current + 1;
+        } while (!state.compareAndSet(current, next));
+        
+        long timestamp = next >>> SEQUENCE_BITS;
+        if (timestamp > MAX_TIMESTAMP) {
+            throw new IllegalStateException("Relogio fora do intervalo do gerador de IDs");
+        }
+        return timestamp << (NODE_BITS + SEQUENCE_BITS) | nodeBits | (next & SEQUENCE_MASK);
+    }
+    
+    /**
+     * Gera o proximo ID ja codificado, com um prefixo
+     * 
+     * @param prefix prefixo do codigo (ex: ORD)
+     * @return prefixo seguido do ID em base 36
+     */
+    public String nextCode(String prefix) {
+        char[] buffer = new char[prefix.length() + ENCODED_LENGTH];
+        prefix.getChars(0, prefix.length(), buffer, 0);
+        encodeInto(nextId(), buffer, prefix.length());
+        return new String(buffer);
+    }
+    
+    /**
+     * Codifica um ID em base 36 com tamanho fixo
+     * 
+     * @param id ID gerado
+     * @return 13 caracteres (0-9, A-Z)
+     */
+    public static String encode(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("ID negativo: " + id);
+        }
+        char[] buffer = new char[ENCODED_LENGTH];
+        encodeInto(id, buffer, 0);
+        return new String(buffer);
+    }
+    
+    /**
+     * Converte um codigo de volta para o ID
+     * 
+     * @param code codigo gerado por {@link #encode(long)}
+     * @return ID original
+     * @throws IllegalArgumentException se o codigo nao tiver o formato esperado
+     */
+    public static long decode(String code) {
+        if (code == null || code.length() != ENCODED_LENGTH) {
+            throw new IllegalArgumentException("Codigo deve ter " + ENCODED_LENGTH + " caracteres: " + code);
+        }
+        try {
+            return Long.parseLong(code, 36);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Codigo invalido: " + code, e);
+        }
+    }
+    
+    public static long timestampMillisOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+    
+    public static int nodeIdOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+    
+    public static int sequenceOf(long id) {
+        return (int) (id & SEQUENCE_MASK);
+    }
+    
+    public int getNodeId() {
+        return (int) (nodeBits >>> SEQUENCE_BITS);
+    }
+    
+    private static void encodeInto(long id, char[] buffer, int offset) {
+        for (int i = offset + ENCODED_LENGTH - 1; i >= offset; i--) {
+            buffer[i] = DIGITS[(int) (id % 36)];
+            id /= 36;
+        }
+    }
+    
+    /**
+     * Gerador compartilhado criado apenas no primeiro uso
+     */
+    private static final class DefaultHolder {
+        private static final SnowflakeIdGenerator INSTANCE =
+            new SnowflakeIdGenerator(Integer.getInteger("snowflake.node-id", 0));
+    }
+}
@@ -0,0 +1,76 @@
+package com.bootcamp.designpatterns.facade;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fabrica dos executores usados nas etapas do Facade
+ * 
+ * O projeto compila com Java 17, entao o executor de threads virtuais
+ * (Java 21) e obtido por reflexao. Em JVMs sem threads virtuais
+ * {@link #isVirtualThreadSupported()} retorna false e o chamador decide se
+ * usa threads de plataforma.
+ */
+public final class StageExecutors {
+    
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadFactory();
+    
+    private StageExecutors() {}
+    
+    /**
+     * Indica se a JVM atual oferece threads virtuais
+     * 
+     * @return true a partir do Java 21
+     */
+    public static boolean isVirtualThreadSupported() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+    
+    /**
+     * Cria um executor que inicia uma thread virtual por tarefa
+     * 
+     * Uma etapa bloqueada (por exemplo no sleep do pagamento) libera a
+     * thread de plataforma que a carregava, entao o numero de pedidos em
+     * andamento deixa de ser limitado pelo tamanho do pool.
+     * 
+     * @return executor de threads virtuais
+     * @throws IllegalStateException se a JVM nao suportar threads virtuais
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        if (NEW_VIRTUAL_THREAD_EXECUTOR == null) {
+            throw new IllegalStateException("Threads virtuais exigem Java 21 ou superior (JVM atual: "
+                                            + Runtime.version().feature() + ")");
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Falha ao criar executor de threads virtuais", e);
+        }
+    }
+    
+    /**
+     * Cria um pool de threads de plataforma que cresce sob demanda
+     * 
+     * @param namePrefix prefixo do nome das threads (seguido de um numero)
+     * @return executor com threads daemon nomeadas
+     */
+    public static ExecutorService newPlatformThreadExecutor(String namePrefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    private static Method findVirtualThreadFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
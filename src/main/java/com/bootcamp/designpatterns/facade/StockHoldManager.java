@@ -0,0 +1,301 @@
+package com.bootcamp.designpatterns.facade;
+
+import com.bootcamp.designpatterns.scheduling.HierarchicalTimingWheel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Reservas de estoque com prazo de validade
+ * 
+ * Cada reserva ({@link Hold}) separa unidades no {@link StockLedger} e entra
+ * em uma roda de tempo hierarquica com o prazo de expiracao. Confirmar ou
+ * liberar a reserva cancela o prazo com um compareAndSet, em O(1). Reservas
+ * que vencem sem confirmacao voltam para o estoque disponivel em lote, com
+ * uma unica operacao no livro por produto.
+ * 
+ * Nao ha thread propria: a roda e avancada pelas proprias chamadas de
+ * reserva e consulta, no maximo uma vez por tick e apenas pela thread que
+ * obtiver a trava de manutencao (as demais seguem sem esperar). Uma
+ * reserva vencida volta ao estoque no maximo um tick depois do prazo.
+ * 
+ * Cada reserva pendente ocupa um unico objeto de cerca de 56 bytes; a
+ * roda nao cria objetos auxiliares por reserva.
+ */
+public class StockHoldManager {
+    
+    public static final long DEFAULT_TTL_MILLIS = 10 * 60_000;
+    public static final long DEFAULT_TICK_MILLIS = 1_000;
+    
+    private final StockLedger ledger;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final HierarchicalTimingWheel<Hold> wheel;
+    
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+    private volatile long nextMaintenanceMillis;
+    
+    // Metricas
+    private final LongAdder created = new LongAdder();
+    private final LongAdder confirmed = new LongAdder();
+    private final LongAdder lateConfirmed = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder expiryBatches = new LongAdder();
+    
+    /**
+     * Reserva de estoque com prazo
+     */
+    public static final class Hold extends HierarchicalTimingWheel.Entry {
+        private final String productId;
+        private final int quantity;
+        
+        Hold(String productId, int quantity, long expiresAtMillis) {
+            super(expiresAtMillis);
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+        
+        public String getProductId() { return productId; }
+        public int getQuantity() { return quantity; }
+        
+        @Override
+        public String toString() {
+            return String.format("Hold{productId='%s', quantity=%d, expiresAt=%d}",
+                               productId, quantity, getDeadlineMillis());
+        }
+    }
+    
+    /**
+     * Cria o gerenciador com prazo e tick padrao e relogio do sistema
+     * 
+     * @param ledger livro de estoque
+     */
+    public StockHoldManager(StockLedger ledger) {
+        this(ledger, DEFAULT_TTL_MILLIS, DEFAULT_TICK_MILLIS, System::currentTimeMillis);
+    }
+    
+    /**
+     * Construtor completo
+     * 
+     * @param ledger livro de estoque
+     * @param ttlMillis validade de cada reserva
+     * @param tickMillis resolucao da roda de tempo
+     * @param clock relogio em milissegundos
+     */
+    public StockHoldManager(StockLedger ledger, long ttlMillis, long tickMillis, LongSupplier clock) {
+        if (ledger == null) {
+            throw new IllegalArgumentException("Livro de estoque nao pode ser nulo");
+        }
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("Validade da reserva deve ser positiva: " + ttlMillis);
+        }
+        this.ledger = ledger;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        long now = clock.getAsLong();
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, now);
+        this.nextMaintenanceMillis = now + tickMillis;
+    }
+    
+    /**
+     * Reserva unidades com prazo de validade
+     * 
+     * @param productId ID do produto
+     * @param quantity quantidade a reservar
+     * @return reserva criada ou null se nao houver estoque disponivel
+     */
+    public Hold hold(String productId, int quantity) {
+        maintain();
+        if (!ledger.reserve(productId, quantity)) {
+            return null;
+        }
+        created.increment();
+        return wheel.schedule(new Hold(productId, quantity, clock.getAsLong() + ttlMillis));
+    }
+    
+    /**
+     * Reserva varias linhas do mesmo produto com uma unica operacao no livro
+     * 
+     * @param productId ID do produto
+     * @param quantities quantidade de cada linha
+     * @return reserva de cada linha, ou null nas linhas sem estoque
+     */
+    public Hold[] holdAll(String productId, int[] quantities) {
+        maintain();
+        boolean[] granted = new boolean[quantities.length];
+        ledger.reserveAll(productId, quantities, granted);
+        
+        long expiresAt = clock.getAsLong() + ttlMillis;
+        Hold[] holds = new Hold[quantities.length];
+        for (int i = 0; i < quantities.length; i++) {
+            if (granted[i]) {
+                holds[i] = wheel.schedule(new Hold(productId, quantities[i], expiresAt));
+                created.increment();
+            }
+        }
+        return holds;
+    }
+    
+    /**
+     * Confirma a venda das unidades reservadas e cancela o prazo
+     * 
+     * Se a reserva ja venceu, tenta reservar as unidades de novo antes de
+     * confirmar.
+     * 
+     * @param hold reserva a confirmar
+     * @return false se a reserva foi liberada ou venceu sem estoque para repor
+     */
+    public boolean confirm(Hold hold) {
+        if (hold.cancel()) {
+            ledger.confirm(hold.getProductId(), hold.getQuantity());
+            confirmed.increment();
+            return true;
+        }
+        return confirmLate(hold);
+    }
+    
+    /**
+     * Confirma varias reservas do mesmo produto com uma unica operacao no livro
+     * 
+     * @param productId ID do produto de todas as reservas
+     * @param holds reservas a confirmar
+     * @return para cada reserva, true se a venda foi confirmada
+     */
+    public boolean[] confirmAll(String productId, List<Hold> holds) {
+        boolean[] result = new boolean[holds.size()];
+        int units = 0;
+        int count = 0;
+        for (int i = 0; i < result.length; i++) {
+            Hold hold = holds.get(i);
+            if (!productId.equals(hold.getProductId())) {
+                throw new IllegalArgumentException("Reserva de outro produto: " + hold);
+            }
+            if (hold.cancel()) {
+                units += hold.getQuantity();
+                count++;
+                result[i] = true;
+            }
+        }
+        if (units > 0) {
+            ledger.confirm(productId, units);
+            confirmed.add(count);
+        }
+        
+        for (int i = 0; i < result.length; i++) {
+            if (!result[i]) {
+                result[i] = confirmLate(holds.get(i));
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Devolve ao estoque as unidades de uma reserva nao concluida
+     * 
+     * @param hold reserva a liberar
+     * @return false se a reserva ja tinha sido confirmada, liberada ou vencida
+     */
+    public boolean release(Hold hold) {
+        if (!hold.cancel()) {
+            return false;
+        }
+        ledger.release(hold.getProductId(), hold.getQuantity());
+        released.increment();
+        return true;
+    }
+    
+    /**
+     * Devolve ao estoque todas as reservas vencidas ate agora
+     * 
+     * @return quantidade de reservas vencidas nesta chamada
+     */
+    public int releaseExpired() {
+        maintenanceLock.lock();
+        try {
+            return expireDue();
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+    
+    /**
+     * Avanca a roda no maximo uma vez por tick, sem bloquear quem chama
+     */
+    private void maintain() {
+        if (clock.getAsLong() >= nextMaintenanceMillis && maintenanceLock.tryLock()) {
+            try {
+                expireDue();
+            } finally {
+                maintenanceLock.unlock();
+            }
+        }
+    }
+    
+    /**
+     * Executado com a trava de manutencao
+     */
+    private int expireDue() {
+        long now = clock.getAsLong();
+        nextMaintenanceMillis = now + wheel.getTickMillis();
+        
+        List<Hold> due = new ArrayList<>();
+        wheel.advance(now, due);
+        if (due.isEmpty()) {
+            return 0;
+        }
+        
+        // Uma liberacao por produto para todo o lote vencido
+        Map<String, Integer> unitsByProduct = new HashMap<>();
+        for (Hold hold : due) {
+            unitsByProduct.merge(hold.getProductId(), hold.getQuantity(), Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entry : unitsByProduct.entrySet()) {
+            ledger.release(entry.getKey(), entry.getValue());
+        }
+        
+        expired.add(due.size());
+        expiryBatches.increment();
+        return due.size();
+    }
+    
+    private boolean confirmLate(Hold hold) {
+        if (!hold.isExpired()) {
+            return false;
+        }
+        // Garante que a devolucao do lote vencido ja aconteceu antes de reservar de novo
+        releaseExpired();
+        if (!ledger.reserve(hold.getProductId(), hold.getQuantity())) {
+            return false;
+        }
+        ledger.confirm(hold.getProductId(), hold.getQuantity());
+        lateConfirmed.increment();
+        return true;
+    }
+    
+    /**
+     * Quantidade disponivel, ja descontando as reservas vencidas
+     * 
+     * @param productId ID do produto
+     * @return unidades disponiveis
+     */
+    public int getAvailable(String productId) {
+        maintain();
+        return ledger.getAvailable(productId);
+    }
+    
+    public StockLedger getLedger() { return ledger; }
+    public long getTtlMillis() { return ttlMillis; }
+    public int getOutstandingCount() { return wheel.getPendingCount(); }
+    public long getCreatedCount() { return created.sum(); }
+    public long getConfirmedCount() { return confirmed.sum(); }
+    public long getLateConfirmedCount() { return lateConfirmed.sum(); }
+    public long getReleasedCount() { return released.sum(); }
+    public long getExpiredCount() { return expired.sum(); }
+    public long getExpiryBatchCount() { return expiryBatches.sum(); }
+}
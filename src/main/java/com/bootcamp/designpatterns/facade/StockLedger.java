@@ -0,0 +1,330 @@
+package com.bootcamp.designpatterns.facade;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+/**
+ * Livro de estoque em memoria com contagens disponivel e reservada
+ * 
+ * Cada produto tem um unico AtomicLong com as duas contagens: disponivel
+ * nos 32 bits altos e reservado nos 32 bits baixos. Toda transicao
+ * (reservar, confirmar, liberar, repor) e um unico compareAndSet sobre esse
+ * valor, entao nao ha trava global nem janela em que uma unidade esteja
+ * contada duas vezes ou em lugar nenhum:
+ * <pre>
+ * reservar:  disponivel - q, reservado + q   (falha se disponivel &lt; q)
+ * confirmar: reservado - q                   (unidades vendidas saem do livro)
+ * liberar:   reservado - q, disponivel + q
+ * repor:     disponivel + q
+ * </pre>
+ * Produtos ainda nao vistos sao criados na primeira escrita com o estoque
+ * inicial definido pela funcao de carga. Consultas e operacoes que nao
+ * mudam nada (reservar sem estoque, confirmar ou liberar sem reserva) nao
+ * criam o produto, entao IDs arbitrarios vindos de fora nao fazem o livro
+ * crescer.
+ */
+public final class StockLedger {
+    
+    // Estoque inicial da demonstracao para produtos com ID de hash par
+    public static final int DEMO_INITIAL_STOCK = 10;
+    
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+    
+    private final ConcurrentHashMap<String, AtomicLong> cells = new ConcurrentHashMap<>();
+    private final ToIntFunction<String> initialStock;
+    
+    private final LongAdder reservedUnits = new LongAdder();
+    private final LongAdder confirmedUnits = new LongAdder();
+    private final LongAdder releasedUnits = new LongAdder();
+    private final LongAdder rejectedReservations = new LongAdder();
+    
+    /**
+     * Cria um livro em que todo produto comeca sem estoque
+     */
+    public StockLedger() {
+        this(productId -> 0);
+    }
+    
+    /**
+     * Cria um livro com estoque inicial definido por produto
+     * 
+     * @param initialStock funcao chamada uma vez por produto no primeiro acesso
+     */
+    public StockLedger(ToIntFunction<String> initialStock) {
+        if (initialStock == null) {
+            throw new IllegalArgumentException("Funcao de estoque inicial nao pode ser nula");
+        }
+        this.initialStock = initialStock;
+    }
+    
+    /**
+     * Livro com o estoque inicial de cada produto informado, por exemplo
+     * lido da configuracao
+     * 
+     * @param initialStock unidades iniciais por ID de produto
+     * @param defaultStock unidades iniciais dos produtos fora do mapa
+     * @return livro com a carga informada
+     * @throws IllegalArgumentException se alguma quantidade for negativa
+     */
+    public static StockLedger withInitialStock(Map<String, Integer> initialStock, int defaultStock) {
+        if (defaultStock < 0) {
+            throw new IllegalArgumentException("Estoque inicial padrao negativo: " + defaultStock);
+        }
+        Map<String, Integer> stock = new HashMap<>(initialStock);
+        stock.forEach((productId, quantity) -> {
+            if (quantity == null || quantity < 0) {
+                throw new IllegalArgumentException("Estoque inicial invalido para o produto " + productId + ": " + quantity);
+            }
+        });
+        return new StockLedger(productId -> stock.getOrDefault(productId, defaultStock));
+    }
+    
+    /**
+     * Livro da demonstracao: produtos com hash de ID par comecam com
+     * {@link #DEMO_INITIAL_STOCK} unidades, os demais sem estoque
+     * 
+     * @return livro com a carga da demonstracao
+     */
+    public static StockLedger withDemoStock() {
+        return new StockLedger(productId -> productId.hashCode() % 2 == 0 ? DEMO_INITIAL_STOCK : 0);
+    }
+    
+    /**
+     * Quantidade disponivel para novas reservas
+     * 
+     * @param productId ID do produto
+     * @return unidades disponiveis
+     */
+    public int getAvailable(String productId) {
+        AtomicLong cell = existing(productId);
+        return cell != null ? available(cell.get()) : initialStockOf(productId);
+    }
+    
+    /**
+     * Quantidade reservada e ainda nao confirmada
+     * 
+     * @param productId ID do produto
+     * @return unidades reservadas
+     */
+    public int getReserved(String productId) {
+        AtomicLong cell = existing(productId);
+        return cell != null ? reserved(cell.get()) : 0;
+    }
+    
+    /**
+     * Reserva unidades se houver estoque disponivel
+     * 
+     * @param productId ID do produto
+     * @param quantity quantidade a reservar
+     * @return true se todas as unidades foram reservadas
+     */
+    public boolean reserve(String productId, int quantity) {
+        requirePositive(quantity);
+        if (existing(productId) == null && initialStockOf(productId) < quantity) {
+            rejectedReservations.increment();
+            return false;
+        }
+        AtomicLong cell = cell(productId);
+        long current;
+        long next;
+        do {
+            current = cell.get();
+            int available = available(current);
+            if (available < quantity) {
+                rejectedReservations.increment();
+                return false;
+            }
+            next = pack(available - quantity, reserved(current) + quantity);
+        } while (!cell.compareAndSet(current, next));
+        
+        reservedUnits.add(quantity);
+        return true;
+    }
+    
+    /**
+     * Reserva varias linhas do mesmo produto em uma unica transicao
+     * 
+     * As linhas sao atendidas na ordem recebida enquanto houver estoque; uma
+     * linha que nao cabe e recusada, mas as seguintes ainda podem caber.
+     * 
+     * @param productId ID do produto
+     * @param quantities quantidade de cada linha
+     * @param granted preenchido com true para cada linha reservada
+     * @return total de unidades reservadas
+     */
+    public int reserveAll(String productId, int[] quantities, boolean[] granted) {
+        if (granted.length < quantities.length) {
+            throw new IllegalArgumentException("Vetor de resultado menor que o numero de linhas");
+        }
+        for (int quantity : quantities) {
+            requirePositive(quantity);
+        }
+        if (existing(productId) == null && initialStockOf(productId) == 0) {
+            Arrays.fill(granted, 0, quantities.length, false);
+            rejectedReservations.add(quantities.length);
+            return 0;
+        }
+        
+        AtomicLong cell = cell(productId);
+        long current;
+        long next;
+        int total;
+        int rejected;
+        do {
+            current = cell.get();
+            int available = available(current);
+            total = 0;
+            rejected = 0;
+            for (int i = 0; i < quantities.length; i++) {
+                granted[i] = quantities[i] <= available - total;
+                if (granted[i]) {
+                    total += quantities[i];
+                } else {
+                    rejected++;
+                }
+            }
+            next = pack(available - total, reserved(current) + total);
+        } while (total > 0 && !cell.compareAndSet(current, next));
+        
+        reservedUnits.add(total);
+        rejectedReservations.add(rejected);
+        return total;
+    }
+    
+    /**
+     * Confirma a venda de unidades reservadas, retirando-as do livro
+     * 
+     * @param productId ID do produto
+     * @param quantity quantidade vendida
+     * @return false se nao houver tantas unidades reservadas
+     */
+    public boolean confirm(String productId, int quantity) {
+        requirePositive(quantity);
+        AtomicLong cell = existing(productId);
+        if (cell == null) {
+            return false;
+        }
+        long current;
+        long next;
+        do {
+            current = cell.get();
+            int reserved = reserved(current);
+            if (reserved < quantity) {
+                return false;
+            }
+            next = pack(available(current), reserved - quantity);
+        } while (!cell.compareAndSet(current, next));
+        
+        confirmedUnits.add(quantity);
+        return true;
+    }
+    
+    /**
+     * Devolve unidades reservadas ao estoque disponivel
+     * 
+     * @param productId ID do produto
+     * @param quantity quantidade a liberar
+     * @return false se nao houver tantas unidades reservadas
+     */
+    public boolean release(String productId, int quantity) {
+        requirePositive(quantity);
+        AtomicLong cell = existing(productId);
+        if (cell == null) {
+            return false;
+        }
+        long current;
+        long next;
+        do {
+            current = cell.get();
+            int reserved = reserved(current);
+            if (reserved < quantity) {
+                return false;
+            }
+            next = pack(available(current) + quantity, reserved - quantity);
+        } while (!cell.compareAndSet(current, next));
+        
+        releasedUnits.add(quantity);
+        return true;
+    }
+    
+    /**
+     * Adiciona unidades ao estoque disponivel
+     * 
+     * @param productId ID do produto
+     * @param quantity quantidade recebida
+     * @throws IllegalArgumentException se o total passar de Integer.MAX_VALUE
+     */
+    public void restock(String productId, int quantity) {
+        requirePositive(quantity);
+        AtomicLong cell = cell(productId);
+        long current;
+        long next;
+        do {
+            current = cell.get();
+            long available = (long) available(current) + quantity;
+            if (available + reserved(current) > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Estoque do produto " + productId + " excede o limite");
+            }
+            next = pack((int) available, reserved(current));
+        } while (!cell.compareAndSet(current, next));
+    }
+    
+    public int getProductCount() { return cells.size(); }
+    public long getReservedUnits() { return reservedUnits.sum(); }
+    public long getConfirmedUnits() { return confirmedUnits.sum(); }
+    public long getReleasedUnits() { return releasedUnits.sum(); }
+    public long getRejectedReservations() { return rejectedReservations.sum(); }
+    
+    /**
+     * Contagens do produto, se ja existirem, sem cria-lo
+     */
+    private AtomicLong existing(String productId) {
+        if (productId == null) {
+            throw new IllegalArgumentException("ID do produto nao pode ser nulo");
+        }
+        return cells.get(productId);
+    }
+    
+    /**
+     * Contagens do produto, criadas com o estoque inicial se ainda nao existirem;
+     * usado apenas por operacoes que escrevem
+     */
+    private AtomicLong cell(String productId) {
+        AtomicLong cell = existing(productId);
+        if (cell != null) {
+            return cell;
+        }
+        return cells.computeIfAbsent(productId, id -> new AtomicLong(pack(initialStockOf(id), 0)));
+    }
+    
+    private int initialStockOf(String productId) {
+        int stock = initialStock.applyAsInt(productId);
+        if (stock < 0) {
+            throw new IllegalArgumentException("Estoque inicial negativo para o produto " + productId);
+        }
+        return stock;
+    }
+    
+    private static void requirePositive(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantidade deve ser maior que zero: " + quantity);
+        }
+    }
+    
+    private static long pack(int available, int reserved) {
+        return ((long) available << 32) | (reserved & COUNT_MASK);
+    }
+    
+    private static int available(long cell) {
+        return (int) (cell >>> 32);
+    }
+    
+    private static int reserved(long cell) {
+        return (int) (cell & COUNT_MASK);
+    }
+}
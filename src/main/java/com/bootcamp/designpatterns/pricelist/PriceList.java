@@ -0,0 +1,67 @@
+package com.bootcamp.designpatterns.pricelist;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de precos de um nivel (um cliente, um segmento ou uma categoria)
+ * 
+ * Guarda os precos especificos por produto e, conforme o nivel, o
+ * segmento do cliente ou o fator aplicado ao preco base da categoria.
+ * Toda alteracao grava o dado e so depois incrementa a versao: um preco
+ * resolvido com a versao antiga nunca e confundido com um atual.
+ */
+final class PriceList {
+    
+    private final String name;
+    private final Map<Long, BigDecimal> prices = new ConcurrentHashMap<>();
+    
+    // Segmento do cliente (apenas no nivel de cliente)
+    private volatile String segment;
+    
+    // Fator sobre o preco base (apenas no nivel de categoria)
+    private volatile BigDecimal factor;
+    
+    private volatile long version;
+    
+    PriceList(String name) {
+        this.name = name;
+    }
+    
+    BigDecimal price(Long productId) {
+        return prices.get(productId);
+    }
+    
+    synchronized void setPrice(Long productId, BigDecimal price) {
+        if (price == null) {
+            prices.remove(productId);
+        } else {
+            prices.put(productId, price);
+        }
+        version++;
+    }
+    
+    synchronized void setSegment(String segment) {
+        this.segment = segment;
+        version++;
+    }
+    
+    synchronized void setFactor(BigDecimal factor) {
+        this.factor = factor;
+        version++;
+    }
+    
+    /**
+     * Muda a versao sem alterar dados, invalidando os precos resolvidos com ela
+     */
+    synchronized void invalidate() {
+        version++;
+    }
+    
+    String getName() { return name; }
+    String getSegment() { return segment; }
+    BigDecimal getFactor() { return factor; }
+    long getVersion() { return version; }
+    int size() { return prices.size(); }
+}
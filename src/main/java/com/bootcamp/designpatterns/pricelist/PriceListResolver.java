@@ -0,0 +1,296 @@
+package com.bootcamp.designpatterns.pricelist;
+
+import com.bootcamp.designpatterns.cache.TinyLfuCache;
+import com.bootcamp.designpatterns.model.Product;
+import com.bootcamp.designpatterns.strategy.FixedPointMath;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listas de precos por cliente e por segmento (clientes B2B)
+ * 
+ * O preco de um produto para um cliente e resolvido antes de qualquer
+ * DiscountStrategy, do nivel mais especifico ao mais geral:
+ * <ol>
+ *   <li>preco especifico do cliente para o produto;</li>
+ *   <li>preco do segmento do cliente para o produto;</li>
+ *   <li>fator da categoria do produto sobre o preco base;</li>
+ *   <li>preco base do produto (Product.price).</li>
+ * </ol>
+ * 
+ * Os precos resolvidos ficam em um cache W-TinyLFU limitado, por
+ * (cliente, produto). Cada entrada guarda a versao de cada lista
+ * consultada; uma alteracao em qualquer nivel muda a versao da lista
+ * inteira e invalida todas as entradas que passaram por ela (um preco
+ * novo na lista de um cliente invalida todos os produtos em cache desse
+ * cliente). A verificacao e feita no proximo acesso com algumas leituras
+ * volateis, sem varrer o cache.
+ * 
+ * As listas so sao criadas pelos metodos de alteracao. Consultas de
+ * clientes ou categorias sem lista usam uma lista vazia compartilhada,
+ * entao chamadas com ids arbitrarios nao fazem os mapas crescerem; essa
+ * lista muda de versao quando uma lista nova e criada, para que precos
+ * resolvidos antes dela nao continuem valendo.
+ */
+public class PriceListResolver {
+    
+    public static final int DEFAULT_MAXIMUM_SIZE = 100_000;
+    
+    private final Map<String, PriceList> customers = new ConcurrentHashMap<>();
+    private final Map<String, PriceList> segments = new ConcurrentHashMap<>();
+    private final Map<String, PriceList> categories = new ConcurrentHashMap<>();
+    
+    // Listas usadas para cliente e categoria sem lista propria (nunca recebem precos)
+    private final PriceList anonymous = new PriceList(null);
+    private final PriceList noCategory = new PriceList(null);
+    
+    private final TinyLfuCache<PriceKey, ResolvedPrice> cache;
+    private final LongAdder staleHits = new LongAdder();
+    
+    /**
+     * Construtor com capacidade padrao
+     */
+    public PriceListResolver() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+    
+    /**
+     * Construtor com capacidade configuravel
+     * 
+     * @param maximumSize numero maximo de precos resolvidos em cache
+     */
+    public PriceListResolver(int maximumSize) {
+        this.cache = new TinyLfuCache<>(maximumSize);
+    }
+    
+    /**
+     * Resolve o preco de um produto para um cliente
+     * 
+     * @param customerId cliente (nulo = sem lista de cliente)
+     * @param product produto com id, categoria e preco base
+     * @return preco resolvido e o nivel que o definiu
+     */
+    public ResolvedPrice resolve(String customerId, Product product) {
+        return resolve(customerId, product.getId(), product.getCategory(), product.getPrice());
+    }
+    
+    /**
+     * Resolve o preco de um produto para um cliente
+     * 
+     * @param customerId cliente (nulo = sem lista de cliente)
+     * @param productId id do produto
+     * @param category categoria do produto (pode ser nula)
+     * @param basePrice preco base do produto
+     * @return preco resolvido e o nivel que o definiu
+     */
+    public ResolvedPrice resolve(String customerId, Long productId, String category, BigDecimal basePrice) {
+        if (productId == null) {
+            throw new IllegalArgumentException("Id do produto e obrigatorio");
+        }
+        if (basePrice == null || basePrice.compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Preco base invalido: " + basePrice);
+        }
+        
+        PriceKey key = new PriceKey(customerId, productId);
+        ResolvedPrice cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (cached.isCurrent(basePrice, category)) {
+                return cached;
+            }
+            staleHits.increment();
+        }
+        
+        ResolvedPrice resolved = compute(customerId, productId, category, basePrice);
+        cache.put(key, resolved);
+        return resolved;
+    }
+    
+    /**
+     * Percorre os niveis; as versoes sao lidas antes dos dados de cada lista
+     */
+    private ResolvedPrice compute(String customerId, Long productId, String category, BigDecimal basePrice) {
+        // A versao da lista compartilhada e lida antes da busca no mapa: se a
+        // lista propria for criada depois, a versao lida ja esta desatualizada
+        long anonymousVersion = anonymous.getVersion();
+        PriceList customerList = customerId == null ? null : customers.get(customerId);
+        long customerVersion;
+        if (customerList == null) {
+            customerList = anonymous;
+            customerVersion = anonymousVersion;
+        } else {
+            customerVersion = customerList.getVersion();
+        }
+        String segment = customerList.getSegment();
+        
+        // Segmentos atribuidos sempre tem lista (criada em assignSegment)
+        PriceList segmentList = segment == null ? null : segments.get(segment);
+        long segmentVersion = segmentList == null ? 0L : segmentList.getVersion();
+        
+        PriceList categoryList = null;
+        long categoryVersion = 0L;
+        if (category != null) {
+            long noCategoryVersion = noCategory.getVersion();
+            categoryList = categories.get(category);
+            if (categoryList == null) {
+                categoryList = noCategory;
+                categoryVersion = noCategoryVersion;
+            } else {
+                categoryVersion = categoryList.getVersion();
+            }
+        }
+        
+        BigDecimal price = customerList.price(productId);
+        ResolvedPrice.Source source = ResolvedPrice.Source.CUSTOMER;
+        
+        if (price == null && segmentList != null) {
+            price = segmentList.price(productId);
+            source = ResolvedPrice.Source.SEGMENT;
+        }
+        if (price == null && categoryList != null) {
+            BigDecimal factor = categoryList.getFactor();
+            if (factor != null) {
+                price = FixedPointMath.fromCents(FixedPointMath.roundToCents(basePrice.multiply(factor)));
+                source = ResolvedPrice.Source.CATEGORY;
+            }
+        }
+        if (price == null) {
+            price = basePrice;
+            source = ResolvedPrice.Source.BASE;
+        }
+        
+        return new ResolvedPrice(customerId, productId, basePrice, price, source, category,
+                                 customerList, customerVersion,
+                                 segmentList, segmentVersion,
+                                 categoryList, categoryVersion);
+    }
+    
+    /**
+     * Associa um cliente a um segmento
+     * 
+     * @param customerId cliente
+     * @param segment segmento (nulo remove a associacao)
+     */
+    public void assignSegment(String customerId, String segment) {
+        PriceList customerList = customerList(requireName(customerId, "Cliente"));
+        if (segment != null) {
+            segmentList(requireName(segment, "Segmento"));
+        }
+        customerList.setSegment(segment);
+    }
+    
+    /**
+     * Define (ou remove, com preco nulo) o preco de um produto para um cliente
+     */
+    public void setCustomerPrice(String customerId, Long productId, BigDecimal price) {
+        customerList(requireName(customerId, "Cliente")).setPrice(requireProduct(productId), normalizePrice(price));
+    }
+    
+    /**
+     * Define (ou remove, com preco nulo) o preco de um produto para um segmento
+     */
+    public void setSegmentPrice(String segment, Long productId, BigDecimal price) {
+        segmentList(requireName(segment, "Segmento")).setPrice(requireProduct(productId), normalizePrice(price));
+    }
+    
+    /**
+     * Define (ou remove, com fator nulo) o fator aplicado ao preco base de uma categoria
+     * 
+     * @param category categoria
+     * @param factor multiplicador do preco base (ex: 0.95), maior que zero
+     */
+    public void setCategoryFactor(String category, BigDecimal factor) {
+        if (factor != null && factor.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Fator deve ser maior que zero: " + factor);
+        }
+        categoryList(requireName(category, "Categoria")).setFactor(factor);
+    }
+    
+    /**
+     * Obtem o segmento de um cliente
+     * 
+     * @return segmento ou null se o cliente nao tiver segmento
+     */
+    public String getSegment(String customerId) {
+        PriceList customerList = customerId == null ? null : customers.get(customerId);
+        return customerList != null ? customerList.getSegment() : null;
+    }
+    
+    private PriceList customerList(String customerId) {
+        return listFor(customers, customerId, anonymous);
+    }
+    
+    private PriceList segmentList(String segment) {
+        return segments.computeIfAbsent(segment, PriceList::new);
+    }
+    
+    private PriceList categoryList(String category) {
+        return listFor(categories, category, noCategory);
+    }
+    
+    /**
+     * Obtem ou cria a lista de um nome; ao criar, muda a versao da lista
+     * vazia compartilhada que as consultas usavam ate entao
+     */
+    private static PriceList listFor(Map<String, PriceList> lists, String name, PriceList shared) {
+        PriceList list = lists.get(name);
+        if (list != null) {
+            return list;
+        }
+        boolean[] created = new boolean[1];
+        list = lists.computeIfAbsent(name, key -> {
+            created[0] = true;
+            return new PriceList(key);
+        });
+        if (created[0]) {
+            shared.invalidate();
+        }
+        return list;
+    }
+    
+    private static String requireName(String name, String label) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException(label + " e obrigatorio");
+        }
+        return name;
+    }
+    
+    private static Long requireProduct(Long productId) {
+        if (productId == null) {
+            throw new IllegalArgumentException("Id do produto e obrigatorio");
+        }
+        return productId;
+    }
+    
+    private static BigDecimal normalizePrice(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        if (price.compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Preco nao pode ser negativo: " + price);
+        }
+        return FixedPointMath.fromCents(FixedPointMath.roundToCents(price));
+    }
+    
+    // Metricas
+    public int size() { return cache.size(); }
+    public int getMaximumSize() { return cache.getMaximumSize(); }
+    public long getHitCount() { return cache.getHitCount() - staleHits.sum(); }
+    public long getMissCount() { return cache.getMissCount() + staleHits.sum(); }
+    public long getStaleHitCount() { return staleHits.sum(); }
+    public int getCustomerCount() { return customers.size(); }
+    public int getSegmentCount() { return segments.size(); }
+    
+    @Override
+    public String toString() {
+        return String.format("PriceListResolver{customers=%d, segments=%d, categories=%d, cached=%d, hits=%d, misses=%d}",
+                           customers.size(), segments.size(), categories.size(), size(), getHitCount(), getMissCount());
+    }
+    
+    /**
+     * Chave do cache: cliente e produto
+     */
+    private record PriceKey(String customerId, Long productId) {}
+}
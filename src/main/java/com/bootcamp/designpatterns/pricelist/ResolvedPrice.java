@@ -0,0 +1,81 @@
+package com.bootcamp.designpatterns.pricelist;
+
+import java.math.BigDecimal;
+
+/**
+ * Preco de um produto para um cliente, antes de qualquer desconto
+ * 
+ * Informa o nivel que definiu o preco e guarda as versoes das listas
+ * consultadas na resolucao, usadas para saber se o valor em cache ainda
+ * vale sem resolver de novo.
+ */
+public final class ResolvedPrice {
+    
+    /**
+     * Nivel que definiu o preco, do mais especifico ao mais geral
+     */
+    public enum Source {
+        CUSTOMER, SEGMENT, CATEGORY, BASE
+    }
+    
+    private final String customerId;
+    private final Long productId;
+    private final BigDecimal basePrice;
+    private final BigDecimal price;
+    private final Source source;
+    
+    // Listas consultadas e suas versoes no momento da resolucao
+    private final String category;
+    private final PriceList customerList;
+    private final long customerVersion;
+    private final PriceList segmentList;
+    private final long segmentVersion;
+    private final PriceList categoryList;
+    private final long categoryVersion;
+    
+    ResolvedPrice(String customerId, Long productId, BigDecimal basePrice, BigDecimal price, Source source, String category,
+                  PriceList customerList, long customerVersion,
+                  PriceList segmentList, long segmentVersion,
+                  PriceList categoryList, long categoryVersion) {
+        this.customerId = customerId;
+        this.productId = productId;
+        this.basePrice = basePrice;
+        this.price = price;
+        this.source = source;
+        this.category = category;
+        this.customerList = customerList;
+        this.customerVersion = customerVersion;
+        this.segmentList = segmentList;
+        this.segmentVersion = segmentVersion;
+        this.categoryList = categoryList;
+        this.categoryVersion = categoryVersion;
+    }
+    
+    /**
+     * Verifica se nenhum nivel mudou desde a resolucao
+     * 
+     * @param currentBase preco base atual do produto
+     * @param currentCategory categoria atual do produto
+     * @return true se o preco ainda vale
+     */
+    boolean isCurrent(BigDecimal currentBase, String currentCategory) {
+        return customerList.getVersion() == customerVersion
+            && (segmentList == null || segmentList.getVersion() == segmentVersion)
+            && (categoryList == null || categoryList.getVersion() == categoryVersion)
+            && basePrice.compareTo(currentBase) == 0
+            && (category == null ? currentCategory == null : category.equals(currentCategory));
+    }
+    
+    public Long getProductId() { return productId; }
+    public BigDecimal getBasePrice() { return basePrice; }
+    public BigDecimal getPrice() { return price; }
+    public Source getSource() { return source; }
+    public String getCustomerId() { return customerId; }
+    public String getSegment() { return segmentList != null ? segmentList.getName() : null; }
+    
+    @Override
+    public String toString() {
+        return String.format("ResolvedPrice{customerId='%s', productId=%d, basePrice=%s, price=%s, source=%s}",
+                           getCustomerId(), productId, basePrice, price, source);
+    }
+}
@@ -0,0 +1,312 @@
+package com.bootcamp.designpatterns.scheduling;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Roda de tempo hierarquica para agendamentos em grande volume
+ * 
+ * Quatro niveis de 256 posicoes: o primeiro cobre 256 ticks, cada nivel
+ * seguinte cobre 256 vezes o anterior. Um agendamento cai na posicao do
+ * menor nivel que alcanca seu prazo; quando um nivel da a volta, a
+ * posicao correspondente do nivel de cima e redistribuida ("cascata").
+ * Prazos alem do ultimo nivel ficam na sua ultima posicao e sao
+ * redistribuidos ate chegarem ao alcance.
+ * 
+ * <ul>
+ *   <li>Agendar e cancelar sao O(1) e podem ser chamados de qualquer
+ *       thread: o agendamento entra em uma fila concorrente e o
+ *       cancelamento e um compareAndSet no estado da entrada.</li>
+ *   <li>A roda em si e alterada apenas pela thread que chama
+ *       {@link #advance(long, List)}, que drena as filas, remove as
+ *       entradas canceladas das listas e devolve as vencidas em lote.</li>
+ *   <li>As posicoes sao listas duplamente encadeadas intrusivas: a propria
+ *       entrada guarda os ponteiros, sem objetos auxiliares por agendamento.</li>
+ * </ul>
+ * 
+ * Uma entrada nunca vence antes do prazo e vence no maximo um tick depois
+ * dele (mais o intervalo entre chamadas de advance).
+ * 
+ * @param <E> tipo das entradas agendadas
+ */
+public class HierarchicalTimingWheel<E extends HierarchicalTimingWheel.Entry> {
+    
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 8;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    
+    // Maior distancia (em ticks) representavel no ultimo nivel
+    private static final long MAX_DELTA_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+    
+    private static final int PENDING = 0;
+    private static final int SCHEDULED = 1;
+    private static final int EXPIRED = 2;
+    private static final int CANCELLED = 3;
+    
+    private final long tickMillis;
+    
+    // Cabecas das listas de cada posicao, indexadas por nivel * SLOTS + posicao
+    private final Entry[] heads = new Entry[LEVELS * SLOTS];
+    
+    // Entradas presentes em cada nivel
+    private final int[] levelCounts = new int[LEVELS];
+    
+    private final ConcurrentLinkedQueue<Entry> additions = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Entry> cancellations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    
+    // Proximo tick a processar (alterado apenas pela thread de advance)
+    private long currentTick;
+    
+    /**
+     * Entrada agendada na roda
+     * 
+     * Subclasses carregam os dados do agendamento; a entrada so pode ser
+     * agendada uma vez.
+     */
+    public abstract static class Entry {
+        
+        private static final AtomicIntegerFieldUpdater<Entry> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Entry.class, "state");
+        
+        private final long deadlineMillis;
+        private volatile int state = PENDING;
+        
+        private volatile HierarchicalTimingWheel<?> wheel;
+        
+        // Campos abaixo sao usados apenas pela thread da roda
+        private long deadlineTick;
+        private int slot = -1;
+        private Entry prev;
+        private Entry next;
+        
+        protected Entry(long deadlineMillis) {
+            this.deadlineMillis = deadlineMillis;
+        }
+        
+        /**
+         * Cancela o agendamento
+         * 
+         * @return true se a entrada ainda nao tinha vencido nem sido cancelada
+         */
+        public boolean cancel() {
+            while (true) {
+                int current = state;
+                if (current == EXPIRED || current == CANCELLED) {
+                    return false;
+                }
+                if (STATE.compareAndSet(this, current, CANCELLED)) {
+                    HierarchicalTimingWheel<?> owner = wheel;
+                    if (owner != null) {
+                        owner.pending.decrementAndGet();
+                        owner.cancellations.add(this);
+                    }
+                    return true;
+                }
+            }
+        }
+        
+        public long getDeadlineMillis() { return deadlineMillis; }
+        public boolean isCancelled() { return state == CANCELLED; }
+        public boolean isExpired() { return state == EXPIRED; }
+    }
+    
+    /**
+     * Cria uma roda a partir de um instante inicial
+     * 
+     * @param tickMillis duracao de um tick (resolucao da roda)
+     * @param startMillis instante inicial, normalmente o relogio atual
+     */
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick deve ser positivo: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+    
+    /**
+     * Agenda uma entrada para o seu prazo
+     * 
+     * @param entry entrada ainda nao agendada
+     * @return a propria entrada (para cancelamento)
+     */
+    public E schedule(E entry) {
+        Entry node = entry;
+        if (node.wheel != null || node.state != PENDING) {
+            throw new IllegalArgumentException("Entrada ja agendada");
+        }
+        node.deadlineTick = Math.floorDiv(node.deadlineMillis + tickMillis - 1, tickMillis);
+        node.wheel = this;
+        pending.incrementAndGet();
+        additions.add(node);
+        return entry;
+    }
+    
+    /**
+     * Avanca a roda ate o instante informado
+     * 
+     * Deve ser chamado sempre pela mesma thread (ou com exclusao mutua).
+     * 
+     * @param nowMillis instante atual
+     * @param expired lista que recebe as entradas vencidas, tick a tick
+     * @return quantidade de entradas vencidas nesta chamada
+     */
+    public int advance(long nowMillis, List<? super E> expired) {
+        int before = expired.size();
+        drainAdditions();
+        drainCancellations();
+        
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick <= targetTick) {
+            int index = (int) (currentTick & SLOT_MASK);
+            
+            // Ao dar a volta no primeiro nivel, redistribui os niveis de cima
+            for (int level = 1; level < LEVELS && index == 0; level++) {
+                index = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+                cascade(level * SLOTS + index);
+            }
+            
+            expire((int) (currentTick & SLOT_MASK), expired);
+            currentTick++;
+            skipEmptyTicks(targetTick);
+        }
+        return expired.size() - before;
+    }
+    
+    /**
+     * Pula os ticks em que nada pode vencer
+     * 
+     * Com os niveis de baixo vazios, a proxima entrada so pode aparecer na
+     * cascata do primeiro nivel ocupado, no proximo multiplo de 256^nivel.
+     */
+    private void skipEmptyTicks(long targetTick) {
+        if (levelCounts[0] > 0) {
+            return;
+        }
+        int level = 1;
+        while (level < LEVELS && levelCounts[level] == 0) {
+            level++;
+        }
+        long next = targetTick + 1;
+        if (level < LEVELS) {
+            long span = 1L << (SLOT_BITS * level);
+            next = Math.min(next, (currentTick + span - 1) & -span);
+        }
+        currentTick = Math.max(currentTick, next);
+    }
+    
+    private void drainAdditions() {
+        Entry entry;
+        while ((entry = additions.poll()) != null) {
+            if (entry.state == PENDING && Entry.STATE.compareAndSet(entry, PENDING, SCHEDULED)) {
+                insert(entry);
+            }
+        }
+    }
+    
+    private void drainCancellations() {
+        Entry entry;
+        while ((entry = cancellations.poll()) != null) {
+            if (entry.slot >= 0) {
+                unlink(entry);
+            }
+        }
+    }
+    
+    /**
+     * Coloca a entrada na posicao do menor nivel que alcanca o prazo
+     */
+    private void insert(Entry entry) {
+        long delta = entry.deadlineTick - currentTick;
+        if (delta < 0) {
+            // Prazo ja passou: vence no tick atual
+            link(entry, (int) (currentTick & SLOT_MASK));
+            return;
+        }
+        if (delta > MAX_DELTA_TICKS) {
+            delta = MAX_DELTA_TICKS;
+        }
+        
+        long target = currentTick + delta;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int index = (int) ((target >>> (SLOT_BITS * level)) & SLOT_MASK);
+        link(entry, level * SLOTS + index);
+    }
+    
+    private void cascade(int slot) {
+        Entry entry = heads[slot];
+        heads[slot] = null;
+        while (entry != null) {
+            Entry next = entry.next;
+            levelCounts[slot >> SLOT_BITS]--;
+            entry.prev = null;
+            entry.next = null;
+            entry.slot = -1;
+            if (entry.state == SCHEDULED) {
+                insert(entry);
+            }
+            entry = next;
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void expire(int slot, List<? super E> expired) {
+        Entry entry = heads[slot];
+        heads[slot] = null;
+        while (entry != null) {
+            Entry next = entry.next;
+            levelCounts[0]--;
+            entry.prev = null;
+            entry.next = null;
+            entry.slot = -1;
+            if (entry.deadlineTick > currentTick && entry.state == SCHEDULED) {
+                // Prazo alem do alcance maximo: volta para a roda
+                insert(entry);
+            } else if (Entry.STATE.compareAndSet(entry, SCHEDULED, EXPIRED)) {
+                pending.decrementAndGet();
+                expired.add((E) entry);
+            }
+            entry = next;
+        }
+    }
+    
+    private void link(Entry entry, int slot) {
+        Entry head = heads[slot];
+        levelCounts[slot >> SLOT_BITS]++;
+        entry.slot = slot;
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        heads[slot] = entry;
+    }
+    
+    private void unlink(Entry entry) {
+        levelCounts[entry.slot >> SLOT_BITS]--;
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            heads[entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.slot = -1;
+    }
+    
+    /**
+     * Quantidade de entradas agendadas que ainda nao venceram nem foram canceladas
+     */
+    public int getPendingCount() { return pending.get(); }
+    public long getTickMillis() { return tickMillis; }
+}
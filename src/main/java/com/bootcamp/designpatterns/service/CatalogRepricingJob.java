@@ -0,0 +1,251 @@
+package com.bootcamp.designpatterns.service;
+
+import com.bootcamp.designpatterns.strategy.DiscountStrategy;
+import com.bootcamp.designpatterns.strategy.FixedPointMath;
+import com.bootcamp.designpatterns.strategy.PriceCalculator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reprecificacao em massa do catalogo (tabela produtos)
+ * 
+ * Percorre os produtos ativos em paginas ordenadas por id (keyset, sem
+ * OFFSET), calcula os novos precos em centavos dividindo cada pagina entre
+ * as threads do pool com fork/join e grava apenas os precos alterados com
+ * atualizacoes JDBC em lote.
+ * 
+ * Cada pagina e gravada em uma transacao propria: ou a pagina inteira
+ * entra, ou nada dela. Uma execucao interrompida pode ser retomada
+ * informando o ultimo id processado como inicio do intervalo, sem aplicar
+ * o desconto duas vezes a nenhum produto.
+ */
+@Service
+public class CatalogRepricingJob {
+    
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+    public static final int MAX_PAGE_SIZE = 50_000;
+    
+    // Menor fatia enviada ao pool; abaixo disso dividir custa mais que calcular
+    private static final int MIN_SLICE = 128;
+    
+    // Fatias por thread do pool, para equilibrar threads mais lentas
+    private static final int SLICES_PER_THREAD = 4;
+    
+    private static final String SELECT_PAGE =
+        "SELECT id, price FROM produtos WHERE active = TRUE AND id > ? AND id <= ? ORDER BY id LIMIT ?";
+    
+    private static final String UPDATE_PRICE =
+        "UPDATE produtos SET price = ?, updated_at = ? WHERE id = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool pool;
+    
+    // Impede duas execucoes simultaneas sobre o mesmo catalogo
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    
+    @Autowired
+    public CatalogRepricingJob(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this(jdbcTemplate, transactionManager, ForkJoinPool.commonPool());
+    }
+    
+    public CatalogRepricingJob(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, ForkJoinPool.commonPool());
+    }
+    
+    public CatalogRepricingJob(JdbcTemplate jdbcTemplate, ForkJoinPool pool) {
+        this(jdbcTemplate, new DataSourceTransactionManager(jdbcTemplate.getDataSource()), pool);
+    }
+    
+    public CatalogRepricingJob(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               ForkJoinPool pool) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pool = pool;
+    }
+    
+    /**
+     * Reprecifica todos os produtos ativos
+     * 
+     * @param strategy estrategia de desconto a aplicar
+     * @return relatorio da execucao
+     */
+    public RepricingReport reprice(DiscountStrategy strategy) {
+        return reprice(strategy, 0L, null, DEFAULT_PAGE_SIZE);
+    }
+    
+    /**
+     * Reprecifica os produtos ativos de um intervalo de ids
+     * 
+     * @param strategy estrategia de desconto a aplicar
+     * @param fromId id inicial (exclusivo); use o lastProcessedId de uma execucao anterior para retomar
+     * @param toId id final (inclusivo) ou null para ir ate o fim do catalogo
+     * @param pageSize quantidade de produtos lidos e gravados por pagina
+     * @return relatorio da execucao
+     */
+    public RepricingReport reprice(DiscountStrategy strategy, long fromId, Long toId, int pageSize) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Estrategia de desconto e obrigatoria");
+        }
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Tamanho de pagina deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+        if (toId != null && toId < fromId) {
+            throw new IllegalArgumentException("Intervalo de ids invalido: " + fromId + " a " + toId);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Ja existe uma reprecificacao em andamento");
+        }
+        
+        try {
+            return run(strategy, fromId, toId == null ? Long.MAX_VALUE : toId, toId, pageSize);
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    /**
+     * Indica se ha uma reprecificacao em andamento
+     * 
+     * @return true durante uma execucao
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+    
+    private RepricingReport run(DiscountStrategy strategy, long fromId, long upperId, Long toId, int pageSize) {
+        PriceCalculator calculator = new PriceCalculator(strategy);
+        long[] ids = new long[pageSize];
+        long[] originalCents = new long[pageSize];
+        long[] finalCents = new long[pageSize];
+        
+        long start = System.nanoTime();
+        long lastProcessedId = fromId;
+        long processed = 0;
+        long updated = 0;
+        int pages = 0;
+        
+        while (true) {
+            int count = loadPage(lastProcessedId, upperId, pageSize, ids, originalCents);
+            if (count == 0) {
+                break;
+            }
+            
+            int sliceSize = Math.max(MIN_SLICE, count / (pool.getParallelism() * SLICES_PER_THREAD));
+            pool.invoke(new PricingSlice(calculator, originalCents, finalCents, 0, count, sliceSize));
+            
+            try {
+                int pageCount = count;
+                updated += transactionTemplate.execute(status -> writePage(ids, originalCents, finalCents, pageCount));
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Reprecificacao interrompida; retome a partir do id "
+                                                + lastProcessedId + ": " + e.getMessage(), e);
+            }
+            
+            lastProcessedId = ids[count - 1];
+            processed += count;
+            pages++;
+            
+            if (count < pageSize) {
+                break;
+            }
+        }
+        
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        RepricingReport report = new RepricingReport(strategy.getDiscountInfo(), fromId, toId,
+                                                     lastProcessedId, processed, updated, pages, elapsedMillis);
+        System.out.println("Reprecificacao concluida: " + report);
+        return report;
+    }
+    
+    /**
+     * Le uma pagina de produtos ativos a partir do ultimo id visto
+     * 
+     * @return quantidade de produtos lidos
+     */
+    private int loadPage(long afterId, long upperId, int pageSize, long[] ids, long[] originalCents) {
+        int[] count = {0};
+        jdbcTemplate.query(SELECT_PAGE, rs -> {
+            int i = count[0]++;
+            ids[i] = rs.getLong(1);
+            BigDecimal price = rs.getBigDecimal(2);
+            originalCents[i] = FixedPointMath.toCents(price);
+        }, afterId, upperId, pageSize);
+        return count[0];
+    }
+    
+    /**
+     * Grava em lote apenas os precos que mudaram; chamado dentro da
+     * transacao da pagina
+     * 
+     * @return quantidade de produtos atualizados
+     */
+    private int writePage(long[] ids, long[] originalCents, long[] finalCents, int count) {
+        List<Integer> changed = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (finalCents[i] != originalCents[i]) {
+                changed.add(i);
+            }
+        }
+        if (changed.isEmpty()) {
+            return 0;
+        }
+        
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPDATE_PRICE, changed, changed.size(),
+            (PreparedStatement ps, Integer i) -> {
+                ps.setBigDecimal(1, FixedPointMath.fromCents(finalCents[i]));
+                ps.setTimestamp(2, now);
+                ps.setLong(3, ids[i]);
+            });
+        return changed.size();
+    }
+    
+    /**
+     * Fatia de uma pagina calculada com fork/join
+     */
+    private static final class PricingSlice extends RecursiveAction {
+        private final PriceCalculator calculator;
+        private final long[] originalCents;
+        private final long[] finalCents;
+        private final int from;
+        private final int to;
+        private final int sliceSize;
+        
+        PricingSlice(PriceCalculator calculator, long[] originalCents, long[] finalCents, int from, int to,
+                     int sliceSize) {
+            this.calculator = calculator;
+            this.originalCents = originalCents;
+            this.finalCents = finalCents;
+            this.from = from;
+            this.to = to;
+            this.sliceSize = sliceSize;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= sliceSize) {
+                calculator.calculateFinalPricesCents(originalCents, finalCents, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PricingSlice(calculator, originalCents, finalCents, from, middle, sliceSize),
+                      new PricingSlice(calculator, originalCents, finalCents, middle, to, sliceSize));
+        }
+    }
+}
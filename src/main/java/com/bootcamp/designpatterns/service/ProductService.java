@@ -3,16 +3,26 @@ package com.bootcamp.designpatterns.service;
 import com.bootcamp.designpatterns.model.Product;
 import com.bootcamp.designpatterns.singleton.ConfigurationManager;
 import com.bootcamp.designpatterns.singleton.DatabaseConnection;
+import com.bootcamp.designpatterns.strategy.CartLine;
+import com.bootcamp.designpatterns.strategy.CartPricingEngine;
+import com.bootcamp.designpatterns.strategy.CartQuote;
 import com.bootcamp.designpatterns.strategy.DiscountStrategy;
+import com.bootcamp.designpatterns.strategy.DiscountStrategyRegistry;
+import com.bootcamp.designpatterns.strategy.PriceBreakdown;
 import com.bootcamp.designpatterns.strategy.PriceCalculator;
+import com.bootcamp.designpatterns.strategy.PromotionTable;
+import com.bootcamp.designpatterns.strategy.QuoteCache;
 import com.bootcamp.designpatterns.facade.EcommerceFacade;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -32,16 +42,36 @@ public class ProductService {
     // Facade para operacoes de e-commerce
     private final EcommerceFacade ecommerceFacade;
     
-    // Calculator para aplicacao de descontos (Strategy)
-    private final PriceCalculator priceCalculator;
+    // Cache opcional de calculos (habilitado por pricing.quote-cache.enabled)
+    private volatile QuoteCache quoteCache;
+    
+    // Promocoes por categoria (substituida pelo bean compartilhado quando houver)
+    private volatile PromotionTable promotionTable = new PromotionTable();
     
     /**
-     * Construtor que inicializa as dependencias
-     * O Spring ira injetar automaticamente se houver beans configurados
+     * Construtor com um Facade proprio, para uso fora do Spring
      */
     public ProductService() {
-        this.ecommerceFacade = new EcommerceFacade();
-        this.priceCalculator = new PriceCalculator();
+        this(new EcommerceFacade());
+    }
+    
+    /**
+     * Construtor que inicializa as dependencias
+     * O Spring injeta o Facade compartilhado, com o mesmo estoque usado
+     * pelo endpoint de pedidos
+     * 
+     * Os calculos de preco nao guardam estado nesta instancia: como o
+     * servico e um singleton do Spring, cada chamada recebe a estrategia
+     * e usa PriceCalculator.quote, evitando interferencia entre requisicoes.
+     * 
+     * @param ecommerceFacade Facade compartilhado
+     */
+    @Autowired
+    public ProductService(EcommerceFacade ecommerceFacade) {
+        if (ecommerceFacade == null) {
+            throw new IllegalArgumentException("Facade nao pode ser nulo");
+        }
+        this.ecommerceFacade = ecommerceFacade;
         
         // Configura o singleton de configuracao
         ConfigurationManager.INSTANCE.loadConfiguration(
@@ -59,9 +89,8 @@ public class ProductService {
      * @return preco final com desconto
      */
     public BigDecimal calculateDiscountedPrice(BigDecimal originalPrice, DiscountStrategy strategy) {
-        // Utiliza o padrao Strategy para calcular desconto
-        priceCalculator.setDiscountStrategy(strategy);
-        BigDecimal finalPrice = priceCalculator.calculateFinalPrice(originalPrice);
+        // Utiliza o padrao Strategy para calcular desconto (sem estado compartilhado)
+        BigDecimal finalPrice = quote(strategy, originalPrice).getFinalPrice();
         
         // Log usando Singleton de configuracao
         String appn = ConfigurationManager.INSTANCE.getProperty("n");
@@ -71,6 +100,26 @@ public class ProductService {
         return finalPrice;
     }
     
+    /**
+     * Calcula precos com desconto em lote usando Strategy Pattern
+     * 
+     * Cada lote usa seu proprio contexto de calculo e registra um unico
+     * log resumido, em vez de uma linha formatada por item.
+     * 
+     * @param originalPrices precos originais
+     * @param strategy estrategia de desconto a ser aplicada
+     * @return precos finais com desconto, na mesma ordem da entrada
+     */
+    public List<BigDecimal> calculateDiscountedPrices(List<BigDecimal> originalPrices, DiscountStrategy strategy) {
+        List<BigDecimal> finalPrices = new PriceCalculator(strategy).calculateFinalPrices(originalPrices);
+        
+        String appn = ConfigurationManager.INSTANCE.getProperty("n");
+        System.out.println(String.format("[%s] Calculando lote de %d precos com %s", 
+                                        appn, finalPrices.size(), strategy.getDescription()));
+        
+        return finalPrices;
+    }
+    
     /**
      * Obtem detalhes de calculo de preco
      * 
@@ -79,8 +128,114 @@ public class ProductService {
      * @return detalhes formatados do calculo
      */
     public String getPriceCalculationDetails(BigDecimal originalPrice, DiscountStrategy strategy) {
-        priceCalculator.setDiscountStrategy(strategy);
-        return priceCalculator.getCalculationDetails(originalPrice);
+        return quotePrice(originalPrice, strategy).getDetails();
+    }
+    
+    /**
+     * Calcula o detalhamento completo do preco em uma unica avaliacao
+     * 
+     * @param originalPrice preco original
+     * @param strategy estrategia de desconto
+     * @return resultado imutavel com preco original, desconto e preco final
+     */
+    public PriceBreakdown quotePrice(BigDecimal originalPrice, DiscountStrategy strategy) {
+        return quote(strategy, originalPrice);
+    }
+    
+    /**
+     * Precifica um carrinho aplicando a estrategia ao total da compra
+     * 
+     * O desconto do carrinho e distribuido entre as linhas na proporcao do
+     * total de cada uma, sem sobras de centavos.
+     * 
+     * @param lines linhas do carrinho
+     * @param strategy estrategia aplicada ao subtotal
+     * @return resultado com totais e alocacao por linha
+     */
+    public CartQuote quoteCart(List<CartLine> lines, DiscountStrategy strategy) {
+        CartQuote cartQuote = new CartPricingEngine(strategy).quote(lines);
+        
+        String appn = ConfigurationManager.INSTANCE.getProperty("n");
+        System.out.println(String.format("[%s] Precificando carrinho de %d linhas com %s", 
+                                        appn, cartQuote.getLineCount(), cartQuote.getStrategy()));
+        
+        return cartQuote;
+    }
+    
+    /**
+     * Define o cache de calculos de preco
+     * 
+     * Sem cache (padrao) cada chamada recalcula o preco.
+     * 
+     * @param quoteCache cache compartilhado ou null para desabilitar
+     */
+    @Autowired(required = false)
+    public void setQuoteCache(QuoteCache quoteCache) {
+        this.quoteCache = quoteCache;
+    }
+    
+    /**
+     * Define a tabela de promocoes consultada na precificacao por categoria
+     * 
+     * @param promotionTable tabela compartilhada de promocoes
+     */
+    @Autowired(required = false)
+    public void setPromotionTable(PromotionTable promotionTable) {
+        if (promotionTable != null) {
+            this.promotionTable = promotionTable;
+        }
+    }
+    
+    /**
+     * Retorna a tabela de promocoes em uso
+     * 
+     * @return tabela de promocoes
+     */
+    public PromotionTable getPromotionTable() {
+        return promotionTable;
+    }
+    
+    /**
+     * Calcula o preco considerando a promocao vigente da categoria
+     * 
+     * A tabela de promocoes e lida uma unica vez (snapshot), sem travas,
+     * entao trocas de promocao durante uma venda relampago nao pausam
+     * a precificacao.
+     * 
+     * @param originalPrice preco original
+     * @param category categoria do produto
+     * @param fallback estrategia usada quando nao ha promocao ativa (nula = sem desconto)
+     * @return detalhamento imutavel do calculo
+     */
+    public PriceBreakdown quotePromotionalPrice(BigDecimal originalPrice, String category, DiscountStrategy fallback) {
+        DiscountStrategy promotional = promotionTable.strategyFor(category);
+        return quote(promotional != null ? promotional : fallback, originalPrice);
+    }
+    
+    /**
+     * Obtem as metricas do cache de calculos
+     * 
+     * @return taxa de acertos, evicoes e ocupacao (apenas "enabled" se desabilitado)
+     */
+    public Map<String, Object> getQuoteCacheStatistics() {
+        QuoteCache cache = this.quoteCache;
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", cache != null);
+        if (cache != null) {
+            statistics.put("size", cache.size());
+            statistics.put("maximumSize", cache.getMaximumSize());
+            statistics.put("hitCount", cache.getHitCount());
+            statistics.put("missCount", cache.getMissCount());
+            statistics.put("hitRatio", cache.getHitRatio());
+            statistics.put("evictionCount", cache.getEvictionCount());
+            statistics.put("bypassCount", cache.getBypassCount());
+        }
+        return statistics;
+    }
+    
+    private PriceBreakdown quote(DiscountStrategy strategy, BigDecimal originalPrice) {
+        QuoteCache cache = this.quoteCache;
+        return cache != null ? cache.quote(strategy, originalPrice) : PriceCalculator.quote(strategy, originalPrice);
     }
     
     /**
@@ -134,10 +289,11 @@ public class ProductService {
      * @return lista com precos calculados por diferentes estrategias
      */
     public List<String> demonstrateAllStrategies(BigDecimal originalPrice) {
-        // Importa as estrategias (normalmente seria injetado pelo Spring)
-        var percentageStrategy = new com.bootcamp.designpatterns.strategy.PercentageDiscountStrategy(new BigDecimal("0.10"));
-        var fixedStrategy = new com.bootcamp.designpatterns.strategy.FixedDiscountStrategy(new BigDecimal("50.00"));
-        var progressiveStrategy = new com.bootcamp.designpatterns.strategy.ProgressiveDiscountStrategy();
+        // Estrategias compartilhadas pelo registro (Flyweight), sem recriacao por chamada
+        DiscountStrategyRegistry registry = DiscountStrategyRegistry.getInstance();
+        var percentageStrategy = registry.getStrategy("percentage", new BigDecimal("10"));
+        var fixedStrategy = registry.getStrategy("fixed", new BigDecimal("50.00"));
+        var progressiveStrategy = registry.getStrategy("progressive", null);
         
         return Arrays.asList(
             getPriceCalculationDetails(originalPrice, percentageStrategy),
@@ -0,0 +1,57 @@
+package com.bootcamp.designpatterns.service;
+
+/**
+ * Resultado de uma execucao do reprecificador de catalogo
+ * 
+ * Guarda o ultimo id processado para que uma execucao interrompida
+ * possa ser retomada a partir dele.
+ */
+public class RepricingReport {
+    
+    private final String strategy;
+    private final long fromId;
+    private final Long toId;
+    private final long lastProcessedId;
+    private final long processed;
+    private final long updated;
+    private final int pages;
+    private final long elapsedMillis;
+    
+    public RepricingReport(String strategy, long fromId, Long toId, long lastProcessedId,
+                           long processed, long updated, int pages, long elapsedMillis) {
+        this.strategy = strategy;
+        this.fromId = fromId;
+        this.toId = toId;
+        this.lastProcessedId = lastProcessedId;
+        this.processed = processed;
+        this.updated = updated;
+        this.pages = pages;
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    /**
+     * Calcula a vazao da execucao
+     * 
+     * @return produtos processados por segundo
+     */
+    public double getThroughputPerSecond() {
+        return elapsedMillis == 0 ? processed * 1000.0 : processed * 1000.0 / elapsedMillis;
+    }
+    
+    // Getters
+    public String getStrategy() { return strategy; }
+    public long getFromId() { return fromId; }
+    public Long getToId() { return toId; }
+    public long getLastProcessedId() { return lastProcessedId; }
+    public long getProcessed() { return processed; }
+    public long getUpdated() { return updated; }
+    public int getPages() { return pages; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    
+    @Override
+    public String toString() {
+        return String.format("RepricingReport{strategy='%s', ids=(%d, %s], lastProcessedId=%d, processed=%d, updated=%d, pages=%d, elapsed=%dms, throughput=%.0f/s}",
+                           strategy, fromId, toId == null ? "*" : toId, lastProcessedId,
+                           processed, updated, pages, elapsedMillis, getThroughputPerSecond());
+    }
+}
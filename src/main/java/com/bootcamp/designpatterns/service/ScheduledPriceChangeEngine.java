@@ -0,0 +1,382 @@
+package com.bootcamp.designpatterns.service;
+
+import com.bootcamp.designpatterns.scheduling.HierarchicalTimingWheel;
+import com.bootcamp.designpatterns.strategy.FixedPointMath;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Mudancas de preco agendadas para o futuro (tabela produtos)
+ * 
+ * Cada mudanca fica em uma roda de tempo hierarquica
+ * ({@link HierarchicalTimingWheel}): agendar e cancelar sao O(1) e cada
+ * mudanca pendente ocupa um unico objeto pequeno. Uma thread avanca a
+ * roda a cada tick e grava as mudancas vencidas com atualizacoes JDBC em
+ * lote; quando o mesmo produto tem varias mudancas no lote, vale a de
+ * prazo mais recente.
+ * 
+ * Depois de cada lote os ouvintes registrados recebem os ids alterados
+ * para invalidar caches indexados por produto. Se a gravacao do lote
+ * falhar, as mudancas sao gravadas uma a uma: as recusadas pelo banco por
+ * dado invalido vao para a lista de mudancas descartadas
+ * ({@link #getDeadLetters()}) e as demais voltam para a roda e sao
+ * tentadas no proximo tick. Assim uma linha ruim nao trava o lote inteiro.
+ * 
+ * As mudancas pendentes ficam apenas em memoria: o {@link #shutdown()}
+ * (e qualquer reinicio da aplicacao) as descarta, e elas precisam ser
+ * agendadas de novo.
+ */
+public class ScheduledPriceChangeEngine {
+    
+    public static final long DEFAULT_TICK_MILLIS = 100;
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    
+    // Maior preco da coluna produtos.price, DECIMAL(12,2)
+    public static final BigDecimal MAX_PRICE = new BigDecimal("9999999999.99");
+    
+    // Mudancas descartadas guardadas para consulta (as mais antigas saem primeiro)
+    public static final int DEAD_LETTER_LIMIT = 1000;
+    
+    private static final String UPDATE_PRICE =
+        "UPDATE produtos SET price = ?, updated_at = ? WHERE id = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final LongSupplier clock;
+    private final HierarchicalTimingWheel<PriceChange> wheel;
+    
+    private final Map<Long, PriceChange> changesById = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<PriceChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedDeque<PriceChange> deadLetters = new ConcurrentLinkedDeque<>();
+    
+    private volatile ScheduledExecutorService ticker;
+    
+    // Metricas
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder superseded = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private volatile long lastBatchMillis;
+    
+    /**
+     * Ouvinte das mudancas aplicadas
+     */
+    public interface PriceChangeListener {
+        
+        /**
+         * Chamado depois que um lote foi gravado
+         * 
+         * @param productIds produtos cujo preco mudou
+         */
+        void onPricesChanged(long[] productIds);
+    }
+    
+    /**
+     * Mudanca de preco agendada
+     */
+    public static final class PriceChange extends HierarchicalTimingWheel.Entry {
+        private final long id;
+        private final long productId;
+        private final long priceCents;
+        
+        PriceChange(long id, long productId, long priceCents, long effectiveAtMillis) {
+            super(effectiveAtMillis);
+            this.id = id;
+            this.productId = productId;
+            this.priceCents = priceCents;
+        }
+        
+        public long getId() { return id; }
+        public long getProductId() { return productId; }
+        public BigDecimal getNewPrice() { return FixedPointMath.fromCents(priceCents); }
+        public Instant getEffectiveAt() { return Instant.ofEpochMilli(getDeadlineMillis()); }
+        
+        @Override
+        public String toString() {
+            return String.format("PriceChange{id=%d, productId=%d, newPrice=%s, effectiveAt=%s}",
+                               id, productId, getNewPrice(), getEffectiveAt());
+        }
+    }
+    
+    /**
+     * Construtor com tick e lote padrao e relogio do sistema
+     * 
+     * @param jdbcTemplate acesso a tabela produtos
+     */
+    public ScheduledPriceChangeEngine(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, DEFAULT_TICK_MILLIS, DEFAULT_BATCH_SIZE, System::currentTimeMillis);
+    }
+    
+    /**
+     * Construtor completo
+     * 
+     * @param jdbcTemplate acesso a tabela produtos
+     * @param tickMillis resolucao da roda e intervalo entre lotes
+     * @param batchSize atualizacoes por chamada JDBC em lote
+     * @param clock relogio em milissegundos
+     */
+    public ScheduledPriceChangeEngine(JdbcTemplate jdbcTemplate, long tickMillis, int batchSize, LongSupplier clock) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Tamanho do lote deve ser positivo: " + batchSize);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.clock = clock;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, clock.getAsLong());
+    }
+    
+    /**
+     * Inicia a thread que aplica as mudancas vencidas a cada tick
+     */
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "price-change-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tick = wheel.getTickMillis();
+        ticker.scheduleAtFixedRate(this::applyDueChangesSafely, tick, tick, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Encerra a thread de aplicacao
+     * 
+     * As mudancas pendentes nao sao gravadas em lugar nenhum e se perdem;
+     * a quantidade descartada e registrada no log.
+     */
+    public synchronized void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+            int pending = wheel.getPendingCount();
+            if (pending > 0) {
+                System.out.println("Encerrando com " + pending + " mudancas de preco pendentes descartadas");
+            }
+        }
+    }
+    
+    /**
+     * Agenda uma mudanca de preco
+     * 
+     * @param productId produto
+     * @param newPrice novo preco
+     * @param effectiveAt instante em que o preco passa a valer
+     * @return mudanca agendada (o id permite cancelar)
+     * @throws IllegalArgumentException se o preco for negativo ou maior que {@link #MAX_PRICE}
+     */
+    public PriceChange schedule(long productId, BigDecimal newPrice, Instant effectiveAt) {
+        if (newPrice == null || newPrice.signum() < 0 || newPrice.compareTo(MAX_PRICE) > 0) {
+            throw new IllegalArgumentException("Novo preco invalido: " + newPrice);
+        }
+        if (effectiveAt == null) {
+            throw new IllegalArgumentException("Instante da mudanca e obrigatorio");
+        }
+        
+        PriceChange change = new PriceChange(sequence.incrementAndGet(), productId,
+                                             FixedPointMath.roundToCents(newPrice), effectiveAt.toEpochMilli());
+        changesById.put(change.getId(), change);
+        wheel.schedule(change);
+        scheduled.increment();
+        return change;
+    }
+    
+    /**
+     * Cancela uma mudanca ainda nao aplicada
+     * 
+     * @param changeId id retornado no agendamento
+     * @return true se a mudanca estava pendente
+     */
+    public boolean cancel(long changeId) {
+        PriceChange change = changesById.remove(changeId);
+        if (change == null || !change.cancel()) {
+            return false;
+        }
+        cancelled.increment();
+        return true;
+    }
+    
+    /**
+     * Aplica as mudancas vencidas ate o instante atual
+     * 
+     * Chamado pela thread da roda a cada tick; pode ser chamado
+     * diretamente quando a thread nao foi iniciada.
+     * 
+     * @return quantidade de produtos atualizados
+     */
+    public synchronized int applyDueChanges() {
+        List<PriceChange> due = new ArrayList<>();
+        wheel.advance(clock.getAsLong(), due);
+        if (due.isEmpty()) {
+            return 0;
+        }
+        
+        // A mudanca de prazo mais recente de cada produto prevalece
+        Map<Long, PriceChange> latest = new LinkedHashMap<>();
+        for (PriceChange change : due) {
+            changesById.remove(change.getId());
+            PriceChange current = latest.get(change.getProductId());
+            if (current == null || change.getDeadlineMillis() > current.getDeadlineMillis()
+                    || (change.getDeadlineMillis() == current.getDeadlineMillis() && change.getId() > current.getId())) {
+                latest.put(change.getProductId(), change);
+            }
+        }
+        superseded.add(due.size() - latest.size());
+        List<PriceChange> changes = new ArrayList<>(latest.values());
+        
+        long start = System.nanoTime();
+        List<PriceChange> written = changes;
+        RuntimeException retryError = null;
+        try {
+            writeBatch(changes);
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            
+            // Grava uma a uma para separar linhas invalidas de falhas passageiras
+            written = new ArrayList<>();
+            List<PriceChange> pending = new ArrayList<>();
+            for (PriceChange change : changes) {
+                try {
+                    writeOne(change);
+                    written.add(change);
+                } catch (DataIntegrityViolationException rowError) {
+                    deadLetter(change, rowError);
+                } catch (RuntimeException other) {
+                    pending.add(change);
+                    retryError = other;
+                }
+            }
+            retry(pending);
+        }
+        lastBatchMillis = (System.nanoTime() - start) / 1_000_000;
+        applied.add(written.size());
+        batches.increment();
+        
+        if (!written.isEmpty()) {
+            long[] productIds = new long[written.size()];
+            for (int i = 0; i < productIds.length; i++) {
+                productIds[i] = written.get(i).getProductId();
+            }
+            for (PriceChangeListener listener : listeners) {
+                listener.onPricesChanged(productIds);
+            }
+        }
+        if (retryError != null) {
+            throw retryError;
+        }
+        return written.size();
+    }
+    
+    private void applyDueChangesSafely() {
+        try {
+            applyDueChanges();
+        } catch (RuntimeException e) {
+            System.out.println("Falha ao aplicar mudancas de preco (nova tentativa no proximo tick): " + e.getMessage());
+        }
+    }
+    
+    private void writeBatch(List<PriceChange> changes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPDATE_PRICE, changes, batchSize,
+            (PreparedStatement ps, PriceChange change) -> {
+                ps.setBigDecimal(1, change.getNewPrice());
+                ps.setTimestamp(2, now);
+                ps.setLong(3, change.getProductId());
+            });
+    }
+    
+    private void writeOne(PriceChange change) {
+        jdbcTemplate.update(UPDATE_PRICE, change.getNewPrice(), Timestamp.valueOf(LocalDateTime.now()),
+                            change.getProductId());
+    }
+    
+    /**
+     * Descarta uma mudanca que o banco recusa de forma permanente
+     */
+    private void deadLetter(PriceChange change, RuntimeException error) {
+        deadLettered.increment();
+        deadLetters.addLast(change);
+        while (deadLetters.size() > DEAD_LETTER_LIMIT) {
+            deadLetters.pollFirst();
+        }
+        System.out.println("Mudanca de preco descartada " + change + ": " + error.getMessage());
+    }
+    
+    /**
+     * Reagenda as mudancas de um lote que falhou
+     * 
+     * O prazo original (ja vencido) e mantido, entao elas entram no
+     * proximo tick sem passar na frente de mudancas mais recentes.
+     */
+    private void retry(List<PriceChange> changes) {
+        for (PriceChange change : changes) {
+            PriceChange again = new PriceChange(change.getId(), change.getProductId(), change.priceCents,
+                                                change.getDeadlineMillis());
+            changesById.put(again.getId(), again);
+            wheel.schedule(again);
+        }
+    }
+    
+    /**
+     * Registra um ouvinte das mudancas aplicadas
+     */
+    public void addListener(PriceChangeListener listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Busca uma mudanca pendente
+     * 
+     * @return mudanca ou null se ja aplicada, cancelada ou inexistente
+     */
+    public PriceChange getPendingChange(long changeId) {
+        return changesById.get(changeId);
+    }
+    
+    /**
+     * Mudancas recusadas pelo banco, das mais antigas para as mais recentes
+     * 
+     * @return ate {@link #DEAD_LETTER_LIMIT} mudancas descartadas
+     */
+    public List<PriceChange> getDeadLetters() {
+        return new ArrayList<>(deadLetters);
+    }
+    
+    // Metricas
+    public int getPendingCount() { return wheel.getPendingCount(); }
+    public long getScheduledCount() { return scheduled.sum(); }
+    public long getCancelledCount() { return cancelled.sum(); }
+    public long getAppliedCount() { return applied.sum(); }
+    public long getSupersededCount() { return superseded.sum(); }
+    public long getBatchCount() { return batches.sum(); }
+    public long getFailedBatchCount() { return failedBatches.sum(); }
+    public long getDeadLetterCount() { return deadLettered.sum(); }
+    public long getLastBatchMillis() { return lastBatchMillis; }
+    public long getTickMillis() { return wheel.getTickMillis(); }
+}
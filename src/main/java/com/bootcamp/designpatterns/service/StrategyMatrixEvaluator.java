@@ -0,0 +1,340 @@
+package com.bootcamp.designpatterns.service;
+
+import com.bootcamp.designpatterns.strategy.DiscountStrategy;
+import com.bootcamp.designpatterns.strategy.FixedPointMath;
+import com.bootcamp.designpatterns.strategy.PriceCalculator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Avalia uma matriz de N estrategias por M precos em paralelo
+ * 
+ * Os precos sao divididos em blocos; cada bloco e avaliado por todas as
+ * estrategias em uma thread de um pool de tamanho fixo, pelo caminho em
+ * centavos de {@link PriceCalculator}. A thread da requisicao recebe os
+ * blocos na ordem em que terminam, repassa as linhas ao listener e soma
+ * os totais por estrategia, sem nenhuma estrutura compartilhada entre as
+ * threads de calculo.
+ * 
+ * Cada avaliacao mantem no maximo 2 blocos por thread em andamento, entao
+ * a memoria fica limitada mesmo quando o cliente le o resultado devagar.
+ */
+public class StrategyMatrixEvaluator {
+    
+    public static final int DEFAULT_BLOCK_SIZE = 512;
+    
+    private final ThreadPoolExecutor executor;
+    private final int parallelism;
+    private final int blockSize;
+    
+    /**
+     * Cria o avaliador com um pool proprio
+     * 
+     * @param parallelism numero de threads (0 ou negativo = numero de processadores)
+     */
+    public StrategyMatrixEvaluator(int parallelism) {
+        this(parallelism, DEFAULT_BLOCK_SIZE);
+    }
+    
+    /**
+     * Cria o avaliador com um pool proprio e tamanho de bloco definido
+     * 
+     * @param parallelism numero de threads (0 ou negativo = numero de processadores)
+     * @param blockSize quantidade de precos por tarefa
+     */
+    public StrategyMatrixEvaluator(int parallelism, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Tamanho de bloco deve ser positivo: " + blockSize);
+        }
+        
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.blockSize = blockSize;
+        
+        // Fila limitada; se lotar, a thread da requisicao calcula o bloco ela mesma
+        this.executor = new ThreadPoolExecutor(this.parallelism, this.parallelism, 0L, TimeUnit.MILLISECONDS,
+                                               new ArrayBlockingQueue<>(this.parallelism * 4),
+                                               new MatrixThreadFactory(),
+                                               new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+    
+    /**
+     * Recebe as linhas da matriz a medida que os blocos terminam
+     */
+    @FunctionalInterface
+    public interface RowListener {
+        
+        /**
+         * Uma linha da matriz: um preco avaliado por todas as estrategias
+         * 
+         * O array de precos finais e reutilizado entre chamadas; copie-o se
+         * precisar guarda-lo.
+         * 
+         * @param index posicao do preco na lista de entrada
+         * @param priceCents preco original em centavos
+         * @param finalCents preco final por estrategia, na ordem das estrategias
+         * @throws IOException se o destino das linhas falhar (ex: cliente desconectou)
+         */
+        void onRow(int index, long priceCents, long[] finalCents) throws IOException;
+        
+        /**
+         * Chamado apos cada bloco, util para descarregar a resposta
+         * 
+         * @throws IOException se o destino das linhas falhar
+         */
+        default void onBlockComplete() throws IOException {}
+    }
+    
+    /**
+     * Avalia a matriz completa
+     * 
+     * Precos com mais de duas casas sao arredondados (HALF_UP) para centavos.
+     * 
+     * @param strategies estrategias candidatas
+     * @param prices precos a avaliar
+     * @param listener destino das linhas (pode ser nulo para obter so o resumo)
+     * @return impacto agregado por estrategia
+     * @throws IOException se o listener falhar; os blocos pendentes sao cancelados
+     */
+    public MatrixSummary evaluate(List<DiscountStrategy> strategies, List<BigDecimal> prices,
+                                  RowListener listener) throws IOException {
+        if (strategies == null || strategies.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma estrategia");
+        }
+        if (prices == null || prices.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um preco");
+        }
+        
+        long start = System.nanoTime();
+        PriceCalculator[] calculators = new PriceCalculator[strategies.size()];
+        for (int s = 0; s < calculators.length; s++) {
+            calculators[s] = new PriceCalculator(strategies.get(s));
+        }
+        
+        long[] priceCents = new long[prices.size()];
+        long totalOriginal = 0L;
+        for (int i = 0; i < priceCents.length; i++) {
+            BigDecimal price = prices.get(i);
+            if (price == null || price.signum() <= 0) {
+                throw new IllegalArgumentException("Preco invalido na posicao " + i + ": " + price);
+            }
+            priceCents[i] = FixedPointMath.roundToCents(price);
+            totalOriginal = Math.addExact(totalOriginal, priceCents[i]);
+        }
+        
+        int blocks = (priceCents.length + blockSize - 1) / blockSize;
+        int maxInFlight = parallelism * 2;
+        ExecutorCompletionService<Block> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Block>> futures = new ArrayList<>(blocks);
+        long[] totalFinal = new long[calculators.length];
+        long[] row = new long[calculators.length];
+        
+        int submitted = 0;
+        try {
+            for (int completed = 0; completed < blocks; completed++) {
+                while (submitted < blocks && submitted - completed < maxInFlight) {
+                    int from = submitted * blockSize;
+                    int to = Math.min(from + blockSize, priceCents.length);
+                    futures.add(completion.submit(() -> evaluateBlock(calculators, priceCents, from, to)));
+                    submitted++;
+                }
+                
+                Block block = await(completion.take());
+                for (int s = 0; s < totalFinal.length; s++) {
+                    totalFinal[s] += block.totalFinal[s];
+                }
+                
+                if (listener != null) {
+                    for (int i = 0; i < block.length(); i++) {
+                        for (int s = 0; s < row.length; s++) {
+                            row[s] = block.finalCents[s][i];
+                        }
+                        listener.onRow(block.from + i, priceCents[block.from + i], row);
+                    }
+                    listener.onBlockComplete();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(futures);
+            throw new IllegalStateException("Avaliacao da matriz interrompida");
+        } catch (IOException | RuntimeException e) {
+            cancel(futures);
+            throw e;
+        }
+        
+        List<StrategyImpact> impacts = new ArrayList<>(calculators.length);
+        for (int s = 0; s < calculators.length; s++) {
+            impacts.add(new StrategyImpact(calculators[s].getCurrentStrategy(), priceCents.length,
+                                           totalOriginal, totalFinal[s]));
+        }
+        
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new MatrixSummary(priceCents.length, blocks, elapsedMillis, impacts);
+    }
+    
+    /**
+     * Avalia um bloco de precos por todas as estrategias
+     */
+    private static Block evaluateBlock(PriceCalculator[] calculators, long[] priceCents, int from, int to) {
+        long[] slice = Arrays.copyOfRange(priceCents, from, to);
+        long[][] finalCents = new long[calculators.length][slice.length];
+        long[] totalFinal = new long[calculators.length];
+        
+        for (int s = 0; s < calculators.length; s++) {
+            calculators[s].calculateFinalPricesCents(slice, finalCents[s]);
+            long total = 0L;
+            for (long value : finalCents[s]) {
+                total += value;
+            }
+            totalFinal[s] = total;
+        }
+        
+        return new Block(from, finalCents, totalFinal);
+    }
+    
+    private static Block await(Future<Block> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Falha ao avaliar bloco da matriz", cause);
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Bloco da matriz cancelado", e);
+        }
+    }
+    
+    private static void cancel(List<Future<Block>> futures) {
+        for (Future<Block> future : futures) {
+            future.cancel(true);
+        }
+    }
+    
+    /**
+     * Encerra o pool; chamado pelo Spring ao fechar o contexto
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    public int getParallelism() { return parallelism; }
+    public int getBlockSize() { return blockSize; }
+    
+    /**
+     * Resultado de um bloco: precos finais por estrategia e seus totais
+     */
+    private static final class Block {
+        private final int from;
+        private final long[][] finalCents;
+        private final long[] totalFinal;
+        
+        Block(int from, long[][] finalCents, long[] totalFinal) {
+            this.from = from;
+            this.finalCents = finalCents;
+            this.totalFinal = totalFinal;
+        }
+        
+        int length() {
+            return finalCents[0].length;
+        }
+    }
+    
+    /**
+     * Impacto agregado de uma estrategia sobre todos os precos
+     */
+    public static final class StrategyImpact {
+        private final DiscountStrategy strategy;
+        private final int priceCount;
+        private final long totalOriginalCents;
+        private final long totalFinalCents;
+        
+        StrategyImpact(DiscountStrategy strategy, int priceCount, long totalOriginalCents, long totalFinalCents) {
+            this.strategy = strategy;
+            this.priceCount = priceCount;
+            this.totalOriginalCents = totalOriginalCents;
+            this.totalFinalCents = totalFinalCents;
+        }
+        
+        public String getStrategy() { return strategy.getDescription(); }
+        public String getStrategyInfo() { return strategy.getDiscountInfo(); }
+        public BigDecimal getTotalOriginal() { return FixedPointMath.fromCents(totalOriginalCents); }
+        public BigDecimal getTotalFinal() { return FixedPointMath.fromCents(totalFinalCents); }
+        
+        /**
+         * Variacao da receita (negativa quando a estrategia concede desconto)
+         */
+        public BigDecimal getRevenueImpact() {
+            return FixedPointMath.fromCents(totalFinalCents - totalOriginalCents);
+        }
+        
+        /**
+         * Variacao da receita em percentual do total original
+         */
+        public BigDecimal getRevenueImpactPercent() {
+            return BigDecimal.valueOf(totalFinalCents - totalOriginalCents)
+                    .multiply(BigDecimal.valueOf(100))
+                    .divide(BigDecimal.valueOf(totalOriginalCents), 2, RoundingMode.HALF_UP);
+        }
+        
+        /**
+         * Desconto medio concedido por preco
+         */
+        public BigDecimal getAverageDiscount() {
+            return FixedPointMath.fromCents(FixedPointMath.divideHalfUp(totalOriginalCents - totalFinalCents, priceCount));
+        }
+        
+        public long totalFinalCents() { return totalFinalCents; }
+    }
+    
+    /**
+     * Resumo da matriz: impacto por estrategia, na ordem da requisicao
+     */
+    public static final class MatrixSummary {
+        private final int priceCount;
+        private final int blockCount;
+        private final long elapsedMillis;
+        private final List<StrategyImpact> strategies;
+        
+        MatrixSummary(int priceCount, int blockCount, long elapsedMillis, List<StrategyImpact> strategies) {
+            this.priceCount = priceCount;
+            this.blockCount = blockCount;
+            this.elapsedMillis = elapsedMillis;
+            this.strategies = strategies;
+        }
+        
+        public int getPriceCount() { return priceCount; }
+        public int getBlockCount() { return blockCount; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public List<StrategyImpact> getStrategies() { return strategies; }
+    }
+    
+    /**
+     * Threads daemon nomeadas para facilitar a leitura de thread dumps
+     */
+    private static final class MatrixThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+        
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "strategy-matrix-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.bootcamp.designpatterns.simulation;
+
+import com.bootcamp.designpatterns.strategy.FixedPointMath;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Formato binario do historico de pedidos usado pelo simulador
+ * 
+ * Cabecalho de 16 bytes (magic "OHIS", versao, quantidade de registros)
+ * seguido de um long big-endian por pedido com o valor em centavos.
+ * Registros de tamanho fixo permitem mapear o arquivo em memoria e
+ * dividi-lo em segmentos sem precisar ler o conteudo antes.
+ * 
+ * Historicos em CSV sao convertidos uma unica vez com
+ * {@link #convertCsv(Path, Path)}, lendo linha a linha. A gravacao vai
+ * para um arquivo temporario ao lado do destino, que so e substituido
+ * quando tudo foi gravado: uma falha no meio nunca deixa um historico
+ * truncado com cabecalho valido.
+ */
+public final class OrderHistoryFile {
+    
+    public static final int MAGIC = 0x4F484953;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+    public static final int RECORD_BYTES = Long.BYTES;
+    
+    // Registros gravados por chamada ao canal
+    private static final int WRITE_BATCH = 8192;
+    
+    private OrderHistoryFile() {}
+    
+    /**
+     * Grava um historico a partir de valores em centavos
+     * 
+     * @param file arquivo de destino (sobrescrito)
+     * @param amountsCents valores dos pedidos em centavos
+     * @throws IOException se a gravacao falhar
+     */
+    public static void write(Path file, long[] amountsCents) throws IOException {
+        try (HistoryWriter writer = new HistoryWriter(file)) {
+            for (long amount : amountsCents) {
+                writer.append(amount);
+            }
+            writer.commit();
+        }
+    }
+    
+    /**
+     * Converte um CSV de pedidos para o formato binario
+     * 
+     * Usa a coluna "amount" quando houver cabecalho e a primeira coluna
+     * caso contrario. Linhas vazias e comentarios (#) sao ignorados.
+     * 
+     * @param csv arquivo CSV de origem
+     * @param target arquivo binario de destino (sobrescrito apenas se a conversao terminar)
+     * @return quantidade de pedidos convertidos
+     * @throws IOException se a leitura ou a gravacao falhar
+     */
+    public static long convertCsv(Path csv, Path target) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+             HistoryWriter writer = new HistoryWriter(target)) {
+            
+            int column = 0;
+            boolean firstRow = true;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.strip();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                
+                String[] fields = trimmed.split("[,;]");
+                if (firstRow) {
+                    firstRow = false;
+                    if (!isNumber(fields[0])) {
+                        column = amountColumn(fields);
+                        continue;
+                    }
+                }
+                
+                if (column >= fields.length) {
+                    throw new IllegalArgumentException("Linha " + lineNumber + " sem a coluna de valor");
+                }
+                try {
+                    writer.append(FixedPointMath.roundToCents(new BigDecimal(fields[column].strip())));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Valor invalido na linha " + lineNumber + ": " + fields[column]);
+                }
+            }
+            writer.commit();
+            return writer.count;
+        }
+    }
+    
+    private static boolean isNumber(String field) {
+        try {
+            new BigDecimal(field.strip());
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+    
+    private static int amountColumn(String[] header) {
+        for (int i = 0; i < header.length; i++) {
+            if ("amount".equalsIgnoreCase(header[i].strip())) {
+                return i;
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * Valida o cabecalho e retorna a quantidade de registros
+     * 
+     * @param channel canal aberto para leitura
+     * @return quantidade de pedidos no arquivo
+     * @throws IOException se o arquivo nao puder ser lido
+     */
+    public static long readRecordCount(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // le ate completar o cabecalho
+        }
+        if (header.hasRemaining()) {
+            throw new IllegalArgumentException("Arquivo de historico sem cabecalho");
+        }
+        header.flip();
+        
+        if (header.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Arquivo nao e um historico de pedidos");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Versao de historico nao suportada: " + version);
+        }
+        
+        long records = header.getLong();
+        long expectedSize;
+        try {
+            expectedSize = Math.addExact(HEADER_BYTES, Math.multiplyExact(records, RECORD_BYTES));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Arquivo de historico corrompido: " + records + " registros declarados");
+        }
+        if (records < 0 || channel.size() < expectedSize) {
+            throw new IllegalArgumentException("Arquivo de historico truncado: " + records + " registros declarados");
+        }
+        return records;
+    }
+    
+    /**
+     * Gravador sequencial; a quantidade de registros e escrita no fechamento
+     */
+    private static final class HistoryWriter implements AutoCloseable {
+        private final Path target;
+        private final Path temp;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BATCH * RECORD_BYTES);
+        private long count;
+        private boolean committed;
+        
+        HistoryWriter(Path file) throws IOException {
+            this.target = file.toAbsolutePath();
+            this.temp = Files.createTempFile(target.getParent(), target.getFileName() + ".", ".tmp");
+            this.channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+            channel.position(HEADER_BYTES);
+        }
+        
+        void append(long amountCents) throws IOException {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.putLong(amountCents);
+            count++;
+        }
+        
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+        
+        /**
+         * Grava o cabecalho e substitui o destino pelo arquivo temporario
+         */
+        void commit() throws IOException {
+            drain();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putLong(count).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.close();
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            committed = true;
+        }
+        
+        /**
+         * Sem commit (falha no meio da gravacao) descarta o temporario
+         * e deixa o destino como estava
+         */
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                try {
+                    channel.close();
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        }
+    }
+}
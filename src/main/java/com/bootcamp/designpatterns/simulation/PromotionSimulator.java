@@ -0,0 +1,234 @@
+package com.bootcamp.designpatterns.simulation;
+
+import com.bootcamp.designpatterns.strategy.DiscountStrategy;
+import com.bootcamp.designpatterns.strategy.DiscountStrategyRegistry;
+import com.bootcamp.designpatterns.strategy.DiscountTierTable;
+import com.bootcamp.designpatterns.strategy.PriceCalculator;
+
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Simulador "e se" de promocoes sobre o historico de pedidos
+ * 
+ * Reaplica estrategias candidatas aos valores de pedidos passados para
+ * estimar o desconto concedido, a receita resultante e a distribuicao
+ * dos pedidos pelas faixas do desconto progressivo.
+ * 
+ * O arquivo ({@link OrderHistoryFile}) e mapeado em memoria e dividido em
+ * um segmento por thread. Cada segmento e percorrido em janelas mapeadas
+ * de no maximo 256 MB, lidas em blocos para um buffer primitivo
+ * reutilizado, entao o heap nao cresce com o tamanho do historico.
+ * Cada thread acumula seus proprios totais, somados no final.
+ */
+public class PromotionSimulator {
+    
+    // Registros por janela mapeada (256 MB), abaixo do limite de 2 GB por mapeamento
+    static final long WINDOW_RECORDS = 32L * 1024 * 1024;
+    
+    // Registros copiados do mapeamento por vez
+    private static final int CHUNK_RECORDS = 4096;
+    
+    // Segmentos menores que isso nao compensam uma thread extra
+    private static final long MIN_SEGMENT_RECORDS = 64L * 1024;
+    
+    private final int parallelism;
+    private final DiscountTierTable tierTable;
+    
+    /**
+     * Simulador com uma thread por processador e a tabela de faixas vigente
+     */
+    public PromotionSimulator() {
+        this(Runtime.getRuntime().availableProcessors(),
+             DiscountStrategyRegistry.getInstance().getProgressiveTierTable());
+    }
+    
+    /**
+     * Construtor completo
+     * 
+     * @param parallelism numero maximo de segmentos processados em paralelo
+     * @param tierTable faixas usadas na distribuicao dos pedidos
+     */
+    public PromotionSimulator(int parallelism, DiscountTierTable tierTable) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Paralelismo deve ser positivo: " + parallelism);
+        }
+        if (tierTable == null) {
+            throw new IllegalArgumentException("Tabela de faixas e obrigatoria");
+        }
+        this.parallelism = parallelism;
+        this.tierTable = tierTable;
+    }
+    
+    /**
+     * Reaplica as estrategias a todos os pedidos do arquivo
+     * 
+     * @param historyFile historico no formato de {@link OrderHistoryFile}
+     * @param strategies estrategias candidatas
+     * @return relatorio com totais por estrategia e por faixa
+     * @throws IOException se o arquivo nao puder ser lido
+     */
+    public SimulationReport simulate(Path historyFile, List<DiscountStrategy> strategies) throws IOException {
+        if (strategies == null || strategies.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma estrategia");
+        }
+        
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(historyFile, StandardOpenOption.READ)) {
+            long records = OrderHistoryFile.readRecordCount(channel);
+            
+            int segments = (int) Math.max(1, Math.min(parallelism, records / MIN_SEGMENT_RECORDS));
+            long perSegment = records / segments;
+            
+            AtomicInteger sequence = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(segments, runnable -> {
+                Thread thread = new Thread(runnable, "promotion-simulator-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<SegmentTotals>> futures = new ArrayList<>(segments);
+                for (int i = 0; i < segments; i++) {
+                    long from = i * perSegment;
+                    long to = i == segments - 1 ? records : from + perSegment;
+                    futures.add(executor.submit(() -> simulateSegment(channel, strategies, from, to)));
+                }
+                
+                SegmentTotals totals = new SegmentTotals(strategies.size(), tierTable.tierCount());
+                for (Future<SegmentTotals> future : futures) {
+                    totals.merge(future.get());
+                }
+                
+                long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                return new SimulationReport(strategies, tierTable, totals, records, segments, elapsedMillis);
+                
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException("Falha na simulacao", cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Simulacao interrompida");
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+    
+    /**
+     * Processa um intervalo de registros [from, to) do arquivo
+     */
+    private SegmentTotals simulateSegment(FileChannel channel, List<DiscountStrategy> strategies,
+                                          long from, long to) throws IOException {
+        PriceCalculator[] calculators = new PriceCalculator[strategies.size()];
+        for (int s = 0; s < calculators.length; s++) {
+            calculators[s] = new PriceCalculator(strategies.get(s));
+        }
+        
+        SegmentTotals totals = new SegmentTotals(calculators.length, tierTable.tierCount());
+        long[] amounts = new long[CHUNK_RECORDS];
+        long[] finals = new long[CHUNK_RECORDS];
+        int[] tiers = new int[CHUNK_RECORDS];
+        
+        for (long window = from; window < to; window += WINDOW_RECORDS) {
+            long windowRecords = Math.min(WINDOW_RECORDS, to - window);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+                    OrderHistoryFile.HEADER_BYTES + window * OrderHistoryFile.RECORD_BYTES,
+                    windowRecords * OrderHistoryFile.RECORD_BYTES);
+            LongBuffer values = mapped.asLongBuffer();
+            
+            while (values.hasRemaining()) {
+                int read = Math.min(CHUNK_RECORDS, values.remaining());
+                values.get(amounts, 0, read);
+                
+                // Compacta os pedidos validos e classifica cada um na sua faixa
+                int valid = 0;
+                for (int i = 0; i < read; i++) {
+                    long amount = amounts[i];
+                    if (amount <= 0) {
+                        totals.invalidOrders++;
+                        continue;
+                    }
+                    int tier = tierTable.tierIndex(amount);
+                    amounts[valid] = amount;
+                    tiers[valid] = tier;
+                    totals.tierOrders[tier]++;
+                    totals.tierGross[tier] += amount;
+                    totals.gross += amount;
+                    valid++;
+                }
+                totals.orders += valid;
+                
+                for (int s = 0; s < calculators.length; s++) {
+                    calculators[s].calculateFinalPricesCents(amounts, finals, 0, valid);
+                    long[] tierDiscount = totals.tierDiscount[s];
+                    long discount = 0L;
+                    for (int i = 0; i < valid; i++) {
+                        long orderDiscount = amounts[i] - finals[i];
+                        discount += orderDiscount;
+                        tierDiscount[tiers[i]] += orderDiscount;
+                    }
+                    totals.discount[s] += discount;
+                }
+            }
+        }
+        
+        return totals;
+    }
+    
+    public int getParallelism() { return parallelism; }
+    public DiscountTierTable getTierTable() { return tierTable; }
+    
+    /**
+     * Totais acumulados por uma thread (ou o resultado da soma de todas)
+     */
+    static final class SegmentTotals {
+        long orders;
+        long invalidOrders;
+        long gross;
+        final long[] tierOrders;
+        final long[] tierGross;
+        final long[] discount;
+        final long[][] tierDiscount;
+        
+        SegmentTotals(int strategies, int tiers) {
+            this.tierOrders = new long[tiers];
+            this.tierGross = new long[tiers];
+            this.discount = new long[strategies];
+            this.tierDiscount = new long[strategies][tiers];
+        }
+        
+        void merge(SegmentTotals other) {
+            orders += other.orders;
+            invalidOrders += other.invalidOrders;
+            gross += other.gross;
+            for (int t = 0; t < tierOrders.length; t++) {
+                tierOrders[t] += other.tierOrders[t];
+                tierGross[t] += other.tierGross[t];
+            }
+            for (int s = 0; s < discount.length; s++) {
+                discount[s] += other.discount[s];
+                for (int t = 0; t < tierOrders.length; t++) {
+                    tierDiscount[s][t] += other.tierDiscount[s][t];
+                }
+            }
+        }
+    }
+}
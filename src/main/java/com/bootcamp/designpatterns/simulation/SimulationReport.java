@@ -0,0 +1,126 @@
+package com.bootcamp.designpatterns.simulation;
+
+import com.bootcamp.designpatterns.strategy.DiscountStrategy;
+import com.bootcamp.designpatterns.strategy.DiscountTierTable;
+import com.bootcamp.designpatterns.strategy.FixedPointMath;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Relatorio imutavel de uma simulacao de promocoes
+ * 
+ * Traz a distribuicao dos pedidos pelas faixas e, para cada estrategia,
+ * o desconto concedido, a receita resultante e o desconto por faixa.
+ */
+public final class SimulationReport {
+    
+    private final long records;
+    private final long orders;
+    private final long invalidOrders;
+    private final long grossCents;
+    private final int segments;
+    private final long elapsedMillis;
+    private final List<TierBucket> tiers;
+    private final List<StrategyResult> strategies;
+    
+    SimulationReport(List<DiscountStrategy> strategies, DiscountTierTable tierTable,
+                     PromotionSimulator.SegmentTotals totals, long records, int segments, long elapsedMillis) {
+        this.records = records;
+        this.orders = totals.orders;
+        this.invalidOrders = totals.invalidOrders;
+        this.grossCents = totals.gross;
+        this.segments = segments;
+        this.elapsedMillis = elapsedMillis;
+        
+        List<TierBucket> buckets = new ArrayList<>(tierTable.tierCount());
+        for (int t = 0; t < tierTable.tierCount(); t++) {
+            buckets.add(new TierBucket(tierTable.upperBound(t), tierTable.rateLabel(t),
+                                       totals.tierOrders[t], FixedPointMath.fromCents(totals.tierGross[t])));
+        }
+        this.tiers = Collections.unmodifiableList(buckets);
+        
+        List<StrategyResult> results = new ArrayList<>(strategies.size());
+        for (int s = 0; s < strategies.size(); s++) {
+            List<BigDecimal> discountByTier = new ArrayList<>(tierTable.tierCount());
+            for (long tierDiscount : totals.tierDiscount[s]) {
+                discountByTier.add(FixedPointMath.fromCents(tierDiscount));
+            }
+            results.add(new StrategyResult(strategies.get(s), totals.gross, totals.discount[s],
+                                           Collections.unmodifiableList(discountByTier)));
+        }
+        this.strategies = Collections.unmodifiableList(results);
+    }
+    
+    /**
+     * Pedidos de uma faixa do desconto progressivo
+     * 
+     * @param upTo limite superior da faixa (nulo na ultima faixa)
+     * @param rate percentual da faixa
+     * @param orders quantidade de pedidos na faixa
+     * @param gross valor bruto dos pedidos da faixa
+     */
+    public record TierBucket(BigDecimal upTo, String rate, long orders, BigDecimal gross) {}
+    
+    /**
+     * Resultado de uma estrategia sobre todo o historico
+     */
+    public static final class StrategyResult {
+        private final DiscountStrategy strategy;
+        private final long grossCents;
+        private final long discountCents;
+        private final List<BigDecimal> discountByTier;
+        
+        StrategyResult(DiscountStrategy strategy, long grossCents, long discountCents, List<BigDecimal> discountByTier) {
+            this.strategy = strategy;
+            this.grossCents = grossCents;
+            this.discountCents = discountCents;
+            this.discountByTier = discountByTier;
+        }
+        
+        public String getStrategy() { return strategy.getDescription(); }
+        public String getStrategyInfo() { return strategy.getDiscountInfo(); }
+        public BigDecimal getTotalDiscount() { return FixedPointMath.fromCents(discountCents); }
+        public BigDecimal getRevenue() { return FixedPointMath.fromCents(grossCents - discountCents); }
+        public List<BigDecimal> getDiscountByTier() { return discountByTier; }
+        
+        /**
+         * Desconto concedido em percentual da receita bruta
+         */
+        public BigDecimal getDiscountPercent() {
+            if (grossCents == 0) {
+                return BigDecimal.ZERO;
+            }
+            return BigDecimal.valueOf(discountCents).multiply(BigDecimal.valueOf(100))
+                    .divide(BigDecimal.valueOf(grossCents), 2, RoundingMode.HALF_UP);
+        }
+        
+        public long discountCents() { return discountCents; }
+    }
+    
+    // Getters
+    public long getRecords() { return records; }
+    public long getOrders() { return orders; }
+    public long getInvalidOrders() { return invalidOrders; }
+    public BigDecimal getGrossRevenue() { return FixedPointMath.fromCents(grossCents); }
+    public int getSegments() { return segments; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public List<TierBucket> getTiers() { return tiers; }
+    public List<StrategyResult> getStrategies() { return strategies; }
+    
+    /**
+     * Pedidos processados por segundo
+     */
+    public long getOrdersPerSecond() {
+        return elapsedMillis == 0 ? records * 1000 : records * 1000 / elapsedMillis;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("SimulationReport{records=%d, invalid=%d, gross=%s, segments=%d, elapsed=%dms, strategies=%d}", 
+                           records, invalidOrders, getGrossRevenue(), segments, elapsedMillis, strategies.size());
+    }
+}
@@ -0,0 +1,59 @@
+package com.bootcamp.designpatterns.strategy;
+
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Classe que representa uma requisicao de calculo de precos em lote
+ * 
+ * Permite precificar milhares de itens com a mesma estrategia
+ * em uma unica chamada HTTP.
+ */
+public class BatchPriceRequest {
+    
+    // Limite de itens por requisicao para proteger o servidor
+    public static final int MAX_BATCH_SIZE = 10000;
+    
+    @NotBlank(message = "Tipo de estrategia e obrigatorio")
+    private String strategyType;
+    
+    private BigDecimal discountValue;
+    
+    // Texto das regras quando strategyType = rules
+    private String rules;
+    
+    @NotEmpty(message = "Lista de precos e obrigatoria")
+    @Size(max = MAX_BATCH_SIZE, message = "Lote deve ter no maximo 10000 precos")
+    private List<@NotNull(message = "Preco e obrigatorio")
+                 @DecimalMin(value = "0.01", message = "Preco deve ser maior que zero") BigDecimal> prices;
+    
+    // Construtor completo
+    public BatchPriceRequest(String strategyType, BigDecimal discountValue, List<BigDecimal> prices) {
+        this.strategyType = strategyType;
+        this.discountValue = discountValue;
+        this.prices = prices;
+    }
+    
+    // Construtor vazio para frameworks
+    public BatchPriceRequest() {}
+    
+    // Getters e Setters
+    public String getStrategyType() { return strategyType; }
+    public void setStrategyType(String strategyType) { this.strategyType = strategyType; }
+    
+    public BigDecimal getDiscountValue() { return discountValue; }
+    public void setDiscountValue(BigDecimal discountValue) { this.discountValue = discountValue; }
+    
+    public String getRules() { return rules; }
+    public void setRules(String rules) { this.rules = rules; }
+    
+    public List<BigDecimal> getPrices() { return prices; }
+    public void setPrices(List<BigDecimal> prices) { this.prices = prices; }
+    
+    @Override
+    public String toString() {
+        return String.format("BatchPriceRequest{strategyType='%s', discountValue=%s, items=%d}", 
+                           strategyType, discountValue, prices != null ? prices.size() : 0);
+    }
+}
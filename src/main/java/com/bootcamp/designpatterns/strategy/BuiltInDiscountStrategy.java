@@ -0,0 +1,41 @@
+package com.bootcamp.designpatterns.strategy;
+
+/**
+ * Base selada das estrategias nativas do projeto
+ * 
+ * {@link PriceCalculator} despacha as estrategias nativas por um switch
+ * sobre {@link Kind} e chama o metodo da classe final concreta. Cada ramo
+ * do switch ve um unico tipo e pode ser inlineado pelo JIT, mesmo quando
+ * varios tipos de estrategia estao ativos ao mesmo tempo e uma chamada
+ * pela interface ficaria megamorfica.
+ * 
+ * O tipo e um campo final lido diretamente (sem chamada virtual). Novas
+ * estrategias customizadas continuam implementando {@link DiscountStrategy}
+ * e sao chamadas pela interface.
+ */
+public abstract sealed class BuiltInDiscountStrategy implements DiscountStrategy
+        permits PercentageDiscountStrategy, FixedDiscountStrategy, ProgressiveDiscountStrategy,
+                CompositeDiscountStrategy, PriceCalculator.NoDiscountStrategy {
+    
+    /**
+     * Tipos de estrategia nativa
+     */
+    public enum Kind {
+        NONE, PERCENTAGE, FIXED, PROGRESSIVE, COMPOSITE
+    }
+    
+    private final Kind kind;
+    
+    BuiltInDiscountStrategy(Kind kind) {
+        this.kind = kind;
+    }
+    
+    /**
+     * Retorna o tipo da estrategia nativa
+     * 
+     * @return tipo usado no despacho do PriceCalculator
+     */
+    public final Kind kind() {
+        return kind;
+    }
+}
@@ -0,0 +1,72 @@
+package com.bootcamp.designpatterns.strategy;
+
+import java.math.BigDecimal;
+
+/**
+ * PriceCalculator com memoizacao dos calculos (padrao Decorator)
+ * 
+ * Mantem o mesmo contrato do PriceCalculator, mas consulta um QuoteCache
+ * antes de aplicar a estrategia. O cache pode ser compartilhado entre
+ * varias calculadoras; trocar a estrategia com setDiscountStrategy muda
+ * a chave consultada, sem necessidade de invalidacao manual.
+ */
+public class CachingPriceCalculator extends PriceCalculator {
+    
+    private final QuoteCache quoteCache;
+    
+    /**
+     * Construtor com estrategia inicial e cache
+     * 
+     * @param discountStrategy estrategia de desconto a ser utilizada
+     * @param quoteCache cache de calculos
+     */
+    public CachingPriceCalculator(DiscountStrategy discountStrategy, QuoteCache quoteCache) {
+        super(discountStrategy);
+        if (quoteCache == null) {
+            throw new IllegalArgumentException("Cache de calculos e obrigatorio");
+        }
+        this.quoteCache = quoteCache;
+    }
+    
+    /**
+     * Calcula o preco final usando o cache
+     * 
+     * @param originalPrice preco original do produto
+     * @return preco final com desconto aplicado
+     */
+    @Override
+    public BigDecimal calculateFinalPrice(BigDecimal originalPrice) {
+        return quote(originalPrice).getFinalPrice();
+    }
+    
+    /**
+     * Calcula o detalhamento do preco usando o cache
+     * 
+     * @param originalPrice preco original do produto
+     * @return detalhamento imutavel do calculo
+     */
+    @Override
+    public PriceBreakdown quote(BigDecimal originalPrice) {
+        return quoteCache.quote(getCurrentStrategy(), originalPrice);
+    }
+    
+    /**
+     * Obtem informacoes detalhadas sobre o calculo usando o cache
+     * 
+     * @param originalPrice preco original
+     * @return detalhes do calculo em formato string
+     */
+    @Override
+    public String getCalculationDetails(BigDecimal originalPrice) {
+        return quote(originalPrice).getDetails();
+    }
+    
+    /**
+     * Retorna o cache usado por esta calculadora
+     * 
+     * @return cache de calculos
+     */
+    public QuoteCache getQuoteCache() {
+        return quoteCache;
+    }
+}
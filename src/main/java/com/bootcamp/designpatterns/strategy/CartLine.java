@@ -0,0 +1,48 @@
+package com.bootcamp.designpatterns.strategy;
+
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+
+/**
+ * Classe que representa uma linha de carrinho
+ * 
+ * Produto, preco unitario e quantidade de uma linha do checkout.
+ */
+public class CartLine {
+    
+    @NotBlank(message = "ID do produto e obrigatorio")
+    private String productId;
+    
+    @NotNull(message = "Preco unitario e obrigatorio")
+    @DecimalMin(value = "0.01", message = "Preco unitario deve ser maior que zero")
+    private BigDecimal unitPrice;
+    
+    @Min(value = 1, message = "Quantidade deve ser maior que zero")
+    private int quantity;
+    
+    // Construtor completo
+    public CartLine(String productId, BigDecimal unitPrice, int quantity) {
+        this.productId = productId;
+        this.unitPrice = unitPrice;
+        this.quantity = quantity;
+    }
+    
+    // Construtor vazio para frameworks
+    public CartLine() {}
+    
+    // Getters e Setters
+    public String getProductId() { return productId; }
+    public void setProductId(String productId) { this.productId = productId; }
+    
+    public BigDecimal getUnitPrice() { return unitPrice; }
+    public void setUnitPrice(BigDecimal unitPrice) { this.unitPrice = unitPrice; }
+    
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+    
+    @Override
+    public String toString() {
+        return String.format("CartLine{productId='%s', unitPrice=%s, quantity=%d}", 
+                           productId, unitPrice, quantity);
+    }
+}
@@ -0,0 +1,59 @@
+package com.bootcamp.designpatterns.strategy;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Classe que representa uma requisicao de precificacao de carrinho
+ * 
+ * A estrategia e aplicada ao total do carrinho e o desconto resultante
+ * e distribuido entre as linhas.
+ */
+public class CartPriceRequest {
+    
+    // Limite de linhas por carrinho para proteger o servidor
+    public static final int MAX_CART_LINES = 10000;
+    
+    @NotBlank(message = "Tipo de estrategia e obrigatorio")
+    private String strategyType;
+    
+    private BigDecimal discountValue;
+    
+    // Texto das regras quando strategyType = rules
+    private String rules;
+    
+    @NotEmpty(message = "Carrinho deve ter ao menos uma linha")
+    @Size(max = MAX_CART_LINES, message = "Carrinho deve ter no maximo 10000 linhas")
+    private List<@NotNull(message = "Linha e obrigatoria") @Valid CartLine> lines;
+    
+    // Construtor completo
+    public CartPriceRequest(String strategyType, BigDecimal discountValue, List<CartLine> lines) {
+        this.strategyType = strategyType;
+        this.discountValue = discountValue;
+        this.lines = lines;
+    }
+    
+    // Construtor vazio para frameworks
+    public CartPriceRequest() {}
+    
+    // Getters e Setters
+    public String getStrategyType() { return strategyType; }
+    public void setStrategyType(String strategyType) { this.strategyType = strategyType; }
+    
+    public BigDecimal getDiscountValue() { return discountValue; }
+    public void setDiscountValue(BigDecimal discountValue) { this.discountValue = discountValue; }
+    
+    public String getRules() { return rules; }
+    public void setRules(String rules) { this.rules = rules; }
+    
+    public List<CartLine> getLines() { return lines; }
+    public void setLines(List<CartLine> lines) { this.lines = lines; }
+    
+    @Override
+    public String toString() {
+        return String.format("CartPriceRequest{strategyType='%s', discountValue=%s, lines=%d}", 
+                           strategyType, discountValue, lines != null ? lines.size() : 0);
+    }
+}
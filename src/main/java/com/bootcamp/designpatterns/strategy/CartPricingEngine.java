@@ -0,0 +1,193 @@
+package com.bootcamp.designpatterns.strategy;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Motor de precificacao de carrinhos com varias linhas
+ * 
+ * A estrategia de desconto e aplicada uma unica vez ao subtotal do
+ * carrinho (por exemplo, a faixa progressiva e escolhida pelo total da
+ * compra) e o desconto resultante e distribuido entre as linhas na
+ * proporcao do total de cada uma.
+ * 
+ * Todo o calculo e feito em centavos sobre arrays primitivos: uma passada
+ * acumula os totais das linhas e o subtotal, e a passada de alocacao
+ * distribui o desconto pela soma acumulada. A parcela da linha i e
+ * floor(D * acumulado_i / T) - floor(D * acumulado_(i-1) / T), entao a soma
+ * das parcelas e exatamente D, nenhuma linha recebe mais que o proprio
+ * total e os centavos de arredondamento caem sempre nas mesmas linhas
+ * para a mesma entrada, sem uma etapa separada de ajuste de resto.
+ * 
+ * Instancias sao imutaveis e podem ser compartilhadas entre threads.
+ */
+public class CartPricingEngine {
+    
+    private final DiscountStrategy strategy;
+    private final PriceCalculator calculator;
+    
+    /**
+     * Construtor do motor
+     * 
+     * @param strategy estrategia aplicada ao total do carrinho (nula = sem desconto)
+     */
+    public CartPricingEngine(DiscountStrategy strategy) {
+        this.calculator = new PriceCalculator(strategy);
+        this.strategy = calculator.getCurrentStrategy();
+    }
+    
+    /**
+     * Precifica um carrinho a partir das linhas da requisicao
+     * 
+     * Precos unitarios com mais de duas casas sao arredondados (HALF_UP).
+     * 
+     * @param lines linhas do carrinho
+     * @return resultado imutavel, com as linhas na ordem de entrada
+     */
+    public CartQuote quote(List<CartLine> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("Carrinho deve ter ao menos uma linha");
+        }
+        
+        int count = lines.size();
+        String[] productIds = new String[count];
+        int[] quantities = new int[count];
+        long[] unitCents = new long[count];
+        for (int i = 0; i < count; i++) {
+            CartLine line = lines.get(i);
+            if (line == null || line.getUnitPrice() == null) {
+                throw new IllegalArgumentException("Linha " + (i + 1) + " sem preco unitario");
+            }
+            productIds[i] = line.getProductId();
+            quantities[i] = line.getQuantity();
+            unitCents[i] = FixedPointMath.roundToCents(line.getUnitPrice());
+        }
+        
+        long[] lineTotalCents = new long[count];
+        long[] lineDiscountCents = new long[count];
+        long discountCents = price(unitCents, quantities, count, lineTotalCents, lineDiscountCents);
+        
+        long subtotalCents = sum(lineTotalCents, count);
+        return new CartQuote(productIds, quantities, unitCents, lineTotalCents, lineDiscountCents,
+                             subtotalCents, discountCents, strategy);
+    }
+    
+    /**
+     * Precifica um carrinho diretamente sobre arrays primitivos
+     * 
+     * Os arrays de saida sao fornecidos pelo chamador para que o checkout
+     * possa reutiliza-los entre carrinhos sem gerar lixo.
+     * 
+     * @param unitCents precos unitarios em centavos
+     * @param quantities quantidades de cada linha
+     * @param count numero de linhas a considerar
+     * @param lineTotalCents saida: total de cada linha (unitario x quantidade)
+     * @param lineDiscountCents saida: parcela do desconto de cada linha
+     * @return desconto total do carrinho em centavos
+     */
+    public long price(long[] unitCents, int[] quantities, int count,
+                      long[] lineTotalCents, long[] lineDiscountCents) {
+        if (count < 0 || count > unitCents.length || count > quantities.length
+                || count > lineTotalCents.length || count > lineDiscountCents.length) {
+            throw new IllegalArgumentException("Numero de linhas invalido: " + count);
+        }
+        
+        // Passada 1: totais das linhas e subtotal
+        long subtotal = 0L;
+        int totalQuantity = 0;
+        try {
+            for (int i = 0; i < count; i++) {
+                long unit = unitCents[i];
+                int quantity = quantities[i];
+                if (unit < 0 || quantity <= 0) {
+                    throw new IllegalArgumentException("Linha " + (i + 1) + " invalida: preco " + unit
+                                                       + " centavos, quantidade " + quantity);
+                }
+                long lineTotal = Math.multiplyExact(unit, (long) quantity);
+                lineTotalCents[i] = lineTotal;
+                subtotal = Math.addExact(subtotal, lineTotal);
+                totalQuantity = Math.addExact(totalQuantity, quantity);
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Total do carrinho excede o limite suportado");
+        }
+        
+        long discount = cartDiscountCents(subtotal, totalQuantity);
+        if (discount == 0L) {
+            Arrays.fill(lineDiscountCents, 0, count, 0L);
+            return 0L;
+        }
+        
+        // Passada 2: alocacao pela soma acumulada
+        long cumulative = 0L;
+        long allocated = 0L;
+        for (int i = 0; i < count; i++) {
+            cumulative += lineTotalCents[i];
+            long allocatedUpTo = scaledFloor(discount, cumulative, subtotal);
+            lineDiscountCents[i] = allocatedUpTo - allocated;
+            allocated = allocatedUpTo;
+        }
+        
+        return discount;
+    }
+    
+    /**
+     * Calcula o desconto do carrinho a partir do subtotal
+     * 
+     * Usa o mesmo arredondamento de {@link PriceCalculator}, de modo que
+     * um carrinho de uma linha tem o mesmo desconto do calculo unitario.
+     * Estrategias que sobrescrevem
+     * {@link DiscountStrategy#calculateCartDiscount(BigDecimal, int)}
+     * recebem tambem a quantidade total de itens.
+     */
+    private long cartDiscountCents(long subtotal, int totalQuantity) {
+        if (subtotal <= 0) {
+            return 0L;
+        }
+        
+        BigDecimal cartDiscount = strategy.calculateCartDiscount(FixedPointMath.fromCents(subtotal), totalQuantity);
+        long discount = cartDiscount != null
+                ? FixedPointMath.roundToCents(cartDiscount)
+                : subtotal - calculator.calculateFinalPriceCents(subtotal);
+        
+        // O desconto nunca e negativo nem maior que o proprio carrinho
+        return Math.max(0L, Math.min(discount, subtotal));
+    }
+    
+    /**
+     * Calcula floor(value * numerator / denominator) sem estouro
+     * 
+     * Todos os argumentos sao nao negativos e numerator <= denominator.
+     * O produto so sai de 64 bits em carrinhos acima de ~R$ 30 milhoes;
+     * nesses casos o calculo recorre a BigInteger.
+     */
+    private static long scaledFloor(long value, long numerator, long denominator) {
+        long low = value * numerator;
+        if (Math.multiplyHigh(value, numerator) == 0 && low >= 0) {
+            return low / denominator;
+        }
+        return BigInteger.valueOf(value)
+                .multiply(BigInteger.valueOf(numerator))
+                .divide(BigInteger.valueOf(denominator))
+                .longValueExact();
+    }
+    
+    private static long sum(long[] values, int count) {
+        long total = 0L;
+        for (int i = 0; i < count; i++) {
+            total += values[i];
+        }
+        return total;
+    }
+    
+    /**
+     * Retorna a estrategia aplicada ao total do carrinho
+     * 
+     * @return estrategia de desconto
+     */
+    public DiscountStrategy getStrategy() {
+        return strategy;
+    }
+}
@@ -0,0 +1,87 @@
+package com.bootcamp.designpatterns.strategy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado imutavel da precificacao de um carrinho
+ * 
+ * Guarda os valores em centavos, na mesma ordem das linhas de entrada,
+ * e so converte para BigDecimal quando alguem pede as linhas (por
+ * exemplo, na serializacao JSON).
+ */
+public final class CartQuote {
+    
+    private final String[] productIds;
+    private final int[] quantities;
+    private final long[] unitCents;
+    private final long[] lineTotalCents;
+    private final long[] lineDiscountCents;
+    private final long subtotalCents;
+    private final long discountCents;
+    private final DiscountStrategy strategy;
+    
+    CartQuote(String[] productIds, int[] quantities, long[] unitCents, long[] lineTotalCents,
+              long[] lineDiscountCents, long subtotalCents, long discountCents, DiscountStrategy strategy) {
+        this.productIds = productIds;
+        this.quantities = quantities;
+        this.unitCents = unitCents;
+        this.lineTotalCents = lineTotalCents;
+        this.lineDiscountCents = lineDiscountCents;
+        this.subtotalCents = subtotalCents;
+        this.discountCents = discountCents;
+        this.strategy = strategy;
+    }
+    
+    /**
+     * Linha precificada com sua parcela do desconto do carrinho
+     */
+    public record Line(String productId, int quantity, BigDecimal unitPrice,
+                       BigDecimal lineTotal, BigDecimal discount, BigDecimal finalTotal) {}
+    
+    /**
+     * Monta as linhas precificadas na ordem de entrada
+     * 
+     * @return linhas com total, desconto alocado e total final
+     */
+    public List<Line> getLines() {
+        List<Line> lines = new ArrayList<>(productIds.length);
+        for (int i = 0; i < productIds.length; i++) {
+            lines.add(new Line(productIds[i], quantities[i],
+                               FixedPointMath.fromCents(unitCents[i]),
+                               FixedPointMath.fromCents(lineTotalCents[i]),
+                               FixedPointMath.fromCents(lineDiscountCents[i]),
+                               FixedPointMath.fromCents(lineTotalCents[i] - lineDiscountCents[i])));
+        }
+        return Collections.unmodifiableList(lines);
+    }
+    
+    // Getters
+    public int getLineCount() { return productIds.length; }
+    public BigDecimal getSubtotal() { return FixedPointMath.fromCents(subtotalCents); }
+    public BigDecimal getDiscount() { return FixedPointMath.fromCents(discountCents); }
+    public BigDecimal getTotal() { return FixedPointMath.fromCents(subtotalCents - discountCents); }
+    public String getStrategy() { return strategy.getDescription(); }
+    public String getStrategyInfo() { return strategy.getDiscountInfo(); }
+    
+    public long subtotalCents() { return subtotalCents; }
+    public long discountCents() { return discountCents; }
+    
+    /**
+     * Desconto alocado a uma linha, em centavos
+     * 
+     * @param line indice da linha
+     * @return parcela do desconto do carrinho
+     */
+    public long lineDiscountCents(int line) {
+        return lineDiscountCents[line];
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("CartQuote{lines=%d, subtotal=%s, discount=%s, total=%s}", 
+                           productIds.length, getSubtotal(), getDiscount(), getTotal());
+    }
+}
@@ -0,0 +1,20 @@
+package com.bootcamp.designpatterns.strategy;
+
+/**
+ * Especializacao primitiva da interface Strategy
+ * 
+ * Estrategias que implementam esta interface tambem calculam o desconto
+ * diretamente em centavos ({@code long}), sem alocar BigDecimal. O
+ * resultado deve ser identico ao de {@link #calculateDiscount} para
+ * qualquer valor com duas casas decimais.
+ */
+public interface CentsDiscountStrategy extends DiscountStrategy {
+    
+    /**
+     * Calcula o desconto em centavos
+     * 
+     * @param originalCents valor original em centavos
+     * @return valor do desconto em centavos
+     */
+    long calculateDiscountCents(long originalCents);
+}
@@ -0,0 +1,355 @@
+package com.bootcamp.designpatterns.strategy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Estrategia composta que empilha varios descontos (padrao Composite)
+ * 
+ * As etapas sao aplicadas em ordem sobre o valor restante: por exemplo,
+ * percentual da categoria, depois cupom de valor fixo e por fim desconto
+ * progressivo do carrinho. O total pode ser limitado por um percentual
+ * maximo e/ou por um valor maximo.
+ * 
+ * Na construcao as etapas sao compiladas em uma avaliacao unica:
+ * percentuais e valores fixos consecutivos formam uma funcao afim
+ * (restante * fator - deducao) calculada uma vez, e as etapas progressivas
+ * guardam o fator de cada faixa ja pronto. Cada preco e avaliado em uma
+ * passada, sem arredondamentos intermediarios, com um unico arredondamento
+ * HALF_UP no final.
+ */
+public final class CompositeDiscountStrategy extends BuiltInDiscountStrategy {
+    
+    // Etapas originais, na ordem de empilhamento
+    private final List<DiscountStrategy> stages;
+    
+    // Etapas compiladas
+    private final Step[] steps;
+    
+    // Limites do desconto total (nulos quando nao configurados)
+    private final BigDecimal maxDiscountRate;
+    private final BigDecimal maxDiscountAmount;
+    
+    private final String discountInfo;
+    
+    // Nula se alguma etapa nao puder ser memorizada
+    private final String fingerprint;
+    
+    private CompositeDiscountStrategy(Builder builder) {
+        super(Kind.COMPOSITE);
+        this.stages = Collections.unmodifiableList(new ArrayList<>(builder.stages));
+        this.maxDiscountRate = builder.maxDiscountRate;
+        this.maxDiscountAmount = builder.maxDiscountAmount;
+        this.steps = compile(stages);
+        this.discountInfo = describe();
+        this.fingerprint = fingerprint();
+    }
+    
+    /**
+     * Cria um builder para montar a composicao
+     * 
+     * @return novo builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Calcula o desconto total em uma unica passada
+     * 
+     * @param originalValue valor original do produto
+     * @return desconto total, limitado pelos tetos e arredondado uma vez
+     */
+    @Override
+    public BigDecimal calculateDiscount(BigDecimal originalValue) {
+        if (originalValue == null || originalValue.compareTo(BigDecimal.ZERO) <= 0) {
+            return BigDecimal.ZERO;
+        }
+        
+        BigDecimal remaining = originalValue;
+        for (Step step : steps) {
+            remaining = step.apply(remaining);
+        }
+        
+        // Um valor restante negativo permanece negativo nas etapas seguintes,
+        // entao limitar a zero apenas no final equivale a limitar a cada etapa
+        BigDecimal discount = remaining.signum() <= 0 ? originalValue : originalValue.subtract(remaining);
+        
+        if (maxDiscountRate != null) {
+            discount = discount.min(originalValue.multiply(maxDiscountRate));
+        }
+        if (maxDiscountAmount != null) {
+            discount = discount.min(maxDiscountAmount);
+        }
+        
+        return discount.setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    /**
+     * Retorna a descricao do desconto
+     * 
+     * @return descricao do desconto composto
+     */
+    @Override
+    public String getDescription() {
+        return "Desconto Composto";
+    }
+    
+    /**
+     * Retorna as etapas e limites da composicao
+     * 
+     * @return etapas separadas por "+" seguidas dos limites
+     */
+    @Override
+    public String getDiscountInfo() {
+        return discountInfo;
+    }
+    
+    /**
+     * Retorna as etapas na ordem de empilhamento
+     * 
+     * @return lista imutavel de etapas
+     */
+    public List<DiscountStrategy> getStages() {
+        return stages;
+    }
+    
+    public BigDecimal getMaxDiscountRate() { return maxDiscountRate; }
+    public BigDecimal getMaxDiscountAmount() { return maxDiscountAmount; }
+    
+    /**
+     * Compila as etapas em passos fundidos
+     * 
+     * @param stages etapas na ordem de empilhamento
+     * @return passos prontos para avaliacao
+     */
+    private static Step[] compile(List<DiscountStrategy> stages) {
+        List<Step> compiled = new ArrayList<>();
+        BigDecimal factor = BigDecimal.ONE;
+        BigDecimal deduction = BigDecimal.ZERO;
+        boolean pendingAffine = false;
+        
+        for (DiscountStrategy stage : stages) {
+            if (stage instanceof PercentageDiscountStrategy) {
+                // r -> (r * f - d) * (1 - p)
+                BigDecimal keep = BigDecimal.ONE.subtract(((PercentageDiscountStrategy) stage).getPercentage());
+                factor = factor.multiply(keep);
+                deduction = deduction.multiply(keep);
+                pendingAffine = true;
+            } else if (stage instanceof FixedDiscountStrategy) {
+                // r -> r * f - d - F
+                deduction = deduction.add(((FixedDiscountStrategy) stage).getFixedAmount());
+                pendingAffine = true;
+            } else {
+                if (pendingAffine) {
+                    compiled.add(Step.affine(factor, deduction));
+                    factor = BigDecimal.ONE;
+                    deduction = BigDecimal.ZERO;
+                    pendingAffine = false;
+                }
+                compiled.add(Step.progressive(((ProgressiveDiscountStrategy) stage).getTierTable()));
+            }
+        }
+        
+        if (pendingAffine) {
+            compiled.add(Step.affine(factor, deduction));
+        }
+        
+        return compiled.toArray(new Step[0]);
+    }
+    
+    /**
+     * Retorna a impressao digital da composicao
+     * 
+     * @return etapas e limites em forma canonica
+     */
+    @Override
+    public String getFingerprint() {
+        return fingerprint;
+    }
+    
+    private String fingerprint() {
+        StringBuilder text = new StringBuilder("composite(");
+        for (DiscountStrategy stage : stages) {
+            String stageFingerprint = stage.getFingerprint();
+            if (stageFingerprint == null) {
+                return null;
+            }
+            text.append(stageFingerprint).append(',');
+        }
+        text.append("maxRate=").append(maxDiscountRate == null ? "-" : maxDiscountRate.stripTrailingZeros().toPlainString())
+            .append(",maxAmount=").append(maxDiscountAmount == null ? "-" : maxDiscountAmount.stripTrailingZeros().toPlainString())
+            .append(')');
+        return text.toString();
+    }
+    
+    private String describe() {
+        StringBuilder text = new StringBuilder();
+        for (DiscountStrategy stage : stages) {
+            if (text.length() > 0) {
+                text.append(" + ");
+            }
+            text.append(stage instanceof ProgressiveDiscountStrategy
+                    ? "progressivo (" + stage.getDiscountInfo() + ")"
+                    : stage.getDiscountInfo());
+        }
+        if (maxDiscountRate != null) {
+            text.append(" | maximo ")
+                .append(maxDiscountRate.multiply(new BigDecimal("100")).setScale(1, RoundingMode.HALF_UP)).append('%');
+        }
+        if (maxDiscountAmount != null) {
+            text.append(" | maximo R$ ").append(maxDiscountAmount.setScale(2, RoundingMode.HALF_UP));
+        }
+        return text.toString();
+    }
+    
+    /**
+     * Passo compilado da avaliacao fundida
+     */
+    private static final class Step {
+        private static final int AFFINE = 0;
+        private static final int PROGRESSIVE = 1;
+        
+        private final int kind;
+        
+        // Passo afim: restante * factor - deduction
+        private final BigDecimal factor;
+        private final BigDecimal deduction;
+        
+        // Passo progressivo: fator (1 - percentual) pre-calculado por faixa
+        private final DiscountTierTable tiers;
+        private final BigDecimal[] keepFactors;
+        
+        private Step(int kind, BigDecimal factor, BigDecimal deduction, DiscountTierTable tiers, BigDecimal[] keepFactors) {
+            this.kind = kind;
+            this.factor = factor;
+            this.deduction = deduction;
+            this.tiers = tiers;
+            this.keepFactors = keepFactors;
+        }
+        
+        static Step affine(BigDecimal factor, BigDecimal deduction) {
+            return new Step(AFFINE, factor.stripTrailingZeros(), deduction.stripTrailingZeros(), null, null);
+        }
+        
+        static Step progressive(DiscountTierTable tiers) {
+            BigDecimal[] keepFactors = new BigDecimal[tiers.tierCount()];
+            for (int i = 0; i < keepFactors.length; i++) {
+                keepFactors[i] = BigDecimal.ONE.subtract(tiers.rate(i)).stripTrailingZeros();
+            }
+            return new Step(PROGRESSIVE, null, null, tiers, keepFactors);
+        }
+        
+        BigDecimal apply(BigDecimal remaining) {
+            if (kind == AFFINE) {
+                BigDecimal scaled = factor.compareTo(BigDecimal.ONE) == 0 ? remaining : remaining.multiply(factor);
+                return deduction.signum() == 0 ? scaled : scaled.subtract(deduction);
+            }
+            // A faixa e escolhida pelo valor restante, como no encadeamento simples
+            return remaining.multiply(keepFactors[tiers.tierIndex(remaining)]);
+        }
+    }
+    
+    /**
+     * Builder da estrategia composta
+     */
+    public static final class Builder {
+        private final List<DiscountStrategy> stages = new ArrayList<>();
+        private BigDecimal maxDiscountRate;
+        private BigDecimal maxDiscountAmount;
+        
+        private Builder() {
+        }
+        
+        /**
+         * Adiciona uma etapa de desconto percentual
+         * 
+         * @param percentage percentual (0.0 a 1.0)
+         * @return este builder
+         */
+        public Builder percentage(BigDecimal percentage) {
+            return then(new PercentageDiscountStrategy(percentage));
+        }
+        
+        /**
+         * Adiciona uma etapa de desconto fixo
+         * 
+         * @param amount valor fixo
+         * @return este builder
+         */
+        public Builder fixed(BigDecimal amount) {
+            return then(new FixedDiscountStrategy(amount));
+        }
+        
+        /**
+         * Adiciona uma etapa de desconto progressivo
+         * 
+         * @param tiers tabela de faixas
+         * @return este builder
+         */
+        public Builder progressive(DiscountTierTable tiers) {
+            return then(new ProgressiveDiscountStrategy(tiers));
+        }
+        
+        /**
+         * Adiciona uma estrategia existente como proxima etapa
+         * 
+         * @param stage estrategia percentual, fixa ou progressiva
+         * @return este builder
+         * @throws IllegalArgumentException se a estrategia nao puder ser compilada
+         */
+        public Builder then(DiscountStrategy stage) {
+            if (!(stage instanceof PercentageDiscountStrategy)
+                    && !(stage instanceof FixedDiscountStrategy)
+                    && !(stage instanceof ProgressiveDiscountStrategy)) {
+                throw new IllegalArgumentException("Estrategia nao suportada na composicao: "
+                        + (stage == null ? "null" : stage.getDescription()));
+            }
+            stages.add(stage);
+            return this;
+        }
+        
+        /**
+         * Limita o desconto total a um percentual do valor original
+         * 
+         * @param rate percentual maximo (0.0 a 1.0)
+         * @return este builder
+         */
+        public Builder maxDiscountRate(BigDecimal rate) {
+            if (rate == null || rate.compareTo(BigDecimal.ZERO) < 0 || rate.compareTo(BigDecimal.ONE) > 0) {
+                throw new IllegalArgumentException("Percentual maximo deve estar entre 0 e 1");
+            }
+            this.maxDiscountRate = rate;
+            return this;
+        }
+        
+        /**
+         * Limita o desconto total a um valor maximo
+         * 
+         * @param amount valor maximo de desconto
+         * @return este builder
+         */
+        public Builder maxDiscountAmount(BigDecimal amount) {
+            if (amount == null || amount.compareTo(BigDecimal.ZERO) < 0) {
+                throw new IllegalArgumentException("Valor maximo deve ser maior ou igual a zero");
+            }
+            this.maxDiscountAmount = amount;
+            return this;
+        }
+        
+        /**
+         * Compila a composicao
+         * 
+         * @return estrategia composta imutavel
+         */
+        public CompositeDiscountStrategy build() {
+            if (stages.isEmpty()) {
+                throw new IllegalArgumentException("Composicao deve ter ao menos uma etapa");
+            }
+            return new CompositeDiscountStrategy(this);
+        }
+    }
+}
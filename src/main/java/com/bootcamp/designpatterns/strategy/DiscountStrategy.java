@@ -33,4 +33,33 @@ public interface DiscountStrategy {
      * @return representacao string do desconto
      */
     String getDiscountInfo();
+    
+    /**
+     * Identifica a definicao da estrategia para caches de calculo
+     * 
+     * Duas estrategias com a mesma impressao digital devem produzir os
+     * mesmos descontos. Quando a definicao muda a impressao muda junto,
+     * entao resultados memorizados da definicao antiga deixam de ser usados.
+     * O padrao null indica que os resultados nao podem ser memorizados.
+     * 
+     * @return impressao digital da definicao ou null
+     */
+    default String getFingerprint() {
+        return null;
+    }
+    
+    /**
+     * Calcula o desconto de um carrinho inteiro
+     * 
+     * Estrategias que dependem da quantidade de itens sobrescrevem este
+     * metodo. O padrao null indica que o subtotal basta, e o chamador
+     * aplica o calculo normal por valor.
+     * 
+     * @param subtotal subtotal do carrinho
+     * @param totalQuantity quantidade total de itens
+     * @return valor do desconto ou null
+     */
+    default BigDecimal calculateCartDiscount(BigDecimal subtotal, int totalQuantity) {
+        return null;
+    }
 }
\ No newline at end of file
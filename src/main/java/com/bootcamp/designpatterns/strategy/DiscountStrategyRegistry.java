@@ -0,0 +1,282 @@
+package com.bootcamp.designpatterns.strategy;
+
+import com.bootcamp.designpatterns.strategy.rules.RuleBasedDiscountStrategy;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro de estrategias de desconto (padrao Flyweight)
+ * 
+ * As estrategias sao imutaveis, entao instancias com o mesmo tipo e o
+ * mesmo valor podem ser compartilhadas. O registro interna as estrategias
+ * por (tipo, valor normalizado) ou pelo texto das regras, no caso das
+ * estrategias definidas por regras, limita o numero de entradas e descarta
+ * as mais antigas quando a capacidade e excedida.
+ * 
+ * Reutilizar a mesma instancia evita alocar e validar a estrategia a cada
+ * requisicao e mantem estaveis os receptores vistos pelo JIT.
+ */
+public class DiscountStrategyRegistry {
+    
+    // Capacidade padrao do registro compartilhado
+    public static final int DEFAULT_CAPACITY = 256;
+    
+    // Valores padrao quando a requisicao nao informa o desconto
+    private static final BigDecimal DEFAULT_PERCENTAGE_POINTS = BigDecimal.TEN;
+    private static final BigDecimal DEFAULT_FIXED_AMOUNT = new BigDecimal("50");
+    
+    // Instancia compartilhada, marcada como volatile para thread safety
+    private static volatile DiscountStrategyRegistry instance;
+    
+    private final int capacity;
+    private final ConcurrentHashMap<StrategyKey, DiscountStrategy> strategies;
+    
+    // Ordem de insercao usada para descartar as entradas mais antigas
+    private final ConcurrentLinkedQueue<StrategyKey> insertionOrder = new ConcurrentLinkedQueue<>();
+    
+    // Tabela usada pelas estrategias progressivas criadas pelo registro
+    private volatile DiscountTierTable progressiveTierTable = DiscountTierTable.DEFAULT;
+    
+    // Contadores de uso do registro
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    /**
+     * Construtor com capacidade maxima
+     * 
+     * @param capacity numero maximo de estrategias mantidas
+     */
+    public DiscountStrategyRegistry(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacidade deve ser maior que zero");
+        }
+        this.capacity = capacity;
+        this.strategies = new ConcurrentHashMap<>(Math.min(capacity, 1024) * 2);
+    }
+    
+    /**
+     * Obtem o registro compartilhado pela aplicacao
+     * Implementa Double-Checked Locking, como DatabaseConnection
+     * 
+     * @return registro compartilhado
+     */
+    public static DiscountStrategyRegistry getInstance() {
+        if (instance == null) {
+            synchronized (DiscountStrategyRegistry.class) {
+                if (instance == null) {
+                    instance = new DiscountStrategyRegistry(DEFAULT_CAPACITY);
+                }
+            }
+        }
+        return instance;
+    }
+    
+    /**
+     * Obtem a estrategia para o tipo e valor informados
+     * 
+     * @param type tipo de estrategia: percentage, fixed ou progressive
+     * @param value percentual de 0 a 100 ou valor fixo (opcional)
+     * @return estrategia compartilhada
+     * @throws IllegalArgumentException se o tipo nao for suportado ou o valor for invalido
+     */
+    public DiscountStrategy getStrategy(String type, BigDecimal value) {
+        return lookup(StrategyKey.of(type, value));
+    }
+    
+    /**
+     * Obtem a estrategia definida pelo texto de regras informado
+     * 
+     * As regras sao interpretadas e compiladas apenas na primeira busca;
+     * as seguintes com o mesmo texto reutilizam a estrategia compilada.
+     * 
+     * @param rules texto das regras (veja DiscountRuleSet)
+     * @return estrategia compartilhada
+     * @throws IllegalArgumentException se as regras forem invalidas
+     */
+    public DiscountStrategy getRuleStrategy(String rules) {
+        return lookup(StrategyKey.ofRules(rules));
+    }
+    
+    private DiscountStrategy lookup(StrategyKey key) {
+        DiscountStrategy strategy = strategies.get(key);
+        if (strategy != null) {
+            hits.increment();
+            return strategy;
+        }
+        
+        boolean[] created = new boolean[1];
+        strategy = strategies.computeIfAbsent(key, k -> {
+            created[0] = true;
+            return create(k);
+        });
+        
+        if (created[0]) {
+            misses.increment();
+            insertionOrder.add(key);
+            evictIfNecessary();
+        } else {
+            hits.increment();
+        }
+        
+        return strategy;
+    }
+    
+    /**
+     * Descarta as entradas mais antigas enquanto a capacidade for excedida
+     */
+    private void evictIfNecessary() {
+        while (strategies.size() > capacity) {
+            StrategyKey oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            if (strategies.remove(oldest) != null) {
+                evictions.increment();
+            }
+        }
+    }
+    
+    /**
+     * Cria uma nova estrategia para a chave normalizada
+     * 
+     * @param key chave normalizada
+     * @return nova estrategia
+     */
+    private DiscountStrategy create(StrategyKey key) {
+        switch (key.type) {
+            case "percentage":
+                return new PercentageDiscountStrategy(key.value.movePointLeft(2));
+            case "fixed":
+                return new FixedDiscountStrategy(key.value);
+            case "progressive":
+                return new ProgressiveDiscountStrategy(progressiveTierTable);
+            case "rules":
+                return new RuleBasedDiscountStrategy(key.source);
+            default:
+                throw new IllegalArgumentException("Tipo de estrategia nao suportado: " + key.type);
+        }
+    }
+    
+    /**
+     * Define a tabela de faixas usada pela estrategia progressiva
+     * 
+     * A estrategia progressiva ja armazenada e descartada para que as
+     * proximas buscas usem a nova tabela. Deve ser chamado na inicializacao,
+     * antes do trafego de precificacao.
+     * 
+     * @param tierTable nova tabela de faixas
+     */
+    public void setProgressiveTierTable(DiscountTierTable tierTable) {
+        if (tierTable == null) {
+            throw new IllegalArgumentException("Tabela de faixas e obrigatoria");
+        }
+        this.progressiveTierTable = tierTable;
+        StrategyKey key = StrategyKey.of("progressive", null);
+        if (strategies.remove(key) != null) {
+            // Sem isso a chave antiga ficaria na fila e descartaria a nova estrategia
+            insertionOrder.remove(key);
+        }
+    }
+    
+    /**
+     * Retorna a tabela de faixas usada pela estrategia progressiva
+     * 
+     * @return tabela de faixas atual
+     */
+    public DiscountTierTable getProgressiveTierTable() {
+        return progressiveTierTable;
+    }
+    
+    /**
+     * Remove todas as estrategias do registro
+     */
+    public void clear() {
+        strategies.clear();
+        insertionOrder.clear();
+    }
+    
+    // Metricas do registro
+    public int size() { return strategies.size(); }
+    public int getCapacity() { return capacity; }
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+    
+    @Override
+    public String toString() {
+        return String.format("DiscountStrategyRegistry{size=%d, capacity=%d, hits=%d, misses=%d, evictions=%d}", 
+                           size(), capacity, getHitCount(), getMissCount(), getEvictionCount());
+    }
+    
+    /**
+     * Chave normalizada de uma estrategia: tipo em minusculas e valor
+     * sem zeros a direita (10, 10.0 e 10.00 resultam na mesma chave)
+     * ou, para regras, o texto sem espacos nas extremidades
+     */
+    private static final class StrategyKey {
+        private final String type;
+        private final BigDecimal value;
+        private final String source;
+        private final int hash;
+        
+        private StrategyKey(String type, BigDecimal value) {
+            this(type, value, null);
+        }
+        
+        private StrategyKey(String type, BigDecimal value, String source) {
+            this.type = type;
+            this.value = value;
+            this.source = source;
+            this.hash = 31 * (31 * type.hashCode() + Objects.hashCode(value)) + Objects.hashCode(source);
+        }
+        
+        static StrategyKey ofRules(String source) {
+            if (source == null || source.isBlank()) {
+                throw new IllegalArgumentException("Regras de desconto nao informadas");
+            }
+            return new StrategyKey("rules", null, source.strip());
+        }
+        
+        static StrategyKey of(String type, BigDecimal value) {
+            if (type == null) {
+                throw new IllegalArgumentException("Tipo de estrategia e obrigatorio");
+            }
+            String normalizedType = type.toLowerCase(Locale.ROOT);
+            switch (normalizedType) {
+                case "percentage":
+                    return new StrategyKey(normalizedType,
+                            (value != null ? value : DEFAULT_PERCENTAGE_POINTS).stripTrailingZeros());
+                case "fixed":
+                    return new StrategyKey(normalizedType,
+                            (value != null ? value : DEFAULT_FIXED_AMOUNT).stripTrailingZeros());
+                case "progressive":
+                    // Estrategia progressiva ignora o valor informado
+                    return new StrategyKey(normalizedType, null);
+                case "rules":
+                    throw new IllegalArgumentException("Estrategia por regras exige o texto das regras");
+                default:
+                    throw new IllegalArgumentException("Tipo de estrategia nao suportado: " + type);
+            }
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof StrategyKey)) return false;
+            StrategyKey other = (StrategyKey) o;
+            return type.equals(other.type) && Objects.equals(value, other.value)
+                    && Objects.equals(source, other.source);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.bootcamp.designpatterns.strategy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tabela imutavel de faixas para desconto progressivo
+ * 
+ * Cada faixa possui um limite superior (inclusive) e o percentual aplicado
+ * aos valores ate esse limite. A ultima faixa e aberta e vale para qualquer
+ * valor acima do ultimo limite.
+ * 
+ * Limites e percentuais ficam em arrays ordenados, de modo que a faixa de
+ * um valor e encontrada por busca binaria em O(log n), sem alocacao.
+ */
+public final class DiscountTierTable {
+    
+    // Maior limite representavel em centavos
+    private static final BigDecimal MAX_CENTS_AMOUNT = FixedPointMath.fromCents(Long.MAX_VALUE);
+    
+    /**
+     * Tabela padrao: 5% ate R$ 100, 10% ate R$ 500 e 15% acima de R$ 500
+     */
+    public static final DiscountTierTable DEFAULT = DiscountTierTable.of(List.of(
+        new Tier(new BigDecimal("100.00"), new BigDecimal("0.05")),
+        new Tier(new BigDecimal("500.00"), new BigDecimal("0.10")),
+        new Tier(null, new BigDecimal("0.15"))
+    ));
+    
+    // Limites superiores (inclusive) das faixas fechadas, em ordem crescente
+    private final BigDecimal[] upperBounds;
+    private final long[] upperBoundCents;
+    
+    // Percentual de cada faixa (uma posicao a mais que os limites)
+    private final BigDecimal[] rates;
+    private final long[] rateUnscaled;
+    private final int[] rateScale;
+    
+    // Textos pre-calculados para exibicao
+    private final String[] rateLabels;
+    private final String description;
+    private final String fingerprint;
+    
+    /**
+     * Definicao de uma faixa
+     * 
+     * @param upTo limite superior inclusive (nulo na ultima faixa)
+     * @param rate percentual da faixa (0.0 a 1.0)
+     */
+    public record Tier(BigDecimal upTo, BigDecimal rate) {
+    }
+    
+    private DiscountTierTable(BigDecimal[] upperBounds, BigDecimal[] rates) {
+        this.upperBounds = upperBounds;
+        this.rates = rates;
+        this.upperBoundCents = new long[upperBounds.length];
+        this.rateUnscaled = new long[rates.length];
+        this.rateScale = new int[rates.length];
+        this.rateLabels = new String[rates.length];
+        
+        for (int i = 0; i < upperBounds.length; i++) {
+            // c <= limite  <=>  c <= floor(limite * 100) para valores inteiros em centavos
+            upperBoundCents[i] = upperBounds[i].compareTo(MAX_CENTS_AMOUNT) >= 0
+                    ? Long.MAX_VALUE
+                    : upperBounds[i].setScale(FixedPointMath.CENTS_SCALE, RoundingMode.FLOOR).unscaledValue().longValueExact();
+        }
+        
+        for (int i = 0; i < rates.length; i++) {
+            BigDecimal normalized = FixedPointMath.normalizeRate(rates[i]);
+            rateUnscaled[i] = normalized.unscaledValue().longValue();
+            rateScale[i] = normalized.scale();
+            rateLabels[i] = rates[i].movePointRight(2).stripTrailingZeros().toPlainString() + "%";
+        }
+        
+        this.description = describe();
+        this.fingerprint = fingerprint();
+    }
+    
+    /**
+     * Cria uma tabela a partir de uma lista de faixas
+     * 
+     * @param tiers faixas em ordem crescente; apenas a ultima pode ter limite nulo
+     * @return tabela validada
+     * @throws IllegalArgumentException se as faixas forem invalidas
+     */
+    public static DiscountTierTable of(List<Tier> tiers) {
+        if (tiers == null || tiers.isEmpty()) {
+            throw new IllegalArgumentException("Tabela de faixas deve ter ao menos uma faixa");
+        }
+        
+        int last = tiers.size() - 1;
+        BigDecimal[] upperBounds = new BigDecimal[last];
+        BigDecimal[] rates = new BigDecimal[tiers.size()];
+        
+        for (int i = 0; i < tiers.size(); i++) {
+            Tier tier = tiers.get(i);
+            BigDecimal rate = tier.rate();
+            
+            if (rate == null || rate.compareTo(BigDecimal.ZERO) < 0 || rate.compareTo(BigDecimal.ONE) > 0) {
+                throw new IllegalArgumentException("Percentual da faixa " + (i + 1) + " deve estar entre 0 e 1");
+            }
+            if (!FixedPointMath.fitsFixedPoint(FixedPointMath.normalizeRate(rate))) {
+                throw new IllegalArgumentException("Percentual da faixa " + (i + 1) + " tem precisao excessiva");
+            }
+            rates[i] = rate;
+            
+            if (i == last) {
+                if (tier.upTo() != null) {
+                    throw new IllegalArgumentException("Ultima faixa deve ser aberta (sem limite superior)");
+                }
+            } else {
+                if (tier.upTo() == null || tier.upTo().signum() <= 0) {
+                    throw new IllegalArgumentException("Limite da faixa " + (i + 1) + " deve ser maior que zero");
+                }
+                if (i > 0 && tier.upTo().compareTo(upperBounds[i - 1]) <= 0) {
+                    throw new IllegalArgumentException("Limites das faixas devem ser estritamente crescentes");
+                }
+                upperBounds[i] = tier.upTo();
+            }
+        }
+        
+        return new DiscountTierTable(upperBounds, rates);
+    }
+    
+    /**
+     * Le uma tabela em formato texto
+     * 
+     * Uma faixa por linha no formato {@code limite ; percentual}. A ultima
+     * linha usa {@code *} como limite. Linhas vazias e iniciadas por
+     * {@code #} sao ignoradas. Exemplo:
+     * <pre>
+     * 100.00 ; 0.05
+     * 500.00 ; 0.10
+     * *      ; 0.15
+     * </pre>
+     * 
+     * @param text conteudo da tabela
+     * @return tabela validada
+     */
+    public static DiscountTierTable parse(String text) {
+        List<Tier> tiers = new ArrayList<>();
+        String[] lines = text.split("\\R");
+        
+        for (int lineNumber = 0; lineNumber < lines.length; lineNumber++) {
+            String line = lines[lineNumber].trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            
+            String[] parts = line.split(";");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Linha " + (lineNumber + 1) + " invalida: esperado 'limite ; percentual'");
+            }
+            
+            try {
+                String limit = parts[0].trim();
+                BigDecimal upTo = "*".equals(limit) ? null : new BigDecimal(limit);
+                tiers.add(new Tier(upTo, new BigDecimal(parts[1].trim())));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Linha " + (lineNumber + 1) + " contem numero invalido: " + line);
+            }
+        }
+        
+        return of(tiers);
+    }
+    
+    /**
+     * Le uma tabela de um arquivo texto (UTF-8)
+     * 
+     * @param file caminho do arquivo
+     * @return tabela validada
+     * @throws IOException se o arquivo nao puder ser lido
+     */
+    public static DiscountTierTable fromFile(Path file) throws IOException {
+        return parse(Files.readString(file, StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Encontra a faixa de um valor por busca binaria
+     * 
+     * @param value valor positivo
+     * @return indice da faixa (0 a tierCount() - 1)
+     */
+    public int tierIndex(BigDecimal value) {
+        int low = 0;
+        int high = upperBounds.length - 1;
+        
+        // Menor indice cujo limite e maior ou igual ao valor
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (upperBounds[mid].compareTo(value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * Encontra a faixa de um valor em centavos por busca binaria
+     * 
+     * @param cents valor positivo em centavos
+     * @return indice da faixa (0 a tierCount() - 1)
+     */
+    public int tierIndex(long cents) {
+        int low = 0;
+        int high = upperBoundCents.length - 1;
+        
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (upperBoundCents[mid] < cents) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * Aplica o percentual de uma faixa a um valor em centavos
+     * 
+     * @param tier indice da faixa
+     * @param cents valor em centavos
+     * @return desconto em centavos, arredondado HALF_UP
+     */
+    public long applyRateCents(int tier, long cents) {
+        return FixedPointMath.applyRate(cents, rateUnscaled[tier], rateScale[tier]);
+    }
+    
+    // Acesso as faixas
+    public int tierCount() { return rates.length; }
+    public BigDecimal rate(int tier) { return rates[tier]; }
+    public String rateLabel(int tier) { return rateLabels[tier]; }
+    
+    /**
+     * Retorna o limite superior de uma faixa
+     * 
+     * @param tier indice da faixa
+     * @return limite inclusive, ou nulo para a ultima faixa
+     */
+    public BigDecimal upperBound(int tier) {
+        return tier < upperBounds.length ? upperBounds[tier] : null;
+    }
+    
+    /**
+     * Lista as faixas da tabela
+     * 
+     * @return copia das faixas em ordem crescente
+     */
+    public List<Tier> tiers() {
+        List<Tier> tiers = new ArrayList<>(rates.length);
+        for (int i = 0; i < rates.length; i++) {
+            tiers.add(new Tier(upperBound(i), rates[i]));
+        }
+        return tiers;
+    }
+    
+    /**
+     * Retorna a descricao textual das faixas
+     * 
+     * @return texto no formato "5% ate R$100, 10% ate R$500, 15% acima de R$500"
+     */
+    public String getDescription() {
+        return description;
+    }
+    
+    /**
+     * Retorna a definicao canonica das faixas
+     * 
+     * Tabelas com os mesmos limites e percentuais tem a mesma impressao,
+     * independentemente da escala usada ao declara-las.
+     * 
+     * @return texto no formato "100:0.05|500:0.1|*:0.15"
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+    
+    private String fingerprint() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < rates.length; i++) {
+            if (i > 0) {
+                text.append('|');
+            }
+            text.append(i < upperBounds.length ? upperBounds[i].stripTrailingZeros().toPlainString() : "*")
+                .append(':').append(rates[i].stripTrailingZeros().toPlainString());
+        }
+        return text.toString();
+    }
+    
+    private String describe() {
+        if (upperBounds.length == 0) {
+            return rateLabels[0] + " para qualquer valor";
+        }
+        
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < upperBounds.length; i++) {
+            text.append(rateLabels[i]).append(" ate R$").append(upperBounds[i].stripTrailingZeros().toPlainString()).append(", ");
+        }
+        text.append(rateLabels[upperBounds.length]).append(" acima de R$")
+            .append(upperBounds[upperBounds.length - 1].stripTrailingZeros().toPlainString());
+        return text.toString();
+    }
+    
+    @Override
+    public String toString() {
+        return "DiscountTierTable{" + description + "}";
+    }
+}
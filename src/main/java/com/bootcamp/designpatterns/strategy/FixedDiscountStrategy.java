@@ -8,21 +8,35 @@ import java.math.RoundingMode;
  * 
  * Implementa um desconto com valor fixo, independente do valor original.
  */
-public class FixedDiscountStrategy implements DiscountStrategy {
+public final class FixedDiscountStrategy extends BuiltInDiscountStrategy implements CentsDiscountStrategy {
+    
+    // Maior valor representavel em centavos
+    private static final BigDecimal MAX_CENTS_AMOUNT = FixedPointMath.fromCents(Long.MAX_VALUE);
     
     // Valor fixo de desconto
     private final BigDecimal fixedAmount;
     
+    // Valor fixo ja arredondado em centavos (min e arredondamento comutam)
+    private final long fixedAmountCents;
+    
+    private final String fingerprint;
+    
     /**
      * Construtor da estrategia de desconto fixo
      * 
      * @param fixedAmount valor fixo do desconto
      */
     public FixedDiscountStrategy(BigDecimal fixedAmount) {
+        super(Kind.FIXED);
         if (fixedAmount == null || fixedAmount.compareTo(BigDecimal.ZERO) < 0) {
             throw new IllegalArgumentException("Valor fixo deve ser maior ou igual a zero");
         }
         this.fixedAmount = fixedAmount;
+        // Valores acima do limite de um long nunca sao menores que o preco em centavos
+        this.fixedAmountCents = fixedAmount.compareTo(MAX_CENTS_AMOUNT) >= 0
+                ? Long.MAX_VALUE
+                : FixedPointMath.roundToCents(fixedAmount);
+        this.fingerprint = "fixed:" + fixedAmount.stripTrailingZeros().toPlainString();
     }
     
     /**
@@ -41,6 +55,30 @@ public class FixedDiscountStrategy implements DiscountStrategy {
         return fixedAmount.min(originalValue).setScale(2, RoundingMode.HALF_UP);
     }
     
+    /**
+     * Calcula o desconto fixo em centavos, sem alocacao
+     * 
+     * @param originalCents valor original em centavos
+     * @return valor do desconto em centavos (nao pode exceder o valor original)
+     */
+    @Override
+    public long calculateDiscountCents(long originalCents) {
+        if (originalCents <= 0) {
+            return 0L;
+        }
+        
+        return Math.min(fixedAmountCents, originalCents);
+    }
+    
+    /**
+     * Retorna o valor fixo de desconto
+     * 
+     * @return valor fixo
+     */
+    public BigDecimal getFixedAmount() {
+        return fixedAmount;
+    }
+    
     /**
      * Retorna a descricao do desconto
      * 
@@ -60,4 +98,14 @@ public class FixedDiscountStrategy implements DiscountStrategy {
     public String getDiscountInfo() {
         return "R$ " + fixedAmount.setScale(2, RoundingMode.HALF_UP);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Retorna a impressao digital da definicao
+     * 
+     * @return identificador estavel da estrategia
+     */
+    @Override
+    public String getFingerprint() {
+        return fingerprint;
+    }
+}
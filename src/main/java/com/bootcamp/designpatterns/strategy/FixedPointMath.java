@@ -0,0 +1,139 @@
+package com.bootcamp.designpatterns.strategy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Aritmetica de ponto fixo em centavos ({@code long})
+ * 
+ * Reproduz exatamente o arredondamento HALF_UP usado pelas estrategias
+ * baseadas em BigDecimal, mas trabalhando com primitivos. Nenhum metodo
+ * do caminho principal aloca objetos.
+ */
+public final class FixedPointMath {
+    
+    // Quantidade de casas decimais de um valor monetario em centavos
+    public static final int CENTS_SCALE = 2;
+    
+    // Maior escala suportada por um long (10^18 ainda cabe em 63 bits)
+    public static final int MAX_RATE_SCALE = 18;
+    
+    // Potencias de 10 pre-calculadas para evitar Math.pow
+    private static final long[] POWERS_OF_TEN = new long[MAX_RATE_SCALE + 1];
+    
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+        }
+    }
+    
+    // Classe utilitaria nao deve ser instanciada
+    private FixedPointMath() {
+    }
+    
+    /**
+     * Converte um valor monetario em centavos
+     * 
+     * @param value valor com no maximo duas casas decimais
+     * @return valor em centavos
+     * @throws ArithmeticException se o valor tiver mais de duas casas ou nao couber em um long
+     */
+    public static long toCents(BigDecimal value) {
+        return value.setScale(CENTS_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+    
+    /**
+     * Converte centavos de volta para BigDecimal com escala 2
+     * 
+     * @param cents valor em centavos
+     * @return valor monetario equivalente
+     */
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, CENTS_SCALE);
+    }
+    
+    /**
+     * Retorna 10 elevado a potencia informada
+     * 
+     * @param exponent expoente entre 0 e 18
+     * @return 10^exponent
+     */
+    public static long powerOfTen(int exponent) {
+        return POWERS_OF_TEN[exponent];
+    }
+    
+    /**
+     * Divide dois valores nao negativos arredondando HALF_UP
+     * 
+     * @param numerator dividendo (maior ou igual a zero)
+     * @param divisor divisor (maior que zero)
+     * @return quociente arredondado
+     */
+    public static long divideHalfUp(long numerator, long divisor) {
+        long quotient = numerator / divisor;
+        long remainder = numerator - quotient * divisor;
+        return remainder >= divisor - remainder ? quotient + 1 : quotient;
+    }
+    
+    /**
+     * Aplica uma taxa decimal a um valor em centavos
+     * 
+     * A taxa e representada por {@code rateUnscaled / 10^rateScale}, a mesma
+     * forma interna de um BigDecimal. O resultado equivale a
+     * {@code fromCents(cents).multiply(rate).setScale(2, HALF_UP)}.
+     * 
+     * @param cents valor em centavos (maior ou igual a zero)
+     * @param rateUnscaled valor nao escalado da taxa (maior ou igual a zero)
+     * @param rateScale escala da taxa (0 a 18)
+     * @return valor resultante em centavos
+     */
+    public static long applyRate(long cents, long rateUnscaled, int rateScale) {
+        if (cents == 0 || rateUnscaled == 0) {
+            return 0L;
+        }
+        
+        long high = Math.multiplyHigh(cents, rateUnscaled);
+        long product = cents * rateUnscaled;
+        if (high != 0 || product < 0) {
+            // Produto excede 63 bits: caminho lento, raro para precos reais
+            return BigDecimal.valueOf(cents)
+                    .multiply(BigDecimal.valueOf(rateUnscaled, rateScale))
+                    .setScale(0, RoundingMode.HALF_UP)
+                    .longValueExact();
+        }
+        
+        return rateScale == 0 ? product : divideHalfUp(product, POWERS_OF_TEN[rateScale]);
+    }
+    
+    /**
+     * Arredonda um valor monetario para centavos usando HALF_UP
+     * 
+     * @param value valor monetario com qualquer escala
+     * @return valor arredondado em centavos
+     */
+    public static long roundToCents(BigDecimal value) {
+        return value.setScale(CENTS_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+    
+    /**
+     * Normaliza uma taxa decimal para a representacao (unscaled, scale)
+     * 
+     * @param rate taxa decimal nao negativa
+     * @return taxa sem zeros a direita e com escala nao negativa
+     */
+    public static BigDecimal normalizeRate(BigDecimal rate) {
+        BigDecimal normalized = rate.stripTrailingZeros();
+        return normalized.scale() < 0 ? normalized.setScale(0) : normalized;
+    }
+    
+    /**
+     * Indica se a taxa pode ser aplicada pelo caminho de ponto fixo
+     * 
+     * @param normalizedRate taxa ja normalizada
+     * @return true se escala e valor nao escalado cabem em primitivos
+     */
+    public static boolean fitsFixedPoint(BigDecimal normalizedRate) {
+        return normalizedRate.scale() <= MAX_RATE_SCALE && normalizedRate.unscaledValue().bitLength() < 63;
+    }
+}
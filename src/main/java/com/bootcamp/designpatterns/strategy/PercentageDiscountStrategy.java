@@ -8,21 +8,35 @@ import java.math.RoundingMode;
  * 
  * Implementa um desconto baseado em percentual do valor original.
  */
-public class PercentageDiscountStrategy implements DiscountStrategy {
+public final class PercentageDiscountStrategy extends BuiltInDiscountStrategy implements CentsDiscountStrategy {
     
     // Percentual de desconto (ex: 0.10 para 10%)
     private final BigDecimal percentage;
     
+    // Representacao em ponto fixo do percentual (percentage = unscaled / 10^scale)
+    private final long rateUnscaled;
+    private final int rateScale;
+    private final boolean fixedPointCapable;
+    
+    private final String fingerprint;
+    
     /**
      * Construtor da estrategia de desconto percentual
      * 
      * @param percentage percentual de desconto (0.0 a 1.0)
      */
     public PercentageDiscountStrategy(BigDecimal percentage) {
+        super(Kind.PERCENTAGE);
         if (percentage.compareTo(BigDecimal.ZERO) < 0 || percentage.compareTo(BigDecimal.ONE) > 0) {
             throw new IllegalArgumentException("Percentual deve estar entre 0 e 1");
         }
         this.percentage = percentage;
+        
+        BigDecimal normalized = FixedPointMath.normalizeRate(percentage);
+        this.fixedPointCapable = FixedPointMath.fitsFixedPoint(normalized);
+        this.rateUnscaled = fixedPointCapable ? normalized.unscaledValue().longValue() : 0L;
+        this.rateScale = fixedPointCapable ? normalized.scale() : 0;
+        this.fingerprint = "percentage:" + normalized.toPlainString();
     }
     
     /**
@@ -40,6 +54,34 @@ public class PercentageDiscountStrategy implements DiscountStrategy {
         return originalValue.multiply(percentage).setScale(2, RoundingMode.HALF_UP);
     }
     
+    /**
+     * Calcula o desconto percentual em centavos, sem alocacao
+     * 
+     * @param originalCents valor original em centavos
+     * @return valor do desconto em centavos
+     */
+    @Override
+    public long calculateDiscountCents(long originalCents) {
+        if (originalCents <= 0) {
+            return 0L;
+        }
+        
+        if (!fixedPointCapable) {
+            return FixedPointMath.toCents(calculateDiscount(FixedPointMath.fromCents(originalCents)));
+        }
+        
+        return FixedPointMath.applyRate(originalCents, rateUnscaled, rateScale);
+    }
+    
+    /**
+     * Retorna o percentual de desconto
+     * 
+     * @return percentual (0.0 a 1.0)
+     */
+    public BigDecimal getPercentage() {
+        return percentage;
+    }
+    
     /**
      * Retorna a descricao do desconto
      * 
@@ -59,4 +101,14 @@ public class PercentageDiscountStrategy implements DiscountStrategy {
     public String getDiscountInfo() {
         return percentage.multiply(new BigDecimal("100")).setScale(1, RoundingMode.HALF_UP) + "%";
     }
-}
\ No newline at end of file
+    
+    /**
+     * Retorna a impressao digital da definicao
+     * 
+     * @return identificador estavel da estrategia
+     */
+    @Override
+    public String getFingerprint() {
+        return fingerprint;
+    }
+}
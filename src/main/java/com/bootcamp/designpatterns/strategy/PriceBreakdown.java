@@ -0,0 +1,94 @@
+package com.bootcamp.designpatterns.strategy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Resultado imutavel de um calculo de preco
+ * 
+ * Reune preco original, desconto, preco final e a estrategia aplicada.
+ * Por ser imutavel pode ser compartilhado livremente entre threads.
+ * 
+ * O texto de detalhes so e montado quando alguem o solicita (por exemplo,
+ * na serializacao JSON) e fica memorizado para as chamadas seguintes.
+ */
+public final class PriceBreakdown {
+    
+    private final BigDecimal originalPrice;
+    private final BigDecimal discount;
+    private final BigDecimal finalPrice;
+    private final DiscountStrategy strategy;
+    private final boolean valid;
+    
+    // Texto de detalhes montado sob demanda; corridas apenas repetem o mesmo calculo
+    private String details;
+    
+    /**
+     * Construtor completo
+     * 
+     * @param originalPrice preco original informado
+     * @param discount valor do desconto aplicado
+     * @param finalPrice preco final com desconto
+     * @param strategy estrategia utilizada no calculo
+     * @param valid false quando o preco original era nulo ou nao positivo
+     */
+    PriceBreakdown(BigDecimal originalPrice, BigDecimal discount, BigDecimal finalPrice,
+                   DiscountStrategy strategy, boolean valid) {
+        this.originalPrice = originalPrice;
+        this.discount = discount;
+        this.finalPrice = finalPrice;
+        this.strategy = strategy;
+        this.valid = valid;
+    }
+    
+    // Getters
+    public BigDecimal getOriginalPrice() { return originalPrice; }
+    public BigDecimal getDiscount() { return discount; }
+    public BigDecimal getFinalPrice() { return finalPrice; }
+    public String getStrategy() { return strategy.getDescription(); }
+    public String getStrategyInfo() { return strategy.getDiscountInfo(); }
+    public boolean isValid() { return valid; }
+    
+    /**
+     * Retorna a estrategia utilizada no calculo
+     * 
+     * @return estrategia de desconto
+     */
+    public DiscountStrategy discountStrategy() {
+        return strategy;
+    }
+    
+    /**
+     * Obtem informacoes detalhadas sobre o calculo
+     * 
+     * @return detalhes do calculo em formato string
+     */
+    public String getDetails() {
+        String text = details;
+        if (text == null) {
+            text = valid ? formatDetails() : "Preco invalido";
+            details = text;
+        }
+        return text;
+    }
+    
+    private String formatDetails() {
+        return new StringBuilder(128)
+            .append("Tipo: ").append(strategy.getDescription())
+            .append(" (").append(strategy.getDiscountInfo()).append(')')
+            .append(" | Preco Original: R$ ").append(money(originalPrice))
+            .append(" | Desconto: R$ ").append(money(discount))
+            .append(" | Preco Final: R$ ").append(money(finalPrice))
+            .toString();
+    }
+    
+    private static String money(BigDecimal value) {
+        return value.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("PriceBreakdown{originalPrice=%s, discount=%s, finalPrice=%s, strategy='%s'}", 
+                           originalPrice, discount, finalPrice, strategy.getDescription());
+    }
+}
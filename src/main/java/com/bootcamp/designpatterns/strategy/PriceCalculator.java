@@ -2,25 +2,34 @@ package com.bootcamp.designpatterns.strategy;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Contexto que utiliza as estrategias de desconto
  * 
  * Esta classe encapsula o uso das diferentes estrategias de desconto,
  * permitindo trocar o algoritmo de calculo em tempo de execucao.
+ * 
+ * As estrategias nativas ({@link BuiltInDiscountStrategy}) sao despachadas
+ * por um switch sobre o tipo, com uma chamada monomorfica por ramo; as
+ * estrategias customizadas sao chamadas pela interface.
  */
 public class PriceCalculator {
     
+    // Estrategia compartilhada para quando nao ha desconto (sem estado)
+    private static final DiscountStrategy NO_DISCOUNT = new NoDiscountStrategy();
+    
     // Estrategia atual de desconto
     private DiscountStrategy discountStrategy;
     
     /**
      * Construtor com estrategia inicial
      * 
-     * @param discountStrategy estrategia de desconto a ser utilizada
+     * @param discountStrategy estrategia de desconto a ser utilizada (nula = sem desconto)
      */
     public PriceCalculator(DiscountStrategy discountStrategy) {
-        this.discountStrategy = discountStrategy;
+        this.discountStrategy = discountStrategy != null ? discountStrategy : NO_DISCOUNT;
     }
     
     /**
@@ -28,7 +37,7 @@ public class PriceCalculator {
      */
     public PriceCalculator() {
         // Estrategia padrao: sem desconto
-        this.discountStrategy = new NoDiscountStrategy();
+        this.discountStrategy = NO_DISCOUNT;
     }
     
     /**
@@ -37,7 +46,7 @@ public class PriceCalculator {
      * @param discountStrategy nova estrategia de desconto
      */
     public void setDiscountStrategy(DiscountStrategy discountStrategy) {
-        this.discountStrategy = discountStrategy != null ? discountStrategy : new NoDiscountStrategy();
+        this.discountStrategy = discountStrategy != null ? discountStrategy : NO_DISCOUNT;
     }
     
     /**
@@ -47,14 +56,237 @@ public class PriceCalculator {
      * @return preco final com desconto aplicado
      */
     public BigDecimal calculateFinalPrice(BigDecimal originalPrice) {
-        if (originalPrice == null || originalPrice.compareTo(BigDecimal.ZERO) <= 0) {
+        return applyDiscount(discountStrategy, originalPrice);
+    }
+    
+    /**
+     * Calcula o preco sem depender de estado compartilhado
+     * 
+     * A estrategia e recebida como parametro e o resultado e um objeto
+     * imutavel, entao o metodo pode ser chamado por varias threads ao mesmo
+     * tempo sem coordenacao. O desconto e calculado uma unica vez.
+     * 
+     * @param strategy estrategia de desconto (nula significa sem desconto)
+     * @param originalPrice preco original do produto
+     * @return detalhamento imutavel do calculo
+     */
+    public static PriceBreakdown quote(DiscountStrategy strategy, BigDecimal originalPrice) {
+        DiscountStrategy effective = strategy != null ? strategy : NO_DISCOUNT;
+        
+        if (originalPrice == null || originalPrice.signum() <= 0) {
+            return new PriceBreakdown(originalPrice, BigDecimal.ZERO, BigDecimal.ZERO, effective, false);
+        }
+        
+        BigDecimal discount = discount(effective, originalPrice);
+        BigDecimal finalPrice = originalPrice.subtract(discount).setScale(2, RoundingMode.HALF_UP);
+        return new PriceBreakdown(originalPrice, discount, finalPrice, effective, true);
+    }
+    
+    /**
+     * Calcula o detalhamento do preco com a estrategia atual
+     * 
+     * @param originalPrice preco original do produto
+     * @return detalhamento imutavel do calculo
+     */
+    public PriceBreakdown quote(BigDecimal originalPrice) {
+        return quote(discountStrategy, originalPrice);
+    }
+    
+    /**
+     * Calcula o preco final de varios produtos em uma unica chamada
+     * 
+     * A estrategia e lida uma unica vez para todo o lote, o que evita
+     * o custo de resolver o contexto a cada item e mantem o ponto de
+     * chamada estavel para o JIT.
+     * 
+     * @param originalPrices precos originais dos produtos
+     * @return precos finais, na mesma ordem da entrada
+     */
+    public BigDecimal[] calculateFinalPrices(BigDecimal[] originalPrices) {
+        if (originalPrices == null) {
+            return new BigDecimal[0];
+        }
+        
+        DiscountStrategy strategy = this.discountStrategy;
+        BigDecimal[] finalPrices = new BigDecimal[originalPrices.length];
+        
+        for (int i = 0; i < originalPrices.length; i++) {
+            finalPrices[i] = applyDiscount(strategy, originalPrices[i]);
+        }
+        
+        return finalPrices;
+    }
+    
+    /**
+     * Calcula o preco final de uma lista de produtos em uma unica chamada
+     * 
+     * @param originalPrices precos originais dos produtos
+     * @return lista com os precos finais, na mesma ordem da entrada
+     */
+    public List<BigDecimal> calculateFinalPrices(List<BigDecimal> originalPrices) {
+        if (originalPrices == null) {
+            return new ArrayList<>();
+        }
+        
+        DiscountStrategy strategy = this.discountStrategy;
+        List<BigDecimal> finalPrices = new ArrayList<>(originalPrices.size());
+        
+        for (BigDecimal originalPrice : originalPrices) {
+            finalPrices.add(applyDiscount(strategy, originalPrice));
+        }
+        
+        return finalPrices;
+    }
+    
+    /**
+     * Aplica a estrategia informada a um unico preco
+     * 
+     * @param strategy estrategia de desconto
+     * @param originalPrice preco original
+     * @return preco final com desconto aplicado
+     */
+    private static BigDecimal applyDiscount(DiscountStrategy strategy, BigDecimal originalPrice) {
+        if (originalPrice == null || originalPrice.signum() <= 0) {
             return BigDecimal.ZERO;
         }
         
-        BigDecimal discount = discountStrategy.calculateDiscount(originalPrice);
+        BigDecimal discount = discount(strategy, originalPrice);
         return originalPrice.subtract(discount).setScale(2, RoundingMode.HALF_UP);
     }
     
+    /**
+     * Calcula o desconto despachando pelo tipo da estrategia
+     * 
+     * Cada ramo faz o cast para a classe final concreta, entao a chamada
+     * e monomorfica e pode ser inlineada mesmo com varios tipos ativos.
+     * 
+     * @param strategy estrategia de desconto
+     * @param originalPrice preco original (positivo)
+     * @return valor do desconto
+     */
+    private static BigDecimal discount(DiscountStrategy strategy, BigDecimal originalPrice) {
+        if (strategy instanceof BuiltInDiscountStrategy) {
+            switch (((BuiltInDiscountStrategy) strategy).kind()) {
+                case NONE:
+                    return BigDecimal.ZERO;
+                case PERCENTAGE:
+                    return ((PercentageDiscountStrategy) strategy).calculateDiscount(originalPrice);
+                case FIXED:
+                    return ((FixedDiscountStrategy) strategy).calculateDiscount(originalPrice);
+                case PROGRESSIVE:
+                    return ((ProgressiveDiscountStrategy) strategy).calculateDiscount(originalPrice);
+                case COMPOSITE:
+                    return ((CompositeDiscountStrategy) strategy).calculateDiscount(originalPrice);
+                default:
+                    break;
+            }
+        }
+        
+        // Estrategias customizadas: chamada pela interface
+        return strategy.calculateDiscount(originalPrice);
+    }
+    
+    /**
+     * Calcula o preco final em centavos pelo caminho primitivo
+     * 
+     * Quando a estrategia implementa {@link CentsDiscountStrategy} o calculo
+     * nao aloca objetos; caso contrario recorre ao caminho BigDecimal.
+     * O resultado e identico ao de {@link #calculateFinalPrice(BigDecimal)}.
+     * 
+     * @param originalCents preco original em centavos
+     * @return preco final em centavos
+     */
+    public long calculateFinalPriceCents(long originalCents) {
+        return applyDiscountCents(discountStrategy, originalCents);
+    }
+    
+    /**
+     * Calcula o preco final de varios produtos em centavos
+     * 
+     * O array de saida e fornecido pelo chamador para que rotinas em lote
+     * possam reutiliza-lo e nao gerar lixo em regime permanente.
+     * 
+     * @param originalCents precos originais em centavos
+     * @param finalCents array de saida com pelo menos o mesmo tamanho
+     */
+    public void calculateFinalPricesCents(long[] originalCents, long[] finalCents) {
+        if (finalCents.length < originalCents.length) {
+            throw new IllegalArgumentException("Array de saida menor que o de entrada");
+        }
+        
+        calculateFinalPricesCents(originalCents, finalCents, 0, originalCents.length);
+    }
+    
+    /**
+     * Calcula o preco final de um intervalo de produtos em centavos
+     * 
+     * Permite que rotinas paralelas dividam o mesmo par de arrays em
+     * fatias, cada uma processada por uma thread diferente.
+     * 
+     * @param originalCents precos originais em centavos
+     * @param finalCents array de saida
+     * @param from indice inicial (inclusivo)
+     * @param to indice final (exclusivo)
+     */
+    public void calculateFinalPricesCents(long[] originalCents, long[] finalCents, int from, int to) {
+        if (from < 0 || to > originalCents.length || to > finalCents.length || from > to) {
+            throw new IllegalArgumentException("Intervalo invalido: " + from + " a " + to);
+        }
+        
+        DiscountStrategy strategy = this.discountStrategy;
+        for (int i = from; i < to; i++) {
+            finalCents[i] = applyDiscountCents(strategy, originalCents[i]);
+        }
+    }
+    
+    /**
+     * Aplica a estrategia informada a um preco em centavos
+     * 
+     * @param strategy estrategia de desconto
+     * @param originalCents preco original em centavos
+     * @return preco final em centavos
+     */
+    private static long applyDiscountCents(DiscountStrategy strategy, long originalCents) {
+        if (originalCents <= 0) {
+            return 0L;
+        }
+        
+        if (strategy instanceof BuiltInDiscountStrategy) {
+            switch (((BuiltInDiscountStrategy) strategy).kind()) {
+                case NONE:
+                    return originalCents;
+                case PERCENTAGE:
+                    return originalCents - ((PercentageDiscountStrategy) strategy).calculateDiscountCents(originalCents);
+                case FIXED:
+                    return originalCents - ((FixedDiscountStrategy) strategy).calculateDiscountCents(originalCents);
+                case PROGRESSIVE:
+                    return originalCents - ((ProgressiveDiscountStrategy) strategy).calculateDiscountCents(originalCents);
+                default:
+                    // Composta: caminho BigDecimal, com chamada monomorfica
+                    break;
+            }
+        } else if (strategy instanceof CentsDiscountStrategy) {
+            return originalCents - ((CentsDiscountStrategy) strategy).calculateDiscountCents(originalCents);
+        }
+        
+        // Estrategias sem caminho primitivo: caminho BigDecimal
+        return FixedPointMath.toCents(applyDiscount(strategy, FixedPointMath.fromCents(originalCents)));
+    }
+    
+    /**
+     * Calcula o preco final em centavos com a estrategia informada
+     * 
+     * Ponto de entrada sem estado para rotinas que alternam entre varias
+     * estrategias no mesmo laco (por exemplo, um preco por promocao).
+     * 
+     * @param strategy estrategia de desconto (nula significa sem desconto)
+     * @param originalCents preco original em centavos
+     * @return preco final em centavos
+     */
+    public static long calculateFinalPriceCents(DiscountStrategy strategy, long originalCents) {
+        return applyDiscountCents(strategy != null ? strategy : NO_DISCOUNT, originalCents);
+    }
+    
     /**
      * Calcula apenas o valor do desconto
      * 
@@ -72,21 +304,8 @@ public class PriceCalculator {
      * @return detalhes do calculo em formato string
      */
     public String getCalculationDetails(BigDecimal originalPrice) {
-        if (originalPrice == null || originalPrice.compareTo(BigDecimal.ZERO) <= 0) {
-            return "Preco invalido";
-        }
-        
-        BigDecimal discount = calculateDiscountAmount(originalPrice);
-        BigDecimal finalPrice = calculateFinalPrice(originalPrice);
-        
-        return String.format(
-            "Tipo: %s (%s) | Preco Original: R$ %.2f | Desconto: R$ %.2f | Preco Final: R$ %.2f",
-            discountStrategy.getDescription(),
-            discountStrategy.getDiscountInfo(),
-            originalPrice,
-            discount,
-            finalPrice
-        );
+        // Desconto calculado uma unica vez; o texto e montado pelo PriceBreakdown
+        return quote(originalPrice).getDetails();
     }
     
     /**
@@ -101,12 +320,21 @@ public class PriceCalculator {
     /**
      * Estrategia padrao para quando nao ha desconto
      */
-    private static class NoDiscountStrategy implements DiscountStrategy {
+    static final class NoDiscountStrategy extends BuiltInDiscountStrategy implements CentsDiscountStrategy {
+        NoDiscountStrategy() {
+            super(Kind.NONE);
+        }
+        
         @Override
         public BigDecimal calculateDiscount(BigDecimal originalValue) {
             return BigDecimal.ZERO;
         }
         
+        @Override
+        public long calculateDiscountCents(long originalCents) {
+            return 0L;
+        }
+        
         @Override
         public String getDescription() {
             return "Sem Desconto";
@@ -116,5 +344,10 @@ public class PriceCalculator {
         public String getDiscountInfo() {
             return "0%";
         }
+        
+        @Override
+        public String getFingerprint() {
+            return "none";
+        }
     }
 }
\ No newline at end of file
@@ -7,21 +7,41 @@ import java.math.RoundingMode;
  * Estrategia concreta para desconto progressivo
  * 
  * Implementa um desconto que aumenta conforme o valor da compra.
- * Faixas de desconto:
+ * As faixas vem de uma {@link DiscountTierTable}; a tabela padrao e:
  * - Ate R$ 100: 5%
  * - De R$ 100 a R$ 500: 10%
  * - Acima de R$ 500: 15%
+ * 
+ * Campanhas com dezenas de faixas usam a mesma estrategia, pois a faixa
+ * e encontrada por busca binaria na tabela.
  */
-public class ProgressiveDiscountStrategy implements DiscountStrategy {
+public final class ProgressiveDiscountStrategy extends BuiltInDiscountStrategy implements CentsDiscountStrategy {
+    
+    // Tabela de faixas e percentuais
+    private final DiscountTierTable tiers;
     
-    // Faixas de valor para desconto progressivo
-    private static final BigDecimal FIRST_TIER = new BigDecimal("100.00");
-    private static final BigDecimal SECOND_TIER = new BigDecimal("500.00");
+    private final String fingerprint;
     
-    // Percentuais de desconto por faixa
-    private static final BigDecimal FIRST_PERCENTAGE = new BigDecimal("0.05");  // 5%
-    private static final BigDecimal SECOND_PERCENTAGE = new BigDecimal("0.10"); // 10%
-    private static final BigDecimal THIRD_PERCENTAGE = new BigDecimal("0.15");  // 15%
+    /**
+     * Construtor com a tabela padrao de tres faixas
+     */
+    public ProgressiveDiscountStrategy() {
+        this(DiscountTierTable.DEFAULT);
+    }
+    
+    /**
+     * Construtor com tabela de faixas configuravel
+     * 
+     * @param tiers tabela de faixas do desconto progressivo
+     */
+    public ProgressiveDiscountStrategy(DiscountTierTable tiers) {
+        super(Kind.PROGRESSIVE);
+        if (tiers == null) {
+            throw new IllegalArgumentException("Tabela de faixas e obrigatoria");
+        }
+        this.tiers = tiers;
+        this.fingerprint = "progressive:" + tiers.getFingerprint();
+    }
     
     /**
      * Calcula o desconto progressivo baseado no valor
@@ -35,20 +55,27 @@ public class ProgressiveDiscountStrategy implements DiscountStrategy {
             return BigDecimal.ZERO;
         }
         
-        BigDecimal percentage;
-        
         // Determina o percentual baseado na faixa de valor
-        if (originalValue.compareTo(FIRST_TIER) <= 0) {
-            percentage = FIRST_PERCENTAGE;
-        } else if (originalValue.compareTo(SECOND_TIER) <= 0) {
-            percentage = SECOND_PERCENTAGE;
-        } else {
-            percentage = THIRD_PERCENTAGE;
-        }
+        BigDecimal percentage = tiers.rate(tiers.tierIndex(originalValue));
         
         return originalValue.multiply(percentage).setScale(2, RoundingMode.HALF_UP);
     }
     
+    /**
+     * Calcula o desconto progressivo em centavos, sem alocacao
+     * 
+     * @param originalCents valor original em centavos
+     * @return valor do desconto em centavos
+     */
+    @Override
+    public long calculateDiscountCents(long originalCents) {
+        if (originalCents <= 0) {
+            return 0L;
+        }
+        
+        return tiers.applyRateCents(tiers.tierIndex(originalCents), originalCents);
+    }
+    
     /**
      * Retorna a descricao do desconto
      * 
@@ -66,7 +93,16 @@ public class ProgressiveDiscountStrategy implements DiscountStrategy {
      */
     @Override
     public String getDiscountInfo() {
-        return "5% ate R$100, 10% ate R$500, 15% acima de R$500";
+        return tiers.getDescription();
+    }
+    
+    /**
+     * Retorna a tabela de faixas utilizada
+     * 
+     * @return tabela de faixas
+     */
+    public DiscountTierTable getTierTable() {
+        return tiers;
     }
     
     /**
@@ -80,12 +116,16 @@ public class ProgressiveDiscountStrategy implements DiscountStrategy {
             return "0%";
         }
         
-        if (value.compareTo(FIRST_TIER) <= 0) {
-            return "5%";
-        } else if (value.compareTo(SECOND_TIER) <= 0) {
-            return "10%";
-        } else {
-            return "15%";
-        }
+        return tiers.rateLabel(tiers.tierIndex(value));
+    }
+    
+    /**
+     * Retorna a impressao digital da definicao
+     * 
+     * @return identificador estavel da estrategia
+     */
+    @Override
+    public String getFingerprint() {
+        return fingerprint;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package com.bootcamp.designpatterns.strategy;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Promocao agendada para uma categoria
+ * 
+ * Associa uma estrategia de desconto a uma categoria durante uma janela
+ * de tempo [activeFrom, activeUntil). Imutavel.
+ */
+public final class Promotion {
+    
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    
+    private final String id;
+    private final String category;
+    private final String categoryKey;
+    private final DiscountStrategy strategy;
+    private final Instant activeFrom;
+    private final Instant activeUntil;
+    
+    // Janela em milissegundos para comparacao sem alocacao
+    private final long activeFromMillis;
+    private final long activeUntilMillis;
+    
+    /**
+     * Construtor completo
+     * 
+     * @param category categoria atendida (sem distincao de maiusculas)
+     * @param strategy estrategia aplicada durante a promocao
+     * @param activeFrom inicio da promocao (nulo para imediato)
+     * @param activeUntil fim exclusivo da promocao (nulo para sem fim)
+     */
+    public Promotion(String category, DiscountStrategy strategy, Instant activeFrom, Instant activeUntil) {
+        if (category == null || category.isBlank()) {
+            throw new IllegalArgumentException("Categoria da promocao e obrigatoria");
+        }
+        if (strategy == null) {
+            throw new IllegalArgumentException("Estrategia da promocao e obrigatoria");
+        }
+        if (activeFrom != null && activeUntil != null && !activeUntil.isAfter(activeFrom)) {
+            throw new IllegalArgumentException("Fim da promocao deve ser posterior ao inicio");
+        }
+        this.id = "PROMO-" + SEQUENCE.incrementAndGet();
+        this.category = category;
+        this.categoryKey = normalize(category);
+        this.strategy = strategy;
+        this.activeFrom = activeFrom;
+        this.activeUntil = activeUntil;
+        this.activeFromMillis = activeFrom != null ? activeFrom.toEpochMilli() : Long.MIN_VALUE;
+        this.activeUntilMillis = activeUntil != null ? activeUntil.toEpochMilli() : Long.MAX_VALUE;
+    }
+    
+    /**
+     * Verifica se a promocao vale no instante informado
+     * 
+     * @param nowMillis instante em milissegundos desde a epoca
+     * @return true se o instante estiver dentro da janela
+     */
+    public boolean isActiveAt(long nowMillis) {
+        return nowMillis >= activeFromMillis && nowMillis < activeUntilMillis;
+    }
+    
+    /**
+     * Verifica se a promocao ja terminou no instante informado
+     * 
+     * @param nowMillis instante em milissegundos desde a epoca
+     * @return true se a janela ja se encerrou
+     */
+    public boolean isExpiredAt(long nowMillis) {
+        return nowMillis >= activeUntilMillis;
+    }
+    
+    static String normalize(String category) {
+        return category.strip().toLowerCase(Locale.ROOT);
+    }
+    
+    // Getters
+    public String getId() { return id; }
+    public String getCategory() { return category; }
+    public DiscountStrategy getStrategy() { return strategy; }
+    public Instant getActiveFrom() { return activeFrom; }
+    public Instant getActiveUntil() { return activeUntil; }
+    
+    String categoryKey() { return categoryKey; }
+    long activeFromMillis() { return activeFromMillis; }
+    
+    @Override
+    public String toString() {
+        return String.format("Promotion{id='%s', category='%s', strategy='%s', activeFrom=%s, activeUntil=%s}", 
+                           id, category, strategy.getDiscountInfo(), activeFrom, activeUntil);
+    }
+}
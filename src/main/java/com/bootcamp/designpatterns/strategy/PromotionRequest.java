@@ -0,0 +1,69 @@
+package com.bootcamp.designpatterns.strategy;
+
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Classe que representa uma requisicao de agendamento de promocao
+ * 
+ * Define a categoria, a estrategia de desconto e a janela de tempo
+ * (instantes ISO-8601, ex: 2024-11-29T03:00:00Z) em que ela vale.
+ */
+public class PromotionRequest {
+    
+    @NotBlank(message = "Categoria e obrigatoria")
+    private String category;
+    
+    @NotBlank(message = "Tipo de estrategia e obrigatorio")
+    private String strategyType;
+    
+    private BigDecimal discountValue;
+    
+    // Texto das regras quando strategyType = rules
+    private String rules;
+    
+    // Inicio da promocao (vazio = imediato)
+    private Instant activeFrom;
+    
+    // Fim exclusivo da promocao (vazio = sem fim)
+    private Instant activeUntil;
+    
+    // Construtor completo
+    public PromotionRequest(String category, String strategyType, BigDecimal discountValue,
+                            Instant activeFrom, Instant activeUntil) {
+        this.category = category;
+        this.strategyType = strategyType;
+        this.discountValue = discountValue;
+        this.activeFrom = activeFrom;
+        this.activeUntil = activeUntil;
+    }
+    
+    // Construtor vazio para frameworks
+    public PromotionRequest() {}
+    
+    // Getters e Setters
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public String getStrategyType() { return strategyType; }
+    public void setStrategyType(String strategyType) { this.strategyType = strategyType; }
+    
+    public BigDecimal getDiscountValue() { return discountValue; }
+    public void setDiscountValue(BigDecimal discountValue) { this.discountValue = discountValue; }
+    
+    public String getRules() { return rules; }
+    public void setRules(String rules) { this.rules = rules; }
+    
+    public Instant getActiveFrom() { return activeFrom; }
+    public void setActiveFrom(Instant activeFrom) { this.activeFrom = activeFrom; }
+    
+    public Instant getActiveUntil() { return activeUntil; }
+    public void setActiveUntil(Instant activeUntil) { this.activeUntil = activeUntil; }
+    
+    @Override
+    public String toString() {
+        return String.format("PromotionRequest{category='%s', strategyType='%s', discountValue=%s, activeFrom=%s, activeUntil=%s}", 
+                           category, strategyType, discountValue, activeFrom, activeUntil);
+    }
+}
@@ -0,0 +1,281 @@
+package com.bootcamp.designpatterns.strategy;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Tabela de promocoes ativas por categoria (copy-on-write versionada)
+ * 
+ * Cada alteracao cria um novo Snapshot imutavel e o publica com um unico
+ * compareAndSet; nenhuma leitura ou escrita usa synchronized. O leitor
+ * obtem uma visao consistente de todas as promocoes com uma unica leitura
+ * volatile e nunca espera por um escritor.
+ * 
+ * Ativacoes e expiracoes sao agendadas com antecedencia: cada promocao
+ * guarda sua janela de tempo e o snapshot a avalia no instante da
+ * consulta, entao a troca acontece no instante exato em todas as threads
+ * sem depender de uma tarefa agendada. Promocoes expiradas sao removidas
+ * na proxima publicacao.
+ */
+public class PromotionTable {
+    
+    private final Clock clock;
+    private final AtomicReference<Snapshot> current;
+    
+    // Metricas de publicacao e visibilidade
+    private final LongAdder swaps = new LongAdder();
+    private final LongAdder casRetries = new LongAdder();
+    private final AtomicLong observedVersion = new AtomicLong();
+    private final LongAdder observedSwaps = new LongAdder();
+    private final LongAdder totalVisibilityNanos = new LongAdder();
+    private final AtomicLong lastVisibilityNanos = new AtomicLong();
+    private final AtomicLong maxVisibilityNanos = new AtomicLong();
+    
+    /**
+     * Construtor com relogio do sistema (UTC)
+     */
+    public PromotionTable() {
+        this(Clock.systemUTC());
+    }
+    
+    /**
+     * Construtor com relogio configuravel (util em testes)
+     * 
+     * @param clock relogio usado para avaliar as janelas das promocoes
+     */
+    public PromotionTable(Clock clock) {
+        this.clock = clock;
+        this.current = new AtomicReference<>(new Snapshot(0L, Collections.emptyList(), System.nanoTime()));
+    }
+    
+    /**
+     * Obtem a visao atual das promocoes
+     * 
+     * Uma unica leitura volatile; o snapshot retornado nunca muda. Apenas
+     * as primeiras leituras de cada versao registram a metrica de
+     * visibilidade, entao as demais nao tocam em nenhum contador compartilhado.
+     * 
+     * @return snapshot imutavel
+     */
+    public Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        if (!snapshot.observed) {
+            recordVisibility(snapshot);
+        }
+        return snapshot;
+    }
+    
+    /**
+     * Obtem a estrategia promocional vigente para a categoria agora
+     * 
+     * @param category categoria do produto
+     * @return estrategia da promocao ativa ou null se nao houver
+     */
+    public DiscountStrategy strategyFor(String category) {
+        return snapshot().strategyFor(category, clock.millis());
+    }
+    
+    /**
+     * Agenda uma promocao
+     * 
+     * @param promotion promocao com sua janela de tempo
+     * @return versao publicada
+     */
+    public long schedule(Promotion promotion) {
+        if (promotion == null) {
+            throw new IllegalArgumentException("Promocao e obrigatoria");
+        }
+        return update(promotions -> {
+            List<Promotion> next = new ArrayList<>(promotions);
+            next.add(promotion);
+            return next;
+        });
+    }
+    
+    /**
+     * Cancela uma promocao pelo id
+     * 
+     * @param promotionId id da promocao
+     * @return versao publicada ou -1 se nenhuma promocao tinha esse id
+     */
+    public long cancel(String promotionId) {
+        return update(promotions -> {
+            List<Promotion> next = new ArrayList<>(promotions);
+            return next.removeIf(promotion -> promotion.getId().equals(promotionId)) ? next : null;
+        });
+    }
+    
+    /**
+     * Substitui todas as promocoes de uma vez
+     * 
+     * @param promotions novo conjunto de promocoes
+     * @return versao publicada
+     */
+    public long replaceAll(Collection<Promotion> promotions) {
+        List<Promotion> next = new ArrayList<>(promotions);
+        return update(ignored -> next);
+    }
+    
+    /**
+     * Publica uma nova versao com compareAndSet, repetindo se outro
+     * escritor publicar primeiro. Se a alteracao retornar null nada e
+     * publicado e o resultado e -1.
+     */
+    private long update(UnaryOperator<List<Promotion>> change) {
+        while (true) {
+            Snapshot snapshot = current.get();
+            long now = clock.millis();
+            
+            List<Promotion> changed = change.apply(snapshot.promotions);
+            if (changed == null) {
+                return -1L;
+            }
+            List<Promotion> next = new ArrayList<>();
+            for (Promotion promotion : changed) {
+                if (!promotion.isExpiredAt(now)) {
+                    next.add(promotion);
+                }
+            }
+            
+            Snapshot candidate = new Snapshot(snapshot.version + 1, next, System.nanoTime());
+            if (current.compareAndSet(snapshot, candidate)) {
+                swaps.increment();
+                return candidate.version;
+            }
+            casRetries.increment();
+        }
+    }
+    
+    /**
+     * Registra quanto tempo uma versao levou para ser vista por um leitor
+     */
+    private void recordVisibility(Snapshot snapshot) {
+        // Escrita comum: leitores atrasados ainda podem entrar aqui, mas o
+        // compareAndSet abaixo garante uma unica medicao por versao
+        snapshot.observed = true;
+        long seen = observedVersion.get();
+        while (snapshot.version > seen) {
+            if (observedVersion.compareAndSet(seen, snapshot.version)) {
+                long latency = System.nanoTime() - snapshot.publishedNanos;
+                lastVisibilityNanos.set(latency);
+                maxVisibilityNanos.accumulateAndGet(latency, Math::max);
+                totalVisibilityNanos.add(latency);
+                observedSwaps.increment();
+                return;
+            }
+            seen = observedVersion.get();
+        }
+    }
+    
+    /**
+     * Tempo medio entre a publicacao e a primeira leitura de cada versao
+     * 
+     * @return media em nanossegundos (0 se nenhuma versao foi lida)
+     */
+    public long getAverageVisibilityNanos() {
+        long count = observedSwaps.sum();
+        return count == 0 ? 0L : totalVisibilityNanos.sum() / count;
+    }
+    
+    public long getVersion() { return current.get().version; }
+    public long getSwapCount() { return swaps.sum(); }
+    public long getCasRetryCount() { return casRetries.sum(); }
+    public long getObservedSwapCount() { return observedSwaps.sum(); }
+    public long getLastVisibilityNanos() { return lastVisibilityNanos.get(); }
+    public long getMaxVisibilityNanos() { return maxVisibilityNanos.get(); }
+    public Clock getClock() { return clock; }
+    
+    @Override
+    public String toString() {
+        return String.format("PromotionTable{version=%d, promotions=%d, swaps=%d, casRetries=%d, avgVisibility=%dns, maxVisibility=%dns}", 
+                           getVersion(), current.get().promotions.size(), getSwapCount(), getCasRetryCount(),
+                           getAverageVisibilityNanos(), getMaxVisibilityNanos());
+    }
+    
+    /**
+     * Versao imutavel da tabela de promocoes
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final List<Promotion> promotions;
+        private final long publishedNanos;
+        
+        // Marcado pelos primeiros leitores; nao precisa ser volatile
+        private boolean observed;
+        
+        // Promocoes por categoria, da que comeca mais tarde para a mais cedo
+        private final Map<String, Promotion[]> byCategory;
+        
+        private Snapshot(long version, List<Promotion> promotions, long publishedNanos) {
+            this.version = version;
+            this.promotions = Collections.unmodifiableList(promotions);
+            this.publishedNanos = publishedNanos;
+            
+            // Percorre da mais recente para a mais antiga: com a ordenacao estavel,
+            // entre inicios iguais vale a promocao agendada por ultimo
+            Map<String, List<Promotion>> grouped = new HashMap<>();
+            for (int i = promotions.size() - 1; i >= 0; i--) {
+                Promotion promotion = promotions.get(i);
+                grouped.computeIfAbsent(promotion.categoryKey(), key -> new ArrayList<>()).add(promotion);
+            }
+            Map<String, Promotion[]> index = new HashMap<>();
+            for (Map.Entry<String, List<Promotion>> entry : grouped.entrySet()) {
+                Promotion[] ordered = entry.getValue().toArray(new Promotion[0]);
+                Arrays.sort(ordered, Comparator.comparingLong(Promotion::activeFromMillis).reversed());
+                index.put(entry.getKey(), ordered);
+            }
+            this.byCategory = index;
+        }
+        
+        /**
+         * Estrategia da promocao vigente para a categoria no instante informado
+         * 
+         * Se houver sobreposicao vale a promocao que comecou por ultimo.
+         * 
+         * @param category categoria do produto
+         * @param nowMillis instante em milissegundos desde a epoca
+         * @return estrategia ou null se nao houver promocao ativa
+         */
+        public DiscountStrategy strategyFor(String category, long nowMillis) {
+            Promotion promotion = promotionFor(category, nowMillis);
+            return promotion != null ? promotion.getStrategy() : null;
+        }
+        
+        /**
+         * Promocao vigente para a categoria no instante informado
+         * 
+         * @param category categoria do produto
+         * @param nowMillis instante em milissegundos desde a epoca
+         * @return promocao ou null se nao houver promocao ativa
+         */
+        public Promotion promotionFor(String category, long nowMillis) {
+            if (category == null || byCategory.isEmpty()) {
+                return null;
+            }
+            Promotion[] candidates = byCategory.get(Promotion.normalize(category));
+            if (candidates == null) {
+                return null;
+            }
+            for (Promotion promotion : candidates) {
+                if (promotion.isActiveAt(nowMillis)) {
+                    return promotion;
+                }
+            }
+            return null;
+        }
+        
+        public long getVersion() { return version; }
+        public List<Promotion> getPromotions() { return promotions; }
+    }
+}
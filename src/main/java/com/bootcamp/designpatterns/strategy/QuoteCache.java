@@ -0,0 +1,86 @@
+package com.bootcamp.designpatterns.strategy;
+
+import com.bootcamp.designpatterns.cache.TinyLfuCache;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache de calculos de preco (memoizacao de PriceCalculator.quote)
+ * 
+ * A chave combina a impressao digital da estrategia com o preco, entao
+ * estrategias equivalentes compartilham entradas e uma estrategia cuja
+ * definicao mudou nunca reaproveita resultados antigos: as entradas
+ * obsoletas deixam de ser acessadas e saem pela politica W-TinyLFU.
+ * 
+ * Estrategias sem impressao digital (implementacoes customizadas) sao
+ * calculadas diretamente, sem passar pelo cache.
+ */
+public class QuoteCache {
+    
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+    
+    private final TinyLfuCache<QuoteKey, PriceBreakdown> cache;
+    private final LongAdder bypasses = new LongAdder();
+    
+    /**
+     * Construtor com capacidade padrao
+     */
+    public QuoteCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+    
+    /**
+     * Construtor com capacidade configuravel
+     * 
+     * @param maximumSize numero maximo de calculos memorizados
+     */
+    public QuoteCache(int maximumSize) {
+        this.cache = new TinyLfuCache<>(maximumSize);
+    }
+    
+    /**
+     * Retorna o calculo memorizado ou calcula e memoriza
+     * 
+     * @param strategy estrategia de desconto
+     * @param originalPrice preco original
+     * @return detalhamento imutavel do calculo
+     */
+    public PriceBreakdown quote(DiscountStrategy strategy, BigDecimal originalPrice) {
+        String fingerprint = strategy != null ? strategy.getFingerprint() : null;
+        if (fingerprint == null || originalPrice == null) {
+            bypasses.increment();
+            return PriceCalculator.quote(strategy, originalPrice);
+        }
+        
+        return cache.get(new QuoteKey(fingerprint, originalPrice),
+                         key -> PriceCalculator.quote(strategy, originalPrice));
+    }
+    
+    /**
+     * Descarta todos os calculos memorizados
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+    
+    public int size() { return cache.size(); }
+    public int getMaximumSize() { return cache.getMaximumSize(); }
+    public long getHitCount() { return cache.getHitCount(); }
+    public long getMissCount() { return cache.getMissCount(); }
+    public long getEvictionCount() { return cache.getEvictionCount(); }
+    public long getBypassCount() { return bypasses.sum(); }
+    public double getHitRatio() { return cache.getHitRatio(); }
+    
+    @Override
+    public String toString() {
+        return String.format("QuoteCache{size=%d, maximumSize=%d, hitRatio=%.3f, evictions=%d, bypasses=%d}",
+                           size(), getMaximumSize(), getHitRatio(), getEvictionCount(), getBypassCount());
+    }
+    
+    /**
+     * Chave do cache: definicao da estrategia e preco (com sua escala)
+     */
+    private record QuoteKey(String fingerprint, BigDecimal price) {
+    }
+}
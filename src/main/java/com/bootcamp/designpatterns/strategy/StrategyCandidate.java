@@ -0,0 +1,45 @@
+package com.bootcamp.designpatterns.strategy;
+
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+
+/**
+ * Classe que representa uma estrategia candidata em uma comparacao
+ * 
+ * Mesmos campos usados pelos demais endpoints de Strategy: tipo, valor
+ * do desconto e, para o tipo rules, o texto das regras.
+ */
+public class StrategyCandidate {
+    
+    @NotBlank(message = "Tipo de estrategia e obrigatorio")
+    private String strategyType;
+    
+    private BigDecimal discountValue;
+    
+    // Texto das regras quando strategyType = rules
+    private String rules;
+    
+    // Construtor completo
+    public StrategyCandidate(String strategyType, BigDecimal discountValue) {
+        this.strategyType = strategyType;
+        this.discountValue = discountValue;
+    }
+    
+    // Construtor vazio para frameworks
+    public StrategyCandidate() {}
+    
+    // Getters e Setters
+    public String getStrategyType() { return strategyType; }
+    public void setStrategyType(String strategyType) { this.strategyType = strategyType; }
+    
+    public BigDecimal getDiscountValue() { return discountValue; }
+    public void setDiscountValue(BigDecimal discountValue) { this.discountValue = discountValue; }
+    
+    public String getRules() { return rules; }
+    public void setRules(String rules) { this.rules = rules; }
+    
+    @Override
+    public String toString() {
+        return String.format("StrategyCandidate{strategyType='%s', discountValue=%s}", strategyType, discountValue);
+    }
+}
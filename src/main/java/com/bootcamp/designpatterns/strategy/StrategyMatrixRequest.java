@@ -0,0 +1,49 @@
+package com.bootcamp.designpatterns.strategy;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Classe que representa uma requisicao de comparacao em matriz
+ * 
+ * Cada estrategia candidata e avaliada contra todos os precos da lista.
+ */
+public class StrategyMatrixRequest {
+    
+    // Limites da matriz para proteger o servidor
+    public static final int MAX_STRATEGIES = 32;
+    public static final int MAX_PRICES = 100000;
+    
+    @NotEmpty(message = "Lista de estrategias e obrigatoria")
+    @Size(max = MAX_STRATEGIES, message = "Matriz deve ter no maximo 32 estrategias")
+    private List<@NotNull(message = "Estrategia e obrigatoria") @Valid StrategyCandidate> strategies;
+    
+    @NotEmpty(message = "Lista de precos e obrigatoria")
+    @Size(max = MAX_PRICES, message = "Matriz deve ter no maximo 100000 precos")
+    private List<@NotNull(message = "Preco e obrigatorio")
+                 @DecimalMin(value = "0.01", message = "Preco deve ser maior que zero") BigDecimal> prices;
+    
+    // Construtor completo
+    public StrategyMatrixRequest(List<StrategyCandidate> strategies, List<BigDecimal> prices) {
+        this.strategies = strategies;
+        this.prices = prices;
+    }
+    
+    // Construtor vazio para frameworks
+    public StrategyMatrixRequest() {}
+    
+    // Getters e Setters
+    public List<StrategyCandidate> getStrategies() { return strategies; }
+    public void setStrategies(List<StrategyCandidate> strategies) { this.strategies = strategies; }
+    
+    public List<BigDecimal> getPrices() { return prices; }
+    public void setPrices(List<BigDecimal> prices) { this.prices = prices; }
+    
+    @Override
+    public String toString() {
+        return String.format("StrategyMatrixRequest{strategies=%d, prices=%d}", 
+                           strategies != null ? strategies.size() : 0, prices != null ? prices.size() : 0);
+    }
+}
@@ -0,0 +1,345 @@
+package com.bootcamp.designpatterns.strategy.rules;
+
+import com.bootcamp.designpatterns.strategy.rules.RuleAst.Action;
+import com.bootcamp.designpatterns.strategy.rules.RuleAst.And;
+import com.bootcamp.designpatterns.strategy.rules.RuleAst.Comparison;
+import com.bootcamp.designpatterns.strategy.rules.RuleAst.Condition;
+import com.bootcamp.designpatterns.strategy.rules.RuleAst.Field;
+import com.bootcamp.designpatterns.strategy.rules.RuleAst.Or;
+import com.bootcamp.designpatterns.strategy.rules.RuleAst.Rule;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Conjunto de regras de desconto compilado
+ * 
+ * Exemplo:
+ * <pre>
+ * when price &gt;= 100 and category == "Livros" then percent 10, cap 50
+ * when quantity &gt;= 3 then fixed 15
+ * when date &gt;= 2024-11-29 and date &lt;= 2024-12-02 then percent 20
+ * </pre>
+ * 
+ * Todas as regras cuja condicao e verdadeira sao aplicadas em ordem sobre
+ * o valor restante: "percent N" desconta N% do restante, "fixed N" desconta
+ * um valor fixo e "cap N" limita o desconto acumulado a N. O desconto
+ * final nunca excede o preco e e arredondado uma unica vez (HALF_UP).
+ * 
+ * O texto e interpretado uma vez e cada condicao e acao vira uma lambda
+ * especializada, com constantes ja convertidas (por exemplo, 1 - N/100),
+ * que o JIT consegue inlinear. O avaliador interpretado percorre a arvore
+ * sintatica a cada chamada e existe como referencia para testes e
+ * benchmarks.
+ */
+public final class DiscountRuleSet {
+    
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+    
+    private final List<Rule> rules;
+    private final CompiledRule[] compiled;
+    private final String canonicalSource;
+    private final boolean dateDependent;
+    
+    private DiscountRuleSet(List<Rule> rules) {
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+        this.compiled = new CompiledRule[rules.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = compile(rules.get(i));
+        }
+        
+        StringBuilder text = new StringBuilder();
+        boolean usesDate = false;
+        for (Rule rule : rules) {
+            if (text.length() > 0) {
+                text.append("; ");
+            }
+            text.append(rule);
+            usesDate |= rule.usesField(Field.DATE);
+        }
+        this.canonicalSource = text.toString();
+        this.dateDependent = usesDate;
+    }
+    
+    /**
+     * Interpreta e compila o texto das regras
+     * 
+     * @param source uma regra por linha (ou separadas por ';')
+     * @return conjunto compilado
+     * @throws IllegalArgumentException se alguma regra for invalida
+     */
+    public static DiscountRuleSet parse(String source) {
+        return new DiscountRuleSet(RuleParser.parse(source));
+    }
+    
+    /**
+     * Calcula o desconto com as regras compiladas
+     * 
+     * @param context dados da precificacao
+     * @return desconto total arredondado para centavos
+     */
+    public BigDecimal calculateDiscount(PricingContext context) {
+        BigDecimal price = context.getPrice();
+        if (price == null || price.signum() <= 0) {
+            return BigDecimal.ZERO;
+        }
+        
+        BigDecimal remaining = price;
+        for (CompiledRule rule : compiled) {
+            if (rule.condition == null || rule.condition.test(context)) {
+                remaining = rule.action.apply(remaining, price);
+            }
+        }
+        return finish(price, remaining);
+    }
+    
+    /**
+     * Calcula o desconto percorrendo a arvore sintatica a cada chamada
+     * 
+     * Produz exatamente o mesmo resultado que {@link #calculateDiscount}.
+     * 
+     * @param context dados da precificacao
+     * @return desconto total arredondado para centavos
+     */
+    public BigDecimal calculateDiscountInterpreted(PricingContext context) {
+        BigDecimal price = context.getPrice();
+        if (price == null || price.signum() <= 0) {
+            return BigDecimal.ZERO;
+        }
+        
+        BigDecimal remaining = price;
+        for (Rule rule : rules) {
+            if (rule.condition == null || evaluate(rule.condition, context)) {
+                for (Action action : rule.actions) {
+                    remaining = interpret(action, remaining, price);
+                }
+            }
+        }
+        return finish(price, remaining);
+    }
+    
+    /**
+     * Texto normalizado das regras (mesma forma para regras equivalentes
+     * escritas com espacos ou maiusculas diferentes)
+     * 
+     * @return regras separadas por "; "
+     */
+    public String getCanonicalSource() {
+        return canonicalSource;
+    }
+    
+    /**
+     * Indica se alguma condicao depende da data
+     * 
+     * @return true quando o resultado pode mudar de um dia para o outro
+     */
+    public boolean isDateDependent() {
+        return dateDependent;
+    }
+    
+    public int getRuleCount() {
+        return rules.size();
+    }
+    
+    @Override
+    public String toString() {
+        return "DiscountRuleSet{" + canonicalSource + "}";
+    }
+    
+    private static BigDecimal finish(BigDecimal price, BigDecimal remaining) {
+        if (remaining.signum() <= 0) {
+            return price.setScale(2, RoundingMode.HALF_UP);
+        }
+        return price.subtract(remaining).setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    // ========== AVALIACAO INTERPRETADA ==========
+    
+    private static boolean evaluate(Condition condition, PricingContext context) {
+        if (condition instanceof And) {
+            And and = (And) condition;
+            return evaluate(and.left, context) && evaluate(and.right, context);
+        }
+        if (condition instanceof Or) {
+            Or or = (Or) condition;
+            return evaluate(or.left, context) || evaluate(or.right, context);
+        }
+        
+        Comparison comparison = (Comparison) condition;
+        switch (comparison.field) {
+            case PRICE:
+                return comparison.operator.test(context.getPrice().compareTo((BigDecimal) comparison.literal));
+            case QUANTITY:
+                return comparison.operator.test(Integer.compare(context.getQuantity(), (Integer) comparison.literal));
+            case CATEGORY:
+                boolean equal = Objects.equals(context.getCategory(), comparison.literal);
+                return comparison.operator == RuleAst.Operator.EQ ? equal : !equal;
+            default:
+                return comparison.operator.test(context.getDate().compareTo((LocalDate) comparison.literal));
+        }
+    }
+    
+    private static BigDecimal interpret(Action action, BigDecimal remaining, BigDecimal price) {
+        switch (action.type) {
+            case PERCENT:
+                return remaining.multiply(BigDecimal.ONE.subtract(action.amount.divide(HUNDRED)));
+            case FIXED:
+                BigDecimal reduced = remaining.subtract(action.amount);
+                return reduced.signum() < 0 ? BigDecimal.ZERO : reduced;
+            default:
+                return remaining.max(price.subtract(action.amount));
+        }
+    }
+    
+    // ========== COMPILACAO PARA LAMBDAS ==========
+    
+    /**
+     * Acao compilada: recebe o valor restante e o preco original
+     */
+    @FunctionalInterface
+    private interface CompiledAction {
+        BigDecimal apply(BigDecimal remaining, BigDecimal price);
+    }
+    
+    private static final class CompiledRule {
+        // Nula quando a regra se aplica sempre
+        final Predicate<PricingContext> condition;
+        final CompiledAction action;
+        
+        CompiledRule(Predicate<PricingContext> condition, CompiledAction action) {
+            this.condition = condition;
+            this.action = action;
+        }
+    }
+    
+    private static CompiledRule compile(Rule rule) {
+        return new CompiledRule(rule.condition == null ? null : compile(rule.condition), compile(rule.actions));
+    }
+    
+    private static Predicate<PricingContext> compile(Condition condition) {
+        if (condition instanceof And) {
+            Predicate<PricingContext> left = compile(((And) condition).left);
+            Predicate<PricingContext> right = compile(((And) condition).right);
+            return context -> left.test(context) && right.test(context);
+        }
+        if (condition instanceof Or) {
+            Predicate<PricingContext> left = compile(((Or) condition).left);
+            Predicate<PricingContext> right = compile(((Or) condition).right);
+            return context -> left.test(context) || right.test(context);
+        }
+        
+        Comparison comparison = (Comparison) condition;
+        switch (comparison.field) {
+            case PRICE:
+                return comparePrice(comparison.operator, (BigDecimal) comparison.literal);
+            case QUANTITY:
+                return compareQuantity(comparison.operator, (Integer) comparison.literal);
+            case CATEGORY:
+                String category = (String) comparison.literal;
+                return comparison.operator == RuleAst.Operator.EQ
+                        ? context -> category.equals(context.getCategory())
+                        : context -> !category.equals(context.getCategory());
+            default:
+                return compareDate(comparison.operator, (LocalDate) comparison.literal);
+        }
+    }
+    
+    // Um lambda por operador, para que a comparacao nao passe por um switch a cada chamada
+    private static Predicate<PricingContext> comparePrice(RuleAst.Operator operator, BigDecimal value) {
+        switch (operator) {
+            case GE: return context -> context.getPrice().compareTo(value) >= 0;
+            case LE: return context -> context.getPrice().compareTo(value) <= 0;
+            case GT: return context -> context.getPrice().compareTo(value) > 0;
+            case LT: return context -> context.getPrice().compareTo(value) < 0;
+            case EQ: return context -> context.getPrice().compareTo(value) == 0;
+            default: return context -> context.getPrice().compareTo(value) != 0;
+        }
+    }
+    
+    private static Predicate<PricingContext> compareQuantity(RuleAst.Operator operator, int value) {
+        switch (operator) {
+            case GE: return context -> context.getQuantity() >= value;
+            case LE: return context -> context.getQuantity() <= value;
+            case GT: return context -> context.getQuantity() > value;
+            case LT: return context -> context.getQuantity() < value;
+            case EQ: return context -> context.getQuantity() == value;
+            default: return context -> context.getQuantity() != value;
+        }
+    }
+    
+    private static Predicate<PricingContext> compareDate(RuleAst.Operator operator, LocalDate value) {
+        switch (operator) {
+            case GE: return context -> !context.getDate().isBefore(value);
+            case LE: return context -> !context.getDate().isAfter(value);
+            case GT: return context -> context.getDate().isAfter(value);
+            case LT: return context -> context.getDate().isBefore(value);
+            case EQ: return context -> context.getDate().isEqual(value);
+            default: return context -> !context.getDate().isEqual(value);
+        }
+    }
+    
+    /**
+     * Compila as acoes de uma regra em uma unica funcao
+     * 
+     * Percentuais consecutivos sao multiplicados em tempo de compilacao.
+     */
+    private static CompiledAction compile(List<Action> actions) {
+        List<CompiledAction> steps = new ArrayList<>();
+        BigDecimal keep = null;
+        
+        for (Action action : actions) {
+            if (action.type == RuleAst.ActionType.PERCENT) {
+                BigDecimal factor = BigDecimal.ONE.subtract(action.amount.divide(HUNDRED));
+                keep = keep == null ? factor : keep.multiply(factor);
+                continue;
+            }
+            if (keep != null) {
+                steps.add(percent(keep));
+                keep = null;
+            }
+            steps.add(action.type == RuleAst.ActionType.FIXED ? fixed(action.amount) : cap(action.amount));
+        }
+        if (keep != null) {
+            steps.add(percent(keep));
+        }
+        
+        if (steps.size() == 1) {
+            return steps.get(0);
+        }
+        if (steps.size() == 2) {
+            CompiledAction first = steps.get(0);
+            CompiledAction second = steps.get(1);
+            return (remaining, price) -> second.apply(first.apply(remaining, price), price);
+        }
+        CompiledAction[] chain = steps.toArray(new CompiledAction[0]);
+        return (remaining, price) -> {
+            BigDecimal value = remaining;
+            for (CompiledAction step : chain) {
+                value = step.apply(value, price);
+            }
+            return value;
+        };
+    }
+    
+    private static CompiledAction percent(BigDecimal keep) {
+        BigDecimal factor = keep.stripTrailingZeros();
+        return (remaining, price) -> remaining.multiply(factor);
+    }
+    
+    private static CompiledAction fixed(BigDecimal amount) {
+        return (remaining, price) -> {
+            BigDecimal reduced = remaining.subtract(amount);
+            return reduced.signum() < 0 ? BigDecimal.ZERO : reduced;
+        };
+    }
+    
+    private static CompiledAction cap(BigDecimal amount) {
+        return (remaining, price) -> remaining.max(price.subtract(amount));
+    }
+}
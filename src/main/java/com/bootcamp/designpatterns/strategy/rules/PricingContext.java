@@ -0,0 +1,77 @@
+package com.bootcamp.designpatterns.strategy.rules;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Dados de uma precificacao avaliados pelas regras de desconto
+ * 
+ * Preco unitario, quantidade, categoria do produto e data de referencia
+ * da compra. Os tres primeiros sao finais; sem data informada, a data de
+ * hoje so e consultada quando alguma regra de data le o contexto. Ela e
+ * fixada na primeira leitura (campo volatil, resolvido sob o lock do
+ * contexto), entao todas as regras e threads veem a mesma data, mesmo
+ * perto da meia-noite.
+ */
+public final class PricingContext {
+    
+    private final BigDecimal price;
+    private final int quantity;
+    private final String category;
+    // Nula ate a primeira leitura quando nenhuma data foi informada
+    private volatile LocalDate date;
+    
+    /**
+     * Construtor completo
+     * 
+     * @param price preco original
+     * @param quantity quantidade comprada
+     * @param category categoria do produto (opcional)
+     * @param date data de referencia (nula significa hoje)
+     */
+    public PricingContext(BigDecimal price, int quantity, String category, LocalDate date) {
+        this.price = price;
+        this.quantity = quantity;
+        this.category = category;
+        this.date = date;
+    }
+    
+    /**
+     * Contexto com apenas o preco: quantidade 1, sem categoria, data de hoje
+     * 
+     * @param price preco original
+     * @return novo contexto
+     */
+    public static PricingContext of(BigDecimal price) {
+        return new PricingContext(price, 1, null, null);
+    }
+    
+    // Getters
+    public BigDecimal getPrice() { return price; }
+    public int getQuantity() { return quantity; }
+    public String getCategory() { return category; }
+    
+    /**
+     * Data de referencia da compra
+     * 
+     * @return data informada ou, se nenhuma, a data de hoje
+     */
+    public LocalDate getDate() {
+        LocalDate resolved = date;
+        if (resolved != null) {
+            return resolved;
+        }
+        synchronized (this) {
+            if (date == null) {
+                date = LocalDate.now();
+            }
+            return date;
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("PricingContext{price=%s, quantity=%d, category='%s', date=%s}", 
+                           price, quantity, category, getDate());
+    }
+}
@@ -0,0 +1,179 @@
+package com.bootcamp.designpatterns.strategy.rules;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Arvore sintatica das regras de desconto
+ * 
+ * Produzida pelo RuleParser e usada tanto pelo avaliador interpretado
+ * quanto pelo compilador de lambdas.
+ */
+final class RuleAst {
+    
+    private RuleAst() {
+    }
+    
+    /**
+     * Campos disponiveis nas condicoes
+     */
+    enum Field {
+        PRICE, QUANTITY, CATEGORY, DATE
+    }
+    
+    /**
+     * Operadores de comparacao
+     */
+    enum Operator {
+        GE(">="), LE("<="), GT(">"), LT("<"), EQ("=="), NE("!=");
+        
+        final String symbol;
+        
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+        
+        /**
+         * Aplica o operador ao resultado de um compareTo
+         */
+        boolean test(int comparison) {
+            switch (this) {
+                case GE: return comparison >= 0;
+                case LE: return comparison <= 0;
+                case GT: return comparison > 0;
+                case LT: return comparison < 0;
+                case EQ: return comparison == 0;
+                default: return comparison != 0;
+            }
+        }
+    }
+    
+    /**
+     * Tipos de acao
+     */
+    enum ActionType {
+        PERCENT, FIXED, CAP
+    }
+    
+    /**
+     * Condicao: comparacao simples ou combinacao com and/or
+     */
+    interface Condition {
+    }
+    
+    static final class Comparison implements Condition {
+        final Field field;
+        final Operator operator;
+        // BigDecimal para price, Integer para quantity, String para category, LocalDate para date
+        final Object literal;
+        
+        Comparison(Field field, Operator operator, Object literal) {
+            this.field = field;
+            this.operator = operator;
+            this.literal = literal;
+        }
+        
+        @Override
+        public String toString() {
+            String value;
+            if (literal instanceof String) {
+                value = "\"" + literal + "\"";
+            } else if (literal instanceof BigDecimal) {
+                value = ((BigDecimal) literal).stripTrailingZeros().toPlainString();
+            } else {
+                value = String.valueOf(literal);
+            }
+            return field.name().toLowerCase(Locale.ROOT) + " " + operator.symbol + " " + value;
+        }
+    }
+    
+    static final class And implements Condition {
+        final Condition left;
+        final Condition right;
+        
+        And(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+        
+        @Override
+        public String toString() {
+            return left + " and " + right;
+        }
+    }
+    
+    static final class Or implements Condition {
+        final Condition left;
+        final Condition right;
+        
+        Or(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+        
+        @Override
+        public String toString() {
+            return left + " or " + right;
+        }
+    }
+    
+    static final class Action {
+        final ActionType type;
+        final BigDecimal amount;
+        
+        Action(ActionType type, BigDecimal amount) {
+            this.type = type;
+            this.amount = amount;
+        }
+        
+        @Override
+        public String toString() {
+            return type.name().toLowerCase(Locale.ROOT) + " " + amount.stripTrailingZeros().toPlainString();
+        }
+    }
+    
+    static final class Rule {
+        // Nula quando a regra se aplica sempre
+        final Condition condition;
+        final List<Action> actions;
+        
+        Rule(Condition condition, List<Action> actions) {
+            this.condition = condition;
+            this.actions = actions;
+        }
+        
+        boolean usesField(Field field) {
+            return uses(condition, field);
+        }
+        
+        private static boolean uses(Condition condition, Field field) {
+            if (condition == null) {
+                return false;
+            }
+            if (condition instanceof Comparison) {
+                return ((Comparison) condition).field == field;
+            }
+            if (condition instanceof And) {
+                return uses(((And) condition).left, field) || uses(((And) condition).right, field);
+            }
+            return uses(((Or) condition).left, field) || uses(((Or) condition).right, field);
+        }
+        
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            if (condition != null) {
+                text.append("when ").append(condition).append(' ');
+            }
+            text.append("then ");
+            for (int i = 0; i < actions.size(); i++) {
+                if (i > 0) {
+                    text.append(", ");
+                }
+                text.append(actions.get(i));
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.bootcamp.designpatterns.strategy.rules;
+
+import com.bootcamp.designpatterns.strategy.DiscountStrategy;
+
+import java.math.BigDecimal;
+
+/**
+ * Estrategia de desconto definida por regras em texto
+ * 
+ * Permite criar novos tipos de desconto sem escrever uma nova classe:
+ * as regras sao interpretadas e compiladas uma unica vez na construcao.
+ * Pela interface DiscountStrategy apenas o preco e conhecido (quantidade 1,
+ * sem categoria, data de hoje); use {@link #calculateDiscount(PricingContext)}
+ * para avaliar as demais condicoes.
+ */
+public class RuleBasedDiscountStrategy implements DiscountStrategy {
+    
+    private final DiscountRuleSet ruleSet;
+    private final String fingerprint;
+    
+    /**
+     * Construtor a partir do texto das regras
+     * 
+     * @param source regras de desconto
+     * @throws IllegalArgumentException se alguma regra for invalida
+     */
+    public RuleBasedDiscountStrategy(String source) {
+        this(DiscountRuleSet.parse(source));
+    }
+    
+    /**
+     * Construtor a partir de regras ja compiladas
+     * 
+     * @param ruleSet regras compiladas
+     */
+    public RuleBasedDiscountStrategy(DiscountRuleSet ruleSet) {
+        if (ruleSet == null) {
+            throw new IllegalArgumentException("Regras de desconto sao obrigatorias");
+        }
+        this.ruleSet = ruleSet;
+        // Regras com data mudam de resultado com o tempo e nao podem ser memorizadas
+        this.fingerprint = ruleSet.isDateDependent() ? null : "rules:" + ruleSet.getCanonicalSource();
+    }
+    
+    /**
+     * Calcula o desconto considerando apenas o preco
+     * 
+     * @param originalValue valor original do produto
+     * @return valor do desconto
+     */
+    @Override
+    public BigDecimal calculateDiscount(BigDecimal originalValue) {
+        return ruleSet.calculateDiscount(PricingContext.of(originalValue));
+    }
+    
+    /**
+     * Calcula o desconto com todos os dados da precificacao
+     * 
+     * @param context preco, quantidade, categoria e data
+     * @return valor do desconto
+     */
+    public BigDecimal calculateDiscount(PricingContext context) {
+        return ruleSet.calculateDiscount(context);
+    }
+    
+    /**
+     * Calcula o desconto de um carrinho com a quantidade total de itens
+     * 
+     * @param subtotal subtotal do carrinho
+     * @param totalQuantity quantidade total de itens
+     * @return valor do desconto
+     */
+    @Override
+    public BigDecimal calculateCartDiscount(BigDecimal subtotal, int totalQuantity) {
+        return ruleSet.calculateDiscount(new PricingContext(subtotal, totalQuantity, null, null));
+    }
+    
+    /**
+     * Retorna a descricao do desconto
+     * 
+     * @return descricao do desconto
+     */
+    @Override
+    public String getDescription() {
+        return "Desconto por Regras";
+    }
+    
+    /**
+     * Retorna as regras em forma normalizada
+     * 
+     * @return regras separadas por "; "
+     */
+    @Override
+    public String getDiscountInfo() {
+        return ruleSet.getCanonicalSource();
+    }
+    
+    /**
+     * Retorna a impressao digital das regras
+     * 
+     * @return identificador das regras ou null se dependerem da data
+     */
+    @Override
+    public String getFingerprint() {
+        return fingerprint;
+    }
+    
+    /**
+     * Retorna as regras compiladas
+     * 
+     * @return conjunto de regras
+     */
+    public DiscountRuleSet getRuleSet() {
+        return ruleSet;
+    }
+}
@@ -0,0 +1,278 @@
+package com.bootcamp.designpatterns.strategy.rules;
+
+import com.bootcamp.designpatterns.strategy.rules.RuleAst.Action;
+import com.bootcamp.designpatterns.strategy.rules.RuleAst.ActionType;
+import com.bootcamp.designpatterns.strategy.rules.RuleAst.And;
+import com.bootcamp.designpatterns.strategy.rules.RuleAst.Comparison;
+import com.bootcamp.designpatterns.strategy.rules.RuleAst.Condition;
+import com.bootcamp.designpatterns.strategy.rules.RuleAst.Field;
+import com.bootcamp.designpatterns.strategy.rules.RuleAst.Operator;
+import com.bootcamp.designpatterns.strategy.rules.RuleAst.Or;
+import com.bootcamp.designpatterns.strategy.rules.RuleAst.Rule;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parser da linguagem de regras de desconto
+ * 
+ * Gramatica (palavras-chave sem distincao de maiusculas):
+ * <pre>
+ * regras    := regra ((nova linha | ';') regra)*
+ * regra     := ["when" condicao] "then" acao ("," acao)*
+ * condicao  := termo ("or" termo)*
+ * termo     := comparacao ("and" comparacao)*
+ * comparacao:= campo operador literal
+ * campo     := price | quantity | category | date
+ * operador  := &gt;= | &lt;= | &gt; | &lt; | == | !=
+ * acao      := percent N | fixed N | cap N
+ * </pre>
+ * Textos vao entre aspas e datas no formato AAAA-MM-DD. O caractere
+ * '#' inicia um comentario ate o fim da linha.
+ */
+final class RuleParser {
+    
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+    
+    private final List<String> tokens;
+    private final int line;
+    private int position;
+    
+    private RuleParser(List<String> tokens, int line) {
+        this.tokens = tokens;
+        this.line = line;
+    }
+    
+    /**
+     * Interpreta o texto das regras
+     * 
+     * @param source texto com uma ou mais regras
+     * @return regras na ordem declarada
+     * @throws IllegalArgumentException se alguma regra for invalida
+     */
+    static List<Rule> parse(String source) {
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException("Regras de desconto nao informadas");
+        }
+        
+        List<Rule> rules = new ArrayList<>();
+        String[] lines = source.split("\\R");
+        for (int lineNumber = 1; lineNumber <= lines.length; lineNumber++) {
+            String content = stripComment(lines[lineNumber - 1]);
+            for (String statement : splitStatements(content)) {
+                if (!statement.isBlank()) {
+                    rules.add(new RuleParser(tokenize(statement, lineNumber), lineNumber).rule());
+                }
+            }
+        }
+        
+        if (rules.isEmpty()) {
+            throw new IllegalArgumentException("Regras de desconto nao informadas");
+        }
+        return rules;
+    }
+    
+    private Rule rule() {
+        Condition condition = null;
+        if (accept("when")) {
+            condition = condition();
+        }
+        expect("then");
+        
+        List<Action> actions = new ArrayList<>();
+        actions.add(action());
+        while (accept(",")) {
+            actions.add(action());
+        }
+        
+        if (position < tokens.size()) {
+            throw error("Texto inesperado: " + tokens.get(position));
+        }
+        return new Rule(condition, actions);
+    }
+    
+    private Condition condition() {
+        Condition condition = term();
+        while (accept("or")) {
+            condition = new Or(condition, term());
+        }
+        return condition;
+    }
+    
+    private Condition term() {
+        Condition condition = comparison();
+        while (accept("and")) {
+            condition = new And(condition, comparison());
+        }
+        return condition;
+    }
+    
+    private Condition comparison() {
+        String fieldName = next("campo");
+        Field field;
+        try {
+            field = Field.valueOf(fieldName.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw error("Campo desconhecido: " + fieldName);
+        }
+        
+        String symbol = next("operador");
+        Operator operator = null;
+        for (Operator candidate : Operator.values()) {
+            if (candidate.symbol.equals(symbol)) {
+                operator = candidate;
+            }
+        }
+        if (operator == null) {
+            throw error("Operador desconhecido: " + symbol);
+        }
+        
+        String literal = next("valor");
+        switch (field) {
+            case PRICE:
+                return new Comparison(field, operator, number(literal));
+            case QUANTITY:
+                try {
+                    return new Comparison(field, operator, number(literal).intValueExact());
+                } catch (ArithmeticException e) {
+                    throw error("Quantidade deve ser um numero inteiro: " + literal);
+                }
+            case CATEGORY:
+                if (operator != Operator.EQ && operator != Operator.NE) {
+                    throw error("Categoria aceita apenas == e !=");
+                }
+                if (!literal.startsWith("\"")) {
+                    throw error("Categoria deve estar entre aspas: " + literal);
+                }
+                return new Comparison(field, operator, literal.substring(1, literal.length() - 1));
+            default:
+                try {
+                    return new Comparison(field, operator, LocalDate.parse(literal));
+                } catch (DateTimeParseException e) {
+                    throw error("Data invalida (use AAAA-MM-DD): " + literal);
+                }
+        }
+    }
+    
+    private Action action() {
+        String name = next("acao");
+        ActionType type;
+        try {
+            type = ActionType.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw error("Acao desconhecida: " + name);
+        }
+        
+        BigDecimal amount = number(next("valor da acao"));
+        if (amount.signum() < 0) {
+            throw error("Valor da acao nao pode ser negativo: " + amount);
+        }
+        if (type == ActionType.PERCENT && amount.compareTo(HUNDRED) > 0) {
+            throw error("Percentual deve estar entre 0 e 100: " + amount);
+        }
+        return new Action(type, amount);
+    }
+    
+    private BigDecimal number(String literal) {
+        try {
+            return new BigDecimal(literal);
+        } catch (NumberFormatException e) {
+            throw error("Numero invalido: " + literal);
+        }
+    }
+    
+    private boolean accept(String keyword) {
+        if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+    
+    private void expect(String keyword) {
+        if (!accept(keyword)) {
+            throw error("Esperado '" + keyword + "'" + (position < tokens.size() ? " em " + tokens.get(position) : ""));
+        }
+    }
+    
+    private String next(String expected) {
+        if (position >= tokens.size()) {
+            throw error("Esperado " + expected + " no fim da regra");
+        }
+        return tokens.get(position++);
+    }
+    
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Regra invalida na linha " + line + ": " + message);
+    }
+    
+    private static List<String> splitStatements(String line) {
+        List<String> statements = new ArrayList<>();
+        boolean quoted = false;
+        int start = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ';' && !quoted) {
+                statements.add(line.substring(start, i));
+                start = i + 1;
+            }
+        }
+        statements.add(line.substring(start));
+        return statements;
+    }
+    
+    private static String stripComment(String line) {
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == '#' && !quoted) {
+                return line.substring(0, i);
+            }
+        }
+        return line;
+    }
+    
+    /**
+     * Divide uma regra em palavras, numeros, textos, operadores e virgulas
+     */
+    private static List<String> tokenize(String text, int line) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == ',') {
+                tokens.add(",");
+                i++;
+            } else if (c == '"') {
+                int end = text.indexOf('"', i + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Regra invalida na linha " + line + ": texto sem aspas de fechamento");
+                }
+                tokens.add(text.substring(i, end + 1));
+                i = end + 1;
+            } else if (c == '>' || c == '<' || c == '=' || c == '!') {
+                boolean twoChars = i + 1 < text.length() && text.charAt(i + 1) == '=';
+                tokens.add(text.substring(i, twoChars ? i + 2 : i + 1));
+                i += twoChars ? 2 : 1;
+            } else {
+                int start = i;
+                while (i < text.length() && !Character.isWhitespace(text.charAt(i))
+                        && ",\"<>=!".indexOf(text.charAt(i)) < 0) {
+                    i++;
+                }
+                tokens.add(text.substring(start, i));
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,71 @@
+package com.bootcamp.designpatterns.benchmark;
+
+import com.bootcamp.designpatterns.service.ProductService;
+import com.bootcamp.designpatterns.strategy.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark do calculo de precos em lote
+ * 
+ * Compara o custo por item do caminho individual (uma chamada por preco,
+ * como acontece com /strategy/calculate-price) com o caminho em lote
+ * usado por /strategy/calculate-batch.
+ * 
+ * Nao roda no build padrao. Execute com: mvn test -Pbenchmark-tests
+ */
+@Tag("benchmark")
+public class BatchPricingBenchmarkTest {
+    
+    private static final int ITEMS = 20_000;
+    private static final int ROUNDS = 5;
+    
+    @Test
+    @DisplayName("Benchmark - Lote deve ser mais barato por item que chamadas individuais")
+    void benchmarkBatchVersusSingleItem() {
+        // Arrange
+        ProductService productService = new ProductService();
+        DiscountStrategy strategy = new PercentageDiscountStrategy(new BigDecimal("0.15"));
+        List<BigDecimal> prices = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            prices.add(BigDecimal.valueOf(100 + i % 5000, 2).add(BigDecimal.TEN));
+        }
+        
+        long bestSingle = Long.MAX_VALUE;
+        long bestBatch = Long.MAX_VALUE;
+        List<BigDecimal> singleResults = null;
+        List<BigDecimal> batchResults = null;
+        
+        // Act - melhor de varias rodadas para reduzir o ruido do aquecimento
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            singleResults = new ArrayList<>(ITEMS);
+            for (BigDecimal price : prices) {
+                singleResults.add(productService.calculateDiscountedPrice(price, strategy));
+            }
+            bestSingle = Math.min(bestSingle, System.nanoTime() - start);
+            
+            start = System.nanoTime();
+            batchResults = productService.calculateDiscountedPrices(prices, strategy);
+            bestBatch = Math.min(bestBatch, System.nanoTime() - start);
+        }
+        
+        // Assert
+        assertEquals(singleResults, batchResults, "Lote deve produzir os mesmos precos");
+        
+        double singlePerItem = (double) bestSingle / ITEMS;
+        double batchPerItem = (double) bestBatch / ITEMS;
+        System.out.printf("Individual: %.1f ns/item | Lote: %.1f ns/item | Ganho: %.1fx%n",
+                          singlePerItem, batchPerItem, singlePerItem / batchPerItem);
+        
+        assertTrue(batchPerItem < singlePerItem, "Lote deve ser mais barato por item");
+    }
+}
@@ -0,0 +1,146 @@
+package com.bootcamp.designpatterns.benchmark;
+
+import com.bootcamp.designpatterns.facade.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark do lote de pedidos contra chamadas individuais
+ * 
+ * Simula uma integracao de marketplace que envia 200 pedidos de 10
+ * produtos com 20 cartoes distintos. Cada consulta aos subsistemas custa
+ * 5 ms e o pagamento 20 ms. As chamadas individuais sao feitas uma apos a
+ * outra, como um cliente HTTP que espera cada resposta.
+ * 
+ * Nao roda no build padrao. Execute com: mvn test -Pbenchmark-tests
+ */
+@Tag("benchmark")
+public class BulkOrderBenchmarkTest {
+    
+    private static final int ORDERS = 200;
+    private static final int PRODUCTS = 10;
+    private static final int CARDS = 20;
+    private static final long REMOTE_CALL_MILLIS = 5;
+    private static final long PAYMENT_MILLIS = 20;
+    
+    @Test
+    @DisplayName("Benchmark - Lote de pedidos contra N chamadas individuais")
+    void benchmarkBulkOrders() {
+        // Arrange - estoque suficiente para aquecimento, chamadas individuais e lote
+        SlowInventoryService inventory = new SlowInventoryService();
+        for (int p = 0; p < PRODUCTS; p++) {
+            inventory.restock("PROD" + (124 + 2 * p), 10 * ORDERS);
+        }
+        EcommerceFacade facade = new EcommerceFacade(inventory, new SlowPaymentService(), new SlowDeliveryService());
+        List<OrderRequest> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            String productId = "PROD" + (124 + 2 * (i % PRODUCTS));
+            String cardNumber = String.format("12345678901234%02d", i % CARDS);
+            orders.add(new OrderRequest(productId, 1 + i % 5, new BigDecimal("100.00"), cardNumber,
+                                        "123", "12/25", "Rua das Flores, 123", "0100" + (i % 4) + "-000"));
+        }
+        
+        // Aquecimento
+        facade.processOrdersAsync(orders.subList(0, 20)).join();
+        
+        // Act
+        long start = System.nanoTime();
+        List<OrderResult> singles = new ArrayList<>(ORDERS);
+        for (OrderRequest order : orders) {
+            singles.add(facade.processOrderAsync(order).join());
+        }
+        long singleMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        start = System.nanoTime();
+        List<OrderResult> batch = facade.processOrdersAsync(orders).join();
+        long batchMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        // Assert
+        for (int i = 0; i < ORDERS; i++) {
+            assertEquals(singles.get(i).getMessage(), batch.get(i).getMessage(), "Resultado divergente na linha " + i);
+        }
+        
+        double singleThroughput = ORDERS * 1000.0 / singleMillis;
+        double batchThroughput = ORDERS * 1000.0 / Math.max(1, batchMillis);
+        System.out.printf("Chamadas individuais: %d ms (%.0f pedidos/s)%n", singleMillis, singleThroughput);
+        System.out.printf("Lote: %d ms (%.0f pedidos/s) | ganho %.1fx%n", batchMillis, batchThroughput,
+                          batchThroughput / singleThroughput);
+        
+        assertTrue(batchThroughput > 10 * singleThroughput, "Lote deve processar muito mais pedidos por segundo");
+    }
+    
+    private static void remoteCall(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static final class SlowInventoryService extends InventoryService {
+        @Override
+        public boolean checkStock(String productId, int quantity) {
+            remoteCall(REMOTE_CALL_MILLIS);
+            return super.checkStock(productId, quantity);
+        }
+        
+        @Override
+        public StockHoldManager.Hold[] holdBatch(String productId, int[] quantities) {
+            remoteCall(REMOTE_CALL_MILLIS);
+            return super.holdBatch(productId, quantities);
+        }
+        
+        @Override
+        public boolean[] updateStock(String productId, List<StockHoldManager.Hold> holds) {
+            remoteCall(REMOTE_CALL_MILLIS);
+            return super.updateStock(productId, holds);
+        }
+    }
+    
+    private static final class SlowPaymentService extends PaymentService {
+        @Override
+        public boolean validateCard(String cardNumber, String cvv, String expiryDate) {
+            remoteCall(REMOTE_CALL_MILLIS);
+            return super.validateCard(cardNumber, cvv, expiryDate);
+        }
+        
+        @Override
+        public boolean[] validateCards(String[] cardNumbers, String[] cvvs, String[] expiryDates) {
+            // Gateway valida o lote em uma unica chamada remota
+            remoteCall(REMOTE_CALL_MILLIS);
+            boolean[] valid = new boolean[cardNumbers.length];
+            for (int i = 0; i < valid.length; i++) {
+                valid[i] = super.validateCard(cardNumbers[i], cvvs[i], expiryDates[i]);
+            }
+            return valid;
+        }
+        
+        @Override
+        public String processPayment(BigDecimal amount, String cardNumber) {
+            remoteCall(PAYMENT_MILLIS);
+            return amount.compareTo(new BigDecimal("1000")) < 0 ? "TXN" + System.nanoTime() : null;
+        }
+    }
+    
+    private static final class SlowDeliveryService extends DeliveryService {
+        @Override
+        public double calculateShipping(String zipCode) {
+            remoteCall(REMOTE_CALL_MILLIS);
+            return super.calculateShipping(zipCode);
+        }
+        
+        @Override
+        public String scheduleDelivery(String orderId, String address, String zipCode) {
+            remoteCall(REMOTE_CALL_MILLIS);
+            return super.scheduleDelivery(orderId, address, zipCode);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.bootcamp.designpatterns.benchmark;
+
+import com.bootcamp.designpatterns.strategy.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark da precificacao de carrinhos de 1000 linhas
+ * 
+ * Compara o motor primitivo (CartPricingEngine) com uma alocacao ingenua
+ * em BigDecimal: rateio proporcional linha a linha com divisao
+ * arredondada e ajuste do resto na ultima linha.
+ * 
+ * Nao roda no build padrao. Execute com: mvn test -Pbenchmark-tests
+ */
+@Tag("benchmark")
+public class CartPricingBenchmarkTest {
+    
+    private static final int LINES = 1_000;
+    private static final int CARTS = 2_000;
+    private static final int ROUNDS = 10;
+    
+    @Test
+    @DisplayName("Benchmark - Motor primitivo contra rateio em BigDecimal")
+    void benchmarkCartPricing() {
+        // Arrange
+        DiscountStrategy strategy = new ProgressiveDiscountStrategy();
+        CartPricingEngine engine = new CartPricingEngine(strategy);
+        long[] unitCents = new long[LINES];
+        int[] quantities = new int[LINES];
+        BigDecimal[] unitPrices = new BigDecimal[LINES];
+        for (int i = 0; i < LINES; i++) {
+            unitCents[i] = 100 + (i * 7919L) % 50_000;
+            quantities[i] = 1 + i % 4;
+            unitPrices[i] = FixedPointMath.fromCents(unitCents[i]);
+        }
+        long[] lineTotals = new long[LINES];
+        long[] lineDiscounts = new long[LINES];
+        
+        long bestEngine = Long.MAX_VALUE;
+        long bestNaive = Long.MAX_VALUE;
+        long engineDiscount = 0;
+        BigDecimal naiveDiscount = BigDecimal.ZERO;
+        
+        // Act - melhor de varias rodadas para reduzir o ruido do aquecimento
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int cart = 0; cart < CARTS; cart++) {
+                engineDiscount = engine.price(unitCents, quantities, LINES, lineTotals, lineDiscounts);
+            }
+            bestEngine = Math.min(bestEngine, System.nanoTime() - start);
+            
+            start = System.nanoTime();
+            for (int cart = 0; cart < CARTS; cart++) {
+                naiveDiscount = naive(strategy, unitPrices, quantities);
+            }
+            bestNaive = Math.min(bestNaive, System.nanoTime() - start);
+        }
+        
+        // Assert - mesmo desconto total
+        assertEquals(FixedPointMath.fromCents(engineDiscount), naiveDiscount);
+        
+        double enginePerCart = (double) bestEngine / CARTS;
+        double naivePerCart = (double) bestNaive / CARTS;
+        System.out.printf("BigDecimal: %.0f ns/carrinho | Primitivo: %.0f ns/carrinho | Ganho: %.1fx%n",
+                          naivePerCart, enginePerCart, naivePerCart / enginePerCart);
+        
+        assertTrue(enginePerCart < naivePerCart, "Motor primitivo deve ser mais barato por carrinho");
+    }
+    
+    /**
+     * Rateio ingenuo: totais e parcelas em BigDecimal, resto na ultima linha
+     */
+    private static BigDecimal naive(DiscountStrategy strategy, BigDecimal[] unitPrices, int[] quantities) {
+        BigDecimal[] lineTotals = new BigDecimal[unitPrices.length];
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 0; i < unitPrices.length; i++) {
+            lineTotals[i] = unitPrices[i].multiply(BigDecimal.valueOf(quantities[i]));
+            subtotal = subtotal.add(lineTotals[i]);
+        }
+        
+        BigDecimal discount = subtotal.subtract(new PriceCalculator(strategy).calculateFinalPrice(subtotal));
+        BigDecimal allocated = BigDecimal.ZERO;
+        for (int i = 0; i < unitPrices.length - 1; i++) {
+            BigDecimal share = discount.multiply(lineTotals[i]).divide(subtotal, 2, RoundingMode.HALF_UP);
+            allocated = allocated.add(share);
+        }
+        BigDecimal lastShare = discount.subtract(allocated);
+        return allocated.add(lastShare);
+    }
+}
@@ -0,0 +1,92 @@
+package com.bootcamp.designpatterns.benchmark;
+
+import com.bootcamp.designpatterns.strategy.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark da estrategia composta
+ * 
+ * Compara a avaliacao fundida de CompositeDiscountStrategy com o
+ * encadeamento simples das mesmas etapas, em que cada estrategia calcula
+ * e arredonda seu desconto sobre o valor restante da anterior.
+ * 
+ * Nao roda no build padrao. Execute com: mvn test -Pbenchmark-tests
+ */
+@Tag("benchmark")
+public class CompositeDiscountBenchmarkTest {
+    
+    private static final int ITEMS = 50_000;
+    private static final int ROUNDS = 10;
+    
+    @Test
+    @DisplayName("Benchmark - Avaliacao fundida contra encadeamento simples")
+    void benchmarkFusedVersusChained() {
+        // Arrange - duas etapas afins consecutivas sao compiladas em uma so
+        CompositeDiscountStrategy composite = CompositeDiscountStrategy.builder()
+                .percentage(new BigDecimal("0.10"))
+                .percentage(new BigDecimal("0.05"))
+                .fixed(new BigDecimal("20.00"))
+                .progressive(DiscountTierTable.DEFAULT)
+                .maxDiscountRate(new BigDecimal("0.40"))
+                .build();
+        BigDecimal[] prices = new BigDecimal[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            prices[i] = BigDecimal.valueOf(2_000 + (i * 7919L) % 100_000, 2);
+        }
+        
+        long bestFused = Long.MAX_VALUE;
+        long bestChained = Long.MAX_VALUE;
+        BigDecimal fusedTotal = BigDecimal.ZERO;
+        BigDecimal chainedTotal = BigDecimal.ZERO;
+        
+        // Act - melhor de varias rodadas para reduzir o ruido do aquecimento
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            fusedTotal = BigDecimal.ZERO;
+            for (BigDecimal price : prices) {
+                fusedTotal = fusedTotal.add(composite.calculateDiscount(price));
+            }
+            bestFused = Math.min(bestFused, System.nanoTime() - start);
+            
+            start = System.nanoTime();
+            chainedTotal = BigDecimal.ZERO;
+            for (BigDecimal price : prices) {
+                chainedTotal = chainedTotal.add(chained(composite, price));
+            }
+            bestChained = Math.min(bestChained, System.nanoTime() - start);
+        }
+        
+        // Assert - os resultados so diferem pelos arredondamentos intermediarios
+        BigDecimal tolerance = new BigDecimal("0.02").multiply(BigDecimal.valueOf(ITEMS));
+        assertTrue(fusedTotal.subtract(chainedTotal).abs().compareTo(tolerance) <= 0,
+                   "Avaliacao fundida deve coincidir com o encadeamento a menos de centavos");
+        
+        double fusedPerItem = (double) bestFused / ITEMS;
+        double chainedPerItem = (double) bestChained / ITEMS;
+        System.out.printf("Encadeado: %.1f ns/item | Fundido: %.1f ns/item | Ganho: %.1fx%n",
+                          chainedPerItem, fusedPerItem, chainedPerItem / fusedPerItem);
+        
+        assertTrue(fusedPerItem < chainedPerItem, "Avaliacao fundida deve ser mais barata por item");
+    }
+    
+    /**
+     * Encadeamento simples: cada etapa arredonda seu proprio desconto
+     */
+    private static BigDecimal chained(CompositeDiscountStrategy composite, BigDecimal price) {
+        BigDecimal remaining = price;
+        for (DiscountStrategy stage : composite.getStages()) {
+            remaining = remaining.subtract(stage.calculateDiscount(remaining));
+        }
+        BigDecimal discount = price.subtract(remaining);
+        discount = discount.min(price.multiply(composite.getMaxDiscountRate()));
+        return discount.setScale(2, RoundingMode.HALF_UP);
+    }
+}
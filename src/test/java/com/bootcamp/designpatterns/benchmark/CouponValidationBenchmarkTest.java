@@ -0,0 +1,103 @@
+package com.bootcamp.designpatterns.benchmark;
+
+import com.bootcamp.designpatterns.coupon.CouponCodes;
+import com.bootcamp.designpatterns.coupon.CouponStore;
+import com.bootcamp.designpatterns.strategy.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark da validacao de cupons
+ * 
+ * Emite 2 milhoes de cupons e mede a vazao de consultas com metade dos
+ * codigos existentes e metade inexistentes, em uma thread e em uma
+ * thread por processador. A meta e manter mais de 1 milhao de consultas
+ * por segundo em um unico no.
+ * 
+ * Nao roda no build padrao. Execute com: mvn test -Pbenchmark-tests
+ */
+@Tag("benchmark")
+public class CouponValidationBenchmarkTest {
+    
+    private static final int COUPONS = 2_000_000;
+    private static final int CHECKS_PER_THREAD = 4_000_000;
+    private static final int ROUNDS = 3;
+    
+    @Test
+    @DisplayName("Benchmark - Vazao de consultas de cupons")
+    void benchmarkCouponChecks() throws InterruptedException {
+        // Arrange
+        CouponStore store = new CouponStore(COUPONS);
+        CouponStore.Campaign campaign = store.registerCampaign("BENCH", new PercentageDiscountStrategy(new BigDecimal("0.10")));
+        for (int i = 0; i < COUPONS; i++) {
+            store.issue(code(i), campaign);
+        }
+        
+        // Codigos pares existem, impares nao (indices alem dos emitidos)
+        String[] probes = new String[1 << 16];
+        for (int i = 0; i < probes.length; i++) {
+            long index = (i * 2_654_435_761L) % COUPONS;
+            probes[i] = (i & 1) == 0 ? code(index) : code(COUPONS + index);
+        }
+        
+        int threads = Runtime.getRuntime().availableProcessors();
+        double singleThread = 0;
+        double allThreads = 0;
+        
+        // Act
+        for (int round = 0; round < ROUNDS; round++) {
+            singleThread = Math.max(singleThread, measure(store, probes, 1));
+            allThreads = Math.max(allThreads, measure(store, probes, threads));
+        }
+        
+        // Assert
+        System.out.println("\n=== BENCHMARK CUPONS (" + COUPONS + " emitidos) ===");
+        System.out.printf("1 thread:   %,.0f consultas/s%n", singleThread);
+        System.out.printf("%d threads: %,.0f consultas/s%n", threads, allThreads);
+        System.out.printf("Rejeitados pelo filtro de Bloom: %,d de %,d consultas%n",
+                          store.getBloomRejectionCount(), store.getCheckCount());
+        
+        assertTrue(singleThread > 1_000_000, "Vazao abaixo de 1M consultas/s: " + singleThread);
+        assertTrue(store.getBloomRejectionCount() > store.getCheckCount() * 0.45);
+    }
+    
+    private static double measure(CouponStore store, String[] probes, int threads) throws InterruptedException {
+        AtomicLong found = new AtomicLong();
+        List<Thread> workers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 7919;
+            Thread worker = new Thread(() -> {
+                long available = 0;
+                for (int i = 0; i < CHECKS_PER_THREAD; i++) {
+                    if (store.check(probes[(i + offset) & (probes.length - 1)]) == CouponStore.Status.AVAILABLE) {
+                        available++;
+                    }
+                }
+                found.addAndGet(available);
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        
+        assertEquals((long) threads * CHECKS_PER_THREAD / 2, found.get(), "Metade dos codigos existe");
+        return (double) threads * CHECKS_PER_THREAD * 1_000_000_000L / elapsed;
+    }
+    
+    private static String code(long index) {
+        return CouponCodes.decode(index + 1_000_000_000L);
+    }
+}
@@ -0,0 +1,99 @@
+package com.bootcamp.designpatterns.benchmark;
+
+import com.bootcamp.designpatterns.facade.IdempotencyStore;
+import com.bootcamp.designpatterns.facade.OrderResult;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark do custo da chave de idempotencia por pedido
+ * 
+ * Cada thread registra chaves novas e repete uma em cada quatro, como um
+ * cliente que reenvia apos timeout. O pedido em si ja vem pronto, entao o
+ * tempo medido e apenas o da deduplicacao. A meta e que o custo por pedido
+ * seja desprezivel perto de 50 mil pedidos por segundo.
+ * 
+ * Nao roda no build padrao. Execute com: mvn test -Pbenchmark-tests
+ */
+@Tag("benchmark")
+public class IdempotencyBenchmarkTest {
+    
+    private static final int KEYS_PER_THREAD = 500_000;
+    private static final OrderResult RESULT = new OrderResult(true, "Pedido processado com sucesso",
+                                                              "ORD1", "TXN1", "TRACK1");
+    
+    @Test
+    @DisplayName("Benchmark - Deduplicacao por chave de idempotencia")
+    void benchmarkIdempotencyLookups() throws Exception {
+        // Arrange
+        int threads = Runtime.getRuntime().availableProcessors();
+        String[][] keys = new String[threads][KEYS_PER_THREAD];
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < KEYS_PER_THREAD; i++) {
+                keys[t][i] = "cliente-" + t + "-pedido-" + i;
+            }
+        }
+        
+        // Aquecimento
+        run(new IdempotencyStore(), keys);
+        
+        // Act
+        IdempotencyStore store = new IdempotencyStore();
+        long begin = System.nanoTime();
+        long operations = run(store, keys);
+        long elapsed = System.nanoTime() - begin;
+        
+        // Assert
+        double perSecond = operations * 1e9 / elapsed;
+        System.out.printf("%d threads: %.0f chamadas/s | %.0f ns por chamada%n",
+                          threads, perSecond, (double) elapsed * threads / operations);
+        System.out.println(store);
+        
+        assertEquals((long) threads * KEYS_PER_THREAD, store.getExecutionCount());
+        assertEquals((long) threads * KEYS_PER_THREAD / 4, store.getReplayCount());
+        assertTrue(perSecond > 500_000, "Deduplicacao deve suportar 10x a meta de 50 mil pedidos/s");
+    }
+    
+    private static long run(IdempotencyStore store, String[][] keys) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(keys.length);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        for (String[] threadKeys : keys) {
+            results.add(executor.submit(() -> {
+                start.await();
+                long calls = 0;
+                for (int i = 0; i < threadKeys.length; i++) {
+                    store.execute(threadKeys[i], () -> CompletableFuture.completedFuture(RESULT));
+                    calls++;
+                    if ((i & 3) == 3) {
+                        // Reenvio de um pedido recente
+                        store.execute(threadKeys[i - 2], () -> CompletableFuture.completedFuture(RESULT));
+                        calls++;
+                    }
+                }
+                return calls;
+            }));
+        }
+        
+        start.countDown();
+        long calls = 0;
+        for (Future<Long> result : results) {
+            calls += result.get(120, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        return calls;
+    }
+}
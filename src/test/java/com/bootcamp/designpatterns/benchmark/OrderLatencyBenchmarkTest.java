@@ -0,0 +1,134 @@
+package com.bootcamp.designpatterns.benchmark;
+
+import com.bootcamp.designpatterns.facade.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark da latencia de pedidos no Facade
+ * 
+ * Compara o processamento sequencial com o assincrono usando subsistemas
+ * que simulam a latencia de servicos remotos: 20 ms em cada consulta de
+ * estoque, validacao de cartao, frete, entrega e baixa de estoque, e 100 ms
+ * no pagamento. No caminho sequencial as latencias se somam; no assincrono
+ * estoque, cartao e frete se sobrepoem, assim como entrega e baixa.
+ * 
+ * Nao roda no build padrao. Execute com: mvn test -Pbenchmark-tests
+ */
+@Tag("benchmark")
+public class OrderLatencyBenchmarkTest {
+    
+    private static final int ORDERS = 40;
+    private static final long REMOTE_CALL_MILLIS = 20;
+    private static final long PAYMENT_MILLIS = 100;
+    
+    @Test
+    @DisplayName("Benchmark - Latencia p50 e p99 sequencial contra assincrona")
+    void benchmarkOrderLatency() {
+        // Arrange
+        SlowInventoryService inventory = new SlowInventoryService();
+        inventory.restock("PROD124", 1_000);
+        EcommerceFacade facade = new EcommerceFacade(inventory, new SlowPaymentService(), new SlowDeliveryService());
+        OrderRequest order = new OrderRequest("PROD124", 3, new BigDecimal("150.00"), "1234567890123456",
+                                              "123", "12/25", "Rua das Flores, 123", "01000-000");
+        
+        // Aquecimento dos dois caminhos
+        for (int i = 0; i < 3; i++) {
+            facade.processOrder(order);
+            facade.processOrderAsync(order).join();
+        }
+        
+        // Act
+        long[] sequential = new long[ORDERS];
+        long[] async = new long[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            long start = System.nanoTime();
+            OrderResult sequentialResult = facade.processOrder(order);
+            sequential[i] = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            OrderResult asyncResult = facade.processOrderAsync(order).join();
+            async[i] = System.nanoTime() - start;
+            
+            assertTrue(sequentialResult.isSuccess());
+            assertEquals(sequentialResult.getMessage(), asyncResult.getMessage());
+        }
+        
+        // Assert
+        double sequentialP50 = percentileMillis(sequential, 0.50);
+        double sequentialP99 = percentileMillis(sequential, 0.99);
+        double asyncP50 = percentileMillis(async, 0.50);
+        double asyncP99 = percentileMillis(async, 0.99);
+        System.out.printf("Sequencial: p50 %.1f ms | p99 %.1f ms%n", sequentialP50, sequentialP99);
+        System.out.printf("Assincrono: p50 %.1f ms | p99 %.1f ms%n", asyncP50, asyncP99);
+        
+        // Sequencial soma 7 chamadas remotas (estoque conta duas vezes na reserva);
+        // assincrono fica perto de 2 chamadas + pagamento + 1 chamada
+        assertTrue(asyncP50 < sequentialP50 - 2 * REMOTE_CALL_MILLIS, "p50 assincrono deve ser menor");
+        assertTrue(asyncP99 < sequentialP99, "p99 assincrono deve ser menor");
+    }
+    
+    private static double percentileMillis(long[] samples, double percentile) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+    
+    private static void remoteCall(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static final class SlowInventoryService extends InventoryService {
+        @Override
+        public boolean checkStock(String productId, int quantity) {
+            remoteCall(REMOTE_CALL_MILLIS);
+            return super.checkStock(productId, quantity);
+        }
+        
+        @Override
+        public void updateStock(StockHoldManager.Hold hold) {
+            remoteCall(REMOTE_CALL_MILLIS);
+            super.updateStock(hold);
+        }
+    }
+    
+    private static final class SlowPaymentService extends PaymentService {
+        @Override
+        public boolean validateCard(String cardNumber, String cvv, String expiryDate) {
+            remoteCall(REMOTE_CALL_MILLIS);
+            return super.validateCard(cardNumber, cvv, expiryDate);
+        }
+        
+        @Override
+        public String processPayment(BigDecimal amount, String cardNumber) {
+            remoteCall(PAYMENT_MILLIS);
+            return amount.compareTo(new BigDecimal("1000")) < 0 ? "TXN" + System.nanoTime() : null;
+        }
+    }
+    
+    private static final class SlowDeliveryService extends DeliveryService {
+        @Override
+        public double calculateShipping(String zipCode) {
+            remoteCall(REMOTE_CALL_MILLIS);
+            return super.calculateShipping(zipCode);
+        }
+        
+        @Override
+        public String scheduleDelivery(String orderId, String address, String zipCode) {
+            remoteCall(REMOTE_CALL_MILLIS);
+            return super.scheduleDelivery(orderId, address, zipCode);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.bootcamp.designpatterns.benchmark;
+
+import com.bootcamp.designpatterns.pricelist.PriceListResolver;
+import com.bootcamp.designpatterns.pricelist.ResolvedPrice;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark da resolucao de listas de precos
+ * 
+ * 1.000 clientes em 10 segmentos e 500 produtos, com precos por cliente,
+ * por segmento e fatores por categoria. Mede o tempo medio de uma
+ * resolucao com o cache aquecido (todas as consultas sao acertos).
+ * 
+ * Nao roda no build padrao. Execute com: mvn test -Pbenchmark-tests
+ */
+@Tag("benchmark")
+public class PriceListResolverBenchmarkTest {
+    
+    private static final int CUSTOMERS = 1_000;
+    private static final int PRODUCTS = 500;
+    private static final int LOOKUPS = 10_000_000;
+    private static final int ROUNDS = 3;
+    
+    @Test
+    @DisplayName("Benchmark - Resolucao de precos com cache aquecido")
+    void benchmarkCachedResolution() {
+        // Arrange
+        PriceListResolver resolver = new PriceListResolver(CUSTOMERS * PRODUCTS);
+        String[] customers = new String[CUSTOMERS];
+        String[] categories = {"Eletronicos", "Livros", "Casa", "Moda"};
+        BigDecimal[] basePrices = new BigDecimal[PRODUCTS];
+        
+        for (int c = 0; c < CUSTOMERS; c++) {
+            customers[c] = "CLIENTE-" + c;
+            resolver.assignSegment(customers[c], "SEG-" + (c % 10));
+            resolver.setCustomerPrice(customers[c], (long) (c % PRODUCTS), new BigDecimal("49.90"));
+        }
+        for (int p = 0; p < PRODUCTS; p++) {
+            basePrices[p] = BigDecimal.valueOf(1_000 + p * 37L, 2);
+            if (p % 3 == 0) {
+                resolver.setSegmentPrice("SEG-" + (p % 10), (long) p, BigDecimal.valueOf(900 + p * 31L, 2));
+            }
+        }
+        resolver.setCategoryFactor("Eletronicos", new BigDecimal("0.95"));
+        
+        // Aquecimento: resolve todos os pares uma vez
+        for (int c = 0; c < CUSTOMERS; c++) {
+            for (int p = 0; p < PRODUCTS; p++) {
+                resolver.resolve(customers[c], (long) p, categories[p & 3], basePrices[p]);
+            }
+        }
+        long missesAfterWarmup = resolver.getMissCount();
+        
+        double bestNanos = Double.MAX_VALUE;
+        long checksum = 0;
+        
+        // Act
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                int c = (int) ((i * 2_654_435_761L) % CUSTOMERS);
+                int p = i % PRODUCTS;
+                ResolvedPrice resolved = resolver.resolve(customers[c], (long) p, categories[p & 3], basePrices[p]);
+                checksum += resolved.getSource().ordinal();
+            }
+            bestNanos = Math.min(bestNanos, (double) (System.nanoTime() - start) / LOOKUPS);
+        }
+        
+        // Assert
+        System.out.println("\n=== BENCHMARK LISTAS DE PRECOS (" + CUSTOMERS + " clientes x " + PRODUCTS + " produtos) ===");
+        System.out.printf("Resolucao com cache: %.0f ns%n", bestNanos);
+        System.out.println("Resolver: " + resolver + " (checksum " + checksum + ")");
+        
+        assertEquals(missesAfterWarmup, resolver.getMissCount(), "Todas as consultas medidas sao acertos");
+        assertTrue(bestNanos < 1_000, "Resolucao com cache acima de 1 microssegundo: " + bestNanos + " ns");
+    }
+}
@@ -0,0 +1,83 @@
+package com.bootcamp.designpatterns.benchmark;
+
+import com.bootcamp.designpatterns.simulation.OrderHistoryFile;
+import com.bootcamp.designpatterns.simulation.PromotionSimulator;
+import com.bootcamp.designpatterns.simulation.SimulationReport;
+import com.bootcamp.designpatterns.strategy.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark do simulador de promocoes
+ * 
+ * Gera um historico de 25 milhoes de pedidos (200 MB) e mede a vazao do
+ * simulador com um segmento e com um segmento por processador.
+ * 
+ * Nao roda no build padrao. Execute com: mvn test -Pbenchmark-tests
+ */
+@Tag("benchmark")
+public class PromotionSimulatorBenchmarkTest {
+    
+    private static final int ORDERS = 25_000_000;
+    private static final int ROUNDS = 3;
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    @DisplayName("Benchmark - Vazao do simulador sobre historico mapeado em memoria")
+    void benchmarkSimulation() throws IOException {
+        // Arrange
+        long[] amounts = new long[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            amounts[i] = 1_000 + (i * 7919L) % 200_000;
+        }
+        Path file = tempDir.resolve("historico.bin");
+        OrderHistoryFile.write(file, amounts);
+        amounts = null;
+        
+        List<DiscountStrategy> strategies = List.of(
+                new PercentageDiscountStrategy(new BigDecimal("0.10")),
+                new FixedDiscountStrategy(new BigDecimal("20.00")),
+                new ProgressiveDiscountStrategy(DiscountTierTable.DEFAULT));
+        int processors = Runtime.getRuntime().availableProcessors();
+        
+        long bestSingle = Long.MAX_VALUE;
+        long bestParallel = Long.MAX_VALUE;
+        SimulationReport single = null;
+        SimulationReport parallel = null;
+        
+        // Act - melhor de varias rodadas
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            single = new PromotionSimulator(1, DiscountTierTable.DEFAULT).simulate(file, strategies);
+            bestSingle = Math.min(bestSingle, System.nanoTime() - start);
+            
+            start = System.nanoTime();
+            parallel = new PromotionSimulator(processors, DiscountTierTable.DEFAULT).simulate(file, strategies);
+            bestParallel = Math.min(bestParallel, System.nanoTime() - start);
+        }
+        
+        // Assert - mesmos totais independentemente da divisao em segmentos
+        assertEquals(ORDERS, parallel.getOrders());
+        assertEquals(single.getGrossRevenue(), parallel.getGrossRevenue());
+        for (int s = 0; s < strategies.size(); s++) {
+            assertEquals(single.getStrategies().get(s).getTotalDiscount(), parallel.getStrategies().get(s).getTotalDiscount());
+        }
+        
+        double megabytes = (double) ORDERS * OrderHistoryFile.RECORD_BYTES / (1024 * 1024);
+        System.out.printf("1 segmento: %.0f MB/s | %d segmentos: %.0f MB/s | %.1f milhoes de pedidos/s%n",
+                          megabytes / (bestSingle / 1e9), parallel.getSegments(),
+                          megabytes / (bestParallel / 1e9), ORDERS / (bestParallel / 1e9) / 1e6);
+    }
+}
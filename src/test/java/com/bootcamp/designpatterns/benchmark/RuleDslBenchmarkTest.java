@@ -0,0 +1,85 @@
+package com.bootcamp.designpatterns.benchmark;
+
+import com.bootcamp.designpatterns.strategy.*;
+import com.bootcamp.designpatterns.strategy.rules.DiscountRuleSet;
+import com.bootcamp.designpatterns.strategy.rules.PricingContext;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark da linguagem de regras de desconto
+ * 
+ * Compara a mesma regra avaliada de tres formas: estrategia escrita a mao
+ * (PercentageDiscountStrategy), regras compiladas em lambdas e regras
+ * interpretadas sobre a arvore sintatica.
+ * 
+ * Nao roda no build padrao. Execute com: mvn test -Pbenchmark-tests
+ */
+@Tag("benchmark")
+public class RuleDslBenchmarkTest {
+    
+    private static final int ITEMS = 50_000;
+    private static final int ROUNDS = 10;
+    
+    @Test
+    @DisplayName("Benchmark - Regras compiladas contra interpretadas e escritas a mao")
+    void benchmarkCompiledVersusInterpreted() {
+        // Arrange
+        DiscountRuleSet rules = DiscountRuleSet.parse(
+                "when price >= 100 and quantity >= 1 and category != \"Servicos\" then percent 10");
+        DiscountStrategy handWritten = new PercentageDiscountStrategy(new BigDecimal("0.10"));
+        PricingContext[] contexts = new PricingContext[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            contexts[i] = new PricingContext(BigDecimal.valueOf(10_000 + (i * 7919L) % 100_000, 2), 1, "Livros", null);
+        }
+        
+        long bestHandWritten = Long.MAX_VALUE;
+        long bestCompiled = Long.MAX_VALUE;
+        long bestInterpreted = Long.MAX_VALUE;
+        BigDecimal handWrittenTotal = BigDecimal.ZERO;
+        BigDecimal compiledTotal = BigDecimal.ZERO;
+        BigDecimal interpretedTotal = BigDecimal.ZERO;
+        
+        // Act - melhor de varias rodadas para reduzir o ruido do aquecimento
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            handWrittenTotal = BigDecimal.ZERO;
+            for (PricingContext context : contexts) {
+                handWrittenTotal = handWrittenTotal.add(handWritten.calculateDiscount(context.getPrice()));
+            }
+            bestHandWritten = Math.min(bestHandWritten, System.nanoTime() - start);
+            
+            start = System.nanoTime();
+            compiledTotal = BigDecimal.ZERO;
+            for (PricingContext context : contexts) {
+                compiledTotal = compiledTotal.add(rules.calculateDiscount(context));
+            }
+            bestCompiled = Math.min(bestCompiled, System.nanoTime() - start);
+            
+            start = System.nanoTime();
+            interpretedTotal = BigDecimal.ZERO;
+            for (PricingContext context : contexts) {
+                interpretedTotal = interpretedTotal.add(rules.calculateDiscountInterpreted(context));
+            }
+            bestInterpreted = Math.min(bestInterpreted, System.nanoTime() - start);
+        }
+        
+        // Assert
+        assertEquals(handWrittenTotal, compiledTotal, "Regra deve reproduzir a estrategia escrita a mao");
+        assertEquals(compiledTotal, interpretedTotal);
+        
+        double handWrittenPerItem = (double) bestHandWritten / ITEMS;
+        double compiledPerItem = (double) bestCompiled / ITEMS;
+        double interpretedPerItem = (double) bestInterpreted / ITEMS;
+        System.out.printf("Escrita a mao: %.1f ns/item | Compilada: %.1f ns/item | Interpretada: %.1f ns/item%n",
+                          handWrittenPerItem, compiledPerItem, interpretedPerItem);
+        
+        assertTrue(compiledPerItem < interpretedPerItem, "Regras compiladas devem ser mais baratas que interpretadas");
+    }
+}
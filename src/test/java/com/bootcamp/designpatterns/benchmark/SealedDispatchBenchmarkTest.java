@@ -0,0 +1,145 @@
+package com.bootcamp.designpatterns.benchmark;
+
+import com.bootcamp.designpatterns.strategy.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark do despacho das estrategias nativas
+ * 
+ * Compara a chamada pela interface (um unico ponto de chamada que fica
+ * megamorfico quando varios tipos de estrategia se alternam) com o
+ * despacho por tipo do PriceCalculator, em que cada ramo chama uma classe
+ * final e pode ser inlineado. Mede 1, 2, 4 e 8 tipos ativos; com 8 tipos,
+ * 3 deles sao estrategias customizadas que seguem pela interface nos
+ * dois caminhos.
+ * 
+ * Nao roda no build padrao. Execute com: mvn test -Pbenchmark-tests
+ */
+@Tag("benchmark")
+public class SealedDispatchBenchmarkTest {
+    
+    private static final int ITEMS = 200_000;
+    private static final int ROUNDS = 15;
+    private static final int[] ACTIVE_TYPES = {1, 2, 4, 8};
+    
+    @Test
+    @DisplayName("Benchmark - Despacho por tipo contra chamada pela interface")
+    void benchmarkDispatch() {
+        // Arrange - tipos na ordem em que entram no ponto de chamada
+        DiscountStrategy[] types = {
+                new PercentageDiscountStrategy(new BigDecimal("0.10")),
+                new FixedDiscountStrategy(new BigDecimal("5.00")),
+                new ProgressiveDiscountStrategy(DiscountTierTable.DEFAULT),
+                new PriceCalculator().getCurrentStrategy(),
+                CompositeDiscountStrategy.builder().percentage(new BigDecimal("0.05")).fixed(new BigDecimal("2.00")).build(),
+                new HalfCentRateStrategy(3),
+                new HalfCentRateStrategy(7),
+                new FlatCentsStrategy()
+        };
+        long[] prices = new long[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            prices[i] = 500 + (i * 7919L) % 90_000;
+        }
+        
+        double[] speedups = new double[ACTIVE_TYPES.length];
+        for (int t = 0; t < ACTIVE_TYPES.length; t++) {
+            int active = ACTIVE_TYPES[t];
+            DiscountStrategy[] strategies = new DiscountStrategy[ITEMS];
+            for (int i = 0; i < ITEMS; i++) {
+                strategies[i] = types[i % active];
+            }
+            
+            long bestInterface = Long.MAX_VALUE;
+            long bestSealed = Long.MAX_VALUE;
+            long interfaceTotal = 0;
+            long sealedTotal = 0;
+            
+            // Act - melhor de varias rodadas para reduzir o ruido do aquecimento
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                interfaceTotal = 0;
+                for (int i = 0; i < ITEMS; i++) {
+                    interfaceTotal += viaInterface(strategies[i], prices[i]);
+                }
+                bestInterface = Math.min(bestInterface, System.nanoTime() - start);
+                
+                start = System.nanoTime();
+                sealedTotal = 0;
+                for (int i = 0; i < ITEMS; i++) {
+                    sealedTotal += PriceCalculator.calculateFinalPriceCents(strategies[i], prices[i]);
+                }
+                bestSealed = Math.min(bestSealed, System.nanoTime() - start);
+            }
+            
+            // Assert - os dois caminhos calculam os mesmos precos
+            assertEquals(interfaceTotal, sealedTotal, "Totais divergentes com " + active + " tipos");
+            
+            speedups[t] = (double) bestInterface / bestSealed;
+            System.out.printf("%d tipo(s): interface %.1f ns/item | despacho por tipo %.1f ns/item | ganho %.2fx%n",
+                              active, (double) bestInterface / ITEMS, (double) bestSealed / ITEMS, speedups[t]);
+        }
+        
+        // Com 4 tipos nativos a chamada pela interface ja e megamorfica
+        assertTrue(speedups[2] > 1.0, "Despacho por tipo deve ser mais rapido com 4 tipos ativos");
+    }
+    
+    /**
+     * Caminho anterior: uma unica chamada pela interface para todos os tipos
+     */
+    private static long viaInterface(DiscountStrategy strategy, long originalCents) {
+        if (strategy instanceof CentsDiscountStrategy) {
+            return originalCents - ((CentsDiscountStrategy) strategy).calculateDiscountCents(originalCents);
+        }
+        BigDecimal original = FixedPointMath.fromCents(originalCents);
+        return FixedPointMath.toCents(original.subtract(strategy.calculateDiscount(original))
+                                              .setScale(2, RoundingMode.HALF_UP));
+    }
+    
+    /**
+     * Estrategia customizada: percentual inteiro calculado em centavos
+     */
+    private static final class HalfCentRateStrategy implements CentsDiscountStrategy {
+        private final int percent;
+        
+        HalfCentRateStrategy(int percent) { this.percent = percent; }
+        
+        @Override
+        public long calculateDiscountCents(long originalCents) {
+            return FixedPointMath.divideHalfUp(originalCents * percent, 100);
+        }
+        
+        @Override
+        public BigDecimal calculateDiscount(BigDecimal originalValue) {
+            return FixedPointMath.fromCents(calculateDiscountCents(FixedPointMath.toCents(originalValue)));
+        }
+        
+        @Override public String getDescription() { return "Customizada " + percent + "%"; }
+        @Override public String getDiscountInfo() { return percent + "%"; }
+    }
+    
+    /**
+     * Estrategia customizada: um real de desconto em qualquer compra
+     */
+    private static final class FlatCentsStrategy implements CentsDiscountStrategy {
+        @Override
+        public long calculateDiscountCents(long originalCents) {
+            return Math.min(100L, originalCents);
+        }
+        
+        @Override
+        public BigDecimal calculateDiscount(BigDecimal originalValue) {
+            return BigDecimal.ONE.min(originalValue);
+        }
+        
+        @Override public String getDescription() { return "Customizada R$ 1,00"; }
+        @Override public String getDiscountInfo() { return "R$ 1.00"; }
+    }
+}
@@ -0,0 +1,79 @@
+package com.bootcamp.designpatterns.benchmark;
+
+import com.bootcamp.designpatterns.facade.SnowflakeIdGenerator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark do gerador de IDs de pedidos, transacoes e rastreamento
+ * 
+ * Mede IDs numericos e codigos com prefixo por segundo com 1 thread e com
+ * todos os processadores disputando o mesmo gerador.
+ * 
+ * Nao roda no build padrao. Execute com: mvn test -Pbenchmark-tests
+ */
+@Tag("benchmark")
+public class SnowflakeIdBenchmarkTest {
+    
+    private static final int IDS_PER_THREAD = 5_000_000;
+    
+    @Test
+    @DisplayName("Benchmark - IDs por segundo com 1 thread e com todos os processadores")
+    void benchmarkIdGeneration() throws Exception {
+        // Arrange
+        int cores = Runtime.getRuntime().availableProcessors();
+        
+        // Aquecimento
+        run(new SnowflakeIdGenerator(1), 1, false);
+        run(new SnowflakeIdGenerator(1), 1, true);
+        
+        // Act
+        double single = run(new SnowflakeIdGenerator(1), 1, false);
+        double parallel = run(new SnowflakeIdGenerator(1), cores, false);
+        double codes = run(new SnowflakeIdGenerator(1), cores, true);
+        
+        // Assert
+        System.out.printf("1 thread: %.1f milhoes de IDs/s%n", single / 1e6);
+        System.out.printf("%d threads: %.1f milhoes de IDs/s | %.1f milhoes de codigos/s%n",
+                          cores, parallel / 1e6, codes / 1e6);
+        
+        assertTrue(parallel > 1_000_000, "Deve gerar milhoes de IDs por segundo");
+    }
+    
+    private static double run(SnowflakeIdGenerator generator, int threads, boolean encode) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                long checksum = 0;
+                for (int i = 0; i < IDS_PER_THREAD; i++) {
+                    checksum += encode ? generator.nextCode("ORD").length() : generator.nextId();
+                }
+                return checksum;
+            }));
+        }
+        
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<Long> result : results) {
+            assertTrue(result.get(120, TimeUnit.SECONDS) != 0);
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        return (double) threads * IDS_PER_THREAD * 1e9 / elapsed;
+    }
+}
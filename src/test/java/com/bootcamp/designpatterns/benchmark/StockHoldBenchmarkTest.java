@@ -0,0 +1,95 @@
+package com.bootcamp.designpatterns.benchmark;
+
+import com.bootcamp.designpatterns.facade.StockHoldManager;
+import com.bootcamp.designpatterns.facade.StockLedger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark de reservas de estoque com prazo em grande volume
+ * 
+ * Cria 2 milhoes de reservas pendentes espalhadas ao longo do prazo,
+ * confirma metade (cancelando o prazo) e deixa a outra metade vencer.
+ * Mede reservas e confirmacoes por segundo, memoria por reserva pendente e
+ * o tempo para devolver ao estoque todas as reservas vencidas.
+ * 
+ * Nao roda no build padrao. Execute com: mvn test -Pbenchmark-tests
+ */
+@Tag("benchmark")
+public class StockHoldBenchmarkTest {
+    
+    private static final int HOLDS = 2_000_000;
+    private static final int PRODUCTS = 1_000;
+    private static final long TTL_MILLIS = 10 * 60_000;
+    private static final long TICK_MILLIS = 1_000;
+    
+    @Test
+    @DisplayName("Benchmark - Milhoes de reservas pendentes com expiracao em lote")
+    void benchmarkOutstandingHolds() {
+        // Arrange
+        String[] productIds = new String[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds[i] = "SKU" + i;
+        }
+        AtomicLong clock = new AtomicLong(0);
+        StockLedger ledger = new StockLedger(productId -> HOLDS);
+        StockHoldManager holds = new StockHoldManager(ledger, TTL_MILLIS, TICK_MILLIS, clock::get);
+        StockHoldManager.Hold[] created = new StockHoldManager.Hold[HOLDS];
+        long heapBefore = usedHeap();
+        
+        // Act - reservas chegando ao longo de 5 minutos de relogio
+        long begin = System.nanoTime();
+        for (int i = 0; i < HOLDS; i++) {
+            if ((i & 1023) == 0) {
+                clock.set((long) i * 300_000 / HOLDS);
+            }
+            created[i] = holds.hold(productIds[i % PRODUCTS], 1);
+        }
+        long holdNanos = System.nanoTime() - begin;
+        holds.releaseExpired();
+        long bytesPerHold = (usedHeap() - heapBefore) / HOLDS;
+        assertEquals(HOLDS, holds.getOutstandingCount());
+        
+        // Metade confirmada: cada confirmacao cancela o prazo em O(1)
+        begin = System.nanoTime();
+        for (int i = 0; i < HOLDS; i += 2) {
+            assertTrue(holds.confirm(created[i]));
+        }
+        long confirmNanos = System.nanoTime() - begin;
+        
+        // A outra metade vence
+        clock.set(300_000 + TTL_MILLIS + TICK_MILLIS);
+        begin = System.nanoTime();
+        int expired = holds.releaseExpired();
+        long expireNanos = System.nanoTime() - begin;
+        
+        // Assert
+        System.out.printf("Reservas: %.0f/s | Confirmacoes: %.0f/s | ~%d bytes por reserva pendente%n",
+                          HOLDS * 1e9 / holdNanos, HOLDS / 2 * 1e9 / confirmNanos, bytesPerHold);
+        System.out.printf("Expiracao de %d reservas em %.1f ms (%d lotes)%n",
+                          expired, expireNanos / 1e6, holds.getExpiryBatchCount());
+        
+        assertEquals(HOLDS / 2, expired);
+        assertEquals(0, holds.getOutstandingCount());
+        for (String productId : productIds) {
+            assertEquals(0, ledger.getReserved(productId));
+        }
+        assertEquals(HOLDS / 2, ledger.getConfirmedUnits());
+        assertEquals(HOLDS / 2, ledger.getReleasedUnits());
+        assertTrue(bytesPerHold < 128, "Reserva pendente deve ocupar poucas dezenas de bytes");
+    }
+    
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,99 @@
+package com.bootcamp.designpatterns.benchmark;
+
+import com.bootcamp.designpatterns.facade.StockLedger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark de reservas concorrentes no livro de estoque
+ * 
+ * Cada thread faz ciclos de reserva e confirmacao (ou liberacao) sobre
+ * 1000 produtos, com reposicao periodica. Mede reservas por segundo com
+ * 1 thread e com todos os processadores.
+ * 
+ * Nao roda no build padrao. Execute com: mvn test -Pbenchmark-tests
+ */
+@Tag("benchmark")
+public class StockLedgerBenchmarkTest {
+    
+    private static final int PRODUCTS = 1_000;
+    private static final int RESERVATIONS_PER_THREAD = 2_000_000;
+    
+    @Test
+    @DisplayName("Benchmark - Reservas por segundo com 1 thread e com todos os processadores")
+    void benchmarkReservations() throws Exception {
+        // Arrange
+        String[] productIds = new String[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds[i] = "SKU" + i;
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        
+        // Aquecimento
+        run(new StockLedger(productId -> 1_000_000), productIds, 1);
+        
+        // Act
+        double single = run(new StockLedger(productId -> 1_000_000), productIds, 1);
+        double parallel = run(new StockLedger(productId -> 1_000_000), productIds, cores);
+        
+        // Assert
+        System.out.printf("1 thread: %.0f reservas/s%n", single);
+        System.out.printf("%d threads: %.0f reservas/s (%.1fx)%n", cores, parallel, parallel / single);
+        
+        assertTrue(parallel > 200_000, "Deve sustentar centenas de milhares de reservas por segundo");
+    }
+    
+    private static double run(StockLedger ledger, String[] productIds, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            results.add(executor.submit(() -> {
+                start.await();
+                long reserved = 0;
+                int index = seed * 7919;
+                for (int i = 0; i < RESERVATIONS_PER_THREAD; i++) {
+                    index = (index + 31) % PRODUCTS;
+                    String productId = productIds[index];
+                    if (ledger.reserve(productId, 1)) {
+                        reserved++;
+                        if ((i & 3) == 0) {
+                            ledger.release(productId, 1);
+                        } else {
+                            ledger.confirm(productId, 1);
+                        }
+                    }
+                    if ((i & 1023) == 0) {
+                        ledger.restock(productId, 1_000);
+                    }
+                }
+                return reserved;
+            }));
+        }
+        
+        long begin = System.nanoTime();
+        start.countDown();
+        long reservations = 0;
+        for (Future<Long> result : results) {
+            reservations += result.get(120, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        
+        assertEquals((long) threads * RESERVATIONS_PER_THREAD, reservations, "Estoque suficiente para todas as reservas");
+        return reservations * 1e9 / elapsed;
+    }
+}
@@ -0,0 +1,131 @@
+package com.bootcamp.designpatterns.benchmark;
+
+import com.bootcamp.designpatterns.facade.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Teste de carga da capacidade de pedidos simultaneos
+ * 
+ * Dispara 2000 pedidos de uma vez contra o Facade, cada um segurando a
+ * thread da requisicao durante o pagamento (500 ms), e mede quantos
+ * pedidos chegam a estar em andamento ao mesmo tempo:
+ * - antes: requisicoes em um pool fixo de 200 threads de plataforma
+ *   (padrao do Tomcat) e etapas em threads de plataforma
+ * - depois: uma thread virtual por requisicao e etapas em threads
+ *   virtuais, como no profile "virtual-threads"
+ * 
+ * A segunda medicao so roda em Java 21+; em Java 17 ela e ignorada.
+ * 
+ * Nao roda no build padrao. Execute com: mvn test -Pbenchmark-tests
+ * (ou -Pvirtual-threads,benchmark-tests para as duas medicoes)
+ */
+@Tag("benchmark")
+public class VirtualThreadCapacityBenchmarkTest {
+    
+    private static final int ORDERS = 2_000;
+    private static final int PLATFORM_REQUEST_THREADS = 200;
+    
+    @Test
+    @DisplayName("Carga - Pedidos em andamento com threads de plataforma e virtuais")
+    void benchmarkInFlightCapacity() throws Exception {
+        // Antes: limite do pool de requisicoes
+        ExecutorService platformStages = StageExecutors.newPlatformThreadExecutor("load-stage-");
+        ExecutorService platformRequests = Executors.newFixedThreadPool(PLATFORM_REQUEST_THREADS);
+        LoadResult platform;
+        try {
+            platform = runLoad(platformRequests, platformStages);
+        } finally {
+            platformRequests.shutdownNow();
+            platformStages.shutdownNow();
+        }
+        System.out.printf("Threads de plataforma (%d): pico de %d pedidos em andamento | %d pedidos em %d ms%n",
+                          PLATFORM_REQUEST_THREADS, platform.peakInFlight, ORDERS, platform.elapsedMillis);
+        assertTrue(platform.peakInFlight <= PLATFORM_REQUEST_THREADS, "Pool fixo limita os pedidos em andamento");
+        
+        // Depois: threads virtuais (somente Java 21+)
+        assumeTrue(StageExecutors.isVirtualThreadSupported(), "Threads virtuais exigem Java 21");
+        
+        ExecutorService virtualStages = StageExecutors.newVirtualThreadExecutor();
+        ExecutorService virtualRequests = StageExecutors.newVirtualThreadExecutor();
+        LoadResult virtual;
+        try {
+            virtual = runLoad(virtualRequests, virtualStages);
+        } finally {
+            virtualRequests.shutdownNow();
+            virtualStages.shutdownNow();
+        }
+        System.out.printf("Threads virtuais: pico de %d pedidos em andamento | %d pedidos em %d ms%n",
+                          virtual.peakInFlight, ORDERS, virtual.elapsedMillis);
+        
+        assertTrue(virtual.peakInFlight > 2 * PLATFORM_REQUEST_THREADS,
+                   "Threads virtuais devem manter bem mais pedidos em andamento");
+        assertTrue(virtual.elapsedMillis < platform.elapsedMillis, "Carga deve terminar antes com threads virtuais");
+    }
+    
+    /**
+     * Envia todos os pedidos de uma vez e espera todos terminarem
+     */
+    private static LoadResult runLoad(ExecutorService requests, ExecutorService stages) throws Exception {
+        CountingPaymentService payment = new CountingPaymentService();
+        InventoryService inventory = new InventoryService();
+        inventory.restock("PROD124", 3 * ORDERS);
+        EcommerceFacade facade = new EcommerceFacade(inventory, payment, new DeliveryService(), stages, 10_000);
+        OrderRequest order = new OrderRequest("PROD124", 3, new BigDecimal("150.00"), "1234567890123456",
+                                              "123", "12/25", "Rua das Flores, 123", "01000-000");
+        
+        long start = System.nanoTime();
+        List<Future<OrderResult>> futures = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            // Mesma chamada do endpoint: a thread da requisicao espera o resultado
+            futures.add(requests.submit(() -> facade.processOrderAsync(order).join()));
+        }
+        for (Future<OrderResult> future : futures) {
+            assertTrue(future.get().isSuccess(), "Todos os pedidos devem ser aprovados");
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        return new LoadResult(payment.peakInFlight.get(), elapsedMillis);
+    }
+    
+    private static final class LoadResult {
+        final int peakInFlight;
+        final long elapsedMillis;
+        
+        LoadResult(int peakInFlight, long elapsedMillis) {
+            this.peakInFlight = peakInFlight;
+            this.elapsedMillis = elapsedMillis;
+        }
+    }
+    
+    /**
+     * Pagamento real (500 ms) que registra o pico de pagamentos simultaneos
+     */
+    private static final class CountingPaymentService extends PaymentService {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peakInFlight = new AtomicInteger();
+        
+        @Override
+        public String processPayment(BigDecimal amount, String cardNumber) {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                return super.processPayment(amount, cardNumber);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.bootcamp.designpatterns.integration;
+
+import com.bootcamp.designpatterns.service.CatalogRepricingJob;
+import com.bootcamp.designpatterns.service.RepricingReport;
+import com.bootcamp.designpatterns.strategy.PercentageDiscountStrategy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do reprecificador de catalogo contra um H2 embarcado
+ * 
+ * Verifica paginacao por id, gravacao em lote, produtos inativos
+ * ignorados, paginas desfeitas por inteiro em caso de falha e retomada a
+ * partir do ultimo id processado.
+ */
+@Tag("integration")
+public class CatalogRepricingJobIntegrationTest {
+    
+    private static final int PRODUCTS = 2_500;
+    
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private CatalogRepricingJob repricingJob;
+    
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE produtos (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "name VARCHAR(100) NOT NULL, price DECIMAL(12,2) NOT NULL, "
+                + "active BOOLEAN NOT NULL, updated_at TIMESTAMP NOT NULL)");
+        
+        // Cada decimo produto fica inativo
+        List<Object[]> rows = new ArrayList<>(PRODUCTS);
+        for (int i = 1; i <= PRODUCTS; i++) {
+            rows.add(new Object[] {"Produto " + i, new BigDecimal("100.00"), i % 10 != 0});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO produtos (name, price, active, updated_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP)", rows);
+        
+        repricingJob = new CatalogRepricingJob(jdbcTemplate);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Reprecificacao - Deve atualizar todos os produtos ativos em paginas")
+    void testRepriceWholeCatalog() {
+        // Act
+        RepricingReport report = repricingJob.reprice(
+                new PercentageDiscountStrategy(new BigDecimal("0.10")), 0L, null, 300);
+        
+        // Assert
+        assertEquals(2_250, report.getProcessed(), "Somente produtos ativos devem ser processados");
+        assertEquals(2_250, report.getUpdated());
+        assertEquals(8, report.getPages());
+        assertEquals(PRODUCTS - 1, report.getLastProcessedId(), "Ultimo produto ativo e o id 2499");
+        assertEquals(2_250, countWithPrice("90.00"));
+        assertEquals(250, countWithPrice("100.00"), "Produtos inativos nao devem mudar");
+        assertFalse(repricingJob.isRunning());
+    }
+    
+    @Test
+    @DisplayName("Reprecificacao - Deve retomar a partir do ultimo id processado")
+    void testRepriceRestartByKeyRange() {
+        // Arrange
+        PercentageDiscountStrategy strategy = new PercentageDiscountStrategy(new BigDecimal("0.10"));
+        
+        // Act - primeira execucao cobre apenas ate o id 1000
+        RepricingReport first = repricingJob.reprice(strategy, 0L, 1_000L, 128);
+        RepricingReport second = repricingJob.reprice(strategy, first.getLastProcessedId(), null, 128);
+        
+        // Assert - nenhum produto e reprecificado duas vezes
+        assertEquals(999, first.getLastProcessedId());
+        assertEquals(900, first.getProcessed());
+        assertEquals(1_350, second.getProcessed());
+        assertEquals(2_250, countWithPrice("90.00"));
+        assertEquals(0, countWithPrice("81.00"));
+    }
+    
+    @Test
+    @DisplayName("Reprecificacao - Pagina grande dividida entre as threads do pool")
+    void testRepriceLargePageAcrossPool() {
+        // Arrange - pagina unica bem maior que a fatia minima, pool com 4 threads
+        ForkJoinPool pool = new ForkJoinPool(4);
+        CatalogRepricingJob parallelJob = new CatalogRepricingJob(jdbcTemplate, pool);
+        
+        // Act
+        RepricingReport report = parallelJob.reprice(
+                new PercentageDiscountStrategy(new BigDecimal("0.10")), 0L, null, 5_000);
+        pool.shutdown();
+        
+        // Assert
+        assertEquals(1, report.getPages());
+        assertEquals(2_250, report.getUpdated());
+        assertEquals(2_250, countWithPrice("90.00"));
+        assertEquals(250, countWithPrice("100.00"));
+    }
+    
+    @Test
+    @DisplayName("Reprecificacao - Pagina com falha e desfeita e a retomada nao aplica o desconto duas vezes")
+    void testFailedPageIsRolledBack() {
+        // Arrange - o produto 451 (segunda pagina) nao aceita o novo preco
+        PercentageDiscountStrategy strategy = new PercentageDiscountStrategy(new BigDecimal("0.10"));
+        jdbcTemplate.execute("ALTER TABLE produtos ADD CONSTRAINT bloqueia_451 CHECK (id <> 451 OR price = 100.00)");
+        
+        // Act
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> repricingJob.reprice(strategy, 0L, null, 300));
+        
+        // Assert - a primeira pagina ficou gravada e nada da segunda
+        assertTrue(failure.getMessage().contains("retome a partir do id 333"), failure.getMessage());
+        assertEquals(300, countWithPrice("90.00"));
+        assertFalse(repricingJob.isRunning());
+        
+        // Act - retomada depois de liberar o produto
+        jdbcTemplate.execute("ALTER TABLE produtos DROP CONSTRAINT bloqueia_451");
+        RepricingReport resumed = repricingJob.reprice(strategy, 333L, null, 300);
+        
+        // Assert
+        assertEquals(1_950, resumed.getUpdated());
+        assertEquals(2_250, countWithPrice("90.00"));
+        assertEquals(0, countWithPrice("81.00"));
+    }
+    
+    @Test
+    @DisplayName("Reprecificacao - Parametros invalidos devem ser rejeitados")
+    void testRepriceInvalidArguments() {
+        PercentageDiscountStrategy strategy = new PercentageDiscountStrategy(new BigDecimal("0.10"));
+        
+        assertThrows(IllegalArgumentException.class, () -> repricingJob.reprice(null));
+        assertThrows(IllegalArgumentException.class, () -> repricingJob.reprice(strategy, 0L, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> repricingJob.reprice(strategy, 10L, 5L, 100));
+    }
+    
+    private int countWithPrice(String price) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM produtos WHERE price = ?",
+                                           Integer.class, new BigDecimal(price));
+    }
+}
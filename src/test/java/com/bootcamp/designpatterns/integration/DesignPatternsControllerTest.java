@@ -1,7 +1,10 @@
 package com.bootcamp.designpatterns.integration;
 
+import com.bootcamp.designpatterns.config.FacadeConfiguration;
 import com.bootcamp.designpatterns.controller.DesignPatternsController;
 import com.bootcamp.designpatterns.service.ProductService;
+import com.bootcamp.designpatterns.strategy.CartPricingEngine;
+import com.bootcamp.designpatterns.strategy.PriceCalculator;
 import com.bootcamp.designpatterns.facade.OrderRequest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -13,12 +16,15 @@ import org.junit.jupiter.api.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
@@ -36,9 +42,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * - Status codes HTTP
  * - Headers de resposta
  * 
- * Usa mocks para isolar a camada de controller.
+ * Usa mocks para isolar a camada de controller; o Facade de pedidos e o
+ * real, vindo da configuracao da aplicacao.
  */
 @WebMvcTest(DesignPatternsController.class)
+@Import(FacadeConfiguration.class)
 @Tag("controller")
 public class DesignPatternsControllerTest {
     
@@ -62,10 +70,8 @@ public class DesignPatternsControllerTest {
     @DisplayName("Controller Strategy - Calculo de preco com parametros validos")
     void testCalculatePriceWithStrategyValidParameters() throws Exception {
         // Arrange
-        when(productService.calculateDiscountedPrice(any(BigDecimal.class), any()))
-            .thenReturn(new BigDecimal("85.00"));
-        when(productService.getPriceCalculationDetails(any(BigDecimal.class), any()))
-            .thenReturn("Tipo: Desconto Percentual (15.0%) | Preco Original: R$ 100.00 | Desconto: R$ 15.00 | Preco Final: R$ 85.00");
+        when(productService.quotePrice(any(BigDecimal.class), any()))
+            .thenAnswer(invocation -> PriceCalculator.quote(invocation.getArgument(1), invocation.getArgument(0)));
         
         // Act & Assert
         mockMvc.perform(get("/design-patterns/strategy/calculate-price")
@@ -80,11 +86,41 @@ public class DesignPatternsControllerTest {
                 .andExpect(jsonPath("$.finalPrice").value(85.00))
                 .andExpect(jsonPath("$.discount").value(15.00))
                 .andExpect(jsonPath("$.strategy").value("Desconto Percentual"))
-                .andExpect(jsonPath("$.strategyInfo").value("15.0%"));
+                .andExpect(jsonPath("$.strategyInfo").value("15.0%"))
+                .andExpect(jsonPath("$.details").value(
+                    "Tipo: Desconto Percentual (15.0%) | Preco Original: R$ 100.00 | Desconto: R$ 15.00 | Preco Final: R$ 85.00"));
         
         System.out.println("✓ Controller Strategy Valid Parameters testado com sucesso");
     }
     
+    @Test
+    @DisplayName("Controller Strategy - Calculo de preco com regras de desconto")
+    void testCalculatePriceWithRules() throws Exception {
+        // Arrange
+        when(productService.quotePrice(any(BigDecimal.class), any()))
+            .thenAnswer(invocation -> PriceCalculator.quote(invocation.getArgument(1), invocation.getArgument(0)));
+        
+        // Act & Assert
+        mockMvc.perform(get("/design-patterns/strategy/calculate-price")
+                .param("originalPrice", "300.00")
+                .param("strategyType", "rules")
+                .param("rules", "when price >= 100 then percent 20, cap 50"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.finalPrice").value(250.00))
+                .andExpect(jsonPath("$.strategy").value("Desconto por Regras"));
+        
+        // Act & Assert - Regras invalidas
+        mockMvc.perform(get("/design-patterns/strategy/calculate-price")
+                .param("originalPrice", "300.00")
+                .param("strategyType", "rules")
+                .param("rules", "when weight > 3 then percent 5"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        
+        System.out.println("✓ Controller Strategy Rules testado com sucesso");
+    }
+    
     @Test
     @DisplayName("Controller Strategy - Parametros invalidos devem retornar 400")
     void testCalculatePriceInvalidParameters() throws Exception {
@@ -130,6 +166,92 @@ public class DesignPatternsControllerTest {
         System.out.println("✓ Controller Strategy Compare All testado com sucesso");
     }
     
+    @Test
+    @DisplayName("Controller Strategy - Calculo de precos em lote via POST")
+    void testCalculateBatchPrices() throws Exception {
+        // Arrange
+        when(productService.calculateDiscountedPrices(anyList(), any()))
+            .thenReturn(Arrays.asList(new BigDecimal("90.00"), new BigDecimal("180.00")));
+        
+        String requestJson = "{\"strategyType\":\"percentage\",\"discountValue\":10,\"prices\":[100.00,200.00]}";
+        
+        // Act & Assert
+        mockMvc.perform(post("/design-patterns/strategy/calculate-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestJson))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.finalPrices.length()").value(2))
+                .andExpect(jsonPath("$.totalDiscount").value(30.00))
+                .andExpect(jsonPath("$.strategy").value("Desconto Percentual"));
+        
+        // Act & Assert - Lote vazio deve ser rejeitado
+        mockMvc.perform(post("/design-patterns/strategy/calculate-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"strategyType\":\"percentage\",\"prices\":[]}"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        
+        System.out.println("✓ Controller Strategy Batch testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Controller Strategy - Precificacao de carrinho com alocacao do desconto")
+    void testCalculateCartPrice() throws Exception {
+        // Arrange
+        when(productService.quoteCart(anyList(), any()))
+            .thenAnswer(invocation -> new CartPricingEngine(invocation.getArgument(1)).quote(invocation.getArgument(0)));
+        
+        String requestJson = "{\"strategyType\":\"progressive\",\"lines\":["
+                + "{\"productId\":\"A\",\"unitPrice\":100.00,\"quantity\":1},"
+                + "{\"productId\":\"B\",\"unitPrice\":33.33,\"quantity\":3},"
+                + "{\"productId\":\"C\",\"unitPrice\":0.01,\"quantity\":1}]}";
+        
+        // Act & Assert - Faixa progressiva escolhida pelo total do carrinho
+        mockMvc.perform(post("/design-patterns/strategy/calculate-cart")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestJson))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lineCount").value(3))
+                .andExpect(jsonPath("$.subtotal").value(200.00))
+                .andExpect(jsonPath("$.discount").value(20.00))
+                .andExpect(jsonPath("$.total").value(180.00))
+                .andExpect(jsonPath("$.lines[1].lineTotal").value(99.99))
+                .andExpect(jsonPath("$.lines[1].discount").value(9.99));
+        
+        // Act & Assert - Quantidade invalida deve ser rejeitada
+        mockMvc.perform(post("/design-patterns/strategy/calculate-cart")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"strategyType\":\"progressive\",\"lines\":[{\"productId\":\"A\",\"unitPrice\":10.00,\"quantity\":0}]}"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        
+        System.out.println("✓ Controller Strategy Cart testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Controller Strategy - Metricas do cache de calculos")
+    void testQuoteCacheStatistics() throws Exception {
+        // Arrange
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", true);
+        statistics.put("hitRatio", 0.75);
+        statistics.put("evictionCount", 3L);
+        when(productService.getQuoteCacheStatistics()).thenReturn(statistics);
+        
+        // Act & Assert
+        mockMvc.perform(get("/design-patterns/strategy/cache-stats"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.hitRatio").value(0.75))
+                .andExpect(jsonPath("$.evictionCount").value(3));
+        
+        System.out.println("✓ Controller Strategy Cache testado com sucesso");
+    }
+    
     // ========== TESTES DE CONTROLLER - FACADE PATTERN ==========
     
     @Test
@@ -198,6 +320,37 @@ public class DesignPatternsControllerTest {
         System.out.println("✓ Controller Facade Process Order testado com sucesso");
     }
     
+    @Test
+    @DisplayName("Controller Facade - Repeticao com Idempotency-Key devolve o pedido original")
+    void testProcessOrderIdempotencyKey() throws Exception {
+        // Arrange
+        OrderRequest orderRequest = new OrderRequest("PROD126", 1, new BigDecimal("299.99"), "1234567890123456",
+                                                     "123", "12/25", "Rua das Flores, 123", "01000-000");
+        String requestJson = objectMapper.writeValueAsString(orderRequest);
+        
+        // Act - primeira requisicao processa o pedido
+        String firstResponse = mockMvc.perform(post("/design-patterns/facade/process-order")
+                .header("Idempotency-Key", "pedido-controller-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andReturn().getResponse().getContentAsString();
+        Map<?, ?> first = objectMapper.readValue(firstResponse, Map.class);
+        
+        // Assert - a repeticao devolve o mesmo pedido e a mesma transacao
+        mockMvc.perform(post("/design-patterns/facade/process-order")
+                .header("Idempotency-Key", "pedido-controller-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestJson))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId").value(first.get("orderId")))
+                .andExpect(jsonPath("$.transactionId").value(first.get("transactionId")));
+        
+        System.out.println("✓ Controller Facade Idempotency-Key testado com sucesso");
+    }
+    
     @Test
     @DisplayName("Controller Facade - Validacao de dados do pedido")
     void testProcessOrderInvalidData() throws Exception {
@@ -219,6 +372,32 @@ public class DesignPatternsControllerTest {
         System.out.println("✓ Controller Facade Validation testado com sucesso");
     }
     
+    @Test
+    @DisplayName("Controller Facade - Lote de pedidos com resultados na ordem de entrada")
+    void testProcessOrders() throws Exception {
+        // Arrange - pedido aprovado seguido de pedido sem estoque (ID impar)
+        OrderRequest approved = new OrderRequest("PROD124", 2, new BigDecimal("299.99"), "1234567890123456",
+                                                 "123", "12/25", "Rua das Flores, 123", "01000-000");
+        OrderRequest noStock = new OrderRequest("PROD123", 2, new BigDecimal("299.99"), "1234567890123456",
+                                                "123", "12/25", "Rua das Flores, 123", "01000-000");
+        
+        String requestJson = objectMapper.writeValueAsString(Arrays.asList(approved, noStock));
+        
+        // Act & Assert
+        mockMvc.perform(post("/design-patterns/facade/process-orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestJson))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.successCount").value(1))
+                .andExpect(jsonPath("$.results[0].success").value(true))
+                .andExpect(jsonPath("$.results[1].message").value("Estoque insuficiente"))
+                .andExpect(jsonPath("$.pattern").value("Facade Pattern"));
+        
+        System.out.println("✓ Controller Facade Process Orders testado com sucesso");
+    }
+    
     // ========== TESTES DE CONTROLLER - SINGLETON PATTERN ==========
     
     @Test
@@ -341,10 +520,8 @@ public class DesignPatternsControllerTest {
     @DisplayName("Controller - Manipulacao de parametros de query complexos")
     void testComplexQueryParameters() throws Exception {
         // Arrange
-        when(productService.calculateDiscountedPrice(any(BigDecimal.class), any()))
-            .thenReturn(new BigDecimal("85.50"));
-        when(productService.getPriceCalculationDetails(any(BigDecimal.class), any()))
-            .thenReturn("Test calculation details");
+        when(productService.quotePrice(any(BigDecimal.class), any()))
+            .thenAnswer(invocation -> PriceCalculator.quote(invocation.getArgument(1), invocation.getArgument(0)));
         
         // Act & Assert
         mockMvc.perform(get("/design-patterns/strategy/calculate-price")
@@ -354,7 +531,7 @@ public class DesignPatternsControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.originalPrice").value(123.45))
-                .andExpect(jsonPath("$.finalPrice").value(85.50));
+                .andExpect(jsonPath("$.finalPrice").value(108.02));
         
         System.out.println("✓ Controller Complex Query Parameters testado com sucesso");
     }
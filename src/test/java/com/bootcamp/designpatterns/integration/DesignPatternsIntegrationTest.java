@@ -1,6 +1,7 @@
 package com.bootcamp.designpatterns.integration;
 
 import com.bootcamp.designpatterns.DesignPatternsBootcampApplication;
+import com.bootcamp.designpatterns.facade.InventoryService;
 import com.bootcamp.designpatterns.facade.OrderRequest;
 
 import org.junit.jupiter.api.Test;
@@ -43,6 +44,9 @@ public class DesignPatternsIntegrationTest {
     @Autowired
     private TestRestTemplate restTemplate;
     
+    @Autowired
+    private InventoryService inventoryService;
+    
     private String baseUrl;
     
     @BeforeEach
@@ -257,6 +261,35 @@ public class DesignPatternsIntegrationTest {
         System.out.println("✓ Integracao Facade High Value testada com sucesso");
     }
     
+    @Test
+    @DisplayName("Integracao Facade - Pedido baixa o estoque compartilhado")
+    void testFacadeSharedInventory() {
+        // Arrange
+        String url = baseUrl + "/facade/process-order";
+        inventoryService.restock("PROD128", 5);
+        int before = inventoryService.getLedger().getAvailable("PROD128");
+        
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setProductId("PROD128");
+        orderRequest.setQuantity(1);
+        orderRequest.setAmount(new BigDecimal("10.00"));
+        orderRequest.setCardNumber("1234567890123456");
+        orderRequest.setCvv("123");
+        orderRequest.setExpiryDate("12/25");
+        orderRequest.setAddress("Rua das Flores, 123");
+        orderRequest.setZipCode("01000-000");
+        
+        // Act
+        ResponseEntity<Map> response = restTemplate.postForEntity(url, orderRequest, Map.class);
+        
+        // Assert - o endpoint usa o mesmo estoque do bean
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(true, response.getBody().get("success"));
+        assertEquals(before - 1, inventoryService.getLedger().getAvailable("PROD128"));
+        
+        System.out.println("✓ Integracao Facade estoque compartilhado testada com sucesso");
+    }
+    
     // ========== TESTES DE INTEGRACAO - SINGLETON PATTERN ==========
     
     @Test
@@ -0,0 +1,187 @@
+package com.bootcamp.designpatterns.integration;
+
+import com.bootcamp.designpatterns.service.ScheduledPriceChangeEngine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes das mudancas de preco agendadas contra um H2 embarcado
+ * 
+ * O relogio e controlado pelo teste e os lotes sao aplicados chamando
+ * applyDueChanges diretamente, sem a thread da roda.
+ */
+@Tag("integration")
+public class ScheduledPriceChangeEngineIntegrationTest {
+    
+    private static final int PRODUCTS = 1_000;
+    private static final long START = Instant.parse("2024-11-29T03:00:00Z").toEpochMilli();
+    
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private AtomicLong clock;
+    private ScheduledPriceChangeEngine engine;
+    
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE produtos (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "name VARCHAR(100) NOT NULL, price DECIMAL(12,2) NOT NULL, "
+                + "active BOOLEAN NOT NULL, updated_at TIMESTAMP NOT NULL)");
+        
+        List<Object[]> rows = new ArrayList<>(PRODUCTS);
+        for (int i = 1; i <= PRODUCTS; i++) {
+            rows.add(new Object[] {"Produto " + i, new BigDecimal("100.00"), true});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO produtos (name, price, active, updated_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP)", rows);
+        
+        clock = new AtomicLong(START);
+        engine = new ScheduledPriceChangeEngine(jdbcTemplate, 100, 250, clock::get);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+        database.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Mudancas agendadas - Aplicadas em lote apenas apos o instante efetivo")
+    void testChangesApplyWhenDue() {
+        // Arrange
+        Instant blackFriday = Instant.ofEpochMilli(START + 60_000);
+        for (long id = 1; id <= PRODUCTS; id++) {
+            engine.schedule(id, new BigDecimal("79.90"), blackFriday);
+        }
+        List<long[]> notifications = new ArrayList<>();
+        engine.addListener(notifications::add);
+        
+        // Act & Assert
+        clock.set(START + 59_999);
+        assertEquals(0, engine.applyDueChanges());
+        assertEquals(PRODUCTS, countWithPrice("100.00"));
+        
+        clock.set(START + 60_000);
+        assertEquals(PRODUCTS, engine.applyDueChanges());
+        assertEquals(PRODUCTS, countWithPrice("79.90"));
+        assertEquals(0, engine.getPendingCount());
+        assertEquals(1, notifications.size());
+        assertEquals(PRODUCTS, notifications.get(0).length);
+    }
+    
+    @Test
+    @DisplayName("Mudancas agendadas - Cancelamento e mudanca mais recente do mesmo produto")
+    void testCancelAndLatestChangeWins() {
+        // Arrange
+        ScheduledPriceChangeEngine.PriceChange cancelled =
+                engine.schedule(1L, new BigDecimal("1.00"), Instant.ofEpochMilli(START + 1_000));
+        engine.schedule(2L, new BigDecimal("90.00"), Instant.ofEpochMilli(START + 1_000));
+        engine.schedule(2L, new BigDecimal("80.00"), Instant.ofEpochMilli(START + 2_000));
+        
+        // Act
+        assertTrue(engine.cancel(cancelled.getId()));
+        assertFalse(engine.cancel(cancelled.getId()));
+        clock.set(START + 5_000);
+        int applied = engine.applyDueChanges();
+        
+        // Assert
+        assertEquals(1, applied);
+        assertEquals(new BigDecimal("100.00"), priceOf(1L));
+        assertEquals(new BigDecimal("80.00"), priceOf(2L));
+        assertEquals(1, engine.getSupersededCount());
+        assertEquals(1, engine.getCancelledCount());
+    }
+    
+    @Test
+    @DisplayName("Mudancas agendadas - Lote com falha volta para a roda")
+    void testFailedBatchIsRetried() {
+        // Arrange
+        engine.schedule(3L, new BigDecimal("55.00"), Instant.ofEpochMilli(START + 100));
+        jdbcTemplate.execute("ALTER TABLE produtos RENAME TO produtos_bloqueados");
+        clock.set(START + 200);
+        
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> engine.applyDueChanges());
+        assertEquals(1, engine.getFailedBatchCount());
+        assertEquals(1, engine.getPendingCount());
+        
+        jdbcTemplate.execute("ALTER TABLE produtos_bloqueados RENAME TO produtos");
+        clock.set(START + 300);
+        assertEquals(1, engine.applyDueChanges());
+        assertEquals(new BigDecimal("55.00"), priceOf(3L));
+    }
+    
+    @Test
+    @DisplayName("Mudancas agendadas - Linha recusada pelo banco e descartada sem travar o lote")
+    void testRejectedRowIsDeadLettered() {
+        // Arrange - o banco recusa precos a partir de 1000
+        jdbcTemplate.execute("ALTER TABLE produtos ADD CONSTRAINT preco_teto CHECK (price < 1000)");
+        engine.schedule(4L, new BigDecimal("44.00"), Instant.ofEpochMilli(START + 100));
+        ScheduledPriceChangeEngine.PriceChange rejected =
+                engine.schedule(5L, new BigDecimal("5000.00"), Instant.ofEpochMilli(START + 100));
+        engine.schedule(6L, new BigDecimal("66.00"), Instant.ofEpochMilli(START + 100));
+        List<long[]> notifications = new ArrayList<>();
+        engine.addListener(notifications::add);
+        clock.set(START + 200);
+        
+        // Act
+        int applied = engine.applyDueChanges();
+        
+        // Assert - as linhas validas sao gravadas e a invalida nao volta para a roda
+        assertEquals(2, applied);
+        assertEquals(new BigDecimal("44.00"), priceOf(4L));
+        assertEquals(new BigDecimal("100.00"), priceOf(5L));
+        assertEquals(new BigDecimal("66.00"), priceOf(6L));
+        assertEquals(1, engine.getDeadLetterCount());
+        assertEquals(rejected.getId(), engine.getDeadLetters().get(0).getId());
+        assertEquals(0, engine.getPendingCount());
+        long[] notified = notifications.get(0).clone();
+        Arrays.sort(notified);
+        assertArrayEquals(new long[] {4L, 6L}, notified);
+        
+        clock.set(START + 300);
+        assertEquals(0, engine.applyDueChanges());
+    }
+    
+    @Test
+    @DisplayName("Mudancas agendadas - Preco fora da faixa da coluna")
+    void testPriceOutOfRange() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> engine.schedule(
+                1L, new BigDecimal("10000000000.00"), Instant.ofEpochMilli(START + 100)));
+        assertThrows(IllegalArgumentException.class, () -> engine.schedule(
+                1L, new BigDecimal("-0.01"), Instant.ofEpochMilli(START + 100)));
+        engine.schedule(1L, ScheduledPriceChangeEngine.MAX_PRICE, Instant.ofEpochMilli(START + 100));
+        assertEquals(1, engine.getPendingCount());
+    }
+    
+    private int countWithPrice(String price) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM produtos WHERE price = ?",
+                                           Integer.class, new BigDecimal(price));
+    }
+    
+    private BigDecimal priceOf(long id) {
+        return jdbcTemplate.queryForObject("SELECT price FROM produtos WHERE id = ?", BigDecimal.class, id);
+    }
+}
@@ -0,0 +1,151 @@
+package com.bootcamp.designpatterns.unit;
+
+import com.bootcamp.designpatterns.strategy.*;
+import com.bootcamp.designpatterns.strategy.rules.RuleBasedDiscountStrategy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do motor de precificacao de carrinhos
+ * 
+ * Verifica os totais, a alocacao do desconto entre as linhas (soma exata,
+ * sem linhas negativas e com resto deterministico) e a equivalencia com
+ * o calculo unitario.
+ */
+@Tag("unit")
+public class CartPricingEngineTest {
+    
+    @Test
+    @DisplayName("Carrinho - Faixa progressiva aplicada ao total e distribuida entre as linhas")
+    void testProgressiveDiscountOnCartTotal() {
+        // Arrange
+        CartPricingEngine engine = new CartPricingEngine(new ProgressiveDiscountStrategy());
+        List<CartLine> lines = List.of(
+                new CartLine("A", new BigDecimal("100.00"), 1),
+                new CartLine("B", new BigDecimal("33.33"), 3),
+                new CartLine("C", new BigDecimal("0.01"), 1));
+        
+        // Act
+        CartQuote quote = engine.quote(lines);
+        
+        // Assert - cada linha isolada teria 5%, o carrinho de R$ 200 tem 10%
+        assertEquals(new BigDecimal("200.00"), quote.getSubtotal());
+        assertEquals(new BigDecimal("20.00"), quote.getDiscount());
+        assertEquals(new BigDecimal("180.00"), quote.getTotal());
+        assertEquals(new BigDecimal("10.00"), quote.getLines().get(0).discount());
+        assertEquals(new BigDecimal("9.99"), quote.getLines().get(1).discount());
+        assertEquals(new BigDecimal("0.01"), quote.getLines().get(2).discount());
+    }
+    
+    @Test
+    @DisplayName("Carrinho - Estrategia por regras recebe a quantidade total de itens")
+    void testRuleStrategySeesCartQuantity() {
+        // Arrange
+        CartPricingEngine engine = new CartPricingEngine(
+                new RuleBasedDiscountStrategy("when quantity >= 5 then percent 10"));
+        List<CartLine> lines = List.of(
+                new CartLine("A", new BigDecimal("10.00"), 2),
+                new CartLine("B", new BigDecimal("20.00"), 3));
+        
+        // Act
+        CartQuote quote = engine.quote(lines);
+        CartQuote single = engine.quote(List.of(new CartLine("A", new BigDecimal("80.00"), 1)));
+        
+        // Assert - 5 itens no carrinho, embora nenhuma linha tenha 5
+        assertEquals(new BigDecimal("8.00"), quote.getDiscount());
+        assertEquals(new BigDecimal("0.00"), single.getDiscount());
+    }
+    
+    @Test
+    @DisplayName("Carrinho - Centavos restantes vao sempre para as mesmas linhas")
+    void testDeterministicRemainder() {
+        // Arrange
+        CartPricingEngine engine = new CartPricingEngine(new FixedDiscountStrategy(new BigDecimal("1.00")));
+        List<CartLine> lines = List.of(
+                new CartLine("A", new BigDecimal("1.00"), 1),
+                new CartLine("B", new BigDecimal("1.00"), 1),
+                new CartLine("C", new BigDecimal("1.00"), 1));
+        
+        // Act
+        CartQuote first = engine.quote(lines);
+        CartQuote second = engine.quote(lines);
+        
+        // Assert
+        assertEquals(33, first.lineDiscountCents(0));
+        assertEquals(33, first.lineDiscountCents(1));
+        assertEquals(34, first.lineDiscountCents(2));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(first.lineDiscountCents(i), second.lineDiscountCents(i));
+        }
+    }
+    
+    @Test
+    @DisplayName("Carrinho - Alocacao soma exatamente o desconto em carrinhos aleatorios")
+    void testAllocationSumsToCartDiscount() {
+        // Arrange
+        CartPricingEngine engine = new CartPricingEngine(new ProgressiveDiscountStrategy());
+        Random random = new Random(42);
+        long[] unitCents = new long[200];
+        int[] quantities = new int[200];
+        long[] lineTotals = new long[200];
+        long[] lineDiscounts = new long[200];
+        
+        for (int cart = 0; cart < 1_000; cart++) {
+            int count = 1 + random.nextInt(200);
+            for (int i = 0; i < count; i++) {
+                unitCents[i] = 1 + random.nextInt(100_000);
+                quantities[i] = 1 + random.nextInt(5);
+            }
+            
+            // Act
+            long discount = engine.price(unitCents, quantities, count, lineTotals, lineDiscounts);
+            
+            // Assert
+            long allocated = 0;
+            for (int i = 0; i < count; i++) {
+                assertTrue(lineDiscounts[i] >= 0 && lineDiscounts[i] <= lineTotals[i]);
+                allocated += lineDiscounts[i];
+            }
+            assertEquals(discount, allocated);
+        }
+    }
+    
+    @Test
+    @DisplayName("Carrinho - Carrinho de uma linha coincide com o calculo unitario")
+    void testSingleLineMatchesPriceCalculator() {
+        DiscountStrategy strategy = new PercentageDiscountStrategy(new BigDecimal("0.15"));
+        PriceCalculator calculator = new PriceCalculator(strategy);
+        CartPricingEngine engine = new CartPricingEngine(strategy);
+        
+        for (String price : new String[]{"0.01", "9.99", "123.45", "1000.00"}) {
+            CartQuote quote = engine.quote(List.of(new CartLine("X", new BigDecimal(price), 1)));
+            assertEquals(calculator.calculateFinalPrice(new BigDecimal(price)), quote.getTotal());
+        }
+    }
+    
+    @Test
+    @DisplayName("Carrinho - Valores enormes usam o caminho sem estouro e linhas invalidas sao rejeitadas")
+    void testOverflowAndValidation() {
+        CartPricingEngine engine = new CartPricingEngine(new PercentageDiscountStrategy(new BigDecimal("0.10")));
+        long[] lineTotals = new long[2];
+        long[] lineDiscounts = new long[2];
+        
+        long discount = engine.price(new long[]{Long.MAX_VALUE / 4, Long.MAX_VALUE / 4}, new int[]{1, 1}, 2,
+                                     lineTotals, lineDiscounts);
+        assertEquals(discount, lineDiscounts[0] + lineDiscounts[1]);
+        
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.price(new long[]{Long.MAX_VALUE}, new int[]{2}, 1, lineTotals, lineDiscounts));
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.price(new long[]{100}, new int[]{0}, 1, lineTotals, lineDiscounts));
+        assertThrows(IllegalArgumentException.class, () -> engine.quote(List.of()));
+    }
+}
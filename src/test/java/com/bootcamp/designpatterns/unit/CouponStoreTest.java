@@ -0,0 +1,330 @@
+package com.bootcamp.designpatterns.unit;
+
+import com.bootcamp.designpatterns.coupon.CouponCodes;
+import com.bootcamp.designpatterns.coupon.CouponStore;
+import com.bootcamp.designpatterns.strategy.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do armazenamento de cupons de uso unico
+ * 
+ * Verifica a codificacao dos codigos, a rejeicao de codigos inexistentes,
+ * o resgate unico sob concorrencia e o snapshot em disco.
+ */
+@Tag("unit")
+public class CouponStoreTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    @DisplayName("Cupons - Codificacao ida e volta sem diferenciar maiusculas")
+    void testCodeEncoding() {
+        // Arrange & Act & Assert
+        assertEquals("BLACKFRIDAY1", CouponCodes.decode(CouponCodes.encode("blackfriday1")));
+        assertEquals("ZZZZZZZZZZZZ", CouponCodes.decode(CouponCodes.encode("ZZZZZZZZZZZZ")));
+        assertTrue(CouponCodes.encode("ZZZZZZZZZZZZ") > 0, "Maior codigo cabe em 63 bits");
+        assertNotEquals(CouponCodes.encode("A"), CouponCodes.encode("0A"));
+        
+        assertEquals(0L, CouponCodes.tryEncode(""));
+        assertEquals(0L, CouponCodes.tryEncode("CUPOM-10"));
+        assertEquals(0L, CouponCodes.tryEncode("ABCDEFGHIJKLM"));
+        assertThrows(IllegalArgumentException.class, () -> CouponCodes.encode(null));
+    }
+    
+    @Test
+    @DisplayName("Cupons - Emissao, consulta e resgate de uso unico")
+    void testIssueCheckAndRedeem() {
+        // Arrange
+        CouponStore store = new CouponStore(1000);
+        DiscountStrategy tenPercent = new PercentageDiscountStrategy(new BigDecimal("0.10"));
+        CouponStore.Campaign campaign = store.registerCampaign("BLACKFRIDAY", tenPercent);
+        
+        // Act
+        assertTrue(store.issue("BF2024A", campaign));
+        assertFalse(store.issue("bf2024a", campaign), "Codigo repetido nao e emitido de novo");
+        
+        // Assert
+        assertEquals(CouponStore.Status.AVAILABLE, store.check("BF2024A"));
+        assertEquals(CouponStore.Status.NOT_FOUND, store.check("BF2024B"));
+        assertEquals(CouponStore.Status.NOT_FOUND, store.check("codigo invalido"));
+        
+        CouponStore.Redemption redemption = store.redeem("bf2024a");
+        assertTrue(redemption.isSuccessful());
+        assertSame(tenPercent, redemption.campaign().strategy());
+        assertEquals(new BigDecimal("90.00"),
+                     PriceCalculator.quote(redemption.campaign().strategy(), new BigDecimal("100.00")).getFinalPrice());
+        
+        assertEquals(CouponStore.Status.REDEEMED, store.redeem("BF2024A").status());
+        assertEquals(CouponStore.Status.REDEEMED, store.check("BF2024A"));
+        assertEquals(CouponStore.Status.NOT_FOUND, store.redeem("BF2024B").status());
+        assertEquals(1, store.getRedemptionCount());
+        assertEquals(2, store.getRejectedRedemptionCount());
+    }
+    
+    @Test
+    @DisplayName("Cupons - Filtro de Bloom barra a maioria dos codigos inexistentes")
+    void testBloomFilterRejectsMissingCodes() {
+        // Arrange
+        CouponStore store = new CouponStore(10_000);
+        CouponStore.Campaign campaign = store.registerCampaign("NATAL", new FixedDiscountStrategy(new BigDecimal("20")));
+        for (int i = 0; i < 10_000; i++) {
+            store.issue("N" + i, campaign);
+        }
+        
+        // Act
+        int missing = 100_000;
+        for (int i = 0; i < missing; i++) {
+            assertEquals(CouponStore.Status.NOT_FOUND, store.check("X" + i));
+        }
+        
+        // Assert
+        assertTrue(store.getBloomRejectionCount() > missing * 0.95,
+                   "Rejeicoes pelo filtro: " + store.getBloomRejectionCount());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(CouponStore.Status.AVAILABLE, store.check("N" + i), "Sem falsos negativos");
+        }
+    }
+    
+    @Test
+    @DisplayName("Cupons - Cada cupom e resgatado exatamente uma vez entre threads")
+    void testConcurrentRedemptionIsExactlyOnce() throws InterruptedException {
+        // Arrange
+        int coupons = 5_000;
+        int threads = 8;
+        CouponStore store = new CouponStore(coupons);
+        CouponStore.Campaign campaign = store.registerCampaign("RELAMPAGO", new FixedDiscountStrategy(new BigDecimal("5")));
+        for (int i = 0; i < coupons; i++) {
+            store.issue("R" + i, campaign);
+        }
+        
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger[] perCoupon = new AtomicInteger[coupons];
+        for (int i = 0; i < coupons; i++) {
+            perCoupon[i] = new AtomicInteger();
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        
+        // Act
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < coupons; i++) {
+                    if (store.redeem("R" + i).isSuccessful()) {
+                        successes.incrementAndGet();
+                        perCoupon[i].incrementAndGet();
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        
+        // Assert
+        assertEquals(coupons, successes.get());
+        for (int i = 0; i < coupons; i++) {
+            assertEquals(1, perCoupon[i].get(), "Cupom R" + i);
+        }
+        assertEquals(coupons, store.getRedemptionCount());
+        assertEquals((long) coupons * (threads - 1), store.getRejectedRedemptionCount());
+    }
+    
+    @Test
+    @DisplayName("Cupons - Snapshot preserva cupons, campanhas e resgates")
+    void testSnapshotRoundTrip() throws IOException {
+        // Arrange
+        CouponStore store = new CouponStore(1000);
+        DiscountStrategy fixed = new FixedDiscountStrategy(new BigDecimal("15"));
+        DiscountStrategy percentage = new PercentageDiscountStrategy(new BigDecimal("0.20"));
+        CouponStore.Campaign natal = store.registerCampaign("NATAL", fixed);
+        CouponStore.Campaign verao = store.registerCampaign("VERAO", percentage);
+        for (int i = 0; i < 500; i++) {
+            store.issue("C" + i, i % 2 == 0 ? natal : verao);
+        }
+        for (int i = 0; i < 100; i++) {
+            store.redeem("C" + i);
+        }
+        Path file = tempDir.resolve("coupons.snap");
+        
+        // Act
+        store.snapshot(file);
+        CouponStore restored = CouponStore.restore(file, Map.of("NATAL", fixed, "VERAO", percentage));
+        
+        // Assert
+        assertEquals(500, restored.getIssuedCount());
+        assertEquals(CouponStore.Status.REDEEMED, restored.check("C99"));
+        assertEquals(CouponStore.Status.AVAILABLE, restored.check("C100"));
+        assertEquals(CouponStore.Status.NOT_FOUND, restored.check("C500"));
+        assertSame(percentage, restored.redeem("C101").campaign().strategy());
+        assertSame(fixed, restored.redeem("C102").campaign().strategy());
+        assertFalse(restored.issue("C0", restored.getCampaigns().get(0)));
+        
+        assertThrows(IllegalArgumentException.class, () -> CouponStore.restore(file, Map.of("NATAL", fixed)));
+    }
+    
+    @Test
+    @DisplayName("Cupons - Snapshot recupera a estrategia de cada campanha sozinho")
+    void testSnapshotRestoresStrategies() throws IOException {
+        // Arrange
+        CouponStore store = new CouponStore(100);
+        CouponStore.StrategySpec percentage = CouponStore.StrategySpec.of("percentage", new BigDecimal("20"), null);
+        CouponStore.StrategySpec rules = CouponStore.StrategySpec.of("rules", null, "when price >= 100 then fixed 30");
+        DiscountStrategyRegistry registry = DiscountStrategyRegistry.getInstance();
+        store.issue("VERAO1", store.registerCampaign("VERAO", percentage.resolve(registry), percentage));
+        store.issue("REGRA1", store.registerCampaign("REGRAS", rules.resolve(registry), rules));
+        Path file = tempDir.resolve("coupons.snap");
+        
+        // Act
+        store.snapshot(file);
+        CouponStore restored = CouponStore.restore(file);
+        
+        // Assert
+        CouponStore.Campaign verao = restored.redeem("VERAO1").campaign();
+        assertEquals(percentage, verao.spec());
+        assertEquals(new BigDecimal("40.00"), verao.strategy().calculateDiscount(new BigDecimal("200.00")));
+        CouponStore.Campaign regras = restored.redeem("REGRA1").campaign();
+        assertEquals(rules, regras.spec());
+        assertEquals(new BigDecimal("30.00"), regras.strategy().calculateDiscount(new BigDecimal("150.00")));
+        
+        // O snapshot do armazenamento restaurado continua completo
+        Path again = tempDir.resolve("coupons2.snap");
+        restored.snapshot(again);
+        assertEquals(CouponStore.Status.REDEEMED, CouponStore.restore(again).check("VERAO1"));
+    }
+    
+    @Test
+    @DisplayName("Cupons - Capacidade e campanhas invalidas sao recusadas")
+    void testInvalidUsage() {
+        // Arrange
+        CouponStore store = new CouponStore(8);
+        CouponStore other = new CouponStore(8);
+        CouponStore.Campaign campaign = store.registerCampaign("TESTE", new FixedDiscountStrategy(new BigDecimal("1")));
+        CouponStore.Campaign foreign = other.registerCampaign("TESTE", new FixedDiscountStrategy(new BigDecimal("1")));
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> store.registerCampaign("teste", campaign.strategy()));
+        assertThrows(IllegalArgumentException.class, () -> store.issue("A1", foreign));
+        assertThrows(IllegalArgumentException.class, () -> store.issue("A-1", campaign));
+        assertThrows(IllegalArgumentException.class, () -> new CouponStore(0));
+        
+        for (int i = 0; i < store.getMaxCoupons(); i++) {
+            assertTrue(store.issue("A" + i, campaign));
+        }
+        assertThrows(IllegalStateException.class, () -> store.issue("B1", campaign));
+    }
+    
+    @Test
+    @DisplayName("Cupons - Criacoes concorrentes de campanha respeitam a capacidade")
+    void testConcurrentCampaignCreationRespectsCapacity() throws InterruptedException {
+        // Arrange
+        int threads = 8;
+        int codesPerCampaign = 40;
+        CouponStore store = new CouponStore(100);
+        int fitting = store.getMaxCoupons() / codesPerCampaign;
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        
+        // Act
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            Thread worker = new Thread(() -> {
+                List<String> codes = new ArrayList<>();
+                for (int i = 0; i < codesPerCampaign; i++) {
+                    codes.add("C" + id + "X" + i);
+                }
+                try {
+                    start.await();
+                    CouponStore.CreatedCampaign campaign = store.createCampaign(
+                            "CAMPANHA" + id, new FixedDiscountStrategy(BigDecimal.ONE), null, codes);
+                    assertEquals(codesPerCampaign, campaign.issued());
+                    created.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    refused.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        
+        // Assert
+        assertEquals(fitting, created.get());
+        assertEquals(threads - fitting, refused.get());
+        assertEquals(fitting * codesPerCampaign, store.getIssuedCount());
+        assertEquals(fitting, store.getCampaigns().size(), "Campanhas recusadas nao ficam registradas");
+        assertThrows(IllegalArgumentException.class,
+                     () -> store.createCampaign("INVALIDA", new FixedDiscountStrategy(BigDecimal.ONE), null,
+                                                List.of("OK1", "NAO-OK")));
+        assertEquals(fitting * codesPerCampaign, store.getIssuedCount());
+    }
+    
+    @Test
+    @DisplayName("Cupons - Resgates do diario sobrevivem a um reinicio sem snapshot novo")
+    void testJournalReplaysRedemptionsAfterRestart() throws IOException {
+        // Arrange
+        Path snapshot = tempDir.resolve("coupons.snap");
+        Path journal = tempDir.resolve("coupons.snap.journal");
+        CouponStore store = new CouponStore(1000);
+        CouponStore.Campaign campaign = store.registerCampaign("NATAL", new FixedDiscountStrategy(BigDecimal.TEN));
+        for (int i = 0; i < 10; i++) {
+            store.issue("N" + i, campaign);
+        }
+        assertEquals(0, store.openJournal(journal));
+        store.redeem("N0");
+        store.snapshot(snapshot);
+        assertEquals(0L, Files.size(journal), "Snapshot descarta o que ja cobre");
+        
+        // Act: resgates depois do snapshot e queda com um registro pela metade
+        assertTrue(store.redeem("N1").isSuccessful());
+        assertTrue(store.redeem("N2").isSuccessful());
+        store.close();
+        Files.write(journal, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+        
+        CouponStore restarted = CouponStore.restore(snapshot, Map.of("NATAL", campaign.strategy()));
+        int replayed = restarted.openJournal(journal);
+        
+        // Assert
+        assertEquals(2, replayed);
+        assertEquals(CouponStore.Status.REDEEMED, restarted.check("N0"));
+        assertEquals(CouponStore.Status.REDEEMED, restarted.check("N1"));
+        assertFalse(restarted.redeem("N2").isSuccessful());
+        assertEquals(CouponStore.Status.AVAILABLE, restarted.check("N3"));
+        assertTrue(restarted.redeem("N3").isSuccessful());
+        assertEquals(3L * Long.BYTES, Files.size(journal), "Registro incompleto descartado");
+        assertThrows(IllegalStateException.class, () -> restarted.openJournal(journal));
+        restarted.close();
+    }
+}
@@ -135,6 +135,44 @@ public class DesignPatternsUnitTest {
         System.out.println("✓ Strategy ProgressiveDiscount testado com sucesso");
     }
     
+    @Test
+    @DisplayName("Teste Strategy - Desconto progressivo com tabela de muitas faixas")
+    void testProgressiveDiscountWithManyTiers() {
+        // Arrange - 30 faixas de R$ 50 cada, percentual crescendo 1 ponto por faixa
+        StringBuilder definition = new StringBuilder("# limite ; percentual\n");
+        for (int i = 1; i < 30; i++) {
+            definition.append(i * 50).append(".00 ; 0.").append(String.format("%02d", i)).append('\n');
+        }
+        definition.append("* ; 0.30\n");
+        DiscountTierTable table = DiscountTierTable.parse(definition.toString());
+        ProgressiveDiscountStrategy strategy = new ProgressiveDiscountStrategy(table);
+        
+        // Act & Assert - compara com busca linear de referencia
+        assertEquals(30, table.tierCount(), "Tabela deve ter 30 faixas");
+        for (long cents = 1; cents <= 200_000; cents += 37) {
+            BigDecimal value = BigDecimal.valueOf(cents, 2);
+            int expectedTier = 29;
+            for (int i = 0; i < 29; i++) {
+                if (value.compareTo(table.upperBound(i)) <= 0) {
+                    expectedTier = i;
+                    break;
+                }
+            }
+            BigDecimal expected = value.multiply(table.rate(expectedTier)).setScale(2, java.math.RoundingMode.HALF_UP);
+            assertEquals(expected, strategy.calculateDiscount(value), "Desconto divergente para " + value);
+            assertEquals(expected.unscaledValue().longValue(), strategy.calculateDiscountCents(cents),
+                         "Desconto em centavos divergente para " + value);
+        }
+        
+        // Tabela padrao preserva o comportamento original
+        assertEquals("5% ate R$100, 10% ate R$500, 15% acima de R$500",
+                     new ProgressiveDiscountStrategy().getDiscountInfo(), "Tabela padrao deve manter a descricao");
+        assertThrows(IllegalArgumentException.class, () -> DiscountTierTable.parse("500 ; 0.10\n100 ; 0.05\n* ; 0.15"),
+                     "Limites fora de ordem devem ser rejeitados");
+        
+        System.out.println("✓ Strategy ProgressiveDiscount com N faixas testado com sucesso");
+    }
+    
     @Test
     @DisplayName("Teste Strategy - Troca de estrategia em tempo de execucao")
     void testStrategyRuntimeChange() {
@@ -157,6 +195,128 @@ public class DesignPatternsUnitTest {
         System.out.println("✓ Strategy runtime change testado com sucesso");
     }
     
+    @Test
+    @DisplayName("Teste Strategy - Calculo em lote deve coincidir com o calculo individual")
+    void testBatchPricingMatchesSingleItem() {
+        // Arrange
+        PriceCalculator calculator = new PriceCalculator(new ProgressiveDiscountStrategy());
+        BigDecimal[] prices = {
+            new BigDecimal("50.00"), new BigDecimal("100.00"), new BigDecimal("300.00"),
+            new BigDecimal("800.00"), new BigDecimal("0.00"), null
+        };
+        
+        // Act
+        BigDecimal[] finalPrices = calculator.calculateFinalPrices(prices);
+        java.util.List<BigDecimal> finalPriceList = calculator.calculateFinalPrices(java.util.Arrays.asList(prices));
+        
+        // Assert
+        assertEquals(prices.length, finalPrices.length, "Lote deve preservar a quantidade de itens");
+        for (int i = 0; i < prices.length; i++) {
+            BigDecimal expected = calculator.calculateFinalPrice(prices[i]);
+            assertEquals(expected, finalPrices[i], "Item " + i + " deve coincidir com o calculo individual");
+            assertEquals(expected, finalPriceList.get(i), "Item " + i + " da lista deve coincidir com o calculo individual");
+        }
+        
+        System.out.println("✓ Strategy calculo em lote testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Teste Flyweight - Registro deve reutilizar estrategias equivalentes")
+    void testStrategyRegistryInterning() {
+        // Arrange
+        DiscountStrategyRegistry registry = new DiscountStrategyRegistry(16);
+        
+        // Act
+        DiscountStrategy first = registry.getStrategy("percentage", new BigDecimal("15"));
+        DiscountStrategy second = registry.getStrategy("PERCENTAGE", new BigDecimal("15.00"));
+        DiscountStrategy fixed = registry.getStrategy("fixed", null);
+        
+        // Assert
+        assertSame(first, second, "Valores equivalentes devem compartilhar a mesma instancia");
+        assertEquals("15.0%", first.getDiscountInfo(), "Percentual deve ser convertido de 0-100 para 0-1");
+        assertEquals("R$ 50.00", fixed.getDiscountInfo(), "Valor fixo padrao deve ser R$ 50,00");
+        assertEquals(2, registry.getMissCount(), "Duas estrategias distintas devem ser criadas");
+        assertEquals(1, registry.getHitCount(), "Segunda busca deve ser um acerto");
+        assertThrows(IllegalArgumentException.class, () -> registry.getStrategy("percentage", new BigDecimal("150")),
+                     "Percentual acima de 100 deve ser rejeitado");
+        assertThrows(IllegalArgumentException.class, () -> registry.getStrategy("inexistente", null),
+                     "Tipo desconhecido deve ser rejeitado");
+        assertEquals(2, registry.size(), "Valores invalidos nao devem ser armazenados");
+        
+        System.out.println("✓ Flyweight DiscountStrategyRegistry testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Teste Flyweight - Registro deve respeitar a capacidade maxima")
+    void testStrategyRegistryEviction() {
+        // Arrange
+        DiscountStrategyRegistry registry = new DiscountStrategyRegistry(4);
+        
+        // Act
+        for (int i = 1; i <= 10; i++) {
+            registry.getStrategy("fixed", new BigDecimal(i));
+        }
+        
+        // Assert
+        assertEquals(4, registry.size(), "Registro nao deve exceder a capacidade");
+        assertEquals(6, registry.getEvictionCount(), "Entradas mais antigas devem ser descartadas");
+        
+        System.out.println("✓ Flyweight eviction testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Teste Flyweight - Troca da tabela progressiva nao deixa chave antiga na fila")
+    void testStrategyRegistryTierTableSwap() {
+        // Arrange
+        DiscountStrategyRegistry registry = new DiscountStrategyRegistry(2);
+        registry.getStrategy("progressive", null);
+        registry.setProgressiveTierTable(DiscountTierTable.parse("100 ; 0.05\n* ; 0.10"));
+        
+        // Act - a progressiva nova e descartada por ser a mais antiga e depois recriada
+        registry.getStrategy("progressive", null);
+        registry.getStrategy("fixed", new BigDecimal("10"));
+        registry.getStrategy("fixed", new BigDecimal("20"));
+        DiscountStrategy recreated = registry.getStrategy("progressive", null);
+        
+        // Assert - a recem-criada fica; quem sai e a fixa mais antiga
+        assertSame(recreated, registry.getStrategy("progressive", null));
+        assertEquals(2, registry.size());
+        assertEquals(2, registry.getEvictionCount());
+        
+        System.out.println("✓ Flyweight troca da tabela progressiva testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Teste Composite - Descontos empilhados com limites")
+    void testCompositeDiscountStrategy() {
+        // Arrange - 10% da categoria, cupom de R$20 e progressivo do carrinho
+        CompositeDiscountStrategy stacked = CompositeDiscountStrategy.builder()
+                .percentage(new BigDecimal("0.10"))
+                .fixed(new BigDecimal("20.00"))
+                .progressive(DiscountTierTable.DEFAULT)
+                .build();
+        CompositeDiscountStrategy capped = CompositeDiscountStrategy.builder()
+                .percentage(new BigDecimal("0.10"))
+                .fixed(new BigDecimal("20.00"))
+                .progressive(DiscountTierTable.DEFAULT)
+                .maxDiscountRate(new BigDecimal("0.25"))
+                .maxDiscountAmount(new BigDecimal("40.00"))
+                .build();
+        
+        // Act & Assert - 200 -> 180 -> 160 -> 144 (faixa de 10%)
+        assertEquals(new BigDecimal("56.00"), stacked.calculateDiscount(new BigDecimal("200.00")));
+        assertEquals(new BigDecimal("40.00"), capped.calculateDiscount(new BigDecimal("200.00")));
+        assertEquals(new BigDecimal("25.00"), capped.calculateDiscount(new BigDecimal("100.00")));
+        
+        // Desconto nunca ultrapassa o valor original
+        assertEquals(new BigDecimal("15.00"), stacked.calculateDiscount(new BigDecimal("15.00")));
+        assertEquals(3, stacked.getStages().size());
+        assertThrows(IllegalArgumentException.class,
+                () -> CompositeDiscountStrategy.builder().then(stacked));
+        
+        System.out.println("✓ Composite CompositeDiscountStrategy testado com sucesso");
+    }
+    
     // ========== TESTES DO PADRAO FACADE ==========
     
     @Test
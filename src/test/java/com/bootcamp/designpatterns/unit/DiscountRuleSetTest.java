@@ -0,0 +1,137 @@
+package com.bootcamp.designpatterns.unit;
+
+import com.bootcamp.designpatterns.strategy.DiscountStrategy;
+import com.bootcamp.designpatterns.strategy.DiscountStrategyRegistry;
+import com.bootcamp.designpatterns.strategy.rules.DiscountRuleSet;
+import com.bootcamp.designpatterns.strategy.rules.PricingContext;
+import com.bootcamp.designpatterns.strategy.rules.RuleBasedDiscountStrategy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da linguagem de regras de desconto
+ * 
+ * Cobre interpretacao do texto, condicoes sobre preco, quantidade,
+ * categoria e data, acoes percent/fixed/cap e a equivalencia entre a
+ * avaliacao compilada e a interpretada.
+ */
+@Tag("unit")
+public class DiscountRuleSetTest {
+    
+    private static final String CAMPAIGN =
+        "# Campanha de exemplo\n"
+        + "when price >= 100 and category == \"Livros\" then percent 10, cap 50\n"
+        + "when quantity >= 3 or price > 1000 then fixed 15\n"
+        + "when date >= 2024-11-29 and date <= 2024-12-02 then percent 20";
+    
+    @Test
+    @DisplayName("Regras - Condicoes e acoes aplicadas em ordem")
+    void testRuleEvaluation() {
+        // Arrange
+        DiscountRuleSet rules = DiscountRuleSet.parse(CAMPAIGN);
+        LocalDate regularDay = LocalDate.of(2024, 10, 10);
+        LocalDate blackFriday = LocalDate.of(2024, 11, 29);
+        
+        // Act & Assert - 10% de 200 em livros
+        assertEquals(new BigDecimal("20.00"),
+                rules.calculateDiscount(new PricingContext(new BigDecimal("200.00"), 1, "Livros", regularDay)));
+        
+        // Limite de 50 no desconto acumulado
+        assertEquals(new BigDecimal("50.00"),
+                rules.calculateDiscount(new PricingContext(new BigDecimal("900.00"), 1, "Livros", regularDay)));
+        
+        // Quantidade dispara o desconto fixo
+        assertEquals(new BigDecimal("15.00"),
+                rules.calculateDiscount(new PricingContext(new BigDecimal("80.00"), 3, "Games", regularDay)));
+        
+        // Data da campanha: (200 - 10%) - 20% = 144 -> desconto 56
+        assertEquals(new BigDecimal("56.00"),
+                rules.calculateDiscount(new PricingContext(new BigDecimal("200.00"), 1, "Livros", blackFriday)));
+        
+        // Nenhuma regra aplicavel
+        assertEquals(new BigDecimal("0.00"),
+                rules.calculateDiscount(new PricingContext(new BigDecimal("50.00"), 1, "Games", regularDay)));
+        
+        assertEquals(3, rules.getRuleCount());
+        assertTrue(rules.isDateDependent());
+    }
+    
+    @Test
+    @DisplayName("Regras - Desconto nunca excede o preco")
+    void testDiscountNeverExceedsPrice() {
+        DiscountRuleSet rules = DiscountRuleSet.parse("then fixed 30; then percent 50");
+        
+        assertEquals(new BigDecimal("20.00"), rules.calculateDiscount(PricingContext.of(new BigDecimal("20.00"))));
+        assertEquals(new BigDecimal("35.00"), rules.calculateDiscount(PricingContext.of(new BigDecimal("40.00"))));
+    }
+    
+    @Test
+    @DisplayName("Regras - Avaliacao compilada igual a interpretada")
+    void testCompiledMatchesInterpreted() {
+        // Arrange
+        DiscountRuleSet rules = DiscountRuleSet.parse(CAMPAIGN + "\nwhen price < 30 then percent 5, percent 5, cap 2");
+        String[] categories = {"Livros", "Games", null};
+        Random random = new Random(42);
+        
+        // Act & Assert
+        for (int i = 0; i < 20_000; i++) {
+            PricingContext context = new PricingContext(
+                    BigDecimal.valueOf(1 + random.nextInt(200_000), 2),
+                    1 + random.nextInt(5),
+                    categories[random.nextInt(categories.length)],
+                    LocalDate.of(2024, 11, 25).plusDays(random.nextInt(10)));
+            assertEquals(rules.calculateDiscountInterpreted(context), rules.calculateDiscount(context),
+                         "Divergencia para " + context);
+        }
+    }
+    
+    @Test
+    @DisplayName("Regras - Texto invalido deve informar a linha")
+    void testInvalidRules() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> DiscountRuleSet.parse("then percent 10\nwhen weight > 3 then fixed 5"));
+        assertTrue(error.getMessage().contains("linha 2"), error.getMessage());
+        
+        assertThrows(IllegalArgumentException.class, () -> DiscountRuleSet.parse("when price >= 100 percent 10"));
+        assertThrows(IllegalArgumentException.class, () -> DiscountRuleSet.parse("then percent 150"));
+        assertThrows(IllegalArgumentException.class, () -> DiscountRuleSet.parse("when category > \"A\" then fixed 1"));
+        assertThrows(IllegalArgumentException.class, () -> DiscountRuleSet.parse("   "));
+    }
+    
+    @Test
+    @DisplayName("Regras - Estrategia compartilhada pelo registro")
+    void testRuleStrategyInterning() {
+        // Arrange
+        DiscountStrategyRegistry registry = new DiscountStrategyRegistry(16);
+        String source = "when price >= 100 then percent 10";
+        
+        // Act
+        DiscountStrategy first = registry.getRuleStrategy(source);
+        DiscountStrategy second = registry.getRuleStrategy("  " + source + "\n");
+        
+        // Assert
+        assertSame(first, second, "Mesmo texto deve reutilizar a estrategia compilada");
+        assertEquals(new BigDecimal("10.00"), first.calculateDiscount(new BigDecimal("100.00")));
+        assertEquals("rules:when price >= 100 then percent 10", first.getFingerprint());
+        assertNull(new RuleBasedDiscountStrategy("when date >= 2024-01-01 then percent 5").getFingerprint(),
+                   "Regras com data nao podem ser memorizadas");
+        
+        // Texto canonico nao depende do idioma da JVM (em turco, "PRICE" vira "prıce")
+        Locale previous = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertEquals(source, DiscountRuleSet.parse(source).getCanonicalSource());
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.bootcamp.designpatterns.unit;
+
+import com.bootcamp.designpatterns.facade.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do processamento assincrono de pedidos no Facade
+ * 
+ * Compara o resultado com o processamento sequencial, verifica a
+ * precedencia das falhas e o tempo limite por etapa, que nao se aplica
+ * ao pagamento nem as etapas depois dele.
+ */
+@Tag("unit")
+public class EcommerceFacadeAsyncTest {
+    
+    private static OrderRequest order(String productId, int quantity, String amount, String cardNumber) {
+        return new OrderRequest(productId, quantity, new BigDecimal(amount), cardNumber,
+                                "123", "12/25", "Rua das Flores, 123", "01000-000");
+    }
+    
+    @Test
+    @DisplayName("Facade assincrono - Mesmo resultado do processamento sequencial")
+    void testSameResultsAsSequential() {
+        // Arrange - cada Facade tem seu proprio estoque e recebe os pedidos na mesma ordem
+        EcommerceFacade sequentialFacade = new EcommerceFacade();
+        EcommerceFacade asyncFacade = new EcommerceFacade();
+        OrderRequest[] orders = {
+                order("PROD124", 3, "150.00", "1234567890123456"),  // aprovado
+                order("PROD123", 3, "150.00", "1234567890123456"),  // sem estoque
+                order("PROD124", 3, "150.00", "1234"),              // cartao invalido
+                order("PROD124", 3, "999.00", "1234567890123456")   // pagamento rejeitado (com frete)
+        };
+        
+        for (OrderRequest order : orders) {
+            // Act
+            OrderResult sequential = sequentialFacade.processOrder(order);
+            OrderResult async = asyncFacade.processOrderAsync(order).join();
+            
+            // Assert
+            assertEquals(sequential.isSuccess(), async.isSuccess(), "Sucesso divergente para " + order);
+            assertEquals(sequential.getMessage(), async.getMessage(), "Mensagem divergente para " + order);
+            assertEquals(sequential.getOrderId() == null, async.getOrderId() == null);
+            assertEquals(sequential.getTransactionId() == null, async.getTransactionId() == null);
+            assertEquals(sequential.getTrackingCode() == null, async.getTrackingCode() == null);
+        }
+        
+        OrderResult approved = new EcommerceFacade().processOrderAsync(orders[0]).join();
+        assertTrue(approved.getOrderId().startsWith("ORD"));
+        assertTrue(approved.getTransactionId().startsWith("TXN"));
+        assertTrue(approved.getTrackingCode().startsWith("TRACK"));
+        
+        System.out.println("✓ Facade assincrono equivalente ao sequencial testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Facade assincrono - Falha de estoque prevalece sobre erro no cartao")
+    void testFailurePrecedence() {
+        // Arrange - validacao do cartao quebra, mas o estoque ja reprovou o pedido
+        PaymentService brokenCard = new PaymentService() {
+            @Override
+            public boolean validateCard(String cardNumber, String cvv, String expiryDate) {
+                throw new IllegalStateException("Operadora indisponivel");
+            }
+        };
+        EcommerceFacade facade = new EcommerceFacade(new InventoryService(), brokenCard, new DeliveryService());
+        
+        // Act
+        OrderResult noStock = facade.processOrderAsync(order("PROD123", 3, "150.00", "1234567890123456")).join();
+        OrderResult withStock = facade.processOrderAsync(order("PROD124", 3, "150.00", "1234567890123456")).join();
+        
+        // Assert - mesma precedencia do processamento sequencial
+        assertEquals("Estoque insuficiente", noStock.getMessage());
+        assertEquals("Erro interno no processamento", withStock.getMessage());
+        assertFalse(withStock.isSuccess());
+        
+        System.out.println("✓ Facade assincrono precedencia de falhas testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Facade assincrono - Etapa lenta estoura o tempo limite")
+    void testStageTimeout() {
+        // Arrange - validacao do cartao que demora bem mais que o limite de 100 ms
+        PaymentService slowCard = new PaymentService() {
+            @Override
+            public boolean validateCard(String cardNumber, String cvv, String expiryDate) {
+                try {
+                    Thread.sleep(2_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            EcommerceFacade facade = new EcommerceFacade(new InventoryService(), slowCard,
+                                                         new DeliveryService(), executor, 100);
+            
+            // Act
+            long start = System.nanoTime();
+            OrderResult result = facade.processOrderAsync(order("PROD124", 3, "150.00", "1234567890123456")).join();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            
+            // Assert
+            assertFalse(result.isSuccess());
+            assertEquals("Tempo esgotado na etapa de cartao", result.getMessage());
+            assertNull(result.getTransactionId());
+            assertTrue(elapsedMillis < 1_500, "Resultado nao deve esperar o cartao lento: " + elapsedMillis + " ms");
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        System.out.println("✓ Facade assincrono tempo limite por etapa testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Facade assincrono - Pagamento lento nao e abandonado")
+    void testSlowPaymentIsNotAbandoned() {
+        // Arrange - pagamento que passa do limite de 100 ms, mas e aprovado
+        PaymentService slowPayment = new PaymentService() {
+            @Override
+            public String processPayment(BigDecimal amount, String cardNumber) {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "TXN-LENTO";
+            }
+        };
+        InventoryService inventory = new InventoryService();
+        int before = inventory.getLedger().getAvailable("PROD124");
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            EcommerceFacade facade = new EcommerceFacade(inventory, slowPayment,
+                                                         new DeliveryService(), executor, 100);
+            
+            // Act
+            OrderResult result = facade.processOrderAsync(order("PROD124", 3, "150.00", "1234567890123456")).join();
+            
+            // Assert - a cobranca aprovada nao perde a reserva do estoque
+            assertTrue(result.isSuccess(), result.getMessage());
+            assertEquals("TXN-LENTO", result.getTransactionId());
+            assertEquals(before - 3, inventory.getLedger().getAvailable("PROD124"));
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        System.out.println("✓ Facade assincrono pagamento lento testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Facade assincrono - Falhas depois da cobranca nao desfazem o pedido")
+    void testChargedOrderNeverFails() {
+        // Arrange - entrega lenta e que falha, e reserva que nao confirma
+        DeliveryService brokenDelivery = new DeliveryService() {
+            @Override
+            public String scheduleDelivery(String orderId, String address, String zipCode) {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("Transportadora indisponivel");
+            }
+        };
+        InventoryService brokenConfirm = new InventoryService() {
+            @Override
+            public void updateStock(StockHoldManager.Hold hold) {
+                throw new IllegalStateException("Reserva expirada ou liberada: " + hold);
+            }
+        };
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            EcommerceFacade facade = new EcommerceFacade(brokenConfirm, new PaymentService(),
+                                                         brokenDelivery, executor, 100);
+            OrderRequest order = order("PROD124", 3, "150.00", "1234567890123456");
+            
+            // Act
+            OrderResult async = facade.processOrderAsync(order).join();
+            OrderResult sequential = facade.processOrder(order);
+            
+            // Assert - cobrados, com pedido e transacao; problemas contados a parte
+            for (OrderResult result : new OrderResult[] {async, sequential}) {
+                assertTrue(result.isSuccess(), result.getMessage());
+                assertNotNull(result.getOrderId());
+                assertNotNull(result.getTransactionId());
+                assertNull(result.getTrackingCode());
+            }
+            assertEquals(2, facade.getPendingDeliveryCount());
+            assertEquals(2, facade.getStockDiscrepancyCount());
+            assertEquals(0, brokenConfirm.getHolds().getReleasedCount(), "Reserva de pedido cobrado nao e liberada");
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        System.out.println("✓ Facade assincrono falhas depois da cobranca testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Facade assincrono - Parametros invalidos")
+    void testInvalidArguments() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new EcommerceFacade(
+                new InventoryService(), new PaymentService(), new DeliveryService(), null, 100));
+        assertThrows(IllegalArgumentException.class, () -> new EcommerceFacade(
+                new InventoryService(), new PaymentService(), new DeliveryService(), Runnable::run, 0));
+        
+        System.out.println("✓ Facade assincrono parametros invalidos testado com sucesso");
+    }
+}
@@ -0,0 +1,196 @@
+package com.bootcamp.designpatterns.unit;
+
+import com.bootcamp.designpatterns.facade.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do processamento de lotes de pedidos no Facade
+ * 
+ * Verifica que cada pedido recebe o mesmo resultado de uma chamada
+ * individual, na ordem de entrada, que estoque e cartoes sao consultados
+ * uma vez por produto e por cartao distinto e que os pagamentos do lote
+ * respeitam o limite de chamadas simultaneas.
+ */
+@Tag("unit")
+public class EcommerceFacadeBatchTest {
+    
+    private static OrderRequest order(String productId, int quantity, String amount, String cardNumber) {
+        return new OrderRequest(productId, quantity, new BigDecimal(amount), cardNumber,
+                                "123", "12/25", "Rua das Flores, 123", "01000-000");
+    }
+    
+    @Test
+    @DisplayName("Lote de pedidos - Mesmos resultados das chamadas individuais, na ordem de entrada")
+    void testSameResultsInInputOrder() {
+        // Arrange - mistura de aprovados e das tres causas de falha; lote e chamadas
+        // individuais usam Facades com estoques proprios
+        EcommerceFacade batchFacade = new EcommerceFacade();
+        EcommerceFacade singleFacade = new EcommerceFacade();
+        List<OrderRequest> orders = List.of(
+                order("PROD124", 3, "150.00", "1234567890123456"),   // aprovado
+                order("PROD123", 3, "150.00", "1234567890123456"),   // sem estoque
+                order("PROD124", 11, "150.00", "1234567890123456"),  // quantidade acima do estoque restante
+                order("PROD124", 2, "150.00", "1234"),               // cartao invalido
+                order("PROD124", 2, "999.00", "1234567890123456"),   // pagamento rejeitado
+                order("PROD123", 1, "150.00", "1234"),               // estoque prevalece sobre cartao
+                order("PROD124", 1, "50.00", "6543210987654321")     // aprovado
+        );
+        
+        // Act
+        List<OrderResult> batch = batchFacade.processOrdersAsync(orders).join();
+        
+        // Assert
+        assertEquals(orders.size(), batch.size());
+        for (int i = 0; i < orders.size(); i++) {
+            OrderResult single = singleFacade.processOrderAsync(orders.get(i)).join();
+            assertEquals(single.isSuccess(), batch.get(i).isSuccess(), "Sucesso divergente na linha " + i);
+            assertEquals(single.getMessage(), batch.get(i).getMessage(), "Mensagem divergente na linha " + i);
+        }
+        assertTrue(batch.get(0).getTransactionId().startsWith("TXN"));
+        assertTrue(batch.get(6).getTrackingCode().startsWith("TRACK"));
+        
+        System.out.println("✓ Lote de pedidos equivalente as chamadas individuais testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Lote de pedidos - Estoque uma vez por produto e cartao uma vez por cartao distinto")
+    void testGroupedSubsystemCalls() {
+        // Arrange
+        AtomicInteger stockReservations = new AtomicInteger();
+        AtomicInteger stockUpdates = new AtomicInteger();
+        AtomicInteger cardValidations = new AtomicInteger();
+        InventoryService inventory = new InventoryService() {
+            @Override
+            public StockHoldManager.Hold[] holdBatch(String productId, int[] quantities) {
+                stockReservations.incrementAndGet();
+                return super.holdBatch(productId, quantities);
+            }
+            
+            @Override
+            public boolean[] updateStock(String productId, List<StockHoldManager.Hold> holds) {
+                stockUpdates.incrementAndGet();
+                return super.updateStock(productId, holds);
+            }
+        };
+        PaymentService payment = new PaymentService() {
+            @Override
+            public boolean validateCard(String cardNumber, String cvv, String expiryDate) {
+                cardValidations.incrementAndGet();
+                return super.validateCard(cardNumber, cvv, expiryDate);
+            }
+        };
+        inventory.restock("PROD124", 100);
+        inventory.restock("PROD126", 100);
+        EcommerceFacade facade = new EcommerceFacade(inventory, payment, new DeliveryService());
+        
+        List<OrderRequest> orders = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            // 2 produtos com estoque, 3 cartoes distintos
+            orders.add(order(i % 2 == 0 ? "PROD124" : "PROD126", 1, "100.00", "123456789012345" + (i % 3)));
+        }
+        
+        // Act
+        List<OrderResult> results = facade.processOrdersAsync(orders).join();
+        
+        // Assert
+        assertTrue(results.stream().allMatch(OrderResult::isSuccess), "Todos os pedidos devem ser aprovados");
+        assertEquals(2, stockReservations.get(), "Uma reserva por produto");
+        assertEquals(2, stockUpdates.get(), "Uma baixa de estoque por produto");
+        assertEquals(3, cardValidations.get(), "Uma validacao por cartao distinto");
+        
+        System.out.println("✓ Lote de pedidos agrupamento de consultas testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Lote de pedidos - Pagamentos em andamento limitados por lote")
+    void testBoundedPaymentsInFlight() {
+        // Arrange - pagamento lento que registra o pico de chamadas simultaneas
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        PaymentService payment = new PaymentService() {
+            @Override
+            public String processPayment(BigDecimal amount, String cardNumber) {
+                peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                return "TXN-" + cardNumber;
+            }
+        };
+        InventoryService inventory = new InventoryService();
+        inventory.restock("PROD124", 1_000);
+        EcommerceFacade facade = new EcommerceFacade(inventory, payment, new DeliveryService());
+        int count = EcommerceFacade.MAX_BATCH_PAYMENTS_IN_FLIGHT * 4;
+        List<OrderRequest> orders = Collections.nCopies(count, order("PROD124", 1, "10.00", "1234567890123456"));
+        
+        // Act
+        List<OrderResult> results = facade.processOrdersAsync(orders).join();
+        
+        // Assert
+        assertTrue(results.stream().allMatch(OrderResult::isSuccess), "Todos os pedidos devem ser aprovados");
+        assertTrue(peak.get() <= EcommerceFacade.MAX_BATCH_PAYMENTS_IN_FLIGHT,
+                   "Pico de pagamentos simultaneos: " + peak.get());
+        assertEquals(0, inFlight.get());
+        
+        System.out.println("✓ Lote de pedidos pagamentos limitados testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Lote de pedidos - Falha na confirmacao do estoque nao desfaz pedidos cobrados")
+    void testChargedLinesSurviveConfirmationFailure() {
+        // Arrange - confirmacao em grupo quebra; a confirmacao individual funciona
+        InventoryService inventory = new InventoryService() {
+            @Override
+            public boolean[] updateStock(String productId, List<StockHoldManager.Hold> holds) {
+                throw new IllegalStateException("Livro de estoque indisponivel");
+            }
+        };
+        inventory.restock("PROD124", 100);
+        EcommerceFacade facade = new EcommerceFacade(inventory, new PaymentService(), new DeliveryService());
+        List<OrderRequest> orders = Collections.nCopies(5, order("PROD124", 2, "100.00", "1234567890123456"));
+        long confirmedBefore = inventory.getLedger().getConfirmedUnits();
+        
+        // Act
+        List<OrderResult> results = facade.processOrdersAsync(orders).join();
+        
+        // Assert - todos cobrados e confirmados um a um
+        for (OrderResult result : results) {
+            assertTrue(result.isSuccess(), result.getMessage());
+            assertNotNull(result.getTransactionId());
+        }
+        assertEquals(confirmedBefore + 10, inventory.getLedger().getConfirmedUnits());
+        assertEquals(0, facade.getStockDiscrepancyCount());
+        
+        System.out.println("✓ Lote de pedidos confirmacao de estoque testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Lote de pedidos - Lote vazio ou grande demais")
+    void testInvalidBatch() {
+        // Arrange
+        EcommerceFacade facade = new EcommerceFacade();
+        List<OrderRequest> tooLarge = Collections.nCopies(EcommerceFacade.MAX_BATCH_SIZE + 1,
+                                                          order("PROD124", 1, "10.00", "1234567890123456"));
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> facade.processOrdersAsync(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> facade.processOrdersAsync(tooLarge));
+        
+        System.out.println("✓ Lote de pedidos validacao de tamanho testado com sucesso");
+    }
+}
@@ -0,0 +1,165 @@
+package com.bootcamp.designpatterns.unit;
+
+import com.bootcamp.designpatterns.strategy.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Assumptions;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de paridade do caminho de ponto fixo (centavos)
+ * 
+ * Garante que o calculo em {@code long} produz exatamente os mesmos
+ * valores das estrategias baseadas em BigDecimal, inclusive nos casos
+ * de arredondamento HALF_UP e de estouro de 63 bits.
+ */
+@Tag("unit")
+public class FixedPointPricingTest {
+    
+    private static final long EXHAUSTIVE_LIMIT_CENTS = 100_000L; // ate R$ 1.000,00
+    private static final int RANDOM_SAMPLES = 50_000;
+    
+    private static List<CentsDiscountStrategy> strategies() {
+        List<CentsDiscountStrategy> strategies = new ArrayList<>();
+        for (String percentage : new String[] {"0", "0.05", "0.10", "0.125", "0.15", "0.333", "0.075", "1",
+                                               "0.123456789012345678", "0.99999999999999999999999"}) {
+            strategies.add(new PercentageDiscountStrategy(new BigDecimal(percentage)));
+        }
+        for (String amount : new String[] {"0", "0.01", "9.999", "10.005", "50.00", "100.004", "1E+30"}) {
+            strategies.add(new FixedDiscountStrategy(new BigDecimal(amount)));
+        }
+        strategies.add(new ProgressiveDiscountStrategy());
+        return strategies;
+    }
+    
+    private static void assertParity(CentsDiscountStrategy strategy, PriceCalculator calculator, long cents) {
+        BigDecimal price = FixedPointMath.fromCents(cents);
+        
+        long expectedDiscount = FixedPointMath.toCents(strategy.calculateDiscount(price));
+        long expectedFinal = FixedPointMath.toCents(calculator.calculateFinalPrice(price));
+        
+        assertEquals(expectedDiscount, strategy.calculateDiscountCents(cents),
+                     () -> strategy.getDescription() + " (" + strategy.getDiscountInfo() + ") desconto divergente para " + price);
+        assertEquals(expectedFinal, calculator.calculateFinalPriceCents(cents),
+                     () -> strategy.getDescription() + " (" + strategy.getDiscountInfo() + ") preco final divergente para " + price);
+    }
+    
+    @Test
+    @DisplayName("Ponto fixo - Paridade exaustiva ate R$ 1.000,00")
+    void testExhaustiveParity() {
+        for (CentsDiscountStrategy strategy : strategies()) {
+            PriceCalculator calculator = new PriceCalculator(strategy);
+            for (long cents = 0; cents <= EXHAUSTIVE_LIMIT_CENTS; cents++) {
+                assertParity(strategy, calculator, cents);
+            }
+        }
+        
+        System.out.println("✓ Paridade exaustiva de ponto fixo testada com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Ponto fixo - Paridade com valores aleatorios e grandes")
+    void testRandomParity() {
+        Random random = new Random(42);
+        
+        for (CentsDiscountStrategy strategy : strategies()) {
+            PriceCalculator calculator = new PriceCalculator(strategy);
+            for (int i = 0; i < RANDOM_SAMPLES; i++) {
+                // Inclui valores proximos do limite de um long para exercitar o caminho de estouro
+                long cents = i % 2 == 0
+                        ? (random.nextLong() >>> 1) % 1_000_000_000_000L
+                        : random.nextLong() >>> 1;
+                assertParity(strategy, calculator, cents);
+            }
+        }
+        
+        System.out.println("✓ Paridade aleatoria de ponto fixo testada com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Ponto fixo - Casos de arredondamento HALF_UP")
+    void testHalfUpRounding() {
+        PercentageDiscountStrategy fivePercent = new PercentageDiscountStrategy(new BigDecimal("0.05"));
+        
+        assertEquals(1L, fivePercent.calculateDiscountCents(10L), "R$ 0,10 a 5% = 0,005 deve arredondar para 0,01");
+        assertEquals(0L, fivePercent.calculateDiscountCents(9L), "R$ 0,09 a 5% = 0,0045 deve arredondar para 0,00");
+        assertEquals(500L, new FixedDiscountStrategy(new BigDecimal("4.995")).calculateDiscountCents(10_000L),
+                     "Desconto fixo de 4,995 deve arredondar para 5,00");
+        assertEquals(0L, new PriceCalculator(fivePercent).calculateFinalPriceCents(-100L),
+                     "Preco negativo deve resultar em zero");
+        
+        System.out.println("✓ Arredondamento HALF_UP de ponto fixo testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Ponto fixo - Lote em centavos deve coincidir com o calculo individual")
+    void testBatchCentsPricing() {
+        PriceCalculator calculator = new PriceCalculator(new ProgressiveDiscountStrategy());
+        long[] prices = {5_000L, 10_000L, 10_001L, 50_000L, 80_000L, 0L};
+        long[] finalPrices = new long[prices.length];
+        
+        calculator.calculateFinalPricesCents(prices, finalPrices);
+        
+        for (int i = 0; i < prices.length; i++) {
+            assertEquals(calculator.calculateFinalPriceCents(prices[i]), finalPrices[i], "Item " + i);
+        }
+        assertThrows(IllegalArgumentException.class,
+                     () -> calculator.calculateFinalPricesCents(prices, new long[1]),
+                     "Array de saida menor deve ser rejeitado");
+        
+        System.out.println("✓ Lote em centavos testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Ponto fixo - Regime permanente nao deve alocar memoria")
+    void testSteadyStateDoesNotAllocate() {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean,
+                               "JVM nao expoe contagem de alocacao por thread");
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        Assumptions.assumeTrue(allocationBean.isThreadAllocatedMemorySupported()
+                               && allocationBean.isThreadAllocatedMemoryEnabled(),
+                               "Contagem de alocacao por thread desabilitada");
+        
+        PriceCalculator[] calculators = {
+            new PriceCalculator(new PercentageDiscountStrategy(new BigDecimal("0.15"))),
+            new PriceCalculator(new FixedDiscountStrategy(new BigDecimal("50.00"))),
+            new PriceCalculator(new ProgressiveDiscountStrategy())
+        };
+        long[] prices = new long[1024];
+        long[] finalPrices = new long[prices.length];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = 1_000L + i * 97L;
+        }
+        
+        // Aquecimento para que o JIT compile o caminho quente
+        for (int round = 0; round < 200; round++) {
+            for (PriceCalculator calculator : calculators) {
+                calculator.calculateFinalPricesCents(prices, finalPrices);
+            }
+        }
+        
+        long threadId = Thread.currentThread().getId();
+        long before = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int round = 0; round < 200; round++) {
+            for (PriceCalculator calculator : calculators) {
+                calculator.calculateFinalPricesCents(prices, finalPrices);
+            }
+        }
+        long allocated = allocationBean.getThreadAllocatedBytes(threadId) - before;
+        
+        // Pequena tolerancia para a propria medicao
+        assertTrue(allocated < 1024, "Caminho em centavos nao deve alocar, mas alocou " + allocated + " bytes");
+        
+        System.out.println("✓ Regime permanente sem alocacao testado com sucesso (" + allocated + " bytes)");
+    }
+}
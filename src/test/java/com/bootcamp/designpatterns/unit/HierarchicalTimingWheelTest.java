@@ -0,0 +1,141 @@
+package com.bootcamp.designpatterns.unit;
+
+import com.bootcamp.designpatterns.scheduling.HierarchicalTimingWheel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da roda de tempo hierarquica
+ * 
+ * Usa instantes explicitos (sem relogio real) para verificar que nenhuma
+ * entrada vence antes do prazo nem mais de um tick depois, inclusive nas
+ * cascatas entre niveis, e que entradas canceladas nunca vencem.
+ */
+@Tag("unit")
+public class HierarchicalTimingWheelTest {
+    
+    private static final long TICK = 10;
+    
+    @Test
+    @DisplayName("Roda de tempo - Entradas vencem no tick do prazo")
+    void testEntriesExpireAtDeadline() {
+        // Arrange
+        HierarchicalTimingWheel<Task> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+        Task soon = wheel.schedule(new Task(25));
+        Task later = wheel.schedule(new Task(1_000));
+        List<Task> expired = new ArrayList<>();
+        
+        // Act & Assert
+        assertEquals(0, wheel.advance(20, expired));
+        assertEquals(1, wheel.advance(30, expired), "Prazo 25 vence no tick de 30 ms");
+        assertSame(soon, expired.get(0));
+        assertTrue(soon.isExpired());
+        
+        assertEquals(0, wheel.advance(990, expired));
+        assertEquals(1, wheel.advance(1_000, expired));
+        assertSame(later, expired.get(1));
+        assertEquals(0, wheel.getPendingCount());
+    }
+    
+    @Test
+    @DisplayName("Roda de tempo - Prazos aleatorios em todos os niveis")
+    void testRandomDeadlinesAcrossLevels() {
+        // Arrange
+        HierarchicalTimingWheel<Task> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+        Random random = new Random(42);
+        int count = 20_000;
+        for (int i = 0; i < count; i++) {
+            // Ate ~46 horas: alcanca o terceiro nivel (256^2 ticks = 655 s)
+            long deadline = (long) (random.nextDouble() * random.nextDouble() * 166_000_000L);
+            wheel.schedule(new Task(deadline));
+        }
+        
+        // Act
+        List<Task> expired = new ArrayList<>();
+        long now = 0;
+        int lateOrEarly = 0;
+        while (wheel.getPendingCount() > 0) {
+            long previous = now;
+            now += 7 + random.nextInt(5_000);
+            int before = expired.size();
+            wheel.advance(now, expired);
+            for (int i = before; i < expired.size(); i++) {
+                long deadline = expired.get(i).getDeadlineMillis();
+                long deadlineTickMillis = (deadline + TICK - 1) / TICK * TICK;
+                // Vencida cedo demais, ou ja deveria ter vencido no avanco anterior
+                if (deadline > now || deadlineTickMillis <= previous) {
+                    lateOrEarly++;
+                }
+            }
+        }
+        
+        // Assert
+        assertEquals(count, expired.size());
+        assertEquals(0, lateOrEarly, "Cada entrada vence no primeiro avanco que alcanca o seu tick");
+    }
+    
+    @Test
+    @DisplayName("Roda de tempo - Entradas canceladas nunca vencem")
+    void testCancelledEntriesNeverExpire() {
+        // Arrange
+        HierarchicalTimingWheel<Task> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            tasks.add(wheel.schedule(new Task(100 + (i % 5_000) * 100L)));
+        }
+        
+        // Act
+        wheel.advance(0, new ArrayList<>());
+        for (int i = 0; i < tasks.size(); i += 2) {
+            assertTrue(tasks.get(i).cancel());
+        }
+        assertFalse(tasks.get(0).cancel(), "Segundo cancelamento nao tem efeito");
+        assertEquals(100_000, wheel.getPendingCount());
+        
+        List<Task> expired = new ArrayList<>();
+        wheel.advance(1_000_000, expired);
+        
+        // Assert
+        assertEquals(100_000, expired.size());
+        for (Task task : expired) {
+            assertFalse(task.isCancelled());
+        }
+        assertFalse(tasks.get(1).cancel(), "Entrada vencida nao pode ser cancelada");
+        assertEquals(0, wheel.getPendingCount());
+    }
+    
+    @Test
+    @DisplayName("Roda de tempo - Prazo vencido e prazo alem do alcance")
+    void testPastAndFarDeadlines() {
+        // Arrange
+        HierarchicalTimingWheel<Task> wheel = new HierarchicalTimingWheel<>(1, 1_000);
+        Task past = wheel.schedule(new Task(10));
+        Task far = wheel.schedule(new Task(1_000 + (1L << 33)));
+        List<Task> expired = new ArrayList<>();
+        
+        // Act & Assert
+        assertEquals(1, wheel.advance(1_000, expired));
+        assertSame(past, expired.get(0));
+        
+        assertEquals(0, wheel.advance(1_000 + (1L << 32), expired), "Alem de 256^4 ticks continua pendente");
+        assertEquals(1, wheel.advance(1_000 + (1L << 33), expired));
+        assertSame(far, expired.get(1));
+        
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule(past));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<Task>(0, 0));
+    }
+    
+    private static final class Task extends HierarchicalTimingWheel.Entry {
+        Task(long deadlineMillis) {
+            super(deadlineMillis);
+        }
+    }
+}
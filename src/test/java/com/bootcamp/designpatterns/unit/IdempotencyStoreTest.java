@@ -0,0 +1,290 @@
+package com.bootcamp.designpatterns.unit;
+
+import com.bootcamp.designpatterns.facade.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da deduplicacao de pedidos por chave de idempotencia
+ * 
+ * Verifica que cada chave executa o pedido uma vez dentro da janela, que
+ * repeticoes concorrentes esperam pelo original e que a memoria fica
+ * limitada a capacidade configurada.
+ */
+@Tag("unit")
+public class IdempotencyStoreTest {
+    
+    private static final long WINDOW_MILLIS = 60_000;
+    
+    private static CompletableFuture<OrderResult> approved(String orderId) {
+        return CompletableFuture.completedFuture(
+                new OrderResult(true, "Pedido processado com sucesso", orderId, "TXN" + orderId, "TRACK" + orderId));
+    }
+    
+    @Test
+    @DisplayName("Idempotencia - Mesma chave executa uma vez dentro da janela")
+    void testSameKeyExecutesOnce() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(1_000_000);
+        IdempotencyStore store = new IdempotencyStore(WINDOW_MILLIS, 1_024, clock::get);
+        AtomicInteger executions = new AtomicInteger();
+        
+        // Act
+        OrderResult first = store.execute("chave-1", () -> approved("A" + executions.incrementAndGet())).join();
+        OrderResult repeated = store.execute("chave-1", () -> approved("A" + executions.incrementAndGet())).join();
+        OrderResult other = store.execute("chave-2", () -> approved("A" + executions.incrementAndGet())).join();
+        
+        // Assert
+        assertSame(first, repeated);
+        assertEquals("A1", repeated.getOrderId());
+        assertEquals("A2", other.getOrderId());
+        assertEquals(2, store.getExecutionCount());
+        assertEquals(1, store.getReplayCount());
+        
+        // Ainda dentro da janela
+        clock.addAndGet(WINDOW_MILLIS - 1);
+        store.execute("chave-3", () -> approved("A" + executions.incrementAndGet())).join();
+        assertEquals("A1", store.execute("chave-1", () -> approved("novo")).join().getOrderId());
+        
+        // Fora da janela (a geracao tambem roda) a chave executa de novo
+        clock.addAndGet(2);
+        assertEquals("novo", store.execute("chave-1", () -> approved("novo")).join().getOrderId());
+        
+        // Execucao que termina com excecao nao fica registrada
+        CompletableFuture<OrderResult> failed = store.execute("chave-4",
+                () -> CompletableFuture.failedFuture(new IllegalStateException("falha")));
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals("B1", store.execute("chave-4", () -> approved("B1")).join().getOrderId());
+        
+        assertThrows(IllegalArgumentException.class, () -> store.execute(" ", () -> approved("X")));
+        assertThrows(IllegalArgumentException.class, () -> store.execute("x".repeat(256), () -> approved("X")));
+        
+        System.out.println("✓ Idempotencia execucao unica testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Idempotencia - Resultado marcado como repetivel libera a chave")
+    void testRetryableResultIsNotKept() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(1_000_000);
+        IdempotencyStore store = new IdempotencyStore(WINDOW_MILLIS, 1_024, clock::get);
+        OrderResult timedOut = new OrderResult(false, "Tempo esgotado na etapa de estoque", null, null, null);
+        
+        // Act
+        OrderResult first = store.execute("chave-1", () -> CompletableFuture.completedFuture(timedOut),
+                                          result -> !result.isSuccess()).join();
+        OrderResult retried = store.execute("chave-1", () -> approved("A1"), result -> !result.isSuccess()).join();
+        OrderResult repeated = store.execute("chave-1", () -> approved("A2"), result -> !result.isSuccess()).join();
+        
+        // Assert
+        assertSame(timedOut, first);
+        assertEquals("A1", retried.getOrderId());
+        assertEquals("A1", repeated.getOrderId());
+        assertEquals(2, store.getExecutionCount());
+        assertEquals(1, store.getRetryableCount());
+        
+        System.out.println("✓ Idempotencia resultado repetivel testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Idempotencia - Repeticoes concorrentes esperam pelo pedido em andamento")
+    void testConcurrentDuplicatesWaitForOriginal() throws Exception {
+        // Arrange
+        IdempotencyStore store = new IdempotencyStore();
+        AtomicInteger executions = new AtomicInteger();
+        CompletableFuture<OrderResult> original = new CompletableFuture<>();
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<OrderResult>>> calls = new ArrayList<>();
+        
+        // Act - todas as chamadas chegam antes de o original terminar
+        for (int t = 0; t < threads; t++) {
+            calls.add(executor.submit(() -> {
+                start.await();
+                return store.execute("pedido-concorrente", () -> {
+                    executions.incrementAndGet();
+                    return original;
+                });
+            }));
+        }
+        start.countDown();
+        List<CompletableFuture<OrderResult>> results = new ArrayList<>();
+        for (Future<CompletableFuture<OrderResult>> call : calls) {
+            results.add(call.get(10, TimeUnit.SECONDS));
+        }
+        for (CompletableFuture<OrderResult> result : results) {
+            assertFalse(result.isDone(), "Repeticao deve esperar pelo original");
+        }
+        original.complete(approved("ORIGINAL").join());
+        executor.shutdown();
+        
+        // Assert
+        assertEquals(1, executions.get());
+        for (CompletableFuture<OrderResult> result : results) {
+            assertEquals("ORIGINAL", result.get(10, TimeUnit.SECONDS).getOrderId());
+        }
+        assertEquals(threads - 1, store.getInFlightJoinCount());
+        
+        System.out.println("✓ Idempotencia repeticoes concorrentes testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Idempotencia - Capacidade limitada com rotacao antecipada")
+    void testBoundedCapacity() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(0);
+        int capacity = 1_024;
+        IdempotencyStore store = new IdempotencyStore(WINDOW_MILLIS, capacity, clock::get);
+        
+        // Act - muito mais chaves do que a capacidade dentro da mesma janela
+        for (int i = 0; i < 100_000; i++) {
+            store.execute("chave-" + i, () -> approved("X"));
+        }
+        
+        // Assert - memoria limitada e as chaves mais recentes continuam valendo
+        assertTrue(store.size() <= 2 * capacity, "Guardadas: " + store.size());
+        assertTrue(store.getEarlyRotationCount() > 0);
+        long executions = store.getExecutionCount();
+        store.execute("chave-99999", () -> approved("Y"));
+        assertEquals(executions, store.getExecutionCount());
+        
+        System.out.println("✓ Idempotencia capacidade limitada testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Idempotencia - Dimensionado pela taxa, guarda a janela inteira")
+    void testSizedForRateKeepsFullWindow() {
+        // Arrange - 1000 pedidos/s em uma janela de 10 s
+        AtomicLong clock = new AtomicLong(0);
+        IdempotencyStore sized = IdempotencyStore.forRate(1_000, 10_000);
+        IdempotencyStore store = new IdempotencyStore(sized.getWindowMillis(), sized.getCapacity(), clock::get);
+        
+        // Act - 30 s na taxa dimensionada, uma chave por milissegundo
+        for (int i = 0; i < 30_000; i++) {
+            clock.set(i);
+            store.execute("chave-" + i, () -> approved("X"));
+        }
+        long executions = store.getExecutionCount();
+        store.execute("chave-20001", () -> approved("Y"));
+        
+        // Assert - nenhuma rotacao antecipada e a chave de quase 10 s atras ainda vale
+        assertTrue(store.getCapacity() >= 10_000, "Capacidade: " + store.getCapacity());
+        assertEquals(0, store.getEarlyRotationCount());
+        assertEquals(executions, store.getExecutionCount());
+        assertThrows(IllegalArgumentException.class, () -> IdempotencyStore.forRate(0, 10_000));
+        assertThrows(IllegalArgumentException.class, () -> IdempotencyStore.forRate(50_000_000, 600_000));
+        
+        System.out.println("✓ Idempotencia dimensionada pela taxa testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Idempotencia - Tabelas alocadas apenas quando a faixa recebe chaves")
+    void testLazyStripeTables() {
+        // Arrange - alocadas de uma vez, 64 tabelas completas passariam de 5 GB
+        List<IdempotencyStore> stores = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            stores.add(new IdempotencyStore());
+        }
+        List<EcommerceFacade> facades = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            facades.add(new EcommerceFacade());
+        }
+        
+        // Act
+        stores.get(0).execute("pedido-unico", () -> approved("ORD-1"));
+        
+        // Assert
+        assertEquals(1, stores.get(0).size());
+        assertEquals(0, stores.get(1).size());
+        assertEquals(0, facades.get(0).getIdempotencyStore().size());
+        
+        System.out.println("✓ Idempotencia alocacao sob demanda testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Idempotencia - Facade nao cobra de novo um pedido repetido")
+    void testFacadeChargesOnce() {
+        // Arrange
+        AtomicInteger payments = new AtomicInteger();
+        PaymentService payment = new PaymentService() {
+            @Override
+            public String processPayment(BigDecimal amount, String cardNumber) {
+                payments.incrementAndGet();
+                return super.processPayment(amount, cardNumber);
+            }
+        };
+        EcommerceFacade facade = new EcommerceFacade(new InventoryService(), payment, new DeliveryService());
+        OrderRequest order = new OrderRequest("PROD124", 1, new BigDecimal("150.00"), "1234567890123456",
+                                              "123", "12/25", "Rua das Flores, 123", "01000-000");
+        
+        // Act - o cliente repete enquanto o original ainda esta no pagamento
+        CompletableFuture<OrderResult> first = facade.processOrderAsync(order, "cliente-42");
+        CompletableFuture<OrderResult> retry = facade.processOrderAsync(order, "cliente-42");
+        OrderResult later = facade.processOrderAsync(order, "cliente-42").join();
+        
+        // Assert
+        assertTrue(first.join().isSuccess());
+        assertEquals(first.join().getOrderId(), retry.join().getOrderId());
+        assertEquals(first.join().getTransactionId(), later.getTransactionId());
+        assertEquals(1, payments.get());
+        
+        // Sem chave, cada chamada e um pedido novo
+        facade.processOrderAsync(order, null).join();
+        assertEquals(2, payments.get());
+        
+        System.out.println("✓ Idempotencia no Facade testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Idempotencia - Falha antes do pagamento nao fica registrada no Facade")
+    void testFacadeRetriesFailureBeforePayment() {
+        // Arrange - o cartao e recusado na primeira validacao; o pagamento e negado uma vez
+        AtomicInteger validations = new AtomicInteger();
+        AtomicInteger payments = new AtomicInteger();
+        PaymentService payment = new PaymentService() {
+            @Override
+            public boolean validateCard(String cardNumber, String cvv, String expiryDate) {
+                return validations.incrementAndGet() > 1 && super.validateCard(cardNumber, cvv, expiryDate);
+            }
+            
+            @Override
+            public String processPayment(BigDecimal amount, String cardNumber) {
+                return payments.incrementAndGet() == 1 ? null : super.processPayment(amount, cardNumber);
+            }
+        };
+        EcommerceFacade facade = new EcommerceFacade(new InventoryService(), payment, new DeliveryService());
+        OrderRequest order = new OrderRequest("PROD124", 1, new BigDecimal("150.00"), "1234567890123456",
+                                              "123", "12/25", "Rua das Flores, 123", "01000-000");
+        
+        // Act
+        OrderResult invalidCard = facade.processOrderAsync(order, "cliente-7").join();
+        OrderResult declined = facade.processOrderAsync(order, "cliente-7").join();
+        OrderResult repeated = facade.processOrderAsync(order, "cliente-7").join();
+        
+        // Assert - a recusa do cartao e repetida; a do pagamento fica registrada
+        assertEquals("Dados do cartao invalidos", invalidCard.getMessage());
+        assertEquals("Pagamento rejeitado", declined.getMessage());
+        assertSame(declined, repeated);
+        assertEquals(2, validations.get());
+        assertEquals(1, payments.get());
+        
+        System.out.println("✓ Idempotencia falha antes do pagamento testado com sucesso");
+    }
+}
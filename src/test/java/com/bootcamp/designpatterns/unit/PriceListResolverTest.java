@@ -0,0 +1,157 @@
+package com.bootcamp.designpatterns.unit;
+
+import com.bootcamp.designpatterns.model.Product;
+import com.bootcamp.designpatterns.pricelist.PriceListResolver;
+import com.bootcamp.designpatterns.pricelist.ResolvedPrice;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes das listas de precos por cliente e segmento
+ * 
+ * Verifica a ordem de resolucao (cliente, segmento, categoria, base),
+ * que uma alteracao em qualquer nivel invalida os precos em cache que
+ * passaram por aquela lista e que consultas nao criam listas.
+ */
+@Tag("unit")
+public class PriceListResolverTest {
+    
+    private static final BigDecimal BASE = new BigDecimal("100.00");
+    
+    @Test
+    @DisplayName("Listas de precos - Resolucao cliente, segmento, categoria e base")
+    void testResolutionOrder() {
+        // Arrange
+        PriceListResolver resolver = new PriceListResolver(100);
+        resolver.assignSegment("C1", "OURO");
+        resolver.setCategoryFactor("Eletronicos", new BigDecimal("0.95"));
+        
+        // Act & Assert
+        ResolvedPrice categoryPrice = resolver.resolve("C1", 1L, "Eletronicos", BASE);
+        assertEquals(new BigDecimal("95.00"), categoryPrice.getPrice());
+        assertEquals(ResolvedPrice.Source.CATEGORY, categoryPrice.getSource());
+        
+        resolver.setSegmentPrice("OURO", 1L, new BigDecimal("90"));
+        ResolvedPrice segmentPrice = resolver.resolve("C1", 1L, "Eletronicos", BASE);
+        assertEquals(new BigDecimal("90.00"), segmentPrice.getPrice());
+        assertEquals(ResolvedPrice.Source.SEGMENT, segmentPrice.getSource());
+        assertEquals("OURO", segmentPrice.getSegment());
+        
+        resolver.setCustomerPrice("C1", 1L, new BigDecimal("85.5"));
+        ResolvedPrice customerPrice = resolver.resolve("C1", 1L, "Eletronicos", BASE);
+        assertEquals(new BigDecimal("85.50"), customerPrice.getPrice());
+        assertEquals(ResolvedPrice.Source.CUSTOMER, customerPrice.getSource());
+        
+        ResolvedPrice basePrice = resolver.resolve("C2", 1L, "Livros", BASE);
+        assertEquals(BASE, basePrice.getPrice());
+        assertEquals(ResolvedPrice.Source.BASE, basePrice.getSource());
+        
+        ResolvedPrice anonymousPrice = resolver.resolve(null, 1L, "Eletronicos", BASE);
+        assertEquals(new BigDecimal("95.00"), anonymousPrice.getPrice());
+        assertNull(anonymousPrice.getCustomerId());
+    }
+    
+    @Test
+    @DisplayName("Listas de precos - Acerto de cache retorna a mesma resolucao")
+    void testCacheHit() {
+        // Arrange
+        PriceListResolver resolver = new PriceListResolver(100);
+        Product product = new Product("Notebook", "Notebook 16GB", BASE, 10, "Eletronicos");
+        product.setId(7L);
+        resolver.setCustomerPrice("C1", 7L, new BigDecimal("80.00"));
+        
+        // Act
+        ResolvedPrice first = resolver.resolve("C1", product);
+        ResolvedPrice second = resolver.resolve("C1", product);
+        
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, resolver.getHitCount());
+        assertEquals(1, resolver.getMissCount());
+    }
+    
+    @Test
+    @DisplayName("Listas de precos - Alteracao de um nivel invalida apenas quem depende dele")
+    void testPreciseInvalidation() {
+        // Arrange
+        PriceListResolver resolver = new PriceListResolver(100);
+        resolver.assignSegment("C1", "OURO");
+        resolver.assignSegment("C2", "PRATA");
+        resolver.setSegmentPrice("OURO", 1L, new BigDecimal("90.00"));
+        resolver.setSegmentPrice("PRATA", 1L, new BigDecimal("95.00"));
+        
+        ResolvedPrice gold = resolver.resolve("C1", 1L, null, BASE);
+        ResolvedPrice silver = resolver.resolve("C2", 1L, null, BASE);
+        
+        // Act
+        resolver.setSegmentPrice("OURO", 1L, new BigDecimal("88.00"));
+        
+        // Assert
+        assertEquals(new BigDecimal("88.00"), resolver.resolve("C1", 1L, null, BASE).getPrice());
+        assertSame(silver, resolver.resolve("C2", 1L, null, BASE), "Segmento PRATA nao mudou");
+        assertEquals(1, resolver.getStaleHitCount());
+        
+        // Troca de segmento invalida o cliente
+        resolver.assignSegment("C1", "PRATA");
+        assertEquals(new BigDecimal("95.00"), resolver.resolve("C1", 1L, null, BASE).getPrice());
+        
+        // Remocao do preco do segmento volta ao preco base
+        resolver.setSegmentPrice("PRATA", 1L, null);
+        assertEquals(BASE, resolver.resolve("C2", 1L, null, BASE).getPrice());
+        
+        // Mudanca do preco base tambem invalida
+        assertEquals(new BigDecimal("120.00"), resolver.resolve("C2", 1L, null, new BigDecimal("120.00")).getPrice());
+        assertNotSame(gold, resolver.resolve("C1", 1L, null, BASE));
+    }
+    
+    @Test
+    @DisplayName("Listas de precos - Consultas com ids arbitrarios nao criam listas")
+    void testReadsDoNotCreateLists() {
+        // Arrange
+        PriceListResolver resolver = new PriceListResolver(100);
+        
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            resolver.resolve("visitante-" + i, 1L, "categoria-" + i, BASE);
+        }
+        ResolvedPrice unknown = resolver.resolve("C9", 1L, "Livros", BASE);
+        
+        // Assert
+        assertEquals(0, resolver.getCustomerCount());
+        assertEquals(0, resolver.getSegmentCount());
+        assertEquals("C9", unknown.getCustomerId());
+        assertEquals(BASE, unknown.getPrice());
+        
+        // Listas criadas depois invalidam o que foi resolvido sem elas
+        resolver.setCustomerPrice("C9", 1L, new BigDecimal("70.00"));
+        assertEquals(new BigDecimal("70.00"), resolver.resolve("C9", 1L, "Livros", BASE).getPrice());
+        resolver.setCategoryFactor("Livros", new BigDecimal("0.50"));
+        assertEquals(new BigDecimal("50.00"), resolver.resolve("C8", 1L, "Livros", BASE).getPrice());
+        
+        // Segmento atribuido antes de ter precos passa a valer quando recebe um
+        resolver.assignSegment("C8", "BRONZE");
+        assertEquals(new BigDecimal("50.00"), resolver.resolve("C8", 1L, "Livros", BASE).getPrice());
+        resolver.setSegmentPrice("BRONZE", 1L, new BigDecimal("60.00"));
+        assertEquals(new BigDecimal("60.00"), resolver.resolve("C8", 1L, "Livros", BASE).getPrice());
+    }
+    
+    @Test
+    @DisplayName("Listas de precos - Valores invalidos sao recusados")
+    void testInvalidValues() {
+        // Arrange
+        PriceListResolver resolver = new PriceListResolver(10);
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> resolver.setCustomerPrice(" ", 1L, BASE));
+        assertThrows(IllegalArgumentException.class, () -> resolver.setSegmentPrice("OURO", 1L, new BigDecimal("-1")));
+        assertThrows(IllegalArgumentException.class, () -> resolver.setCategoryFactor("Livros", BigDecimal.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve("C1", null, null, BASE));
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve("C1", 1L, null, null));
+    }
+}
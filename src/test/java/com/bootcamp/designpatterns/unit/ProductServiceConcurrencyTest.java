@@ -0,0 +1,84 @@
+package com.bootcamp.designpatterns.unit;
+
+import com.bootcamp.designpatterns.service.ProductService;
+import com.bootcamp.designpatterns.strategy.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de estresse do ProductService sob concorrencia
+ * 
+ * O ProductService e um singleton do Spring compartilhado por todas as
+ * threads do Tomcat. Cada thread usa uma estrategia diferente e verifica
+ * que nenhum resultado foi calculado com a estrategia de outra thread.
+ */
+@Tag("unit")
+public class ProductServiceConcurrencyTest {
+    
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 2_000;
+    
+    @Test
+    @DisplayName("Concorrencia - Estrategias de threads diferentes nao devem se misturar")
+    void testNoCrossTalkBetweenThreads() throws Exception {
+        // Arrange
+        ProductService productService = new ProductService();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        
+        for (int t = 0; t < THREADS; t++) {
+            // Thread t aplica (t + 1) * 5% de desconto: 5%, 10%, ..., 40%
+            BigDecimal percentage = new BigDecimal(t + 1).multiply(new BigDecimal("0.05"));
+            DiscountStrategy strategy = t % 2 == 0
+                    ? new PercentageDiscountStrategy(percentage)
+                    : new FixedDiscountStrategy(new BigDecimal(t * 10));
+            
+            results.add(executor.submit(() -> {
+                start.await();
+                int mismatches = 0;
+                for (int i = 0; i < ITERATIONS; i++) {
+                    BigDecimal price = BigDecimal.valueOf(10_000 + i, 2);
+                    BigDecimal expected = price.subtract(strategy.calculateDiscount(price));
+                    
+                    BigDecimal finalPrice = productService.calculateDiscountedPrice(price, strategy);
+                    PriceBreakdown breakdown = productService.quotePrice(price, strategy);
+                    String details = productService.getPriceCalculationDetails(price, strategy);
+                    
+                    if (expected.compareTo(finalPrice) != 0
+                            || expected.compareTo(breakdown.getFinalPrice()) != 0
+                            || !details.contains(strategy.getDiscountInfo())) {
+                        mismatches++;
+                    }
+                }
+                return mismatches;
+            }));
+        }
+        
+        // Act
+        start.countDown();
+        int totalMismatches = 0;
+        for (Future<Integer> result : results) {
+            totalMismatches += result.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        
+        // Assert
+        assertEquals(0, totalMismatches, "Nenhuma thread deve observar a estrategia de outra");
+        
+        System.out.println("✓ Concorrencia do ProductService testada com sucesso");
+    }
+}
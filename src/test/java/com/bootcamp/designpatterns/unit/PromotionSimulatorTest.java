@@ -0,0 +1,160 @@
+package com.bootcamp.designpatterns.unit;
+
+import com.bootcamp.designpatterns.simulation.OrderHistoryFile;
+import com.bootcamp.designpatterns.simulation.PromotionSimulator;
+import com.bootcamp.designpatterns.simulation.SimulationReport;
+import com.bootcamp.designpatterns.strategy.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do simulador de promocoes sobre historico mapeado em memoria
+ * 
+ * Verifica que a soma por segmentos coincide com o calculo pedido a
+ * pedido, a distribuicao por faixas, a conversao de CSV e a rejeicao de
+ * arquivos invalidos.
+ */
+@Tag("unit")
+public class PromotionSimulatorTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    @DisplayName("Simulador - Totais por segmentos coincidem com o calculo pedido a pedido")
+    void testSimulationMatchesSequentialCalculation() throws IOException {
+        // Arrange - 300 mil pedidos, suficiente para 4 segmentos
+        Random random = new Random(7);
+        long[] amounts = new long[300_000];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = 1 + random.nextInt(120_000);
+        }
+        amounts[10] = 0;
+        Path file = tempDir.resolve("pedidos.bin");
+        OrderHistoryFile.write(file, amounts);
+        
+        List<DiscountStrategy> strategies = List.of(
+                new PercentageDiscountStrategy(new BigDecimal("0.10")),
+                new FixedDiscountStrategy(new BigDecimal("15.00")),
+                new ProgressiveDiscountStrategy(DiscountTierTable.DEFAULT));
+        
+        long[] expectedDiscount = new long[strategies.size()];
+        long expectedGross = 0;
+        long[] expectedTierOrders = new long[DiscountTierTable.DEFAULT.tierCount()];
+        for (long amount : amounts) {
+            if (amount <= 0) {
+                continue;
+            }
+            expectedGross += amount;
+            expectedTierOrders[DiscountTierTable.DEFAULT.tierIndex(amount)]++;
+            for (int s = 0; s < strategies.size(); s++) {
+                expectedDiscount[s] += amount - new PriceCalculator(strategies.get(s)).calculateFinalPriceCents(amount);
+            }
+        }
+        
+        // Act
+        SimulationReport report = new PromotionSimulator(4, DiscountTierTable.DEFAULT).simulate(file, strategies);
+        
+        // Assert
+        assertEquals(300_000, report.getRecords());
+        assertEquals(299_999, report.getOrders());
+        assertEquals(1, report.getInvalidOrders());
+        assertEquals(4, report.getSegments());
+        assertEquals(FixedPointMath.fromCents(expectedGross), report.getGrossRevenue());
+        for (int t = 0; t < expectedTierOrders.length; t++) {
+            assertEquals(expectedTierOrders[t], report.getTiers().get(t).orders());
+        }
+        for (int s = 0; s < strategies.size(); s++) {
+            SimulationReport.StrategyResult result = report.getStrategies().get(s);
+            assertEquals(expectedDiscount[s], result.discountCents());
+            assertEquals(FixedPointMath.fromCents(expectedGross - expectedDiscount[s]), result.getRevenue());
+            
+            BigDecimal byTier = result.getDiscountByTier().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+            assertEquals(result.getTotalDiscount(), byTier);
+        }
+    }
+    
+    @Test
+    @DisplayName("Simulador - Historico em CSV e convertido e simulado")
+    void testCsvConversion() throws IOException {
+        // Arrange
+        Path csv = tempDir.resolve("pedidos.csv");
+        Files.writeString(csv, "orderId,amount\n# comentario\nORD1,50.00\nORD2,250.00\n\nORD3,1000.005\n");
+        Path file = tempDir.resolve("pedidos.bin");
+        
+        // Act
+        long converted = OrderHistoryFile.convertCsv(csv, file);
+        SimulationReport report = new PromotionSimulator(2, DiscountTierTable.DEFAULT)
+                .simulate(file, List.of(new ProgressiveDiscountStrategy(DiscountTierTable.DEFAULT)));
+        
+        // Assert - 5% de 50, 10% de 250, 15% de 1000.01
+        assertEquals(3, converted);
+        assertEquals(1, report.getSegments());
+        assertEquals(new BigDecimal("1300.01"), report.getGrossRevenue());
+        assertEquals(new BigDecimal("177.50"), report.getStrategies().get(0).getTotalDiscount());
+        assertEquals(1, report.getTiers().get(0).orders());
+        assertEquals(1, report.getTiers().get(1).orders());
+        assertEquals(1, report.getTiers().get(2).orders());
+    }
+    
+    @Test
+    @DisplayName("Simulador - CSV com linha invalida nao substitui o historico anterior")
+    void testFailedCsvConversionKeepsTarget() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("pedidos.bin");
+        OrderHistoryFile.write(file, new long[] {100L, 200L});
+        byte[] before = Files.readAllBytes(file);
+        Path csv = tempDir.resolve("quebrado.csv");
+        Files.writeString(csv, "amount\n10.00\n20.00\nABC-1\n30.00\n");
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> OrderHistoryFile.convertCsv(csv, file));
+        assertArrayEquals(before, Files.readAllBytes(file));
+        assertThrows(IllegalArgumentException.class,
+                     () -> OrderHistoryFile.convertCsv(csv, tempDir.resolve("novo.bin")));
+        assertFalse(Files.exists(tempDir.resolve("novo.bin")));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.filter(path -> path.toString().endsWith(".tmp")).count(),
+                         "Arquivos temporarios devem ser removidos");
+        }
+    }
+    
+    @Test
+    @DisplayName("Simulador - Arquivos que nao sao historicos sao rejeitados")
+    void testInvalidFileIsRejected() throws IOException {
+        Path file = tempDir.resolve("invalido.bin");
+        Files.writeString(file, "nao e um historico de pedidos");
+        PromotionSimulator simulator = new PromotionSimulator(2, DiscountTierTable.DEFAULT);
+        List<DiscountStrategy> strategies = List.of(new ProgressiveDiscountStrategy(DiscountTierTable.DEFAULT));
+        
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(file, strategies));
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(file, List.of()));
+    }
+    
+    @Test
+    @DisplayName("Simulador - Cabecalho com contagem que estoura o tamanho e rejeitado")
+    void testOverflowingRecordCountIsRejected() throws IOException {
+        Path file = tempDir.resolve("estouro.bin");
+        ByteBuffer header = ByteBuffer.allocate(OrderHistoryFile.HEADER_BYTES);
+        header.putInt(OrderHistoryFile.MAGIC).putInt(OrderHistoryFile.VERSION).putLong(Long.MAX_VALUE / 4);
+        Files.write(file, header.array());
+        PromotionSimulator simulator = new PromotionSimulator(2, DiscountTierTable.DEFAULT);
+        List<DiscountStrategy> strategies = List.of(new ProgressiveDiscountStrategy(DiscountTierTable.DEFAULT));
+        
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(file, strategies));
+    }
+}
@@ -0,0 +1,176 @@
+package com.bootcamp.designpatterns.unit;
+
+import com.bootcamp.designpatterns.strategy.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da tabela de promocoes copy-on-write
+ * 
+ * Verifica ativacao e expiracao nos instantes exatos, precedencia entre
+ * promocoes sobrepostas, cancelamento e a visibilidade das trocas para
+ * leitores concorrentes.
+ */
+@Tag("unit")
+public class PromotionTableTest {
+    
+    private static final Instant START = Instant.parse("2024-11-29T03:00:00Z");
+    
+    @Test
+    @DisplayName("Promocoes - Ativacao e expiracao nos instantes agendados")
+    void testActivationAndExpiry() {
+        // Arrange
+        MutableClock clock = new MutableClock(START.minusSeconds(1));
+        PromotionTable table = new PromotionTable(clock);
+        DiscountStrategy flashSale = new PercentageDiscountStrategy(new BigDecimal("0.30"));
+        table.schedule(new Promotion("Eletronicos", flashSale, START, START.plusSeconds(3600)));
+        
+        // Act & Assert
+        assertNull(table.strategyFor("eletronicos"), "Antes do inicio nao ha promocao");
+        
+        clock.set(START);
+        assertSame(flashSale, table.strategyFor("ELETRONICOS"), "Inicio e inclusivo");
+        assertNull(table.strategyFor("Livros"));
+        
+        clock.set(START.plusSeconds(3600));
+        assertNull(table.strategyFor("Eletronicos"), "Fim e exclusivo");
+    }
+    
+    @Test
+    @DisplayName("Promocoes - Promocao mais recente prevalece e cancelamento restaura a anterior")
+    void testOverlapAndCancel() {
+        // Arrange
+        MutableClock clock = new MutableClock(START);
+        PromotionTable table = new PromotionTable(clock);
+        DiscountStrategy base = new PercentageDiscountStrategy(new BigDecimal("0.10"));
+        DiscountStrategy flash = new FixedDiscountStrategy(new BigDecimal("50"));
+        table.schedule(new Promotion("Eletronicos", base, START, null));
+        Promotion flashPromotion = new Promotion("Eletronicos", flash, START.plusSeconds(60), START.plusSeconds(120));
+        long version = table.schedule(flashPromotion);
+        
+        // Act & Assert
+        assertEquals(2, version);
+        assertSame(base, table.strategyFor("Eletronicos"));
+        
+        clock.set(START.plusSeconds(90));
+        assertSame(flash, table.strategyFor("Eletronicos"));
+        
+        assertEquals(3, table.cancel(flashPromotion.getId()));
+        assertSame(base, table.strategyFor("Eletronicos"));
+        assertEquals(1, table.snapshot().getPromotions().size());
+        assertEquals(3, table.getSwapCount());
+        
+        // Id desconhecido nao publica nova versao
+        assertEquals(-1, table.cancel(flashPromotion.getId()));
+        assertEquals(3, table.getVersion());
+    }
+    
+    @Test
+    @DisplayName("Promocoes - Promocoes expiradas sao removidas na proxima publicacao")
+    void testExpiredPromotionsArePruned() {
+        // Arrange
+        MutableClock clock = new MutableClock(START);
+        PromotionTable table = new PromotionTable(clock);
+        table.schedule(new Promotion("Livros", new FixedDiscountStrategy(new BigDecimal("5")), START, START.plusSeconds(10)));
+        
+        // Act
+        clock.set(START.plusSeconds(20));
+        table.replaceAll(List.of(new Promotion("Moda", new FixedDiscountStrategy(new BigDecimal("5")), null, null)));
+        table.schedule(new Promotion("Casa", new FixedDiscountStrategy(new BigDecimal("5")), null, null));
+        
+        // Assert
+        assertEquals(2, table.snapshot().getPromotions().size());
+        assertNull(table.strategyFor("Livros"));
+    }
+    
+    @Test
+    @DisplayName("Promocoes - Periodo invalido e rejeitado")
+    void testInvalidPromotion() {
+        DiscountStrategy strategy = new FixedDiscountStrategy(new BigDecimal("5"));
+        
+        assertThrows(IllegalArgumentException.class, () -> new Promotion(" ", strategy, null, null));
+        assertThrows(IllegalArgumentException.class, () -> new Promotion("Moda", null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> new Promotion("Moda", strategy, START, START));
+    }
+    
+    @Test
+    @DisplayName("Promocoes - Leitores concorrentes sempre veem versoes crescentes e consistentes")
+    void testConcurrentReadersSeeMonotonicVersions() throws InterruptedException {
+        // Arrange
+        PromotionTable table = new PromotionTable();
+        int readers = 4;
+        int swaps = 2_000;
+        AtomicBoolean done = new AtomicBoolean(false);
+        AtomicInteger violations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(readers);
+        Thread[] threads = new Thread[readers];
+        
+        for (int r = 0; r < readers; r++) {
+            threads[r] = new Thread(() -> {
+                long lastVersion = -1;
+                started.countDown();
+                while (!done.get()) {
+                    PromotionTable.Snapshot snapshot = table.snapshot();
+                    // Cada versao publica exatamente "versao" promocoes na categoria
+                    if (snapshot.getVersion() < lastVersion
+                            || snapshot.getPromotions().size() != Math.min(snapshot.getVersion(), 1)) {
+                        violations.incrementAndGet();
+                    }
+                    lastVersion = snapshot.getVersion();
+                }
+            });
+            threads[r].start();
+        }
+        
+        // Act
+        started.await();
+        for (int i = 1; i <= swaps; i++) {
+            BigDecimal amount = BigDecimal.valueOf(i);
+            table.replaceAll(List.of(new Promotion("Eletronicos", new FixedDiscountStrategy(amount), null, null)));
+        }
+        done.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        // Assert
+        assertEquals(0, violations.get());
+        assertEquals(swaps, table.getVersion());
+        assertEquals(swaps, table.getSwapCount());
+        assertTrue(table.getObservedSwapCount() > 0, "Trocas devem ter sido observadas pelos leitores");
+        assertTrue(table.getMaxVisibilityNanos() >= table.getLastVisibilityNanos());
+        
+        DiscountStrategy latest = table.strategyFor("Eletronicos");
+        assertEquals(0, new BigDecimal(swaps).compareTo(latest.calculateDiscount(new BigDecimal("100000"))));
+    }
+    
+    /**
+     * Relogio ajustavel para testar ativacao e expiracao sem esperar
+     */
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+        
+        MutableClock(Instant now) { this.now = now; }
+        
+        void set(Instant now) { this.now = now; }
+        
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+        @Override public long millis() { return now.toEpochMilli(); }
+    }
+}
@@ -0,0 +1,142 @@
+package com.bootcamp.designpatterns.unit;
+
+import com.bootcamp.designpatterns.cache.TinyLfuCache;
+import com.bootcamp.designpatterns.strategy.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do cache de calculos de preco (W-TinyLFU)
+ * 
+ * Verifica o limite de memoria, a resistencia a varreduras, a troca de
+ * definicao das estrategias e a equivalencia com o calculo sem cache.
+ */
+@Tag("unit")
+public class QuoteCacheTest {
+    
+    @Test
+    @DisplayName("TinyLFU - Cache nunca excede a capacidade")
+    void testCacheRespectsMaximumSize() {
+        // Arrange
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(100);
+        
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            cache.get(i, String::valueOf);
+        }
+        
+        // Assert
+        assertTrue(cache.size() <= 100, "Tamanho deve respeitar o limite: " + cache.size());
+        assertEquals(10_000 - cache.size(), cache.getEvictionCount());
+        assertEquals(10_000, cache.getMissCount());
+    }
+    
+    @Test
+    @DisplayName("TinyLFU - Chaves populares sobrevivem a uma varredura")
+    void testFrequentKeysSurviveScan() {
+        // Arrange - 50 chaves populares acessadas varias vezes
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(100);
+        for (int round = 0; round < 20; round++) {
+            for (int key = 0; key < 50; key++) {
+                cache.get(key, String::valueOf);
+            }
+        }
+        
+        // Act - varredura de chaves vistas uma unica vez
+        for (int key = 1_000; key < 20_000; key++) {
+            cache.get(key, String::valueOf);
+        }
+        
+        // Assert
+        int survivors = 0;
+        for (int key = 0; key < 50; key++) {
+            if (cache.getIfPresent(key) != null) {
+                survivors++;
+            }
+        }
+        assertTrue(survivors >= 45, "Chaves populares devem permanecer: " + survivors);
+    }
+    
+    @Test
+    @DisplayName("QuoteCache - Resultados iguais ao calculo sem cache com alta taxa de acertos")
+    void testQuoteCacheMatchesUncachedPricing() {
+        // Arrange - poucas centenas de pontos de preco dominam o trafego
+        QuoteCache quoteCache = new QuoteCache(1_000);
+        DiscountStrategy strategy = new PercentageDiscountStrategy(new BigDecimal("0.15"));
+        Random random = new Random(7);
+        
+        // Act & Assert
+        for (int i = 0; i < 20_000; i++) {
+            BigDecimal price = BigDecimal.valueOf(1_000 + random.nextInt(300) * 100L, 2);
+            PriceBreakdown cached = quoteCache.quote(strategy, price);
+            PriceBreakdown direct = PriceCalculator.quote(strategy, price);
+            assertEquals(direct.getFinalPrice(), cached.getFinalPrice());
+            assertEquals(direct.getDetails(), cached.getDetails());
+        }
+        assertTrue(quoteCache.getHitRatio() > 0.95, "Taxa de acertos: " + quoteCache.getHitRatio());
+    }
+    
+    @Test
+    @DisplayName("QuoteCache - Mudanca de definicao nao reaproveita resultados antigos")
+    void testStrategyDefinitionChangeInvalidates() {
+        // Arrange
+        QuoteCache quoteCache = new QuoteCache();
+        CachingPriceCalculator calculator = new CachingPriceCalculator(
+                new ProgressiveDiscountStrategy(), quoteCache);
+        BigDecimal price = new BigDecimal("200.00");
+        
+        // Act
+        BigDecimal before = calculator.calculateFinalPrice(price);
+        calculator.setDiscountStrategy(new ProgressiveDiscountStrategy(
+                DiscountTierTable.parse("100 ; 0.05\n500 ; 0.20\n* ; 0.30")));
+        BigDecimal after = calculator.calculateFinalPrice(price);
+        
+        // Assert
+        assertEquals(new BigDecimal("180.00"), before);
+        assertEquals(new BigDecimal("160.00"), after);
+        
+        // Estrategias equivalentes compartilham a mesma entrada
+        calculator.setDiscountStrategy(new ProgressiveDiscountStrategy(DiscountTierTable.DEFAULT));
+        long hitsBefore = quoteCache.getHitCount();
+        assertEquals(before, calculator.calculateFinalPrice(price));
+        assertEquals(hitsBefore + 1, quoteCache.getHitCount());
+    }
+    
+    @Test
+    @DisplayName("QuoteCache - Estrategias customizadas nao sao memorizadas")
+    void testCustomStrategyBypassesCache() {
+        // Arrange
+        QuoteCache quoteCache = new QuoteCache();
+        DiscountStrategy custom = new DiscountStrategy() {
+            @Override
+            public BigDecimal calculateDiscount(BigDecimal originalValue) {
+                return new BigDecimal("1.00");
+            }
+            
+            @Override
+            public String getDescription() {
+                return "Customizado";
+            }
+            
+            @Override
+            public String getDiscountInfo() {
+                return "R$ 1.00";
+            }
+        };
+        
+        // Act
+        quoteCache.quote(custom, new BigDecimal("10.00"));
+        quoteCache.quote(custom, new BigDecimal("10.00"));
+        
+        // Assert
+        assertEquals(0, quoteCache.size());
+        assertEquals(2, quoteCache.getBypassCount());
+    }
+}
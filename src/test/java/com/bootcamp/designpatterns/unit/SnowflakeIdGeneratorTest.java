@@ -0,0 +1,149 @@
+package com.bootcamp.designpatterns.unit;
+
+import com.bootcamp.designpatterns.facade.SnowflakeIdGenerator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do gerador de IDs no formato Snowflake
+ * 
+ * Verifica a composicao do ID, a codificacao em base 36, a ordem crescente
+ * mesmo com o relogio parado ou voltando, e a unicidade com varias threads
+ * gerando milhoes de IDs ao mesmo tempo.
+ */
+@Tag("unit")
+public class SnowflakeIdGeneratorTest {
+    
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 500_000;
+    
+    @Test
+    @DisplayName("IDs - Composicao do ID e codificacao em base 36")
+    void testLayoutAndEncoding() {
+        // Arrange
+        long now = SnowflakeIdGenerator.EPOCH_MILLIS + 123_456_789L;
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(513, () -> now);
+        
+        // Act
+        long first = generator.nextId();
+        long second = generator.nextId();
+        String code = generator.nextCode("ORD");
+        
+        // Assert
+        assertEquals(now, SnowflakeIdGenerator.timestampMillisOf(first));
+        assertEquals(513, SnowflakeIdGenerator.nodeIdOf(first));
+        assertEquals(0, SnowflakeIdGenerator.sequenceOf(first));
+        assertEquals(1, SnowflakeIdGenerator.sequenceOf(second));
+        
+        assertTrue(code.matches("ORD[0-9A-Z]{13}"), code);
+        long third = SnowflakeIdGenerator.decode(code.substring(3));
+        assertEquals(2, SnowflakeIdGenerator.sequenceOf(third));
+        assertEquals(first, SnowflakeIdGenerator.decode(SnowflakeIdGenerator.encode(first)));
+        assertEquals(Long.MAX_VALUE, SnowflakeIdGenerator.decode(SnowflakeIdGenerator.encode(Long.MAX_VALUE)));
+        
+        // Ordem alfabetica dos codigos igual a ordem dos IDs
+        assertTrue(SnowflakeIdGenerator.encode(first).compareTo(SnowflakeIdGenerator.encode(second)) < 0);
+        assertTrue(SnowflakeIdGenerator.encode(35).compareTo(SnowflakeIdGenerator.encode(36)) < 0);
+        
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeIdGenerator.decode("ORD"));
+        
+        System.out.println("✓ IDs composicao e codificacao testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("IDs - Crescentes com sequencia esgotada e relogio voltando")
+    void testMonotonicWithClockAnomalies() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(SnowflakeIdGenerator.EPOCH_MILLIS + 1_000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get);
+        
+        // Act - mais de 4096 IDs no mesmo milissegundo
+        long previous = -1;
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        
+        // Assert - a sequencia transbordou para os milissegundos seguintes
+        assertEquals(SnowflakeIdGenerator.EPOCH_MILLIS + 1_002, SnowflakeIdGenerator.timestampMillisOf(previous));
+        
+        // Relogio voltando: continua crescente
+        clock.addAndGet(-5_000);
+        long afterRollback = generator.nextId();
+        assertTrue(afterRollback > previous);
+        
+        // Relogio alcancando de novo: volta a usar o tempo real
+        clock.addAndGet(10_000);
+        long caughtUp = generator.nextId();
+        assertEquals(clock.get(), SnowflakeIdGenerator.timestampMillisOf(caughtUp));
+        assertEquals(0, SnowflakeIdGenerator.sequenceOf(caughtUp));
+        
+        System.out.println("✓ IDs crescentes com anomalias de relogio testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("IDs - Unicidade com varias threads")
+    void testUniqueAcrossThreads() throws Exception {
+        // Arrange
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+        
+        for (int t = 0; t < THREADS; t++) {
+            results.add(executor.submit(() -> {
+                long[] ids = new long[IDS_PER_THREAD];
+                start.await();
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = generator.nextId();
+                }
+                return ids;
+            }));
+        }
+        
+        // Act
+        long begin = System.nanoTime();
+        start.countDown();
+        long[] all = new long[THREADS * IDS_PER_THREAD];
+        int position = 0;
+        for (Future<long[]> result : results) {
+            long[] ids = result.get(60, TimeUnit.SECONDS);
+            for (int i = 1; i < ids.length; i++) {
+                assertTrue(ids[i] > ids[i - 1], "IDs de uma thread devem ser crescentes");
+            }
+            System.arraycopy(ids, 0, all, position, ids.length);
+            position += ids.length;
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        
+        // Assert - nenhum ID repetido
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assertNotEquals(all[i - 1], all[i], "ID repetido");
+        }
+        for (long id : new long[] {all[0], all[all.length - 1]}) {
+            assertEquals(7, SnowflakeIdGenerator.nodeIdOf(id));
+        }
+        
+        System.out.printf("%d IDs unicos em %.0f ms (%.1f milhoes/s)%n",
+                          all.length, elapsed / 1e6, all.length * 1e3 / elapsed);
+        System.out.println("✓ IDs unicidade com varias threads testado com sucesso");
+    }
+}
@@ -0,0 +1,146 @@
+package com.bootcamp.designpatterns.unit;
+
+import com.bootcamp.designpatterns.facade.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes das reservas de estoque com prazo
+ * 
+ * Usa um relogio manual para avancar o tempo sem esperar: reservas vencidas
+ * voltam ao estoque, reservas confirmadas nao voltam, e o Facade libera a
+ * reserva dos pedidos recusados.
+ */
+@Tag("unit")
+public class StockHoldManagerTest {
+    
+    private static final long TTL_MILLIS = 60_000;
+    private static final long TICK_MILLIS = 1_000;
+    
+    private static OrderRequest order(String productId, int quantity, String amount, String cardNumber) {
+        return new OrderRequest(productId, quantity, new BigDecimal(amount), cardNumber,
+                                "123", "12/25", "Rua das Flores, 123", "01000-000");
+    }
+    
+    @Test
+    @DisplayName("Reservas com prazo - Reserva vencida volta ao estoque em lote")
+    void testExpiredHoldsReturnToStock() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(1_000_000);
+        StockLedger ledger = new StockLedger(productId -> 10);
+        StockHoldManager holds = new StockHoldManager(ledger, TTL_MILLIS, TICK_MILLIS, clock::get);
+        
+        // Act
+        StockHoldManager.Hold first = holds.hold("P1", 4);
+        StockHoldManager.Hold[] batch = holds.holdAll("P1", new int[] {3, 5, 2});
+        
+        // Assert - linha que nao cabe fica sem reserva
+        assertNotNull(first);
+        assertNotNull(batch[0]);
+        assertNull(batch[1]);
+        assertNotNull(batch[2]);
+        assertNull(holds.hold("P1", 2), "Resta apenas 1 unidade");
+        assertEquals(1, holds.getAvailable("P1"));
+        assertEquals(3, holds.getOutstandingCount());
+        
+        // Antes do prazo nada vence
+        clock.addAndGet(TTL_MILLIS - TICK_MILLIS);
+        assertEquals(0, holds.releaseExpired());
+        assertEquals(1, holds.getAvailable("P1"));
+        
+        // Depois do prazo (mais um tick) tudo volta de uma vez
+        clock.addAndGet(2 * TICK_MILLIS);
+        assertEquals(10, holds.getAvailable("P1"), "Consulta avanca a roda e devolve as reservas vencidas");
+        assertEquals(0, ledger.getReserved("P1"));
+        assertEquals(3, holds.getExpiredCount());
+        assertEquals(1, holds.getExpiryBatchCount());
+        assertEquals(0, holds.getOutstandingCount());
+        
+        // Reserva vencida nao pode mais ser liberada
+        assertFalse(holds.release(first));
+        
+        System.out.println("✓ Reservas com prazo expiracao testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Reservas com prazo - Confirmar cancela o prazo; confirmar atrasado reserva de novo")
+    void testConfirmCancelsExpiry() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(0);
+        StockLedger ledger = new StockLedger(productId -> 10);
+        StockHoldManager holds = new StockHoldManager(ledger, TTL_MILLIS, TICK_MILLIS, clock::get);
+        StockHoldManager.Hold sold = holds.hold("P1", 3);
+        StockHoldManager.Hold released = holds.hold("P1", 2);
+        StockHoldManager.Hold late = holds.hold("P1", 4);
+        
+        // Act
+        assertTrue(holds.confirm(sold));
+        assertTrue(holds.release(released));
+        assertFalse(holds.confirm(released), "Reserva liberada nao pode ser vendida");
+        assertFalse(holds.release(sold), "Reserva vendida nao volta ao estoque");
+        clock.addAndGet(TTL_MILLIS + 2 * TICK_MILLIS);
+        
+        // Assert - so a reserva esquecida venceu; a venda nao foi desfeita
+        assertEquals(7, holds.getAvailable("P1"));
+        assertEquals(1, holds.getExpiredCount());
+        
+        // Confirmacao depois do prazo reserva de novo se ainda houver estoque
+        assertTrue(holds.confirm(late));
+        assertEquals(3, holds.getAvailable("P1"));
+        assertEquals(0, ledger.getReserved("P1"));
+        assertEquals(1, holds.getConfirmedCount());
+        assertEquals(1, holds.getLateConfirmedCount());
+        assertEquals(1, holds.getReleasedCount());
+        
+        // Confirmacao em lote: uma operacao no livro para as reservas vivas
+        List<StockHoldManager.Hold> pair = List.of(holds.hold("P1", 1), holds.hold("P1", 2));
+        assertArrayEquals(new boolean[] {true, true}, holds.confirmAll("P1", pair));
+        assertEquals(0, holds.getAvailable("P1"));
+        assertEquals(0, ledger.getReserved("P1"));
+        assertThrows(IllegalArgumentException.class,
+                     () -> holds.confirmAll("P1", List.of(holds.hold("P2", 1))));
+        
+        System.out.println("✓ Reservas com prazo confirmacao testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Reservas com prazo - Facade libera a reserva de pedidos recusados")
+    void testFacadeReleasesRejectedOrders() {
+        // Arrange
+        InventoryService inventory = new InventoryService();
+        EcommerceFacade facade = new EcommerceFacade(inventory, new PaymentService(), new DeliveryService());
+        int initial = StockLedger.DEMO_INITIAL_STOCK;
+        
+        // Act - cartao invalido e pagamento rejeitado, nos fluxos sequencial, assincrono e em lote
+        OrderResult invalidCard = facade.processOrder(order("PROD124", 4, "150.00", "123"));
+        OrderResult rejectedPayment = facade.processOrderAsync(order("PROD124", 4, "1500.00", "1234567890123456")).join();
+        List<OrderResult> batch = facade.processOrdersAsync(List.of(
+                order("PROD124", 4, "150.00", "123"),
+                order("PROD124", 4, "1500.00", "1234567890123456"))).join();
+        
+        // Assert - nenhuma unidade fica presa em reserva
+        assertEquals("Dados do cartao invalidos", invalidCard.getMessage());
+        assertEquals("Pagamento rejeitado", rejectedPayment.getMessage());
+        assertFalse(batch.get(0).isSuccess());
+        assertFalse(batch.get(1).isSuccess());
+        assertEquals(initial, inventory.getLedger().getAvailable("PROD124"));
+        assertEquals(0, inventory.getLedger().getReserved("PROD124"));
+        assertEquals(0, inventory.getHolds().getOutstandingCount());
+        
+        // Pedido aprovado confirma a reserva
+        assertTrue(facade.processOrder(order("PROD124", 4, "150.00", "1234567890123456")).isSuccess());
+        assertEquals(initial - 4, inventory.getLedger().getAvailable("PROD124"));
+        assertEquals(0, inventory.getLedger().getReserved("PROD124"));
+        assertEquals(1, inventory.getHolds().getConfirmedCount());
+        
+        System.out.println("✓ Reservas com prazo liberacao no Facade testado com sucesso");
+    }
+}
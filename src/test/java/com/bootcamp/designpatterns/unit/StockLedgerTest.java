@@ -0,0 +1,200 @@
+package com.bootcamp.designpatterns.unit;
+
+import com.bootcamp.designpatterns.facade.StockLedger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do livro de estoque em memoria
+ * 
+ * Verifica as transicoes entre disponivel e reservado e, sob concorrencia,
+ * que nenhuma unidade e criada ou perdida: para cada produto,
+ * estoque inicial + reposicoes = disponivel + reservado + vendido.
+ */
+@Tag("unit")
+public class StockLedgerTest {
+    
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 200_000;
+    private static final int PRODUCTS = 16;
+    private static final int INITIAL_STOCK = 1_000;
+    
+    @Test
+    @DisplayName("Estoque - Reservar, confirmar, liberar e repor")
+    void testTransitions() {
+        // Arrange
+        StockLedger ledger = new StockLedger(productId -> 10);
+        
+        // Act & Assert - reserva nao ultrapassa o disponivel
+        assertTrue(ledger.reserve("P1", 6));
+        assertFalse(ledger.reserve("P1", 5));
+        assertEquals(4, ledger.getAvailable("P1"));
+        assertEquals(6, ledger.getReserved("P1"));
+        
+        // Confirmacao retira do reservado; liberacao devolve ao disponivel
+        assertTrue(ledger.confirm("P1", 2));
+        assertTrue(ledger.release("P1", 3));
+        assertFalse(ledger.release("P1", 2), "So resta 1 unidade reservada");
+        assertEquals(7, ledger.getAvailable("P1"));
+        assertEquals(1, ledger.getReserved("P1"));
+        
+        ledger.restock("P1", 5);
+        assertEquals(12, ledger.getAvailable("P1"));
+        
+        // Lote: linhas atendidas na ordem enquanto houver estoque
+        boolean[] granted = new boolean[4];
+        assertEquals(12, ledger.reserveAll("P1", new int[] {5, 8, 6, 1}, granted));
+        assertArrayEquals(new boolean[] {true, false, true, true}, granted);
+        assertEquals(0, ledger.getAvailable("P1"));
+        assertEquals(13, ledger.getReserved("P1"));
+        
+        assertThrows(IllegalArgumentException.class, () -> ledger.reserve("P1", 0));
+        assertThrows(IllegalArgumentException.class, () -> ledger.restock("P1", Integer.MAX_VALUE));
+        
+        System.out.println("✓ Estoque transicoes testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Estoque - Carga da demonstracao pela paridade do ID")
+    void testDemoStock() {
+        // Arrange
+        StockLedger ledger = StockLedger.withDemoStock();
+        
+        // Act & Assert
+        assertEquals(StockLedger.DEMO_INITIAL_STOCK, ledger.getAvailable("PROD124"));
+        assertEquals(0, ledger.getAvailable("PROD123"));
+        
+        System.out.println("✓ Estoque carga da demonstracao testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Estoque - Carga configurada e consultas que nao criam produtos")
+    void testConfiguredStockAndReadsDoNotGrow() {
+        // Arrange
+        StockLedger ledger = StockLedger.withInitialStock(Map.of("PROD124", 7), 2);
+        
+        // Act - consultas e operacoes sem efeito com IDs arbitrarios
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(2, ledger.getAvailable("ARBITRARIO-" + i));
+            assertEquals(0, ledger.getReserved("ARBITRARIO-" + i));
+            assertFalse(ledger.reserve("ARBITRARIO-" + i, 3));
+            assertFalse(ledger.confirm("ARBITRARIO-" + i, 1));
+            assertFalse(ledger.release("ARBITRARIO-" + i, 1));
+        }
+        
+        // Assert
+        assertEquals(0, ledger.getProductCount());
+        assertEquals(7, ledger.getAvailable("PROD124"));
+        assertTrue(ledger.reserve("PROD124", 7));
+        assertEquals(1, ledger.getProductCount());
+        assertEquals(0, ledger.getAvailable("PROD124"));
+        
+        StockLedger empty = StockLedger.withInitialStock(Map.of(), 0);
+        boolean[] granted = new boolean[2];
+        assertEquals(0, empty.reserveAll("NOVO", new int[] {1, 1}, granted));
+        assertEquals(0, empty.getProductCount());
+        assertEquals(2, empty.getRejectedReservations());
+        
+        assertThrows(IllegalArgumentException.class, () -> StockLedger.withInitialStock(Map.of("P1", -1), 0));
+        assertThrows(IllegalArgumentException.class, () -> StockLedger.withInitialStock(Map.of(), -1));
+        
+        System.out.println("✓ Estoque carga configurada testado com sucesso");
+    }
+    
+    @Test
+    @DisplayName("Estoque - Conservacao das unidades sob concorrencia")
+    void testConservationUnderContention() throws Exception {
+        // Arrange
+        StockLedger ledger = new StockLedger(productId -> INITIAL_STOCK);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+        
+        for (int t = 0; t < THREADS; t++) {
+            results.add(executor.submit(() -> {
+                // Por produto: [0..P) vendidos e [P..2P) repostos por esta thread
+                long[] counts = new long[2 * PRODUCTS];
+                // Reservas feitas por esta thread e ainda abertas
+                int[] open = new int[PRODUCTS];
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                start.await();
+                
+                for (int i = 0; i < OPERATIONS; i++) {
+                    int product = random.nextInt(PRODUCTS);
+                    String productId = "P" + product;
+                    int quantity = 1 + random.nextInt(5);
+                    int operation = random.nextInt(10);
+                    
+                    if (operation < 5) {
+                        if (ledger.reserve(productId, quantity)) {
+                            open[product] += quantity;
+                        }
+                    } else if (operation < 8) {
+                        int sold = Math.min(quantity, open[product]);
+                        if (sold > 0) {
+                            assertTrue(ledger.confirm(productId, sold), "Reserva propria deve poder ser confirmada");
+                            open[product] -= sold;
+                            counts[product] += sold;
+                        }
+                    } else if (operation < 9) {
+                        int released = Math.min(quantity, open[product]);
+                        if (released > 0) {
+                            assertTrue(ledger.release(productId, released), "Reserva propria deve poder ser liberada");
+                            open[product] -= released;
+                        }
+                    } else {
+                        ledger.restock(productId, quantity);
+                        counts[PRODUCTS + product] += quantity;
+                    }
+                }
+                
+                // Fecha o que sobrou para o balanco final
+                for (int p = 0; p < PRODUCTS; p++) {
+                    if (open[p] > 0) {
+                        assertTrue(ledger.release("P" + p, open[p]));
+                    }
+                }
+                return counts;
+            }));
+        }
+        
+        // Act
+        start.countDown();
+        long[] totals = new long[2 * PRODUCTS];
+        for (Future<long[]> result : results) {
+            long[] counts = result.get(120, TimeUnit.SECONDS);
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += counts[i];
+            }
+        }
+        executor.shutdown();
+        
+        // Assert - nenhuma unidade criada ou perdida e nenhuma venda alem do estoque
+        for (int p = 0; p < PRODUCTS; p++) {
+            String productId = "P" + p;
+            long sold = totals[p];
+            long restocked = totals[PRODUCTS + p];
+            assertEquals(0, ledger.getReserved(productId), "Todas as reservas foram fechadas");
+            assertEquals(INITIAL_STOCK + restocked, ledger.getAvailable(productId) + sold,
+                         "Conservacao violada para " + productId);
+            assertTrue(ledger.getAvailable(productId) >= 0);
+        }
+        assertEquals(ledger.getReservedUnits(), ledger.getConfirmedUnits() + ledger.getReleasedUnits());
+        
+        System.out.println("✓ Estoque conservacao sob concorrencia testado com sucesso");
+    }
+}
@@ -0,0 +1,112 @@
+package com.bootcamp.designpatterns.unit;
+
+import com.bootcamp.designpatterns.service.StrategyMatrixEvaluator;
+import com.bootcamp.designpatterns.strategy.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da avaliacao de estrategias em matriz
+ * 
+ * Verifica que cada linha e entregue exatamente uma vez com os mesmos
+ * valores do calculo unitario, que o resumo soma o impacto de cada
+ * estrategia e que uma falha no destino interrompe a avaliacao.
+ */
+@Tag("unit")
+public class StrategyMatrixEvaluatorTest {
+    
+    // Blocos pequenos para exercitar varios blocos com poucos precos
+    private final StrategyMatrixEvaluator evaluator = new StrategyMatrixEvaluator(4, 16);
+    
+    @AfterEach
+    void tearDown() {
+        evaluator.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Matriz - Cada linha coincide com o calculo unitario e e entregue uma vez")
+    void testRowsMatchPriceCalculator() throws IOException {
+        // Arrange
+        List<DiscountStrategy> strategies = List.of(
+                new PercentageDiscountStrategy(new BigDecimal("0.10")),
+                new FixedDiscountStrategy(new BigDecimal("25.00")),
+                new ProgressiveDiscountStrategy());
+        List<BigDecimal> prices = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            prices.add(BigDecimal.valueOf(500 + (i * 7919L) % 100_000, 2));
+        }
+        int[] deliveries = new int[prices.size()];
+        List<String> mismatches = new ArrayList<>();
+        
+        // Act
+        StrategyMatrixEvaluator.MatrixSummary summary = evaluator.evaluate(strategies, prices, (index, priceCents, finalCents) -> {
+            deliveries[index]++;
+            for (int s = 0; s < finalCents.length; s++) {
+                BigDecimal expected = new PriceCalculator(strategies.get(s)).calculateFinalPrice(prices.get(index));
+                if (expected.compareTo(FixedPointMath.fromCents(finalCents[s])) != 0) {
+                    mismatches.add(index + "/" + s);
+                }
+            }
+        });
+        
+        // Assert
+        assertTrue(mismatches.isEmpty(), "Linhas divergentes: " + mismatches);
+        for (int count : deliveries) {
+            assertEquals(1, count);
+        }
+        assertEquals(1_000, summary.getPriceCount());
+        assertEquals(63, summary.getBlockCount());
+        assertEquals(3, summary.getStrategies().size());
+    }
+    
+    @Test
+    @DisplayName("Matriz - Resumo calcula o impacto na receita por estrategia")
+    void testSummaryRevenueImpact() throws IOException {
+        // Arrange
+        List<DiscountStrategy> strategies = List.of(
+                new PercentageDiscountStrategy(new BigDecimal("0.10")),
+                new FixedDiscountStrategy(new BigDecimal("5.00")));
+        List<BigDecimal> prices = List.of(new BigDecimal("100.00"), new BigDecimal("200.00"), new BigDecimal("300.00"));
+        
+        // Act
+        StrategyMatrixEvaluator.MatrixSummary summary = evaluator.evaluate(strategies, prices, null);
+        
+        // Assert
+        StrategyMatrixEvaluator.StrategyImpact percentage = summary.getStrategies().get(0);
+        assertEquals(new BigDecimal("600.00"), percentage.getTotalOriginal());
+        assertEquals(new BigDecimal("540.00"), percentage.getTotalFinal());
+        assertEquals(new BigDecimal("-60.00"), percentage.getRevenueImpact());
+        assertEquals(new BigDecimal("-10.00"), percentage.getRevenueImpactPercent());
+        assertEquals(new BigDecimal("20.00"), percentage.getAverageDiscount());
+        
+        StrategyMatrixEvaluator.StrategyImpact fixed = summary.getStrategies().get(1);
+        assertEquals(new BigDecimal("-15.00"), fixed.getRevenueImpact());
+        assertEquals(new BigDecimal("-2.50"), fixed.getRevenueImpactPercent());
+    }
+    
+    @Test
+    @DisplayName("Matriz - Falha no destino das linhas interrompe a avaliacao")
+    void testListenerFailureStopsEvaluation() {
+        List<DiscountStrategy> strategies = List.of(new ProgressiveDiscountStrategy());
+        List<BigDecimal> prices = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            prices.add(new BigDecimal("10.00"));
+        }
+        
+        IOException error = assertThrows(IOException.class, () -> evaluator.evaluate(strategies, prices,
+                (index, priceCents, finalCents) -> { throw new IOException("cliente desconectou"); }));
+        assertEquals("cliente desconectou", error.getMessage());
+        
+        assertThrows(IllegalArgumentException.class, () -> evaluator.evaluate(List.of(), prices, null));
+    }
+}